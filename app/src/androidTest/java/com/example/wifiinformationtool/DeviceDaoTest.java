@@ -0,0 +1,105 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test instrumentat pentru DeviceDao si DeviceInventory pe o baza de date in memorie.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DeviceDaoTest {
+    private static final Subnet SUBNET = new Subnet(Subnet.parseAddress("192.168.1.0"), 24);
+
+    private DeviceInventoryDatabase db;
+    private DeviceDao dao;
+    private DeviceInventory inventory;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, DeviceInventoryDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.deviceDao();
+        // Fara amprenta HTTP: testul nu contacteaza host-urile
+        inventory = new DeviceInventory(dao, new SweepPlanner(8, 2), null);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void incrementalSweepsRefreshKnownDevicesAndExpireMissingOnes() {
+        int router = Subnet.parseAddress("192.168.1.1");
+        int phone = Subnet.parseAddress("192.168.1.23");
+        Map<Integer, String> found = new HashMap<>();
+        found.put(router, "02:00:00:00:00:01");
+        found.put(phone, "02:00:00:00:00:17");
+
+        SweepPlanner.Plan cold = inventory.planSweep(SUBNET);
+        assertTrue(cold.cold);
+        assertEquals(254, cold.getProbeCount());
+        SweepPlanner.Outcome outcome = inventory.recordSweep(cold, found, cold.getProbeCount(), true);
+        assertEquals(2, outcome.added.size());
+        assertEquals(2, dao.getAll().size());
+        assertEquals(1, dao.countSweeps(SUBNET.toString()));
+
+        // Sweep incremental: doar routerul raspunde
+        SweepPlanner.Plan plan = inventory.planSweep(SUBNET);
+        assertEquals(2, plan.known.length);
+        assertTrue(plan.getProbeCount() < 40);
+        found.remove(phone);
+        inventory.recordSweep(plan, found, plan.getProbeCount(), true);
+        assertEquals(1, dao.getByMac("02:00:00:00:00:17").missedSweeps);
+
+        plan = inventory.planSweep(SUBNET);
+        outcome = inventory.recordSweep(plan, found, plan.getProbeCount(), true);
+        assertEquals(1, outcome.expired.size());
+        List<DeviceEntity> devices = dao.getAll();
+        assertEquals(1, devices.size());
+        assertEquals(router, devices.get(0).lastIp);
+        assertNull(dao.getByMac("02:00:00:00:00:17"));
+
+        List<SweepRecordEntity> sweeps = dao.getRecentSweeps(SUBNET.toString(), 10);
+        assertEquals(3, sweeps.size());
+        assertEquals(1, sweeps.get(0).found);
+    }
+
+    @Test
+    public void newDeviceWithAnExistingMacUpdatesTheExistingRow() {
+        DeviceEntity existing = new DeviceEntity("02:00:00:00:00:05", Subnet.parseAddress("10.0.0.5"), 100);
+        existing.id = (int) dao.insert(existing);
+
+        SweepPlanner.Outcome outcome = new SweepPlanner.Outcome();
+        DeviceEntity duplicate = new DeviceEntity("02:00:00:00:00:05", Subnet.parseAddress("192.168.1.5"), 200);
+        outcome.added.add(duplicate);
+        dao.recordSweep(outcome, new SweepRecordEntity(SUBNET.toString(), 200, 1, 1, true));
+
+        List<DeviceEntity> devices = dao.getAll();
+        assertEquals(1, devices.size());
+        assertEquals(Subnet.parseAddress("192.168.1.5"), devices.get(0).lastIp);
+        assertEquals("192.168.1.5,10.0.0.5", devices.get(0).ips);
+        assertEquals(100, devices.get(0).firstSeen);
+        assertEquals(200, devices.get(0).lastSeen);
+        assertEquals(Collections.emptyList(), dao.getRecentSweeps("10.0.0.0/24", 10));
+    }
+}
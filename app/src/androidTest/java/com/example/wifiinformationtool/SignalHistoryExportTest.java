@@ -0,0 +1,89 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test instrumentat pentru exportul istoricului: verifica faptul ca fisierul se citeste inapoi
+ * identic si raporteaza in logcat debitul (MB/s) si rata de compresie.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SignalHistoryExportTest {
+    private static final String TAG = "SignalHistoryExportTest";
+    private static final int ACCESS_POINTS = 40;
+    private static final int SCANS = 2500;
+
+    private WifiSignalDatabase db;
+    private WifiSignalDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, WifiSignalDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.wifiSignalDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void exportRoundTripsAndReportsThroughput() throws Exception {
+        List<AccessPointEntity> aps = new ArrayList<>();
+        for (int i = 0; i < ACCESS_POINTS; i++) {
+            aps.add(new AccessPointEntity(String.format("cc:cc:cc:cc:cc:%02x", i), "net" + (i % 8),
+                    2412 + 5 * (i % 13), "2.4 GHz", "[WPA2-PSK-CCMP][ESS]"));
+        }
+        // 100.000 de esantioane, cate un scan la 10 secunde
+        int[] signals = new int[ACCESS_POINTS];
+        db.runInTransaction(() -> {
+            for (int scan = 0; scan < SCANS; scan++) {
+                for (int i = 0; i < ACCESS_POINTS; i++) {
+                    signals[i] = -40 - ((scan + 7 * i) % 50);
+                }
+                dao.recordSnapshot(aps, signals, 1_700_000_000_000L + scan * 10_000L);
+            }
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SignalHistoryExporter.Stats stats = new SignalHistoryExporter(dao).export(out);
+        Log.i(TAG, "Export benchmark: " + stats);
+        assertEquals((long) SCANS * ACCESS_POINTS, stats.rows);
+        assertEquals(ACCESS_POINTS, stats.accessPoints);
+        assertEquals(out.size(), stats.compressedBytes);
+
+        try (SignalHistoryReader reader = new SignalHistoryReader(new ByteArrayInputStream(out.toByteArray()))) {
+            for (int scan = 0; scan < SCANS; scan++) {
+                for (int i = 0; i < ACCESS_POINTS; i++) {
+                    // Esantioanele aceluiasi scan vin in ordinea inserarii (id crescator)
+                    reader.next();
+                    assertEquals(1_700_000_000_000L + scan * 10_000L, reader.timestamp());
+                    assertEquals(-40 - ((scan + 7 * i) % 50), reader.signalStrength());
+                    assertEquals(aps.get(i).bssid, reader.bssid());
+                    assertEquals(aps.get(i).ssid, reader.ssid());
+                }
+            }
+            assertFalse(reader.next());
+        }
+    }
+}
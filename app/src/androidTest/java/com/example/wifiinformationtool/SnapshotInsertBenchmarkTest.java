@@ -0,0 +1,104 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test instrumentat care compara scrierea unui scan rand cu rand (o tranzactie implicita si un
+ * commit pe rand) cu insertAll (un singur commit pe scan). Foloseste o baza de date pe disc, in
+ * modul WAL ca in aplicatie, pentru ca diferenta vine din costul commit-urilor. Se repeta pentru
+ * mai multe dimensiuni de scan si raporteaza in logcat randurile pe secunda pentru ambele variante.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SnapshotInsertBenchmarkTest {
+    private static final String TAG = "SnapshotInsertBenchmark";
+    private static final String DB_NAME = "snapshot_insert_benchmark_db";
+    // BSSID-uri pe scan: de la o locuinta la un campus dens
+    private static final int[] ACCESS_POINTS = {10, 50, 150, 500, 1000};
+    private static final int SCANS = 20;
+
+    private Context context;
+    private WifiSignalDatabase db;
+    private WifiSignalDao dao;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        db = Room.databaseBuilder(context, WifiSignalDatabase.class, DB_NAME)
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.wifiSignalDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    private static List<WifiSignalEntity> snapshot(int accessPoints, int scan) {
+        List<WifiSignalEntity> signals = new ArrayList<>(accessPoints);
+        for (int ap = 1; ap <= accessPoints; ap++) {
+            signals.add(new WifiSignalEntity(ap, -40 - (scan + ap) % 50, 1_700_000_000_000L + scan * 10_000L));
+        }
+        return signals;
+    }
+
+    private static double rowsPerSecond(int accessPoints, long nanos) {
+        return (double) accessPoints * SCANS * 1_000_000_000L / nanos;
+    }
+
+    @Test
+    public void batchedSnapshotsWriteFasterThanOneCommitPerRow() {
+        for (int accessPoints : ACCESS_POINTS) {
+            // Fiecare dimensiune porneste de la un tabel gol
+            db.clearAllTables();
+            // Incalzire: prima scriere dupa golire reface paginile si fisierul WAL
+            dao.insertAll(snapshot(accessPoints, -1));
+
+            long start = System.nanoTime();
+            for (int scan = 0; scan < SCANS; scan++) {
+                for (WifiSignalEntity signal : snapshot(accessPoints, scan)) {
+                    dao.insert(signal);
+                }
+            }
+            long perRowNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int scan = SCANS; scan < 2 * SCANS; scan++) {
+                dao.insertAll(snapshot(accessPoints, scan));
+            }
+            long batchedNanos = System.nanoTime() - start;
+
+            Log.i(TAG, String.format(java.util.Locale.US,
+                    "%d APs x %d scans: %.0f rows/s one commit per row, %.0f rows/s one commit per scan",
+                    accessPoints, SCANS, rowsPerSecond(accessPoints, perRowNanos),
+                    rowsPerSecond(accessPoints, batchedNanos)));
+            try (Cursor cursor = db.getOpenHelper().getReadableDatabase().query("SELECT COUNT(*) FROM wifi_signal_table")) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals((2 * SCANS + 1) * accessPoints, cursor.getInt(0));
+            }
+            assertTrue(accessPoints + " APs, per row: " + perRowNanos / 1_000_000 + " ms, batched: "
+                    + batchedNanos / 1_000_000 + " ms", batchedNanos * 2 < perRowNanos);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test instrumentat pentru WifiScanEngine cu o sursa care raspunde tarziu (sau deloc): motorul
+ * nu trebuie sa ceara alt scan cat timp asteapta rezultatul cererii anterioare, ca sa nu consume
+ * tot bugetul de throttling intr-o singura rafala.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WifiScanEngineTest {
+
+    /** Sursa care anunta rezultatele fiecarei cereri dupa answerDelayMs (sau niciodata, daca e negativ). */
+    private static final class LateScanSource implements ScanSource {
+        private final long answerDelayMs;
+        private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        final AtomicInteger requests = new AtomicInteger();
+        private volatile Callback callback;
+
+        LateScanSource(long answerDelayMs) {
+            this.answerDelayMs = answerDelayMs;
+        }
+
+        @Override
+        public void start(Callback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void stop() {
+            callback = null;
+        }
+
+        @Override
+        public boolean startScan() {
+            requests.incrementAndGet();
+            if (answerDelayMs >= 0) {
+                timer.schedule(() -> {
+                    Callback current = callback;
+                    if (current != null) {
+                        current.onResultsAvailable(true);
+                    }
+                }, answerDelayMs, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public List<ScanObservation> getScanResults() {
+            // Fara rezultate: nimic de scris in istoric
+            return Collections.emptyList();
+        }
+
+        void shutdown() {
+            timer.shutdownNow();
+        }
+    }
+
+    private Context context;
+    private WifiScanEngine engine;
+    private LateScanSource source;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    }
+
+    @After
+    public void tearDown() {
+        if (engine != null) {
+            engine.stop();
+        }
+        if (source != null) {
+            source.shutdown();
+        }
+    }
+
+    @Test
+    public void aLateAnswerIsAwaitedInsteadOfSpendingTheWholeBudget() throws Exception {
+        source = new LateScanSource(2_000);
+        engine = new WifiScanEngine(context, source);
+        engine.start();
+
+        Thread.sleep(1_000);
+        // Inainte, cererile se repetau in aceeasi milisecunda pana la epuizarea celor 4 din buget
+        assertEquals(1, source.requests.get());
+        engine.requestScanNow();
+        Thread.sleep(2_000);
+        assertEquals(1, source.requests.get());
+
+        // Rezultatul a sosit: urmatoarea cerere vine abia dupa intervalul profilului (30 s)
+        ScanScheduler scheduler = engine.getScheduler();
+        assertEquals(1, scheduler.getFreshSnapshots());
+        assertEquals(0, scheduler.getPassiveSnapshots());
+        assertEquals(0, scheduler.getRejectedRequests());
+    }
+
+    @Test
+    public void aRequestWithoutAnswerIsRetriedAfterThePendingTimeout() throws Exception {
+        source = new LateScanSource(-1);
+        engine = new WifiScanEngine(context, source);
+        engine.start();
+
+        Thread.sleep(5_000);
+        assertEquals(1, source.requests.get());
+        // Cererea expira dupa 15 s si este reluata o singura data
+        Thread.sleep(12_000);
+        assertEquals(2, source.requests.get());
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test instrumentat pentru interogarile WifiSignalDao pe o baza de date in memorie.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WifiSignalDaoTest {
+    private WifiSignalDatabase db;
+    private WifiSignalDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, WifiSignalDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.wifiSignalDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void historyIsKeptPerBssid() {
+        // Doua AP-uri (mesh) care difuzeaza acelasi SSID
+        List<AccessPointEntity> aps = Arrays.asList(
+                new AccessPointEntity("aa:aa:aa:aa:aa:01", "mesh", 2412, "2.4 GHz", "[WPA2-PSK-CCMP][ESS]"),
+                new AccessPointEntity("aa:aa:aa:aa:aa:02", "mesh", 5180, "5 GHz", "[WPA2-PSK-CCMP][ESS]"));
+        dao.recordSnapshot(aps, new int[] {-40, -80}, 1000);
+        dao.recordSnapshot(aps, new int[] {-42, -78}, 2000);
+
+        List<WifiSignalEntity> first = dao.getSignalHistoryForBssid("aa:aa:aa:aa:aa:01");
+        assertEquals(2, first.size());
+        assertEquals(-42, first.get(0).signalStrength);
+        assertEquals(-40, first.get(1).signalStrength);
+
+        List<WifiSignalEntity> second = dao.getSignalHistoryForBssid("aa:aa:aa:aa:aa:02");
+        assertEquals(2, second.size());
+        assertEquals(-78, second.get(0).signalStrength);
+
+        // Agregatul pe SSID are un punct pe scan, calculat peste ambele AP-uri
+        List<SsidSignalPoint> aggregate = dao.getSsidAggregateHistory("mesh", 0);
+        assertEquals(2, aggregate.size());
+        assertEquals(2000, aggregate.get(0).timestamp);
+        assertEquals(2, aggregate.get(0).apCount);
+        assertEquals(-42, aggregate.get(0).maxRssi);
+        assertEquals(-60.0, aggregate.get(0).avgRssi, 0.001);
+    }
+
+    @Test
+    public void bucketStatsAreComputedPerSsidAndPerBssid() {
+        List<AccessPointEntity> aps = Arrays.asList(
+                new AccessPointEntity("dd:dd:dd:dd:dd:01", "lab", 2437, "2.4 GHz", "[WPA2-PSK-CCMP][ESS]"),
+                new AccessPointEntity("dd:dd:dd:dd:dd:02", "lab", 5200, "5 GHz", "[WPA2-PSK-CCMP][ESS]"));
+        // Sase scanari la 10 secunde: primul minut are trei, al doilea minut tot trei
+        for (int scan = 0; scan < 6; scan++) {
+            dao.recordSnapshot(aps, new int[] {-40 - scan, -70}, 120_000L + scan * 20_000L);
+        }
+
+        List<SignalBucketStats> perSsid = dao.getSsidSignalBuckets("lab", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_MINUTE);
+        assertEquals(2, perSsid.size());
+        SignalBucketStats first = perSsid.get(0);
+        assertEquals(120_000L, first.bucketStart);
+        assertEquals(6, first.sampleCount);
+        assertEquals(-70, first.minRssi);
+        assertEquals(-40, first.maxRssi);
+        assertEquals((-40 - 41 - 42 - 70 * 3) / 6.0, first.avgRssi, 0.001);
+
+        List<SignalBucketStats> perBssid = dao.getBssidSignalBuckets("dd:dd:dd:dd:dd:02", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_HOUR);
+        assertEquals(1, perBssid.size());
+        assertEquals(6, perBssid.get(0).sampleCount);
+        assertEquals(0.0, perBssid.get(0).getStdDev(), 0.001);
+
+        // Intervalul [from, to) limiteaza esantioanele luate in calcul
+        List<SignalBucketStats> window = dao.getBssidSignalBuckets("dd:dd:dd:dd:dd:01", 180_000L, 220_000L,
+                SignalBucketStats.BUCKET_10_SECONDS);
+        assertEquals(2, window.size());
+        assertEquals(180_000L, window.get(0).bucketStart);
+        assertEquals(-43, window.get(0).maxRssi);
+        assertEquals(200_000L, window.get(1).bucketStart);
+    }
+
+    @Test
+    public void bucketStatsMergeRollupsWithTheRawWindow() {
+        List<AccessPointEntity> aps = Arrays.asList(
+                new AccessPointEntity("ee:ee:ee:ee:ee:01", "lab", 2437, "2.4 GHz", "[WPA2-PSK-CCMP][ESS]"),
+                new AccessPointEntity("ee:ee:ee:ee:ee:02", "lab", 5200, "5 GHz", "[WPA2-PSK-CCMP][ESS]"));
+        // Trei ore de scanari la 20 de secunde, cu semnal variabil
+        db.runInTransaction(() -> {
+            for (long t = 0; t < 3 * SignalBucketStats.BUCKET_1_HOUR; t += 20_000L) {
+                dao.recordSnapshot(aps, new int[] {-40 - (int) (t / 20_000L % 7), -70 + (int) (t / 20_000L % 3)}, t);
+            }
+        });
+        List<SignalBucketStats> expectedMinutes = dao.getSsidSignalBuckets("lab", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_MINUTE);
+        List<SignalBucketStats> expectedHours = dao.getBssidSignalBuckets("ee:ee:ee:ee:ee:02", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_HOUR);
+
+        // Ca in SignalRetentionManager: prima ora ajunge in agregarea pe ora, a doua in cea pe minut,
+        // iar in tabelul brut ramane doar ultima ora
+        SignalRollupDao rollupDao = db.signalRollupDao();
+        db.runInTransaction(() -> {
+            rollupDao.rollupRawIntoMinutes(2 * SignalBucketStats.BUCKET_1_HOUR);
+            dao.deleteOlderThan(2 * SignalBucketStats.BUCKET_1_HOUR);
+            rollupDao.rollupMinutesIntoHours(SignalBucketStats.BUCKET_1_HOUR);
+            rollupDao.deleteMinutesOlderThan(SignalBucketStats.BUCKET_1_HOUR);
+        });
+
+        // Bucket-urile de un minut vin din agregarea pe minut si din tabelul brut; ora agregata nu
+        // poate fi impartita in minute
+        List<SignalBucketStats> minutes = dao.getSsidSignalBuckets("lab", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_MINUTE);
+        assertBucketsEqual(expectedMinutes.subList(60, 180), minutes);
+
+        // Bucket-urile de o ora combina toate cele trei surse, inclusiv deviatia standard
+        List<SignalBucketStats> hours = dao.getBssidSignalBuckets("ee:ee:ee:ee:ee:02", 0, Long.MAX_VALUE,
+                SignalBucketStats.BUCKET_1_HOUR);
+        assertBucketsEqual(expectedHours, hours);
+        assertTrue(hours.get(0).getStdDev() > 0.5);
+    }
+
+    private static void assertBucketsEqual(List<SignalBucketStats> expected, List<SignalBucketStats> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).bucketStart, actual.get(i).bucketStart);
+            assertEquals(expected.get(i).sampleCount, actual.get(i).sampleCount);
+            assertEquals(expected.get(i).minRssi, actual.get(i).minRssi);
+            assertEquals(expected.get(i).maxRssi, actual.get(i).maxRssi);
+            assertEquals(expected.get(i).avgRssi, actual.get(i).avgRssi, 0.0001);
+            assertEquals(expected.get(i).getStdDev(), actual.get(i).getStdDev(), 0.0001);
+        }
+    }
+
+    @Test
+    public void keysetPagesWalkTheWholeRangeWithoutSorting() {
+        List<AccessPointEntity> ap = Collections.singletonList(
+                new AccessPointEntity("bb:bb:bb:bb:bb:01", "office", 5180, "5 GHz", "[WPA2-EAP-CCMP][ESS]"));
+        // 5000 de esantioane, cate doua cu acelasi timestamp (testam departajarea pe id)
+        db.runInTransaction(() -> {
+            for (int i = 0; i < 5000; i++) {
+                dao.recordSnapshot(ap, new int[] {-50 - (i % 40)}, 1_000L * (i - i % 2));
+            }
+        });
+
+        SignalHistoryPager pager = new SignalHistoryPager(dao, "bb:bb:bb:bb:bb:01", 0, Long.MAX_VALUE, 128);
+        int total = 0;
+        long lastTimestamp = Long.MAX_VALUE;
+        int lastId = Integer.MAX_VALUE;
+        while (!pager.isEndReached()) {
+            for (WifiSignalEntity sample : pager.loadNextPage()) {
+                // Ordine strict descrescatoare dupa (timestamp, id): fara duplicate si fara goluri
+                assertTrue(sample.timestamp < lastTimestamp
+                        || (sample.timestamp == lastTimestamp && sample.id < lastId));
+                lastTimestamp = sample.timestamp;
+                lastId = sample.id;
+                total++;
+            }
+        }
+        assertEquals(5000, total);
+
+        // O pagina oricat de adanca porneste direct din index, fara OFFSET si fara sortare temporara
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.getOpenHelper().getReadableDatabase().query(
+                "EXPLAIN QUERY PLAN SELECT * FROM wifi_signal_table WHERE apId = 1 "
+                        + "AND timestamp >= 0 AND timestamp <= 2000000 AND (timestamp < 2000000 OR id < 10) "
+                        + "ORDER BY timestamp DESC, id DESC LIMIT 128")) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnCount() - 1)).append('\n');
+            }
+        }
+        assertTrue(plan.toString(), plan.toString().contains("index_wifi_signal_table_apId_timestamp_id_signalStrength"));
+        assertFalse(plan.toString(), plan.toString().contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void pagerLoadsOnlyRowsWrittenAfterTheNewestLoadedOne() {
+        List<AccessPointEntity> ap = Collections.singletonList(
+                new AccessPointEntity("cc:cc:cc:cc:cc:01", "lab", 2437, "2.4 GHz", "[WPA2-PSK-CCMP][ESS]"));
+        for (int i = 0; i < 300; i++) {
+            dao.recordSnapshot(ap, new int[] {-60}, 1_000L * i);
+        }
+        SignalHistoryPager pager = new SignalHistoryPager(dao, "cc:cc:cc:cc:cc:01", 0, 1_000_000, 100);
+        // Inainte de prima pagina nu exista un "cel mai nou rand citit"
+        assertTrue(pager.loadNewerRows(100).isEmpty());
+        assertEquals(100, pager.loadNextPage().size());
+        assertEquals(100, pager.loadNextPage().size());
+        assertTrue(pager.loadNewerRows(100).isEmpty());
+
+        // Un flush intarziat poate aduce si un timestamp mai vechi decat sfarsitul ferestrei
+        dao.recordSnapshot(ap, new int[] {-55}, 299_000L);
+        dao.recordSnapshot(ap, new int[] {-50}, 2_000_000L);
+        List<WifiSignalEntity> newer = pager.loadNewerRows(100);
+        assertEquals(2, newer.size());
+        assertEquals(299_000L, newer.get(0).timestamp);
+        assertEquals(-55, newer.get(0).signalStrength);
+        assertEquals(2_000_000L, newer.get(1).timestamp);
+        assertTrue(pager.loadNewerRows(100).isEmpty());
+
+        // Paginile spre trecut continua de unde au ramas
+        List<WifiSignalEntity> oldest = pager.loadNextPage();
+        assertEquals(100, oldest.size());
+        assertEquals(0L, oldest.get(oldest.size() - 1).timestamp);
+        assertTrue(pager.loadNextPage().isEmpty());
+        assertTrue(pager.isEndReached());
+
+        // Reluarea paginilor de la un rand dat (dupa ce graficul a renuntat la cele mai vechi puncte)
+        pager.restartOlderPagesBefore(oldest.get(50).timestamp, oldest.get(50).id);
+        assertEquals(49, pager.loadNextPage().size());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+/**
+ * Test instrumentat pentru migrarile bazei de date WifiSignalDatabase.
+ * Bazele de date vechi sunt create din schemele exportate in app/schemas, iar dupa fiecare migrare
+ * MigrationTestHelper compara schema obtinuta cu schema exportata a versiunii tinta, deci o
+ * diferenta intre adnotarile entitatilor si SQL-ul migrarilor face testul sa esueze.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WifiSignalMigrationTest {
+    private static final String TEST_DB = "migration-test.db";
+    private static final int LATEST_VERSION = 6;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), WifiSignalDatabase.class);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void eachMigrationProducesTheExportedSchema() {
+        for (int version = 1; version < LATEST_VERSION; version++) {
+            String name = "migration-step-" + version + ".db";
+            helper.createDatabase(name, version).close();
+            // Valideaza tabelele, coloanele si indexurile fata de app/schemas/.../<version + 1>.json
+            helper.runMigrationsAndValidate(name, version + 1, true,
+                    WifiSignalDatabase.ALL_MIGRATIONS[version - 1]).close();
+        }
+    }
+
+    @Test
+    public void migrateFromV1_keepsDataAndAddsIndexes() {
+        // Schema versiunii 1, din app/schemas
+        SupportSQLiteDatabase v1 = helper.createDatabase(TEST_DB, 1);
+        v1.execSQL("INSERT INTO wifi_signal_table (ssid, signalStrength, timestamp) VALUES ('home', -40, 1000)");
+        v1.execSQL("INSERT INTO wifi_signal_table (ssid, signalStrength, timestamp) VALUES ('home', -55, 2000)");
+        v1.execSQL("INSERT INTO wifi_signal_table (ssid, signalStrength, timestamp) VALUES ('office', -70, 1500)");
+        v1.close();
+
+        // Tot lantul 1 -> 6 trebuie sa ajunga exact la schema versiunii curente
+        helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true, WifiSignalDatabase.ALL_MIGRATIONS).close();
+
+        WifiSignalDatabase db = Room.databaseBuilder(context, WifiSignalDatabase.class, TEST_DB)
+                .addMigrations(WifiSignalDatabase.ALL_MIGRATIONS)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            // Datele vechi nu au BSSID: sunt accesibile prin agregatul pe SSID al AP-ului "legacy"
+            List<SsidSignalPoint> history = db.wifiSignalDao().getSsidAggregateHistory("home", 0);
+            assertEquals(2, history.size());
+            assertEquals(2000, history.get(0).timestamp);
+            assertEquals(-55, history.get(0).maxRssi);
+            assertEquals(1, history.get(0).apCount);
+
+            List<SsidSignalPoint> office = db.wifiSignalDao().getSsidAggregateHistory("office", 0);
+            assertEquals(1, office.size());
+            assertEquals(-70, office.get(0).maxRssi);
+
+            // Planul de executie trebuie sa foloseasca indexul compus, nu o scanare completa
+            SupportSQLiteDatabase raw = db.getOpenHelper().getReadableDatabase();
+            StringBuilder plan = new StringBuilder();
+            try (Cursor cursor = raw.query("EXPLAIN QUERY PLAN SELECT signalStrength, timestamp "
+                    + "FROM wifi_signal_table WHERE apId = 1 ORDER BY timestamp DESC LIMIT 50")) {
+                while (cursor.moveToNext()) {
+                    plan.append(cursor.getString(cursor.getColumnCount() - 1)).append('\n');
+                }
+            }
+            assertTrue(plan.toString(), plan.toString()
+                    .contains("index_wifi_signal_table_apId_timestamp_id_signalStrength"));
+
+            // Tabelele de agregare create de migrarea 2 -> 3 exista si sunt goale
+            assertTrue(db.signalRollupDao().getMinuteRollups("home", 0, Long.MAX_VALUE).isEmpty());
+            assertTrue(db.signalRollupDao().getHourRollups("home", 0, Long.MAX_VALUE).isEmpty());
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV5_keepsRollupsOnTheLegacyAccessPointOfTheirSsid() {
+        SupportSQLiteDatabase v5 = helper.createDatabase(TEST_DB, 5);
+        v5.execSQL("INSERT INTO access_point (bssid, ssid, frequency) VALUES (NULL, 'home', 0)");
+        v5.execSQL("INSERT INTO access_point (bssid, ssid, frequency) VALUES ('aa:aa:aa:aa:aa:01', 'home', 2412)");
+        v5.execSQL("INSERT INTO wifi_signal_rollup_minute (ssid, bucketStart, minRssi, maxRssi, avgRssi, sampleCount) "
+                + "VALUES ('home', 60000, -50, -40, -45, 4)");
+        // SSID-ul "old" exista doar in agregari: primeste un AP "legacy" nou
+        v5.execSQL("INSERT INTO wifi_signal_rollup_hour (ssid, bucketStart, minRssi, maxRssi, avgRssi, sampleCount) "
+                + "VALUES ('old', 0, -80, -60, -70, 10)");
+        v5.close();
+
+        helper.runMigrationsAndValidate(TEST_DB, 6, true, WifiSignalDatabase.MIGRATION_5_6).close();
+
+        WifiSignalDatabase db = Room.databaseBuilder(context, WifiSignalDatabase.class, TEST_DB)
+                .addMigrations(WifiSignalDatabase.ALL_MIGRATIONS)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            List<SignalRollupMinuteEntity> minutes = db.signalRollupDao().getMinuteRollups("home", 0, Long.MAX_VALUE);
+            assertEquals(1, minutes.size());
+            assertEquals(1, minutes.get(0).apId);
+            assertEquals(-45.0, minutes.get(0).avgRssi, 0.001);
+            // Dispersia nu era pastrata: suma patratelor corespunde unei deviatii standard 0
+            assertEquals(4 * 45.0 * 45.0, minutes.get(0).sumSquareRssi, 0.001);
+
+            List<SignalBucketStats> old = db.wifiSignalDao().getSsidSignalBuckets("old", 0, Long.MAX_VALUE,
+                    SignalBucketStats.BUCKET_1_HOUR);
+            assertEquals(1, old.size());
+            assertEquals(10, old.get(0).sampleCount);
+            assertEquals(-80, old.get(0).minRssi);
+            assertEquals(0.0, old.get(0).getStdDev(), 0.001);
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void onlyNewDatabasesAreCreatedWithIncrementalVacuum() {
+        WifiSignalDatabase created = Room.databaseBuilder(context, WifiSignalDatabase.class, TEST_DB)
+                .addCallback(new WifiSignalDatabase.IncrementalVacuumCallback())
+                .allowMainThreadQueries()
+                .build();
+        try {
+            assertEquals(2, autoVacuumMode(created.getOpenHelper().getWritableDatabase()));
+        } finally {
+            created.close();
+        }
+
+        // O baza de date adusa din versiunea 1 nu este rescrisa cu un VACUUM complet
+        String upgradedName = "migration-upgraded.db";
+        helper.createDatabase(upgradedName, 1).close();
+        helper.runMigrationsAndValidate(upgradedName, LATEST_VERSION, true, WifiSignalDatabase.ALL_MIGRATIONS).close();
+        WifiSignalDatabase upgraded = Room.databaseBuilder(context, WifiSignalDatabase.class, upgradedName)
+                .addMigrations(WifiSignalDatabase.ALL_MIGRATIONS)
+                .addCallback(new WifiSignalDatabase.IncrementalVacuumCallback())
+                .allowMainThreadQueries()
+                .build();
+        try {
+            assertEquals(0, autoVacuumMode(upgraded.getOpenHelper().getWritableDatabase()));
+        } finally {
+            upgraded.close();
+            context.deleteDatabase(upgradedName);
+        }
+    }
+
+    private static int autoVacuumMode(SupportSQLiteDatabase database) {
+        try (Cursor cursor = database.query("PRAGMA auto_vacuum")) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+}
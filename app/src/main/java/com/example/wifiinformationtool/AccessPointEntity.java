@@ -0,0 +1,60 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entitate Room pentru un punct de acces (AP) Wi‑Fi, identificat unic prin BSSID.
+ * Pastreaza atributele statice ale AP-ului, astfel incat esantioanele de semnal
+ * din wifi_signal_table sa contina doar (apId, semnal, timestamp).
+ *
+ * Inregistrarile migrate din schema veche nu au BSSID (bssid = null): pentru fiecare
+ * SSID istoric exista un singur AP "legacy" care grupeaza esantioanele vechi.
+ */
+@Entity(tableName = "access_point",
+        indices = {
+                @Index(value = {"bssid"}, unique = true),
+                @Index(value = {"ssid"})
+        })
+public class AccessPointEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    public int id;               // Cheia primara generata automat (apId)
+
+    public String bssid;         // BSSID-ul (MAC) punctului de acces
+    public String ssid;          // SSID-ul retelei Wi‑Fi
+    public int frequency;        // Frecventa primara (MHz)
+    public String band;          // Banda (2.4/5/6 GHz)
+    public String capabilities;  // Stringul de capabilities (securitate)
+
+    /**
+     * Constructor pentru entitatea AccessPointEntity.
+     *
+     * @param bssid        BSSID-ul punctului de acces
+     * @param ssid         SSID-ul retelei
+     * @param frequency    Frecventa primara (MHz)
+     * @param band         Banda de frecventa
+     * @param capabilities Stringul de capabilities
+     */
+    public AccessPointEntity(String bssid, String ssid, int frequency, String band, String capabilities) {
+        this.bssid = bssid;
+        this.ssid = ssid;
+        this.frequency = frequency;
+        this.band = band;
+        this.capabilities = capabilities;
+    }
+
+    /**
+     * Construieste entitatea din atributele statice ale unei observatii de scanare.
+     */
+    @Ignore
+    public AccessPointEntity(ScanObservation observation) {
+        this(observation.bssid,
+                observation.ssid,
+                observation.frequency,
+                ChannelAnalyzer.bandLabel(observation.frequency),
+                observation.capabilities);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Un rand din tabela ARP a kernel-ului (/proc/net/arp): un vecin din retea locala.
+ *
+ * Adresa IP este in ordinea octetilor de retea (vezi Subnet), iar adresa MAC este tinuta in cei
+ * 48 de biti de jos ai unui long; 0 inseamna ca adresa MAC nu este (inca) cunoscuta.
+ */
+public final class ArpEntry {
+    // Flag-urile din linux/if_arp.h
+    public static final int ATF_COM = 0x02;     // intrare completa (MAC cunoscut)
+    public static final int ATF_PERM = 0x04;    // intrare permanenta (statica)
+
+    public final int address;
+    public final long mac;
+    public final int flags;
+    public final String device;
+
+    public ArpEntry(int address, long mac, int flags, String device) {
+        this.address = address;
+        this.mac = mac;
+        this.flags = flags;
+        this.device = device;
+    }
+
+    /** true daca vecinul a raspuns la ARP si adresa MAC este cunoscuta. */
+    public boolean isComplete() {
+        return (flags & ATF_COM) != 0 && mac != 0;
+    }
+
+    /** true pentru intrarile adaugate manual (statice). */
+    public boolean isPermanent() {
+        return (flags & ATF_PERM) != 0;
+    }
+
+    /** true daca cele doua intrari descriu acelasi vecin (aceeasi adresa IP pe aceeasi interfata). */
+    public boolean isSameNeighbor(ArpEntry other) {
+        return address == other.address && device.equals(other.device);
+    }
+
+    /** Adresa MAC in forma aa:bb:cc:dd:ee:ff. */
+    public String getMacString() {
+        return formatMac(mac);
+    }
+
+    /** Formateaza cei 48 de biti de jos ca aa:bb:cc:dd:ee:ff. */
+    public static String formatMac(long mac) {
+        char[] text = new char[17];
+        for (int i = 0; i < 6; i++) {
+            int octet = (int) (mac >>> (40 - 8 * i)) & 0xFF;
+            text[3 * i] = Character.forDigit(octet >>> 4, 16);
+            text[3 * i + 1] = Character.forDigit(octet & 0xF, 16);
+            if (i < 5) {
+                text[3 * i + 2] = ':';
+            }
+        }
+        return new String(text);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArpEntry)) {
+            return false;
+        }
+        ArpEntry other = (ArpEntry) o;
+        return address == other.address && mac == other.mac && flags == other.flags && device.equals(other.device);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = address;
+        result = 31 * result + Long.hashCode(mac);
+        result = 31 * result + flags;
+        return 31 * result + device.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return Subnet.formatAddress(address) + " " + getMacString() + " 0x" + Integer.toHexString(flags) + " " + device;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.wifiinformationtool;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clasa ArpTableReader citeste tabela ARP direct din /proc/net/arp, fara a porni un proces
+ * ("arp -a" costa zeci de milisecunde si lipseste pe multe dispozitive).
+ *
+ * Fisierul este citit intr-un buffer refolosit si parcurs octet cu octet, fara expresii regulate
+ * si fara String-uri intermediare: pe rand se aloca doar ArpEntry-ul, iar numele interfetelor
+ * sunt refolosite. Formatul (dupa randul de antet):
+ * <pre>
+ * IP address       HW type     Flags       HW address            Mask     Device
+ * 192.168.1.1      0x1         0x2         aa:bb:cc:dd:ee:ff     *        wlan0
+ * </pre>
+ * Randurile care nu respecta formatul sunt ignorate.
+ *
+ * De la Android 10, aplicatiile cu targetSdk 29+ nu mai au voie sa citeasca /proc/net/arp;
+ * acolo citirea arunca IOException, iar apelantul trebuie sa se descurce fara adrese MAC.
+ * Nu este thread-safe.
+ */
+public class ArpTableReader {
+    public static final String PROC_NET_ARP = "/proc/net/arp";
+    // Numele de interfete retinute pentru refolosire (de obicei wlan0, eventual inca una-doua)
+    private static final int MAX_DEVICES = 8;
+
+    private final File file;
+    private byte[] buffer = new byte[4096];
+    private byte[] previous = new byte[0];
+    private int previousLength = -1;
+    private final byte[][] deviceBytes = new byte[MAX_DEVICES][];
+    private final String[] deviceNames = new String[MAX_DEVICES];
+    private int deviceCount;
+
+    public ArpTableReader() {
+        this(new File(PROC_NET_ARP));
+    }
+
+    public ArpTableReader(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Citeste si parseaza tabela.
+     *
+     * @param out lista in care se adauga intrarile
+     * @throws IOException daca fisierul nu poate fi citit
+     */
+    public void read(List<ArpEntry> out) throws IOException {
+        int length = readFile();
+        parse(buffer, length, out);
+    }
+
+    /**
+     * Citeste tabela si o parseaza doar daca s-a schimbat fata de citirea anterioara; o tabela
+     * neschimbata costa doar citirea fisierului si o comparatie de octeti.
+     *
+     * @param out lista in care se adauga intrarile, daca tabela s-a schimbat
+     * @return true daca tabela s-a schimbat (si out a fost completata)
+     * @throws IOException daca fisierul nu poate fi citit
+     */
+    public boolean readIfChanged(List<ArpEntry> out) throws IOException {
+        int length = readFile();
+        if (length == previousLength && regionEquals(buffer, 0, previous, 0, length)) {
+            return false;
+        }
+        parse(buffer, length, out);
+        // Pastram continutul pentru comparatia urmatoare; bufferele sunt schimbate intre ele
+        byte[] swap = previous;
+        previous = buffer;
+        previousLength = length;
+        buffer = swap.length >= previous.length ? swap : new byte[previous.length];
+        return true;
+    }
+
+    /**
+     * Parseaza continutul unei tabele ARP.
+     *
+     * @param data   continutul, in format /proc/net/arp (primul rand este antetul)
+     * @param length numarul de octeti valizi din data
+     * @param out    lista in care se adauga intrarile
+     * @return numarul de intrari adaugate
+     */
+    public int parse(byte[] data, int length, List<ArpEntry> out) {
+        int added = 0;
+        int pos = nextLine(data, 0, length); // antetul
+        while (pos < length) {
+            int end = nextLine(data, pos, length);
+            ArpEntry entry = parseLine(data, pos, end);
+            if (entry != null) {
+                out.add(entry);
+                added++;
+            }
+            pos = end;
+        }
+        return added;
+    }
+
+    /** Parseaza un rand [start, end); null daca nu respecta formatul. */
+    private ArpEntry parseLine(byte[] data, int start, int end) {
+        // IP: patru octeti zecimali separati prin '.'
+        int pos = skipSpaces(data, start, end);
+        int address = 0;
+        for (int octet = 0; octet < 4; octet++) {
+            int value = 0;
+            int digits = 0;
+            while (pos < end && data[pos] >= '0' && data[pos] <= '9' && digits < 3) {
+                value = value * 10 + (data[pos++] - '0');
+                digits++;
+            }
+            if (digits == 0 || value > 255 || (octet < 3 && (pos >= end || data[pos++] != '.'))) {
+                return null;
+            }
+            address = (address << 8) | value;
+        }
+        if (pos >= end || !isSpace(data[pos])) {
+            return null;
+        }
+        // HW type (nefolosit) si flags, in hexazecimal cu prefix 0x
+        pos = skipHex(data, skipSpaces(data, pos, end), end);
+        if (pos < 0) {
+            return null;
+        }
+        pos = skipSpaces(data, pos, end);
+        int flagsStart = pos;
+        pos = skipHex(data, pos, end);
+        if (pos < 0) {
+            return null;
+        }
+        int flags = 0;
+        for (int i = flagsStart + 2; i < pos; i++) {
+            flags = (flags << 4) | Character.digit(data[i], 16);
+        }
+        // HW address: sase perechi hexazecimale separate prin ':'
+        pos = skipSpaces(data, pos, end);
+        if (end - pos < 17) {
+            return null;
+        }
+        long mac = 0;
+        for (int i = 0; i < 6; i++) {
+            int high = Character.digit(data[pos], 16);
+            int low = Character.digit(data[pos + 1], 16);
+            if (high < 0 || low < 0 || (i < 5 && data[pos + 2] != ':')) {
+                return null;
+            }
+            mac = (mac << 8) | (high << 4) | low;
+            pos += 3;
+        }
+        pos--; // dupa ultima pereche nu urmeaza ':'
+        if (pos < end && !isSpace(data[pos])) {
+            return null;
+        }
+        // Mask (nefolosit), apoi numele interfetei
+        pos = skipToken(data, skipSpaces(data, pos, end), end);
+        int deviceStart = skipSpaces(data, pos, end);
+        int deviceEnd = skipToken(data, deviceStart, end);
+        if (deviceEnd == deviceStart) {
+            return null;
+        }
+        return new ArpEntry(address, mac, flags, deviceName(data, deviceStart, deviceEnd));
+    }
+
+    /** Numele interfetei; refolosit daca a mai aparut, ca sa nu alocam un String pe rand. */
+    private String deviceName(byte[] data, int start, int end) {
+        for (int i = 0; i < deviceCount; i++) {
+            byte[] name = deviceBytes[i];
+            if (name.length == end - start && regionEquals(name, 0, data, start, name.length)) {
+                return deviceNames[i];
+            }
+        }
+        String name = new String(data, start, end - start, StandardCharsets.US_ASCII);
+        if (deviceCount < MAX_DEVICES) {
+            deviceBytes[deviceCount] = Arrays.copyOfRange(data, start, end);
+            deviceNames[deviceCount++] = name;
+        }
+        return name;
+    }
+
+    /** Citeste tot fisierul in buffer (fisierele din /proc raporteaza lungimea 0, deci citim pana la EOF). */
+    private int readFile() throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            int length = 0;
+            int n;
+            while ((n = in.read(buffer, length, buffer.length - length)) > 0) {
+                length += n;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            return length;
+        }
+    }
+
+    /** Compara length octeti din a (de la aFrom) cu cei din b (de la bFrom). */
+    private static boolean regionEquals(byte[] a, int aFrom, byte[] b, int bFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Pozitia de dupa sfarsitul randului care incepe la pos. */
+    private static int nextLine(byte[] data, int pos, int length) {
+        while (pos < length && data[pos] != '\n') {
+            pos++;
+        }
+        return pos < length ? pos + 1 : length;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static int skipSpaces(byte[] data, int pos, int end) {
+        while (pos < end && isSpace(data[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipToken(byte[] data, int pos, int end) {
+        while (pos < end && !isSpace(data[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /** Sare peste un numar hexazecimal cu prefix 0x; -1 daca nu exista unul valid la pos. */
+    private static int skipHex(byte[] data, int pos, int end) {
+        if (end - pos < 3 || data[pos] != '0' || (data[pos + 1] != 'x' && data[pos + 1] != 'X')) {
+            return -1;
+        }
+        int digitsEnd = pos + 2;
+        while (digitsEnd < end && Character.digit(data[digitsEnd], 16) >= 0) {
+            digitsEnd++;
+        }
+        if (digitsEnd == pos + 2 || digitsEnd - pos > 10 || (digitsEnd < end && !isSpace(data[digitsEnd]))) {
+            return -1;
+        }
+        return digitsEnd;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.wifiinformationtool;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa ArpTableWatcher citeste periodic tabela ARP si anunta doar diferentele fata de citirea
+ * anterioara: vecini noi, vecini schimbati (alt MAC sau alte flag-uri) si vecini disparuti.
+ *
+ * O citire in care tabela nu s-a schimbat costa doar citirea fisierului si o comparatie de
+ * octeti (ArpTableReader.readIfChanged), fara parsare si fara alocari. Citirile ruleaza pe un
+ * thread de background propriu; daca tabela nu poate fi citita (Android 10+), urmarirea se opreste.
+ */
+public class ArpTableWatcher {
+    private static final String TAG = "ArpTableWatcher";
+
+    /** Ascultator apelat pe thread-ul watcher-ului, doar cand tabela s-a schimbat. */
+    public interface Listener {
+        void onNeighborsChanged(List<ArpEntry> added, List<ArpEntry> changed, List<ArpEntry> removed);
+    }
+
+    private final ArpTableReader reader;
+    private final long intervalMs;
+    private final Listener listener;
+    private final Runnable pollRunnable = this::pollAndReschedule;
+    // Vecinii cunoscuti, dupa interfata si IP; accesati doar de thread-ul care face poll()
+    private final Map<String, ArpEntry> neighbors = new HashMap<>();
+    private final List<ArpEntry> scratch = new ArrayList<>();
+    private HandlerThread thread;
+    private Handler handler;
+    private volatile boolean available = true;
+
+    /**
+     * @param reader     cititorul tabelei
+     * @param intervalMs intervalul dintre doua citiri (millis)
+     * @param listener   ascultatorul diferentelor
+     */
+    public ArpTableWatcher(ArpTableReader reader, long intervalMs, Listener listener) {
+        this.reader = reader;
+        this.intervalMs = intervalMs;
+        this.listener = listener;
+    }
+
+    /** Porneste citirile periodice; prima citire este facuta imediat. */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new HandlerThread("arp-watch", Process.THREAD_PRIORITY_BACKGROUND);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+        handler.post(pollRunnable);
+    }
+
+    /** Opreste citirile periodice. */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        handler.removeCallbacks(pollRunnable);
+        thread.quitSafely();
+        thread = null;
+        handler = null;
+    }
+
+    /** false dupa ce tabela nu a putut fi citita (de exemplu acces interzis). */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Citeste tabela o data si anunta diferentele, daca exista. Folosita de thread-ul watcher-ului;
+     * poate fi apelata si direct, dar nu concurent cu start().
+     *
+     * @return true daca ascultatorul a fost anuntat
+     * @throws IOException daca tabela nu poate fi citita
+     */
+    public boolean poll() throws IOException {
+        scratch.clear();
+        if (!reader.readIfChanged(scratch)) {
+            return false;
+        }
+        List<ArpEntry> added = new ArrayList<>();
+        List<ArpEntry> changed = new ArrayList<>();
+        Map<String, ArpEntry> previous = new HashMap<>(neighbors);
+        neighbors.clear();
+        for (int i = 0; i < scratch.size(); i++) {
+            ArpEntry entry = scratch.get(i);
+            String key = keyOf(entry);
+            neighbors.put(key, entry);
+            ArpEntry old = previous.remove(key);
+            if (old == null) {
+                added.add(entry);
+            } else if (!old.equals(entry)) {
+                changed.add(entry);
+            }
+        }
+        List<ArpEntry> removed = previous.isEmpty()
+                ? Collections.<ArpEntry>emptyList() : new ArrayList<>(previous.values());
+        scratch.clear();
+        if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+            return false; // de exemplu doar ordinea randurilor s-a schimbat
+        }
+        listener.onNeighborsChanged(added, changed, removed);
+        return true;
+    }
+
+    /** Citire periodica pe thread-ul watcher-ului. */
+    private void pollAndReschedule() {
+        try {
+            poll();
+        } catch (IOException e) {
+            Log.w(TAG, "ARP table not readable, stopping", e);
+            available = false;
+            return;
+        }
+        synchronized (this) {
+            if (handler != null) {
+                handler.postDelayed(pollRunnable, intervalMs);
+            }
+        }
+    }
+
+    private static String keyOf(ArpEntry entry) {
+        return entry.device + '/' + entry.address;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.wifiinformationtool;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HostProbe pentru verificari blocante (de exemplu InetAddress.isReachable), rulate pe un pool
+ * propriu de thread-uri. Fiecare verificare in curs tine un thread, deci pool-ul trebuie sa fie
+ * cel putin cat limita de verificari simultane a SubnetSweeper-ului.
+ */
+public class BlockingHostProbe implements HostProbe {
+
+    /** Verificarea blocanta a unei adrese. */
+    public interface Check {
+        boolean isAlive(int address) throws IOException;
+    }
+
+    private final Check check;
+    private final ExecutorService executor;
+
+    /**
+     * @param threads numarul de thread-uri (verificari simultane)
+     * @param check   verificarea rulata pentru fiecare adresa
+     */
+    public BlockingHostProbe(int threads, Check check) {
+        this.check = check;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "host-probe-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Probe-ul folosit initial de RouterInfo, acum rezerva lui RouterProber: InetAddress.isReachable
+     * (ICMP daca procesul are voie, altfel conexiune TCP pe portul 7, unde si un refuz inseamna host activ).
+     */
+    public static BlockingHostProbe reachability(int threads, int timeoutMs) {
+        return new BlockingHostProbe(threads, address -> InetAddress.getByAddress(new byte[] {
+                (byte) (address >>> 24), (byte) (address >>> 16), (byte) (address >>> 8), (byte) address
+        }).isReachable(timeoutMs));
+    }
+
+    @Override
+    public void probe(int address, Callback callback) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            boolean alive;
+            try {
+                alive = check.isAlive(address);
+            } catch (IOException | RuntimeException e) {
+                alive = false;
+            }
+            callback.onProbeResult(address, alive, System.nanoTime() - start);
+        });
+    }
+
+    /** Opreste pool-ul; verificarile in curs se termina normal. */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.wifiinformationtool;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clasa ChannelAnalyzer mapeaza frecventele Wi-Fi pe banda si canal (2.4, 5 si 6 GHz) si calculeaza
+ * ocuparea fiecarui canal de 20 MHz dintr-un scan, pentru a recomanda canalul cel mai liber din
+ * fiecare banda.
+ *
+ * Fiecare AP ocupa intervalul [centru - latime/2, centru + latime/2] (latimea si frecventa centrala
+ * vin din ScanObservation; pentru 20 MHz centrul este canalul primar). Contributia lui la un canal
+ * de 20 MHz este puterea semnalului in mW (tabel precalculat, fara Math.pow) inmultita cu fractiunea
+ * din canal acoperita de AP. In 2.4 GHz canalele sunt la 5 MHz distanta, deci un AP pe canalul 6
+ * apasa si pe 4, 5, 7, 8 (75% si 50%) si mai putin pe 3 si 9.
+ *
+ * Analiza este o singura trecere peste vectori primitivi refolositi: fiecare AP atinge cel mult
+ * cateva canale (9 in 2.4 GHz, 16 pentru 320 MHz), deci costul este O(n) si nu aloca nimic dupa
+ * primul scan. Nu este thread-safe: o instanta trebuie folosita de pe un singur thread.
+ */
+public class ChannelAnalyzer {
+    public static final int BAND_UNKNOWN = -1;
+    public static final int BAND_2_4_GHZ = 0;
+    public static final int BAND_5_GHZ = 1;
+    public static final int BAND_6_GHZ = 2;
+    private static final String[] BAND_LABELS = {"2.4 GHz", "5 GHz", "6 GHz"};
+
+    // Numarul maxim de canal + 1 pentru fiecare banda (indexul in vectorii de ocupare)
+    private static final int CHANNEL_SLOTS = 256;
+    // Canalele de 20 MHz recomandabile: 1/6/11 in 2.4 GHz, UNII 1-3 in 5 GHz, toate in 6 GHz
+    private static final int[] CANDIDATES_2_4 = {1, 6, 11};
+    private static final int[] CANDIDATES_5 = {36, 40, 44, 48, 52, 56, 60, 64, 100, 104, 108, 112, 116,
+            120, 124, 128, 132, 136, 140, 144, 149, 153, 157, 161, 165};
+    private static final int[] CANDIDATES_6 = new int[59];
+    // Toate canalele de 20 MHz ale fiecarei benzi, crescator, cu frecventa lor centrala
+    private static final int[][] CHANNELS = new int[3][];
+    private static final int[][] CHANNEL_CENTERS = new int[3][];
+    // FIRST_INDEX[banda][n] = indexul in CHANNELS[banda] al primului canal cu numarul >= n
+    private static final int[][] FIRST_INDEX = new int[3][CHANNEL_SLOTS + 1];
+    // Nivelul minim luat in calcul (dBm); tabelul de putere acopera [MIN_DBM, 0]
+    private static final int MIN_DBM = -100;
+    private static final double[] DBM_TO_MW = new double[-MIN_DBM + 1];
+
+    static {
+        for (int i = 0; i < CANDIDATES_6.length; i++) {
+            CANDIDATES_6[i] = 1 + 4 * i;
+        }
+        CHANNELS[BAND_2_4_GHZ] = new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+        int[] channels5 = new int[CANDIDATES_5.length + 3];
+        System.arraycopy(CANDIDATES_5, 0, channels5, 0, CANDIDATES_5.length);
+        // UNII-4 (169-177): nu sunt recomandate, dar AP-urile de acolo ocupa spectru
+        channels5[CANDIDATES_5.length] = 169;
+        channels5[CANDIDATES_5.length + 1] = 173;
+        channels5[CANDIDATES_5.length + 2] = 177;
+        CHANNELS[BAND_5_GHZ] = channels5;
+        CHANNELS[BAND_6_GHZ] = CANDIDATES_6;
+        for (int band = 0; band < 3; band++) {
+            int[] channels = CHANNELS[band];
+            CHANNEL_CENTERS[band] = new int[channels.length];
+            for (int i = 0; i < channels.length; i++) {
+                CHANNEL_CENTERS[band][i] = channelFrequency(band, channels[i]);
+            }
+            int index = 0;
+            for (int n = 0; n <= CHANNEL_SLOTS; n++) {
+                while (index < channels.length && channels[index] < n) {
+                    index++;
+                }
+                FIRST_INDEX[band][n] = index;
+            }
+        }
+        for (int dbm = MIN_DBM; dbm <= 0; dbm++) {
+            DBM_TO_MW[dbm - MIN_DBM] = Math.pow(10, dbm / 10.0);
+        }
+    }
+
+    // Ocuparea si numarul de AP-uri pe canal, pe banda: index = banda * CHANNEL_SLOTS + canal
+    private final double[] occupancy = new double[3 * CHANNEL_SLOTS];
+    private final int[] accessPointCount = new int[3 * CHANNEL_SLOTS];
+    private final int[] bandAccessPointCount = new int[3];
+    // Vectori de intrare refolositi de analyze(List)
+    private int[] frequencies = new int[0];
+    private int[] centerFrequencies = new int[0];
+    private int[] widths = new int[0];
+    private int[] levels = new int[0];
+
+    /** Banda unei frecvente (BAND_*), sau BAND_UNKNOWN. */
+    public static int band(int frequency) {
+        if (frequency >= 2401 && frequency <= 2495) {
+            return BAND_2_4_GHZ;
+        } else if (frequency >= 5150 && frequency <= 5895) {
+            return BAND_5_GHZ;
+        } else if (frequency >= 5925 && frequency <= 7125) {
+            return BAND_6_GHZ;
+        }
+        return BAND_UNKNOWN;
+    }
+
+    /** Eticheta benzii unei frecvente ("2.4 GHz", "5 GHz", "6 GHz" sau "Other Frequency"). */
+    public static String bandLabel(int frequency) {
+        int band = band(frequency);
+        return band == BAND_UNKNOWN ? "Other Frequency" : BAND_LABELS[band];
+    }
+
+    /** Conversie frecventa Wi‑Fi (MHz) in canal primar pentru 2.4, 5 si 6 GHz; -1 daca nu se cunoaste. */
+    public static int channel(int frequency) {
+        if (frequency == 2484) {
+            return 14;
+        } else if (frequency >= 2412 && frequency <= 2472) {
+            return (frequency - 2407) / 5;
+        } else if (frequency >= 5160 && frequency <= 5885) {
+            return (frequency - 5000) / 5;
+        } else if (frequency == 5935) {
+            return 2;
+        } else if (frequency >= 5955 && frequency <= 7115) {
+            return (frequency - 5950) / 5;
+        }
+        return -1; // canal necunoscut
+    }
+
+    /** Frecventa centrala (MHz) a unui canal din banda data. */
+    public static int channelFrequency(int band, int channel) {
+        switch (band) {
+            case BAND_2_4_GHZ:
+                return channel == 14 ? 2484 : 2407 + 5 * channel;
+            case BAND_5_GHZ:
+                return 5000 + 5 * channel;
+            case BAND_6_GHZ:
+                return channel == 2 ? 5935 : 5950 + 5 * channel;
+            default:
+                return 0;
+        }
+    }
+
+    /** Indica daca un canal de 5 GHz necesita DFS (detectie radar inainte de emisie). */
+    public static boolean isDfsChannel(int band, int channel) {
+        return band == BAND_5_GHZ && channel >= 52 && channel <= 144;
+    }
+
+    /**
+     * Analizeaza un scan. Rezultatul ramane valabil pana la urmatorul apel.
+     *
+     * @param results observatiile scanului, in orice ordine
+     */
+    public void analyze(List<ScanObservation> results) {
+        int count = results.size();
+        if (frequencies.length < count) {
+            int capacity = Math.max(count, 2 * frequencies.length);
+            frequencies = new int[capacity];
+            centerFrequencies = new int[capacity];
+            widths = new int[capacity];
+            levels = new int[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            ScanObservation observation = results.get(i);
+            frequencies[i] = observation.frequency;
+            centerFrequencies[i] = observation.centerFrequency;
+            widths[i] = observation.channelWidth;
+            levels[i] = observation.level;
+        }
+        analyze(frequencies, centerFrequencies, widths, levels, count);
+    }
+
+    /**
+     * Analizeaza un scan dat direct in vectori primitivi, intr-o singura trecere.
+     *
+     * @param frequencies       frecventa canalului primar (MHz) pentru fiecare AP
+     * @param centerFrequencies frecventa centrala a canalului larg (MHz); 0 daca nu se cunoaste
+     * @param widths            latimea canalului (MHz)
+     * @param levels            nivelul semnalului (dBm)
+     * @param count             numarul de AP-uri din vectori
+     */
+    public void analyze(int[] frequencies, int[] centerFrequencies, int[] widths, int[] levels, int count) {
+        Arrays.fill(occupancy, 0);
+        Arrays.fill(accessPointCount, 0);
+        Arrays.fill(bandAccessPointCount, 0);
+        for (int i = 0; i < count; i++) {
+            int band = band(frequencies[i]);
+            if (band == BAND_UNKNOWN) {
+                continue;
+            }
+            bandAccessPointCount[band]++;
+            int width = Math.max(20, widths[i]);
+            int center = (width > 20 && centerFrequencies[i] > 0) ? centerFrequencies[i] : frequencies[i];
+            int low = center - width / 2;
+            int high = center + width / 2;
+            double power = DBM_TO_MW[Math.max(MIN_DBM, Math.min(0, levels[i])) - MIN_DBM];
+            // Canalele de 20 MHz care se suprapun cu [low, high] au centrul in (low - 10, high + 10)
+            int[] channels = CHANNELS[band];
+            int[] centers = CHANNEL_CENTERS[band];
+            int base = band * CHANNEL_SLOTS;
+            for (int c = FIRST_INDEX[band][firstChannelNumber(band, low - 10)]; c < channels.length; c++) {
+                int channelCenter = centers[c];
+                if (channelCenter - 10 >= high) {
+                    break;
+                }
+                int overlap = Math.min(high, channelCenter + 10) - Math.max(low, channelCenter - 10);
+                if (overlap > 0) {
+                    occupancy[base + channels[c]] += power * overlap / 20.0;
+                    accessPointCount[base + channels[c]]++;
+                }
+            }
+        }
+    }
+
+    /** Un numar de canal (nu neaparat valid) care nu depaseste primul canal centrat peste frequency. */
+    private static int firstChannelNumber(int band, int frequency) {
+        int offset = band == BAND_2_4_GHZ ? 2407 : band == BAND_5_GHZ ? 5000 : 5950;
+        return Math.max(0, Math.min(CHANNEL_SLOTS, Math.floorDiv(frequency - offset, 5)));
+    }
+
+    /**
+     * Ocuparea unui canal de 20 MHz dupa ultima analiza: suma puterilor (mW) AP-urilor care il
+     * acopera, ponderata cu fractiunea acoperita.
+     */
+    public double getOccupancy(int band, int channel) {
+        return occupancy[band * CHANNEL_SLOTS + channel];
+    }
+
+    /** Numarul de AP-uri care se suprapun (chiar si partial) cu canalul dat, dupa ultima analiza. */
+    public int getAccessPointCount(int band, int channel) {
+        return accessPointCount[band * CHANNEL_SLOTS + channel];
+    }
+
+    /** Numarul de AP-uri din banda data, dupa ultima analiza. */
+    public int getBandAccessPointCount(int band) {
+        return bandAccessPointCount[band];
+    }
+
+    /**
+     * Canalul de 20 MHz cel mai putin ocupat din banda data, dupa ultima analiza. La egalitate se
+     * prefera canalele fara DFS, apoi canalul mai mic.
+     *
+     * @return numarul canalului, sau -1 pentru o banda necunoscuta
+     */
+    public int recommendChannel(int band) {
+        int[] candidates;
+        switch (band) {
+            case BAND_2_4_GHZ:
+                candidates = CANDIDATES_2_4;
+                break;
+            case BAND_5_GHZ:
+                candidates = CANDIDATES_5;
+                break;
+            case BAND_6_GHZ:
+                candidates = CANDIDATES_6;
+                break;
+            default:
+                return -1;
+        }
+        int best = candidates[0];
+        for (int i = 1; i < candidates.length; i++) {
+            int ch = candidates[i];
+            double difference = getOccupancy(band, ch) - getOccupancy(band, best);
+            if (difference < 0 || (difference == 0 && isDfsChannel(band, best) && !isDfsChannel(band, ch))) {
+                best = ch;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interfata DAO pentru inventarul de dispozitive: entitatile DeviceEntity si SweepRecordEntity.
+ */
+@Dao
+public interface DeviceDao {
+
+    /** Returneaza toate dispozitivele din inventar. */
+    @Query("SELECT * FROM device")
+    List<DeviceEntity> getAll();
+
+    /** Returneaza dispozitivul cu MAC-ul dat, sau null daca nu exista. */
+    @Query("SELECT * FROM device WHERE mac = :mac")
+    DeviceEntity getByMac(String mac);
+
+    /**
+     * Insereaza un dispozitiv nou; daca MAC-ul exista deja, insertul este ignorat.
+     * @return id-ul randului nou sau -1 daca MAC-ul exista deja
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insert(DeviceEntity device);
+
+    /** Actualizeaza dispozitivele date (dupa id). */
+    @Update
+    void update(List<DeviceEntity> devices);
+
+    /**
+     * Sterge dispozitivele cu id-urile date.
+     * @return numarul de randuri sterse
+     */
+    @Query("DELETE FROM device WHERE id IN (:ids)")
+    int deleteByIds(List<Integer> ids);
+
+    /** Adauga un sweep terminat. */
+    @Insert
+    long insertSweep(SweepRecordEntity sweep);
+
+    /** Returneaza numarul de sweep-uri facute in subnet-ul dat (din indexul (subnet, timestamp)). */
+    @Query("SELECT COUNT(*) FROM sweep WHERE subnet = :subnet")
+    int countSweeps(String subnet);
+
+    /** Returneaza ultimele :limit sweep-uri din subnet-ul dat, cele mai noi primele. */
+    @Query("SELECT * FROM sweep WHERE subnet = :subnet ORDER BY timestamp DESC LIMIT :limit")
+    List<SweepRecordEntity> getRecentSweeps(String subnet, int limit);
+
+    /**
+     * Scrie rezultatul unui sweep intr-o singura tranzactie: dispozitivele noi, cele actualizate,
+     * stergerea celor expirate si inregistrarea sweep-ului. Un dispozitiv nou al carui MAC exista
+     * deja (adaugat intre timp) actualizeaza randul existent.
+     * @param outcome modificarile calculate de SweepPlanner.reconcile
+     * @param sweep   inregistrarea sweep-ului
+     */
+    @Transaction
+    default void recordSweep(SweepPlanner.Outcome outcome, SweepRecordEntity sweep) {
+        List<DeviceEntity> updated = new ArrayList<>(outcome.refreshed);
+        updated.addAll(outcome.missed);
+        for (DeviceEntity device : outcome.added) {
+            long id = insert(device);
+            if (id != -1) {
+                device.id = (int) id;
+                continue;
+            }
+            DeviceEntity existing = getByMac(device.mac);
+            if (existing != null) {
+                existing.markSeen(device.lastIp, device.lastSeen);
+                if (device.vendor != null) {
+                    existing.vendor = device.vendor;
+                    existing.openPorts = device.openPorts;
+                }
+                updated.add(existing);
+            }
+        }
+        if (!updated.isEmpty()) {
+            update(updated);
+        }
+        if (!outcome.expired.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(outcome.expired.size());
+            for (DeviceEntity device : outcome.expired) {
+                ids.add(device.id);
+            }
+            deleteByIds(ids);
+        }
+        sweep.id = (int) insertSweep(sweep);
+    }
+}
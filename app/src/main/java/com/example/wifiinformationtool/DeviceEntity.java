@@ -0,0 +1,79 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entitate Room pentru un dispozitiv descoperit in retea locala (inventarul de dispozitive).
+ *
+ * Un dispozitiv este identificat prin MAC, cand acesta este cunoscut din tabela ARP; altfel
+ * (Android 10+, unde tabela nu poate fi citita) prin ultima adresa IP. missedSweeps numara
+ * sweep-urile complete consecutive in care dispozitivul nu a raspuns.
+ */
+@Entity(tableName = "device",
+        indices = {
+                @Index(value = {"mac"}, unique = true),
+                @Index(value = {"lastIp"})
+        })
+public class DeviceEntity {
+    // Cate adrese IP recente se pastreaza in coloana ips
+    static final int MAX_IPS = 4;
+
+    @PrimaryKey(autoGenerate = true)
+    public int id;              // Cheia primara generata automat
+
+    public String mac;          // Adresa MAC (aa:bb:cc:dd:ee:ff); null daca nu este cunoscuta
+    public int lastIp;          // Ultima adresa IP (ordinea octetilor de retea, vezi Subnet)
+    public String ips;          // Adresele IP recente, cea mai noua prima, separate prin virgula
+    public String vendor;       // Producatorul sau modelul, din indiciile HTTP; null daca nu se stie
+    public String openPorts;    // Porturile TCP deschise gasite, separate prin virgula
+    public long firstSeen;      // Prima data cand a raspuns (millis)
+    public long lastSeen;       // Ultima data cand a raspuns (millis)
+    public int missedSweeps;    // Sweep-uri complete consecutive fara raspuns
+
+    /**
+     * Constructor pentru entitatea DeviceEntity.
+     *
+     * @param mac    adresa MAC, sau null
+     * @param lastIp adresa IP curenta
+     * @param seenAt momentul descoperirii (millis)
+     */
+    @Ignore
+    public DeviceEntity(String mac, int lastIp, long seenAt) {
+        this.mac = mac;
+        this.lastIp = lastIp;
+        this.ips = Subnet.formatAddress(lastIp);
+        this.firstSeen = seenAt;
+        this.lastSeen = seenAt;
+    }
+
+    /** Constructor folosit de Room. */
+    public DeviceEntity() {
+    }
+
+    /**
+     * Marcheaza dispozitivul ca vazut la adresa data: actualizeaza ultima adresa, lista de adrese
+     * recente, lastSeen si reseteaza missedSweeps.
+     */
+    void markSeen(int address, long now) {
+        if (address != lastIp || ips == null) {
+            String current = Subnet.formatAddress(address);
+            StringBuilder updated = new StringBuilder(current);
+            int kept = 1;
+            if (ips != null) {
+                for (String ip : ips.split(",")) {
+                    if (kept < MAX_IPS && !ip.isEmpty() && !ip.equals(current)) {
+                        updated.append(',').append(ip);
+                        kept++;
+                    }
+                }
+            }
+            ips = updated.toString();
+            lastIp = address;
+        }
+        lastSeen = now;
+        missedSweeps = 0;
+    }
+}
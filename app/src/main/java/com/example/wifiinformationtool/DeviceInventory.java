@@ -0,0 +1,108 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa DeviceInventory leaga SweepPlanner de baza de date DeviceInventoryDatabase: planifica
+ * sweep-urile incrementale pe baza dispozitivelor cunoscute si scrie rezultatul fiecarui sweep.
+ *
+ * Dispozitivele noi primesc o amprenta HTTP (HttpFingerprinter): producatorul sau modelul, din
+ * realm-ul WWW-Authenticate, headerul Server sau titlul paginii, si portul 80 ca port deschis
+ * daca raspunde. Metodele acceseaza baza de date si reteaua; se apeleaza pe
+ * DeviceInventoryDatabase.databaseExecutor.
+ */
+public class DeviceInventory {
+    private static final int HTTP_PORT = 80;
+    private static final int FINGERPRINT_TIMEOUT_MS = 300;
+    private static final long FINGERPRINT_TTL_MS = 10 * 60 * 1000;
+
+    private static volatile DeviceInventory INSTANCE;
+
+    private final DeviceDao dao;
+    private final SweepPlanner planner;
+    private final HttpFingerprinter fingerprinter;
+
+    /**
+     * @param dao           DAO-ul inventarului
+     * @param planner       strategia sweep-urilor
+     * @param fingerprinter amprenta HTTP pentru dispozitivele noi; null pentru a nu contacta host-urile
+     */
+    public DeviceInventory(DeviceDao dao, SweepPlanner planner, HttpFingerprinter fingerprinter) {
+        this.dao = dao;
+        this.planner = planner;
+        this.fingerprinter = fingerprinter;
+    }
+
+    /** Returneaza instanta aplicatiei, cu valorile implicite ale lui SweepPlanner. */
+    public static DeviceInventory getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (DeviceInventory.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new DeviceInventory(
+                            DeviceInventoryDatabase.getDatabase(context).deviceDao(),
+                            new SweepPlanner(SweepPlanner.DEFAULT_UNKNOWN_STRIDE,
+                                    SweepPlanner.DEFAULT_EXPIRE_AFTER_MISSES),
+                            new HttpFingerprinter(HTTP_PORT, FINGERPRINT_TIMEOUT_MS, FINGERPRINT_TTL_MS));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Planifica urmatorul sweep al subnet-ului: dispozitivele cunoscute intai, apoi felia curenta
+     * din spatiul necunoscut.
+     */
+    @WorkerThread
+    public SweepPlanner.Plan planSweep(Subnet subnet) {
+        return planner.plan(subnet, dao.getAll(), dao.countSweeps(subnet.toString()));
+    }
+
+    /**
+     * Actualizeaza inventarul cu rezultatul unui sweep, intr-o singura tranzactie.
+     *
+     * @param plan     planul dupa care s-a facut sweep-ul
+     * @param found    host-urile care au raspuns: adresa -> MAC (null daca nu este cunoscut)
+     * @param probed   numarul de adrese verificate efectiv
+     * @param complete false daca sweep-ul a fost anulat
+     * @return modificarile facute in inventar
+     */
+    @WorkerThread
+    public SweepPlanner.Outcome recordSweep(SweepPlanner.Plan plan, Map<Integer, String> found,
+                                            int probed, boolean complete) {
+        long now = System.currentTimeMillis();
+        List<DeviceEntity> devices = dao.getAll();
+        SweepPlanner.Outcome outcome = planner.reconcile(plan, devices, found, now, complete);
+        if (fingerprinter != null) {
+            for (DeviceEntity device : outcome.added) {
+                describe(device);
+            }
+        }
+        dao.recordSweep(outcome, new SweepRecordEntity(plan.subnet.toString(), now, probed, found.size(), complete));
+        return outcome;
+    }
+
+    /** Completeaza vendor si openPorts din amprenta HTTP a dispozitivului. */
+    private void describe(DeviceEntity device) {
+        HttpFingerprint fingerprint = fingerprinter.fingerprint(Subnet.formatAddress(device.lastIp), device.mac);
+        if (!fingerprint.isHttp()) {
+            return;
+        }
+        device.openPorts = String.valueOf(HTTP_PORT);
+        device.vendor = firstNonEmpty(fingerprint.realm, fingerprint.server, fingerprint.title);
+    }
+
+    private static String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
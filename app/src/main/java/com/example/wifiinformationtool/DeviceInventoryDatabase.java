@@ -0,0 +1,61 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Baza de date Room pentru inventarul de dispozitive din retelele locale, separata de istoricul
+ * semnalului Wi‑Fi (WifiSignalDatabase). Entitatile gestionate: DeviceEntity, SweepRecordEntity.
+ */
+@Database(entities = {
+        DeviceEntity.class,
+        SweepRecordEntity.class
+}, version = 1, exportSchema = true)
+public abstract class DeviceInventoryDatabase extends RoomDatabase {
+    // Instanta singleton a bazei de date
+    private static volatile DeviceInventoryDatabase INSTANCE;
+
+    /**
+     * Executor unic (un singur thread) pentru citirile si scrierile inventarului: planificarea
+     * unui sweep si inregistrarea rezultatului lui.
+     */
+    public static final ExecutorService databaseExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Returneaza instanta singleton a bazei de date.
+     * Daca nu exista, o construieste folosind Room.databaseBuilder.
+     *
+     * @param context contextul aplicatiei
+     * @return instanta DeviceInventoryDatabase
+     */
+    public static DeviceInventoryDatabase getDatabase(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (DeviceInventoryDatabase.class) {
+                if (INSTANCE == null) {
+                    // Creaza baza de date cu numele "device_inventory_db"
+                    INSTANCE = Room.databaseBuilder(
+                                    context.getApplicationContext(),
+                                    DeviceInventoryDatabase.class,
+                                    "device_inventory_db"
+                            )
+                            .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                            .build();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Metoda abstracta care furnizeaza DAO-ul pentru inventarul de dispozitive.
+     *
+     * @return DeviceDao pentru dispozitive si sweep-uri
+     */
+    public abstract DeviceDao deviceDao();
+}
@@ -0,0 +1,101 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+import android.net.DhcpInfo;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contextul Wi-Fi al unui lot de verificari de routere: gateway-ul curent (din DhcpInfo), datele
+ * conexiunii Wi-Fi si adresele MAC din tabela ARP. Este citit o singura data pe lot, nu pentru
+ * fiecare adresa.
+ */
+public final class GatewayContext {
+    private static final String TAG = "GatewayContext";
+
+    /** Context fara conexiune Wi-Fi: niciun IP nu este gateway. */
+    public static final GatewayContext NONE = new GatewayContext(0, null, null, 0, 0);
+
+    public final int gatewayAddress;  // Gateway-ul, in ordinea octetilor de retea (vezi Subnet); 0 daca lipseste
+    public final String ssid;
+    public final String bssid;
+    public final int signalStrength;  // RSSI (dBm)
+    public final int linkSpeed;       // Mbps
+    // Adresa MAC a vecinilor cu intrare completa in tabela ARP, dupa IP
+    private final Map<Integer, String> macs;
+
+    public GatewayContext(int gatewayAddress, String ssid, String bssid, int signalStrength, int linkSpeed) {
+        this(gatewayAddress, ssid, bssid, signalStrength, linkSpeed, Collections.<ArpEntry>emptyList());
+    }
+
+    /**
+     * @param neighbors intrarile din tabela ARP; doar cele complete sunt retinute
+     */
+    public GatewayContext(int gatewayAddress, String ssid, String bssid, int signalStrength, int linkSpeed,
+                          List<ArpEntry> neighbors) {
+        this.gatewayAddress = gatewayAddress;
+        this.ssid = ssid;
+        this.bssid = bssid;
+        this.signalStrength = signalStrength;
+        this.linkSpeed = linkSpeed;
+        Map<Integer, String> byAddress = new HashMap<>();
+        for (ArpEntry entry : neighbors) {
+            if (entry.isComplete()) {
+                byAddress.put(entry.address, entry.getMacString());
+            }
+        }
+        this.macs = byAddress;
+    }
+
+    /**
+     * Citeste gateway-ul, conexiunea Wi-Fi si tabela ARP curente.
+     *
+     * @param context orice context; se foloseste contextul aplicatiei
+     * @return contextul citit, sau NONE daca Wi-Fi nu este disponibil
+     */
+    public static GatewayContext resolve(Context context) {
+        WifiManager wifiManager = (WifiManager) context.getApplicationContext().getSystemService(Context.WIFI_SERVICE);
+        if (wifiManager == null) {
+            return NONE;
+        }
+        DhcpInfo dhcp = wifiManager.getDhcpInfo();
+        WifiInfo wifiInfo = wifiManager.getConnectionInfo();
+        // DhcpInfo tine adresa little-endian
+        int gateway = dhcp == null ? 0 : Integer.reverseBytes(dhcp.gateway);
+        List<ArpEntry> neighbors = readNeighbors();
+        if (wifiInfo == null) {
+            return new GatewayContext(gateway, null, null, 0, 0, neighbors);
+        }
+        return new GatewayContext(gateway, wifiInfo.getSSID(), wifiInfo.getBSSID(),
+                wifiInfo.getRssi(), wifiInfo.getLinkSpeed(), neighbors);
+    }
+
+    /** Tabela ARP; goala daca nu poate fi citita (Android 10+). */
+    private static List<ArpEntry> readNeighbors() {
+        List<ArpEntry> neighbors = new ArrayList<>();
+        try {
+            new ArpTableReader().read(neighbors);
+        } catch (IOException e) {
+            Log.d(TAG, "ARP table not readable: " + e);
+        }
+        return neighbors;
+    }
+
+    /** true daca adresa data (ordinea octetilor de retea) este gateway-ul curent. */
+    public boolean isGateway(int address) {
+        return gatewayAddress != 0 && address == gatewayAddress;
+    }
+
+    /** Adresa MAC a adresei date (ordinea octetilor de retea), sau null daca nu este cunoscuta. */
+    public String getMac(int address) {
+        return macs.get(address);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Verificarea asincrona a unui host (este activ sau nu), folosita de SubnetSweeper.
+ *
+ * probe() trebuie sa revina repede; rezultatul vine prin Callback, exact o data pentru fiecare
+ * apel, de pe orice thread. Limitarea numarului de verificari simultane este facuta de apelant.
+ */
+public interface HostProbe {
+
+    /** Rezultatul unei verificari. */
+    interface Callback {
+        /**
+         * @param address  adresa verificata (ordinea octetilor de retea, vezi Subnet)
+         * @param alive    true daca host-ul a raspuns
+         * @param rttNanos timpul pana la raspuns (nanosecunde); nedefinit daca alive este false
+         */
+        void onProbeResult(int address, boolean alive, long rttNanos);
+    }
+
+    /** Porneste verificarea adresei date. */
+    void probe(int address, Callback callback);
+}
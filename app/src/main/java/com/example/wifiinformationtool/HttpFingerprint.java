@@ -0,0 +1,32 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Amprenta serviciului HTTP al unui host, obtinuta de HttpFingerprinter: codul raspunsului si
+ * indiciile despre dispozitiv (headerul Server, realm-ul din WWW-Authenticate, titlul paginii).
+ */
+public final class HttpFingerprint {
+    /** Host fara serviciu HTTP (conexiune refuzata, timeout sau raspuns invalid). */
+    public static final HttpFingerprint NONE = new HttpFingerprint(-1, null, null, null);
+
+    public final int status;       // Codul raspunsului; -1 daca nu s-a primit raspuns
+    public final String server;    // Headerul "Server"
+    public final String realm;     // Realm-ul din WWW-Authenticate (adesea numele modelului)
+    public final String title;     // Titlul paginii, din primii octeti ai raspunsului GET
+
+    public HttpFingerprint(int status, String server, String realm, String title) {
+        this.status = status;
+        this.server = server;
+        this.realm = realm;
+        this.title = title;
+    }
+
+    /** true daca host-ul a raspuns la HTTP. */
+    public boolean isHttp() {
+        return status >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HTTP " + status + " server=" + server + " realm=" + realm + " title=" + title;
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.wifiinformationtool;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clasa HttpFingerprinter identifica serviciul HTTP al unui host fara a descarca pagini intregi.
+ *
+ * Trimite intai un HEAD si citeste doar headerele (Server, WWW-Authenticate). Daca serverul refuza
+ * HEAD-ul sau headerele nu spun nimic despre dispozitiv, urmeaza un GET cu Range (primii
+ * MAX_BODY_BYTES octeti), pe aceeasi conexiune daca serverul a pastrat-o (keep-alive), din care se
+ * extrage si titlul paginii. Conexiunea este inchisa la final.
+ *
+ * Rezultatele sunt pastrate intr-un cache dupa IP si MAC, cu termen de valabilitate: la sweep-urile
+ * urmatoare un host neschimbat nu mai este contactat. Daca la acelasi IP apare alt MAC (alt
+ * dispozitiv), cheia difera si host-ul este verificat din nou. Host-urile fara HTTP sunt retinute
+ * mai putin (NEGATIVE_TTL_MS), pentru ca un timeout poate fi trecator.
+ *
+ * Poate fi folosit direct ca etapa HTTP a lui RouterProber.
+ */
+public class HttpFingerprinter implements RouterProber.HttpStage {
+    // Cat citim din corpul raspunsului GET, pentru titlu
+    static final int MAX_BODY_BYTES = 4096;
+    // Limita pentru antetul unui raspuns; un server care trimite mai mult este ignorat
+    private static final int MAX_HEADER_BYTES = 8192;
+    private static final int MAX_TITLE_LENGTH = 128;
+    private static final long NEGATIVE_TTL_MS = 60_000;
+    private static final int MAX_CACHED = 1024;
+
+    /** Sursa de timp, inlocuibila in teste. */
+    interface Clock {
+        long nanoTime();
+    }
+
+    /** O intrare din cache. */
+    private static final class CachedFingerprint {
+        final HttpFingerprint fingerprint;
+        final long expiresAtNanos;
+
+        CachedFingerprint(HttpFingerprint fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /** Un raspuns HTTP: linia de status si headerele care ne intereseaza. */
+    private static final class Response {
+        int status = -1;
+        String server;
+        String realm;
+        String contentType;
+        long contentLength = -1;
+        boolean keepAlive;
+    }
+
+    /** O conexiune TCP catre host, cu stream-urile ei. */
+    private static final class Connection implements Closeable {
+        final Socket socket = new Socket();
+        InputStream in;
+        OutputStream out;
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private final int port;
+    private final int timeoutMs;
+    private final long ttlNanos;
+    private final Clock clock;
+    // Ordonat dupa acces: cand este plin, se elimina intrarea folosita cel mai demult
+    private final LinkedHashMap<String, CachedFingerprint> cache =
+            new LinkedHashMap<String, CachedFingerprint>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedFingerprint> eldest) {
+                    return size() > MAX_CACHED;
+                }
+            };
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * @param port      portul HTTP (80 pentru interfetele de administrare)
+     * @param timeoutMs timeout-ul de conectare si de citire (millis)
+     * @param ttlMs     cat timp (millis) este refolosita o amprenta pentru acelasi IP si MAC
+     */
+    public HttpFingerprinter(int port, int timeoutMs, long ttlMs) {
+        this(port, timeoutMs, ttlMs, System::nanoTime);
+    }
+
+    HttpFingerprinter(int port, int timeoutMs, long ttlMs, Clock clock) {
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Returneaza amprenta HTTP a host-ului, din cache daca este inca valabila. Blocheaza pe
+     * durata cererilor; trebuie apelata pe un thread de background.
+     *
+     * @param ip  adresa host-ului
+     * @param mac adresa MAC a host-ului, daca este cunoscuta (poate fi null)
+     * @return amprenta; HttpFingerprint.NONE daca host-ul nu raspunde la HTTP
+     */
+    public HttpFingerprint fingerprint(String ip, String mac) {
+        String key = ip + '|' + (mac == null ? "" : mac);
+        long now = clock.nanoTime();
+        synchronized (cache) {
+            CachedFingerprint cached = cache.get(key);
+            if (cached != null && now - cached.expiresAtNanos < 0) {
+                cacheHits.incrementAndGet();
+                return cached.fingerprint;
+            }
+        }
+        HttpFingerprint fingerprint;
+        try {
+            fingerprint = request(ip);
+        } catch (IOException e) {
+            fingerprint = HttpFingerprint.NONE;
+        }
+        long ttl = fingerprint.isHttp() ? ttlNanos : Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(NEGATIVE_TTL_MS));
+        synchronized (cache) {
+            cache.put(key, new CachedFingerprint(fingerprint, now + ttl));
+        }
+        return fingerprint;
+    }
+
+    /** Etapa HTTP pentru RouterProber: completeaza codul si indiciile in RouterInfo. */
+    @Override
+    public void fetch(RouterInfo info) {
+        HttpFingerprint fingerprint = fingerprint(info.ip, info.mac);
+        info.httpStatus = fingerprint.status;
+        info.serverHeader = fingerprint.server;
+        info.authRealm = fingerprint.realm;
+        info.pageTitle = fingerprint.title;
+    }
+
+    /** Sterge tot cache-ul (de exemplu la schimbarea retelei Wi-Fi). */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /** Numarul de amprente servite din cache. */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** Numarul de cereri HTTP trimise (HEAD si GET). */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /** HEAD, apoi la nevoie GET cu Range, pe aceeasi conexiune cand se poate. */
+    private HttpFingerprint request(String ip) throws IOException {
+        Connection connection = open(ip);
+        try {
+            Response head = null;
+            try {
+                head = exchange(connection, ip, "HEAD", null);
+            } catch (IOException e) {
+                // Unele servere inchid conexiunea la HEAD; incercam cu GET
+            }
+            if (head != null && !needsGet(head)) {
+                return new HttpFingerprint(head.status, head.server, head.realm, null);
+            }
+            if (head == null || !head.keepAlive) {
+                connection.close();
+                connection = open(ip);
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream(MAX_BODY_BYTES);
+            Response get = exchange(connection, ip, "GET", body);
+            // Am cerut doar un interval: 206 inseamna acelasi lucru ca 200
+            int status = get.status == 206 ? 200 : get.status;
+            String server = get.server != null ? get.server : head != null ? head.server : null;
+            String realm = get.realm != null ? get.realm : head != null ? head.realm : null;
+            return new HttpFingerprint(status, server, realm, extractTitle(body.toByteArray()));
+        } finally {
+            connection.close();
+        }
+    }
+
+    /** GET este necesar daca HEAD a fost refuzat sau daca raspunsul nu contine niciun indiciu. */
+    private static boolean needsGet(Response head) {
+        if (head.status == 400 || head.status == 405 || head.status == 501) {
+            return true;
+        }
+        return head.server == null && head.realm == null && head.status >= 200 && head.status < 300
+                && (head.contentType == null || head.contentType.toLowerCase(Locale.ROOT).contains("html"));
+    }
+
+    private Connection open(String ip) throws IOException {
+        Connection connection = new Connection();
+        try {
+            connection.socket.connect(new InetSocketAddress(ip, port), timeoutMs);
+            connection.socket.setSoTimeout(timeoutMs);
+            connection.in = new BufferedInputStream(connection.socket.getInputStream(), 2048);
+            connection.out = connection.socket.getOutputStream();
+            return connection;
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Trimite o cerere si citeste headerele raspunsului; pentru GET citeste si cel mult
+     * MAX_BODY_BYTES din corp.
+     */
+    private Response exchange(Connection connection, String ip, String method, ByteArrayOutputStream body)
+            throws IOException {
+        StringBuilder request = new StringBuilder(160)
+                .append(method).append(" / HTTP/1.1\r\n")
+                .append("Host: ").append(ip).append("\r\n")
+                .append("User-Agent: WifiInformationTool\r\n")
+                .append("Accept: */*\r\n");
+        if (body != null) {
+            request.append("Range: bytes=0-").append(MAX_BODY_BYTES - 1).append("\r\n");
+        }
+        request.append("Connection: keep-alive\r\n\r\n");
+        connection.out.write(request.toString().getBytes(StandardCharsets.US_ASCII));
+        connection.out.flush();
+        requests.incrementAndGet();
+
+        Response response = readHeaders(connection.in);
+        if (body != null) {
+            long limit = response.contentLength >= 0 ? Math.min(response.contentLength, MAX_BODY_BYTES) : MAX_BODY_BYTES;
+            byte[] chunk = new byte[1024];
+            int n;
+            while (body.size() < limit
+                    && (n = connection.in.read(chunk, 0, (int) Math.min(chunk.length, limit - body.size()))) > 0) {
+                body.write(chunk, 0, n);
+            }
+        }
+        return response;
+    }
+
+    /** Citeste linia de status si headerele, pana la linia goala. */
+    private static Response readHeaders(InputStream in) throws IOException {
+        Response response = new Response();
+        int[] budget = {MAX_HEADER_BYTES};
+        String statusLine = readLine(in, budget);
+        // "HTTP/1.1 200 OK"
+        if (statusLine == null || !statusLine.startsWith("HTTP/") || statusLine.length() < 12) {
+            throw new IOException("Not an HTTP response: " + statusLine);
+        }
+        int space = statusLine.indexOf(' ');
+        try {
+            response.status = Integer.parseInt(statusLine.substring(space + 1, space + 4));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("Bad status line: " + statusLine);
+        }
+        boolean http11 = statusLine.startsWith("HTTP/1.1");
+        String connectionHeader = null;
+        String line;
+        while ((line = readLine(in, budget)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Server")) {
+                response.server = value;
+            } else if (name.equalsIgnoreCase("WWW-Authenticate")) {
+                if (response.realm == null) {
+                    response.realm = extractRealm(value);
+                }
+            } else if (name.equalsIgnoreCase("Content-Type")) {
+                response.contentType = value;
+            } else if (name.equalsIgnoreCase("Content-Length")) {
+                try {
+                    response.contentLength = Long.parseLong(value);
+                } catch (NumberFormatException ignored) {
+                    // lungime necunoscuta
+                }
+            } else if (name.equalsIgnoreCase("Connection")) {
+                connectionHeader = value.toLowerCase(Locale.ROOT);
+            }
+        }
+        response.keepAlive = connectionHeader == null ? http11
+                : http11 ? !connectionHeader.contains("close") : connectionHeader.contains("keep-alive");
+        return response;
+    }
+
+    /** Citeste o linie terminata cu LF (CR-ul final este eliminat); null la sfarsitul stream-ului. */
+    private static String readLine(InputStream in, int[] budget) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (--budget[0] < 0) {
+                throw new IOException("Response headers too large");
+            }
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    /** Realm-ul dintr-un header WWW-Authenticate: Basic realm="..." sau Digest realm=..., ... */
+    static String extractRealm(String header) {
+        int index = header.toLowerCase(Locale.ROOT).indexOf("realm=");
+        if (index < 0) {
+            return null;
+        }
+        int start = index + "realm=".length();
+        int end;
+        if (start < header.length() && header.charAt(start) == '"') {
+            start++;
+            end = header.indexOf('"', start);
+            if (end < 0) {
+                end = header.length();
+            }
+        } else {
+            end = header.indexOf(',', start);
+            if (end < 0) {
+                end = header.length();
+            }
+        }
+        String realm = header.substring(start, end).trim();
+        return realm.isEmpty() ? null : realm;
+    }
+
+    /** Titlul paginii din primii octeti ai corpului, cu spatiile comasate; null daca lipseste. */
+    static String extractTitle(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        String lower = text.toLowerCase(Locale.ROOT);
+        int open = lower.indexOf("<title");
+        if (open < 0) {
+            return null;
+        }
+        int start = lower.indexOf('>', open);
+        if (start < 0) {
+            return null;
+        }
+        int end = lower.indexOf("</title", start);
+        StringBuilder title = new StringBuilder();
+        boolean space = false;
+        for (int i = start + 1, limit = end < 0 ? text.length() : end; i < limit && title.length() < MAX_TITLE_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = title.length() > 0;
+            } else {
+                if (space) {
+                    title.append(' ');
+                    space = false;
+                }
+                title.append(c);
+            }
+        }
+        return title.length() == 0 ? null : title.toString();
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.wifiinformationtool;
 
 import android.Manifest;
+import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
+import android.content.ServiceConnection;
 import android.content.pm.PackageManager;
 import android.location.LocationManager;
-import android.net.wifi.ScanResult;
+import android.net.DhcpInfo;
 import android.net.wifi.WifiManager;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.IBinder;
 import android.provider.Settings;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -21,41 +25,78 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Clasa NetworkDevicesActivity se ocupa cu scanarea retelelor Wi‑Fi disponibile
- * si afisarea lor intr‑un ListView, cu actualizare periodica si salvare in baza de date.
+ * si afisarea lor intr‑un RecyclerView. Scanarea si salvarea in baza de date sunt facute de
+ * WifiScanEngine pe un thread de background; activitatea doar afiseaza snapshot-urile primite.
  */
 public class NetworkDevicesActivity extends AppCompatActivity {
+    private static final String TAG = "NetworkDevicesActivity";
     // Cod cerere pentru permisiuni
     private static final int PERMISSION_REQUEST_CODE = 100;
-    // Interval de scanare periodica (10 secunde)
-    private static final int SCAN_INTERVAL_MS = 10000;
-    // Marimea batch‑ului folosit la scanarea IP‑urilor (daca este decommentat)
-    private static final int BATCH_SIZE = 100000;
+    // Cod cerere pentru permisiunea notificarii serviciului de inregistrare (Android 13+)
+    private static final int NOTIFICATION_PERMISSION_REQUEST_CODE = 101;
+    // Verificari simultane si timeout-ul unei verificari la descoperirea host-urilor din subnet;
+    // fiecare verificare tine cate un socket pentru fiecare port din NioConnectProbe.DEFAULT_PORTS
+    private static final int SWEEP_CONCURRENCY = 256;
+    private static final int PROBE_TIMEOUT_MS = 300;
+    // Cat de des este citita tabela ARP in timpul sweep-ului
+    private static final long ARP_POLL_INTERVAL_MS = 1000;
 
     // Componente UI
-    private ListView deviceListView;
+    private RecyclerView deviceListView;
     private ProgressBar loadingSpinner;
     private TextView noDataMessage;
-    // Handler pentru scheduling pe thread‑ul principal
+    private TextView channelSummary;
+    private TextView hostsSummary;
+    private Button hostsButton;
+    private Button scanButton;
+    // Handler pentru mesaje pe thread‑ul principal
     private Handler handler = new Handler();
+    // Adapterul listei, creat o singura data si actualizat incremental la fiecare scan
+    private WifiListAdapter wifiListAdapter;
     // Flag care indica daca scanarea e in desfasurare
     private boolean isScanning = false;
-    // Runnable care executa periodic scanNetwork()
-    private Runnable scanRunnable = new Runnable() {
+    // Motorul de scanare si abonamentul acestei activitati la rezultatele lui
+    private WifiScanEngine scanEngine;
+    private final WifiScanEngine.Listener scanListener = this::onScanSnapshot;
+    // Construieste randurile listei pe thread-ul motorului, cu campurile derivate retinute pe BSSID
+    private final WifiScanRowFactory rowFactory = new WifiScanRowFactory();
+    // Ocuparea canalelor si canalul recomandat pe banda; folosit tot pe thread-ul motorului
+    private final ChannelAnalyzer channelAnalyzer = new ChannelAnalyzer();
+    // Descoperirea host-urilor din subnet-ul Wi-Fi; probe-ul (un thread cu selector) este creat la primul sweep
+    private NioConnectProbe hostProbe;
+    private SubnetSweeper.Sweep currentSweep;
+    // Adresele MAC din tabela ARP, citita cat timp ruleaza sweep-ul; harta este folosita pe thread-ul principal
+    private ArpTableWatcher arpWatcher;
+    private final Map<String, String> macByHost = new HashMap<>();
+    // true cat timp DeviceInventory planifica urmatorul sweep
+    private boolean planningSweep;
+    // Legatura cu serviciul de inregistrare in fundal; null cat timp nu suntem conectati
+    private Button recordButton;
+    private SignalRecorderService.LocalBinder recorder;
+    private final ServiceConnection recorderConnection = new ServiceConnection() {
         @Override
-        public void run() {
-            if (isScanning) {
-                scanNetwork();
-                // Reapeleaza dupa intervalul definit
-                handler.postDelayed(this, SCAN_INTERVAL_MS);
-            }
+        public void onServiceConnected(ComponentName name, IBinder service) {
+            recorder = (SignalRecorderService.LocalBinder) service;
+            updateRecordButton();
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            recorder = null;
         }
     };
 
@@ -68,30 +109,60 @@ public class NetworkDevicesActivity extends AppCompatActivity {
         deviceListView = findViewById(R.id.deviceListView);
         loadingSpinner = findViewById(R.id.loadingSpinner);
         noDataMessage = findViewById(R.id.noDataMessage);
+        channelSummary = findViewById(R.id.channelSummary);
+        hostsSummary = findViewById(R.id.hostsSummary);
+        wifiListAdapter = new WifiListAdapter(this);
+        deviceListView.setLayoutManager(new LinearLayoutManager(this));
+        deviceListView.setAdapter(wifiListAdapter);
 
         // Buton pentru intoarcere la ecranul anterior
         Button backButton = findViewById(R.id.backButton);
         backButton.setOnClickListener(v -> finish());
 
+        scanEngine = WifiScanEngine.getInstance(this);
+
         // Buton pentru start/stop scanare
-        Button scanButton = findViewById(R.id.scanButton);
+        scanButton = findViewById(R.id.scanButton);
         scanButton.setOnClickListener(v -> {
             if (!isScanning) {
                 // Daca nu scanam deja, verificam permisiunile
                 if (checkPermissions()) {
-                    isScanning = true;
-                    scanButton.setText("Stop Scanning");
                     startPeriodicScan();
                 } else {
                     requestPermissions();
                 }
             } else {
                 // Daca scanam, oprim scanarea
-                isScanning = false;
-                scanButton.setText("Start Scanning");
                 stopPeriodicScan();
             }
         });
+
+        // Buton pentru exportul istoricului semnalului
+        Button exportButton = findViewById(R.id.exportButton);
+        exportButton.setOnClickListener(v -> exportSignalHistory());
+
+        // Buton pentru pornirea/oprirea inregistrarii in fundal (serviciu foreground)
+        recordButton = findViewById(R.id.recordButton);
+        recordButton.setOnClickListener(v -> toggleRecording());
+
+        // Buton pentru descoperirea host-urilor din subnet-ul curent (start/anulare)
+        hostsButton = findViewById(R.id.hostsButton);
+        hostsButton.setOnClickListener(v -> toggleSubnetSweep());
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        bindService(new Intent(this, SignalRecorderService.class), recorderConnection, Context.BIND_AUTO_CREATE);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        unbindService(recorderConnection);
+        recorder = null;
+        // Scriem imediat esantioanele din coada, procesul poate fi oprit oricand in fundal
+        SignalWriteQueue.getInstance(this).flush();
     }
 
     @Override
@@ -99,16 +170,85 @@ public class NetworkDevicesActivity extends AppCompatActivity {
         super.onDestroy();
         // Oprire scanare la inchiderea activitatii pentru a evita leak‑uri
         stopPeriodicScan();
+        if (wifiListAdapter != null) {
+            wifiListAdapter.release();
+        }
+        if (currentSweep != null) {
+            currentSweep.cancel();
+        }
+        if (hostProbe != null) {
+            hostProbe.shutdown();
+        }
+        if (arpWatcher != null) {
+            arpWatcher.stop();
+        }
     }
 
-    /** Porneste scanarea periodica prin handler.post */
+    /** Porneste scanarea periodica in WifiScanEngine si se aboneaza la rezultate */
     private void startPeriodicScan() {
-        handler.post(scanRunnable);
+        // Verificam daca serviciile de locatie sunt activate
+        if (!isLocationEnabled()) {
+            Toast.makeText(this,
+                    "Please enable location services for Wi-Fi scanning",
+                    Toast.LENGTH_LONG).show();
+            startActivity(new Intent(Settings.ACTION_LOCATION_SOURCE_SETTINGS));
+            return;
+        }
+        isScanning = true;
+        scanButton.setText("Stop Scanning");
+        loadingSpinner.setVisibility(View.VISIBLE);
+        noDataMessage.setVisibility(View.GONE);
+        scanEngine.addListener(scanListener);
+        scanEngine.start();
     }
 
-    /** Opreste scanarea periodica prin handler.removeCallbacks */
+    /** Opreste scanarea periodica si renunta la abonament */
     private void stopPeriodicScan() {
-        handler.removeCallbacks(scanRunnable);
+        if (!isScanning) {
+            return;
+        }
+        isScanning = false;
+        scanButton.setText("Start Scanning");
+        scanEngine.removeListener(scanListener);
+        scanEngine.stop();
+    }
+
+    /** Porneste sau opreste serviciul de inregistrare; la oprire afiseaza statisticile sesiunii */
+    private void toggleRecording() {
+        if (recorder == null) {
+            return;
+        }
+        if (recorder.isRecording()) {
+            recorder.stopRecording();
+            Toast.makeText(this, "Recording stopped: " + recorder.getStats(), Toast.LENGTH_LONG).show();
+        } else if (!checkPermissions()) {
+            requestPermissions();
+            return;
+        } else if (!checkNotificationPermission()) {
+            // Serviciul porneste dupa raspunsul utilizatorului, in onRequestPermissionsResult
+            ActivityCompat.requestPermissions(this,
+                    new String[] { Manifest.permission.POST_NOTIFICATIONS },
+                    NOTIFICATION_PERMISSION_REQUEST_CODE);
+            return;
+        } else {
+            recorder.startRecording();
+        }
+        updateRecordButton();
+    }
+
+    /**
+     * Verifica permisiunea pentru notificarea serviciului foreground; necesara doar de la
+     * Android 13, pana atunci notificarile sunt permise implicit.
+     */
+    private boolean checkNotificationPermission() {
+        return Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU
+                || ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    /** Actualizeaza textul butonului de inregistrare dupa starea serviciului */
+    private void updateRecordButton() {
+        boolean recording = recorder != null && recorder.isRecording();
+        recordButton.setText(recording ? R.string.stop_recording : R.string.record_history);
     }
 
     /** Verifica daca avem permisiunile necesare pentru locatie si wifi */
@@ -134,186 +274,265 @@ public class NetworkDevicesActivity extends AppCompatActivity {
         if (requestCode == PERMISSION_REQUEST_CODE) {
             // Daca permisiunea de locatie a fost acordata, pornim scanarea
             if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
-                scanNetwork();
+                startPeriodicScan();
             } else {
                 Toast.makeText(this, "Permission denied!", Toast.LENGTH_SHORT).show();
             }
+        } else if (requestCode == NOTIFICATION_PERMISSION_REQUEST_CODE && recorder != null && !recorder.isRecording()) {
+            if (grantResults.length == 0) {
+                return;   // cererea a fost intrerupta
+            }
+            // Fara permisiune inregistrarea merge oricum; doar notificarea nu apare in bara de stare
+            if (grantResults[0] != PackageManager.PERMISSION_GRANTED) {
+                Toast.makeText(this, "Recording without a visible notification", Toast.LENGTH_SHORT).show();
+            }
+            recorder.startRecording();
+            updateRecordButton();
         }
     }
 
-    /** Scanare pentru toate adresele IPv4 (metoda comentata by default) */
-    public void scanAllIPv4Addresses() {
-        for (int i = 0; i < 256; i++) {
-            for (int j = 0; j < 256; j++) {
-                for (int k = 0; k < 256; k++) {
-                    processBatch(i, j, k);
+    /**
+     * Porneste descoperirea host-urilor din subnet-ul Wi-Fi (din DhcpInfo) sau anuleaza sweep-ul
+     * in curs. Sweep-ul este planificat de DeviceInventory: dispozitivele cunoscute sunt verificate
+     * primele, iar din restul subnet-ului doar o felie. Host-urile gasite si progresul sunt afisate
+     * pe masura ce sosesc; la sfarsit rezultatul este scris in inventar.
+     */
+    private void toggleSubnetSweep() {
+        if (planningSweep) {
+            return;
+        }
+        if (currentSweep != null && !currentSweep.isFinished()) {
+            currentSweep.cancel();
+            return;
+        }
+        WifiManager wifiManager = (WifiManager) getApplicationContext().getSystemService(Context.WIFI_SERVICE);
+        DhcpInfo dhcp = wifiManager == null ? null : wifiManager.getDhcpInfo();
+        if (dhcp == null || dhcp.ipAddress == 0) {
+            Toast.makeText(this, "Connect to a Wi-Fi network to discover devices", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (hostProbe == null) {
+            try {
+                hostProbe = new NioConnectProbe(PROBE_TIMEOUT_MS);
+            } catch (IOException e) {
+                Log.e(TAG, "Cannot start host probe", e);
+                return;
+            }
+        }
+        Subnet subnet = Subnet.fromDhcp(dhcp.ipAddress, dhcp.netmask);
+        DeviceInventory inventory = DeviceInventory.getInstance(this);
+        planningSweep = true;
+        hostsSummary.setVisibility(View.VISIBLE);
+        hostsSummary.setText("Planning sweep of " + subnet + "...");
+        DeviceInventoryDatabase.databaseExecutor.execute(() -> {
+            SweepPlanner.Plan plan = inventory.planSweep(subnet);
+            runOnUiThread(() -> {
+                planningSweep = false;
+                if (!isDestroyed()) {
+                    startSubnetSweep(inventory, plan);
                 }
+            });
+        });
+    }
+
+    /** Porneste sweep-ul planificat (thread principal). */
+    private void startSubnetSweep(DeviceInventory inventory, SweepPlanner.Plan plan) {
+        Subnet subnet = plan.subnet;
+        // Host-urile gasite; accesata doar de pe thread-ul principal
+        List<String> hosts = new ArrayList<>();
+        hostsButton.setText(R.string.cancel);
+        hostsSummary.setText("Sweeping " + subnet + " (" + plan.known.length + " known, "
+                + plan.unknown.length + " new addresses)...");
+        // Sweep-ul acestui ascultator, cunoscut dupa start(); currentSweep poate fi intre timp altul
+        SubnetSweeper.Sweep[] self = new SubnetSweeper.Sweep[1];
+        // Watcher-ul acestui sweep; campul arpWatcher poate fi intre timp al unui sweep mai nou
+        ArpTableWatcher watcher = startArpWatcher(() -> {
+            SubnetSweeper.Sweep sweep = self[0];
+            if (sweep != null && sweep == currentSweep) {
+                showSweepProgress(subnet, sweep.getProbed(), sweep.getTotal(), hosts);
             }
+        });
+        currentSweep = self[0] = new SubnetSweeper(hostProbe, SWEEP_CONCURRENCY).start(subnet, plan.getAddresses(),
+                new SubnetSweeper.Listener() {
+            @Override
+            public void onHostFound(int address, long rttNanos) {
+                String host = Subnet.formatAddress(address);
+                runOnUiThread(() -> hosts.add(host));
+            }
+
+            @Override
+            public void onProgress(int probed, int total) {
+                // Actualizam textul o data la cateva verificari, nu la fiecare
+                if (probed % 16 == 0 || probed == total) {
+                    runOnUiThread(() -> showSweepProgress(subnet, probed, total, hosts));
+                }
+            }
+
+            @Override
+            public void onSweepFinished(boolean cancelled) {
+                runOnUiThread(() -> {
+                    watcher.stop();
+                    if (arpWatcher == watcher) {
+                        arpWatcher = null;
+                    }
+                    hostsButton.setText(R.string.hosts);
+                    SubnetSweeper.Sweep sweep = self[0];
+                    showSweepProgress(subnet, sweep.getProbed(), sweep.getTotal(), hosts);
+                    if (cancelled) {
+                        hostsSummary.append(" (cancelled)");
+                    }
+                    recordSweep(inventory, plan, hosts, sweep.getProbed(), !cancelled);
+                });
+            }
+        });
+    }
+
+    /**
+     * Scrie rezultatul sweep-ului in inventar, pe executorul inventarului, si afiseaza ce s-a
+     * schimbat (thread principal).
+     */
+    private void recordSweep(DeviceInventory inventory, SweepPlanner.Plan plan, List<String> hosts,
+                             int probed, boolean complete) {
+        // Copie pentru thread-ul de background: adresa -> MAC (null daca nu este cunoscut)
+        Map<Integer, String> found = new HashMap<>();
+        for (String host : hosts) {
+            found.put(Subnet.parseAddress(host), macByHost.get(host));
         }
+        DeviceInventoryDatabase.databaseExecutor.execute(() -> {
+            SweepPlanner.Outcome outcome = inventory.recordSweep(plan, found, probed, complete);
+            String summary = "\nInventory: " + outcome.refreshed.size() + " known, " + outcome.added.size()
+                    + " new, " + outcome.missed.size() + " missing, " + outcome.expired.size() + " expired";
+            runOnUiThread(() -> {
+                if (!isDestroyed()) {
+                    hostsSummary.append(summary);
+                }
+            });
+        });
     }
 
-    /** Proceseaza un batch de adrese IP generate din parametri */
-    private void processBatch(int i, int j, int k) {
-        for (int l = 0; l < 256; l++) {
-            String ip = String.format("%d.%d.%d.%d", i, j, k, l);
-            processIp(ip);
-            // Daca ajungem la dimensiunea batch-ului, afisam un log si continuam
-            if (l % BATCH_SIZE == 0) {
-                System.out.println("Processed IPs for batch: " + (i * 256 * 256 + j * 256 + k));
+    /** Afiseaza progresul sweep-ului si host-urile gasite pana acum (thread principal). */
+    private void showSweepProgress(Subnet subnet, int probed, int total, List<String> hosts) {
+        StringBuilder text = new StringBuilder()
+                .append(subnet).append(": ").append(probed).append('/').append(total)
+                .append(" probed, ").append(hosts.size()).append(" hosts");
+        for (String host : hosts) {
+            text.append('\n').append(host);
+            String mac = macByHost.get(host);
+            if (mac != null) {
+                text.append("  ").append(mac);
             }
         }
+        hostsSummary.setText(text);
     }
 
-    /** Exemplu de procesare a unei adrese IP (router detection) */
-    private void processIp(String ip) {
-        RouterInfo ri = new RouterInfo();
-        System.out.println("Checking IP: " + ri.getRouterInfo(ip, this));
+    /**
+     * Urmareste tabela ARP cat timp ruleaza sweep-ul: verificarile umplu tabela, iar adresele MAC
+     * gasite sunt afisate langa host-uri. Pe Android 10+ tabela nu poate fi citita si lista ramane fara MAC.
+     *
+     * @param onChanged rulat pe thread-ul principal dupa ce s-au schimbat adresele MAC cunoscute
+     * @return watcher-ul pornit, pe care apelantul il opreste la sfarsitul sweep-ului
+     */
+    private ArpTableWatcher startArpWatcher(Runnable onChanged) {
+        if (arpWatcher != null) {
+            arpWatcher.stop();
+        }
+        arpWatcher = new ArpTableWatcher(new ArpTableReader(), ARP_POLL_INTERVAL_MS, (added, changed, removed) -> {
+            List<ArpEntry> updated = new ArrayList<>(added);
+            updated.addAll(changed);
+            runOnUiThread(() -> {
+                for (ArpEntry entry : removed) {
+                    macByHost.remove(Subnet.formatAddress(entry.address));
+                }
+                for (ArpEntry entry : updated) {
+                    String host = Subnet.formatAddress(entry.address);
+                    if (entry.isComplete()) {
+                        macByHost.put(host, entry.getMacString());
+                    } else {
+                        macByHost.remove(host);
+                    }
+                }
+                onChanged.run();
+            });
+        });
+        arpWatcher.start();
+        return arpWatcher;
     }
 
-    /** Metoda principala de scanare a retelei Wi-Fi */
-    private void scanNetwork() {
-        // Verificam daca serviciile de locatie sunt activate
-        if (!isLocationEnabled()) {
-            Toast.makeText(this,
-                    "Please enable location services for Wi-Fi scanning",
-                    Toast.LENGTH_LONG).show();
-            startActivity(new Intent(Settings.ACTION_LOCATION_SOURCE_SETTINGS));
+    /**
+     * Primeste un snapshot de la WifiScanEngine, pe thread-ul motorului. Randurile pentru adapter
+     * sunt construite tot aici, in background; pe thread-ul principal se face doar afisarea.
+     */
+    private void onScanSnapshot(WifiScanSnapshot snapshot) {
+        if (snapshot.results.isEmpty()) {
+            runOnUiThread(() -> {
+                loadingSpinner.setVisibility(View.GONE);
+                Toast.makeText(this, "No Wi-Fi networks found!", Toast.LENGTH_SHORT).show();
+            });
             return;
         }
-
-        // DACA VREAU SA SCANEZ IPV4 FULL, DECOMENTEZ urmatoarea linie
-        // scanAllIPv4Addresses();
-
-        WifiManager wifiManager = (WifiManager) getApplicationContext().getSystemService(Context.WIFI_SERVICE);
-        if (wifiManager != null) {
-            loadingSpinner.setVisibility(View.VISIBLE);
-            noDataMessage.setVisibility(View.GONE);
-
-            // Verificam din nou permisiunea locatiei
-            if (ActivityCompat.checkSelfPermission(this, Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
+        List<WifiScanRow> rows = rowFactory.buildRows(snapshot.results);
+        channelAnalyzer.analyze(snapshot.results);
+        String recommendation = describeRecommendedChannels();
+        runOnUiThread(() -> {
+            if (!isScanning) {
                 return;
             }
-
-            List<ScanResult> wifiList = wifiManager.getScanResults();
-            if (!wifiList.isEmpty()) {
-                displayWifiList(wifiList);
-                saveWifiSignalStrength(wifiList);
-            } else {
-                Toast.makeText(this, "No Wi-Fi networks found!", Toast.LENGTH_SHORT).show();
-            }
-
-            // Pornim un nou scan (wifiManager poate throttla task-urile)
-            boolean scanSuccess = wifiManager.startScan();
-            if (!scanSuccess) {
+            // Adapterul aplica doar diferentele fata de lista afisata
+            wifiListAdapter.submitList(rows);
+            channelSummary.setText(recommendation);
+            channelSummary.setVisibility(View.VISIBLE);
+            loadingSpinner.setVisibility(View.GONE);
+            if (!snapshot.resultsUpdated) {
                 Toast.makeText(this,
                         "Wi-Fi scan throttled! Using last known results.",
                         Toast.LENGTH_SHORT).show();
             }
-        }
+        });
     }
 
-    /** Salveaza nivelul semnalului in baza de date, cu timestamp curent */
-    private void saveWifiSignalStrength(List<ScanResult> wifiList) {
-        WifiSignalDatabase db = WifiSignalDatabase.getDatabase(this);
-        new Thread(() -> {
-            WifiSignalDao dao = db.wifiSignalDao();
-            long timestamp = System.currentTimeMillis();
-            for (ScanResult scanResult : wifiList) {
-                WifiSignalEntity signal = new WifiSignalEntity(
-                        scanResult.SSID,
-                        scanResult.level,
-                        timestamp
-                );
-                dao.insert(signal);
+    /**
+     * Textul cu canalul cel mai liber din fiecare banda, dupa ultima analiza (thread-ul motorului).
+     * Benzile fara niciun AP vizibil sunt omise: nu stim daca dispozitivul le suporta.
+     */
+    private String describeRecommendedChannels() {
+        StringBuilder text = new StringBuilder("Least congested:");
+        int[] bands = {ChannelAnalyzer.BAND_2_4_GHZ, ChannelAnalyzer.BAND_5_GHZ, ChannelAnalyzer.BAND_6_GHZ};
+        String[] labels = {"2.4 GHz", "5 GHz", "6 GHz"};
+        for (int i = 0; i < bands.length; i++) {
+            if (channelAnalyzer.getBandAccessPointCount(bands[i]) == 0) {
+                continue;
             }
-        }).start();
+            int channel = channelAnalyzer.recommendChannel(bands[i]);
+            text.append("  ").append(labels[i]).append(" ch ").append(channel)
+                    .append(" (").append(channelAnalyzer.getAccessPointCount(bands[i], channel)).append(" APs)");
+        }
+        return text.toString();
     }
 
-    /** Afiseaza lista de retele Wi‑Fi in ListView cu ajutorul unui adapter custom */
-    private void displayWifiList(List<ScanResult> wifiList) {
-        // Listelor de date care vor fi transmise catre adapter
-        ArrayList<String> wifiNames = new ArrayList<>();
-        ArrayList<Integer> wifiSignalImages = new ArrayList<>();
-        ArrayList<String> wifiSignalStrengths = new ArrayList<>();
-        ArrayList<String> wifiSecurityTypes = new ArrayList<>();
-        ArrayList<String> wifiIpAddresses = new ArrayList<>();
-        ArrayList<String> wifiMacAddresses = new ArrayList<>();
-        ArrayList<String> wifiIpBand = new ArrayList<>();
-
-        // Sortam retelele descrescator dupa puterea semnalului (level)
-        Collections.sort(wifiList, new Comparator<ScanResult>() {
-            @Override
-            public int compare(ScanResult o1, ScanResult o2) {
-                return Integer.compare(o2.level, o1.level);
+    /**
+     * Exporta istoricul semnalului intr-un fisier .wsh din directorul de fisiere externe al aplicatiei.
+     * Exportul ruleaza pe executorul de mentenanta al bazei de date, deci nu se suprapune cu
+     * stergerile facute de SignalRetentionManager in timp ce cursorul parcurge tabelul.
+     */
+    private void exportSignalHistory() {
+        SignalWriteQueue.getInstance(this).flush();
+        Context appContext = getApplicationContext();
+        File file = new File(appContext.getExternalFilesDir(null),
+                "signal_history_" + System.currentTimeMillis() + ".wsh");
+        WifiSignalDatabase.databaseWriteExecutor.execute(() -> {
+            String message;
+            try (OutputStream out = new FileOutputStream(file)) {
+                SignalHistoryExporter.Stats stats =
+                        new SignalHistoryExporter(WifiSignalDatabase.getDatabase(appContext).wifiSignalDao())
+                                .export(out);
+                message = "Exported " + stats.rows + " samples to " + file.getAbsolutePath();
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Export failed", e);
+                message = "Export failed: " + e.getMessage();
             }
+            String toast = message;
+            handler.post(() -> Toast.makeText(appContext, toast, Toast.LENGTH_LONG).show());
         });
-
-        // Parcurgem fiecare rezultat scan
-        for (ScanResult scanResult : wifiList) {
-            String wifiName = (scanResult.SSID == null || scanResult.SSID.isEmpty())
-                    ? "<Hidden Network>"
-                    : scanResult.SSID;
-            // Eliminam caractere speciale din SSID
-            wifiName = wifiName.replaceAll("[^\\x20-\\x7E]", "");
-            wifiNames.add(wifiName);
-
-            int signalStrength = scanResult.level;
-            wifiSignalStrengths.add(String.valueOf(signalStrength));
-            wifiSignalImages.add(getWifiStrengthImage(signalStrength));
-
-            // Determinam tipul de securitate
-            String securityType = scanResult.capabilities;
-            if (securityType.contains("EAP")) {
-                securityType += " (Enterprise)";
-            }
-            wifiSecurityTypes.add(securityType);
-
-            // Determinam banda si frecventa
-            String frequency = (scanResult.frequency == 2412) ? "2.4 GHz"
-                    : (scanResult.frequency == 5180) ? "5 GHz"
-                    : "Other Frequency";
-            String band = (scanResult.frequency >= 2412 && scanResult.frequency <= 2472)
-                    ? "2.4 GHz"
-                    : (scanResult.frequency >= 5180 && scanResult.frequency <= 5825)
-                    ? "5 GHz"
-                    : "Other Frequency";
-            wifiIpBand.add(band);
-            wifiIpAddresses.add(frequency);
-
-            // Adaugam BSSID (MAC)
-            wifiMacAddresses.add(scanResult.BSSID);
-        }
-
-        // Daca ListView e valid, setam adapterul custom
-        if (deviceListView != null) {
-            WifiListAdapter adapter = new WifiListAdapter(
-                    this,
-                    wifiNames,
-                    wifiSignalImages,
-                    wifiSignalStrengths,
-                    wifiSecurityTypes,
-                    wifiIpAddresses,
-                    wifiMacAddresses,
-                    wifiIpBand
-            );
-            deviceListView.setAdapter(adapter);
-        }
-
-        // Ascundem spinnerul dupa incarcare date
-        loadingSpinner.setVisibility(View.GONE);
-    }
-
-    /** Returneaza resource‑ul imaginii pe baza nivelului semnalului */
-    private int getWifiStrengthImage(int signalStrength) {
-        if (signalStrength > -50) {
-            return R.drawable.wifi_high_strength;
-        } else if (signalStrength > -70) {
-            return R.drawable.wifi_medium_strength;
-        } else if (signalStrength > -90) {
-            return R.drawable.wifi_low_strength;
-        } else {
-            return R.drawable.wifi_no_strength;
-        }
     }
 
     /** Verifica daca serviciile de locatie (GPS) sunt activate */
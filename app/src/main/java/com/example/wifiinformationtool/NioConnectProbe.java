@@ -0,0 +1,308 @@
+package com.example.wifiinformationtool;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HostProbe neblocant: pentru fiecare adresa deschide conexiuni TCP (SocketChannel) catre porturile
+ * date si asteapta rezultatul cu un singur Selector, pe un singur thread. Mii de verificari pot fi
+ * in curs simultan fara thread-uri in plus; limita practica este numarul de descriptori de fisier.
+ *
+ * Host-ul este activ daca o conexiune reuseste sau este refuzata (RST): un refuz vine chiar de la
+ * host, deci si un port inchis arata ca host-ul exista. Un host inexistent nu raspunde deloc (sau
+ * routerul raspunde cu "no route to host"), iar verificarea expira dupa timeoutMs. Timeout-urile
+ * sunt tinute intr-o TimerWheel, deci costul lor nu depinde de numarul de verificari in curs.
+ */
+public class NioConnectProbe implements HostProbe {
+    private static final String TAG = "NioConnectProbe";
+    // Lungimea unui tick al rotii de timeout-uri
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Porturile folosite implicit: web (interfata de administrare) si HTTPS. */
+    public static final int[] DEFAULT_PORTS = {80, 443};
+
+    /** O verificare in curs: o adresa, cate o conexiune pentru fiecare port. */
+    private static final class Attempt {
+        final int address;
+        final Callback callback;
+        final long startNanos;
+        final List<SocketChannel> channels = new ArrayList<>(2);
+        TimerWheel.Timeout<Attempt> timeout;
+        int pendingChannels;
+        boolean done;
+
+        Attempt(int address, Callback callback, long startNanos) {
+            this.address = address;
+            this.callback = callback;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /** O cerere venita din probe(), preluata de thread-ul selectorului. */
+    private static final class Request {
+        final int address;
+        final Callback callback;
+
+        Request(int address, Callback callback) {
+            this.address = address;
+            this.callback = callback;
+        }
+    }
+
+    private final int[] ports;
+    private final long timeoutNanos;
+    private final Selector selector;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Request> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private volatile boolean shutdown;
+    // Starea urmatoare este accesata doar de pe thread-ul selectorului
+    private final TimerWheel<Attempt> timeouts;
+    private final List<Attempt> expired = new ArrayList<>();
+    private int inFlight;
+
+    /**
+     * Porneste thread-ul selectorului.
+     *
+     * @param ports     porturile incercate pentru fiecare adresa (cel putin unul)
+     * @param timeoutMs cat se asteapta (millis) un raspuns de la o adresa
+     * @throws IOException daca selectorul nu poate fi deschis
+     */
+    public NioConnectProbe(int[] ports, int timeoutMs) throws IOException {
+        if (ports.length == 0 || timeoutMs <= 0) {
+            throw new IllegalArgumentException("At least one port and a positive timeout are required");
+        }
+        this.ports = ports.clone();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.selector = Selector.open();
+        long now = System.nanoTime();
+        // O rotatie acopera timeout-ul, deci un slot contine doar timeout-uri care expira la acel tick
+        int slots = (int) Math.min(4096, timeoutNanos / TICK_NANOS + 2);
+        this.timeouts = new TimerWheel<>(TICK_NANOS, slots, now);
+        this.thread = new Thread(this::runSelector, "nio-probe");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** Probe cu porturile DEFAULT_PORTS. */
+    public NioConnectProbe(int timeoutMs) throws IOException {
+        this(DEFAULT_PORTS, timeoutMs);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException daca probe-ul a fost oprit
+     */
+    @Override
+    public void probe(int address, Callback callback) {
+        if (shutdown) {
+            throw new IllegalStateException("Probe has been shut down");
+        }
+        Request request = new Request(address, callback);
+        requests.add(request);
+        // Oprit intre timp: daca thread-ul selectorului nu a preluat cererea, nu o mai preia
+        if (shutdown && requests.remove(request)) {
+            throw new IllegalStateException("Probe has been shut down");
+        }
+        // Un singur wakeup pentru toate cererile sosite cat timp selectorul inca nu le-a preluat
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Opreste thread-ul selectorului. Verificarile in curs si cererile inca nepreluate sunt
+     * raportate ca host inactiv, astfel incat fiecare apel probe() primeste rezultatul.
+     */
+    public void shutdown() {
+        shutdown = true;
+        selector.wakeup();
+    }
+
+    /** Bucla selectorului: preia cererile, trateaza conexiunile terminate si timeout-urile. */
+    private void runSelector() {
+        try {
+            while (!shutdown) {
+                // Fara verificari in curs asteptam cereri noi fara limita; altfel pana la urmatorul tick
+                long waitMs = inFlight == 0 ? 0
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeouts.nanosUntilNextTick(System.nanoTime())));
+                selector.select(waitMs);
+                wakeupPending.set(false);
+                startRequested();
+                handleSelected();
+                expireTimeouts();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            Log.e(TAG, "Selector failed", e);
+        } finally {
+            shutdown = true;
+            if (selector.isOpen()) {
+                for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                    finish((Attempt) key.attachment(), false);
+                }
+            }
+            failRequested();
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // nimic de facut
+            }
+        }
+    }
+
+    /** Deschide conexiunile pentru cererile noi. */
+    private void startRequested() {
+        Request request;
+        while ((request = requests.poll()) != null) {
+            long now = System.nanoTime();
+            Attempt attempt = new Attempt(request.address, request.callback, now);
+            inFlight++;
+            attempt.timeout = timeouts.schedule(attempt, now + timeoutNanos);
+            InetAddress host = toInetAddress(request.address);
+            for (int i = 0; i < ports.length && !attempt.done; i++) {
+                connect(attempt, new InetSocketAddress(host, ports[i]));
+            }
+            if (!attempt.done && attempt.pendingChannels == 0) {
+                finish(attempt, false); // nicio conexiune nu a putut fi pornita
+            }
+        }
+    }
+
+    /** Porneste o conexiune neblocanta; un raspuns imediat (de exemplu pe loopback) termina verificarea. */
+    private void connect(Attempt attempt, InetSocketAddress target) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            attempt.channels.add(channel);
+            channel.configureBlocking(false);
+            // La inchidere trimitem RST, fara FIN si fara socket-uri ramase in TIME_WAIT
+            channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+            if (channel.connect(target)) {
+                finish(attempt, true);
+                return;
+            }
+            channel.register(selector, SelectionKey.OP_CONNECT, attempt);
+            attempt.pendingChannels++;
+        } catch (IOException e) {
+            if (isAnswer(e)) {
+                finish(attempt, true);
+            } else if (channel == null) {
+                Log.w(TAG, "Cannot open socket for " + target, e); // de exemplu prea multi descriptori
+            }
+        }
+    }
+
+    /** Trateaza conexiunile care s-au terminat (reusite sau refuzate). */
+    private void handleSelected() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            Attempt attempt = (Attempt) key.attachment();
+            if (attempt.done || !key.isValid()) {
+                continue;
+            }
+            SocketChannel channel = (SocketChannel) key.channel();
+            boolean answered;
+            try {
+                answered = channel.finishConnect();
+            } catch (IOException e) {
+                answered = isAnswer(e);
+            }
+            key.cancel();
+            attempt.pendingChannels--;
+            if (answered) {
+                finish(attempt, true);
+            } else if (attempt.pendingChannels == 0) {
+                // Toate porturile au esuat fara raspuns de la host (de exemplu "no route to host")
+                finish(attempt, false);
+            }
+        }
+    }
+
+    /** Raporteaza ca inactive verificarile al caror timeout a expirat. */
+    private void expireTimeouts() {
+        if (timeouts.expire(System.nanoTime(), expired) == 0) {
+            return;
+        }
+        for (int i = 0; i < expired.size(); i++) {
+            finish(expired.get(i), false);
+        }
+        expired.clear();
+    }
+
+    /** Termina o verificare: inchide conexiunile, anuleaza timeout-ul si raporteaza o singura data. */
+    private void finish(Attempt attempt, boolean alive) {
+        if (attempt.done) {
+            return;
+        }
+        attempt.done = true;
+        inFlight--;
+        timeouts.cancel(attempt.timeout);
+        for (int i = 0; i < attempt.channels.size(); i++) {
+            try {
+                attempt.channels.get(i).close();
+            } catch (IOException ignored) {
+                // nimic de facut
+            }
+        }
+        try {
+            attempt.callback.onProbeResult(attempt.address, alive, System.nanoTime() - attempt.startNanos);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Probe callback failed", e);
+        }
+    }
+
+    /** Raporteaza ca inactive cererile ramase in coada la oprire. */
+    private void failRequested() {
+        Request request;
+        while ((request = requests.poll()) != null) {
+            request.callback.onProbeResult(request.address, false, 0);
+        }
+    }
+
+    /**
+     * Indica daca eroarea de conectare inseamna ca host-ul a raspuns: conexiune refuzata (RST) sau
+     * resetata. Pe Android (libcore) eroarea este ConnectException cu errno-ul in mesaj, pe JVM
+     * ConnectException("Connection refused"); ambele contin "refused".
+     */
+    static boolean isAnswer(IOException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null) {
+                String lower = message.toLowerCase(Locale.ROOT);
+                if (lower.contains("refused") || lower.contains("reset")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static InetAddress toInetAddress(int address) {
+        try {
+            return InetAddress.getByAddress(new byte[] {
+                    (byte) (address >>> 24), (byte) (address >>> 16), (byte) (address >>> 8), (byte) address
+            });
+        } catch (UnknownHostException e) {
+            throw new AssertionError(e); // imposibil pentru 4 octeti
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.wifiinformationtool;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScanSource care reda o sesiune inregistrata (un export SignalHistoryExporter), la o viteza
+ * intre MIN_SPEED si MAX_SPEED fata de timpul real.
+ *
+ * Esantioanele cu acelasi timestamp formeaza un scan (asa le scrie WifiSignalDao.recordSnapshot).
+ * Scanarile sunt anuntate pe un thread propriu, la distanta inregistrata impartita la viteza;
+ * pauzele mai lungi de MAX_GAP_MS din inregistrare (de exemplu intre doua sesiuni) sunt scurtate
+ * la MAX_GAP_MS. Fisierul este citit in flux, un scan inainte, deci memoria nu depinde de lungimea
+ * sesiunii. Exportul nu contine frecventa si capabilities, asa ca observatiile au frequency = 0.
+ *
+ * Sursa poate fi pornita o singura data; cititorul este inchis la sfarsitul redarii sau la stop().
+ * Cererile startScan() nu schimba ritmul: scanarile vin in ritmul inregistrarii.
+ */
+public class ReplayScanSource implements ScanSource {
+    private static final String TAG = "ReplayScanSource";
+    public static final double MIN_SPEED = 1;
+    public static final double MAX_SPEED = 100;
+    static final long MAX_GAP_MS = 5 * 60 * 1000L;
+
+    private final SignalHistoryReader reader;
+    private final double speed;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Callback callback;
+    private volatile List<ScanObservation> lastResults = Collections.emptyList();
+    private volatile long replayedScans;
+    private Thread thread;
+    // Primul rand al scanului urmator, deja citit din fisier; accesat doar de thread-ul de redare
+    private boolean rowPending;
+
+    /**
+     * @param reader cititorul sesiunii inregistrate, pozitionat la inceput
+     * @param speed  viteza de redare, intre MIN_SPEED si MAX_SPEED
+     */
+    public ReplayScanSource(SignalHistoryReader reader, double speed) {
+        if (!(speed >= MIN_SPEED && speed <= MAX_SPEED)) {
+            throw new IllegalArgumentException("Replay speed must be between 1x and 100x: " + speed);
+        }
+        this.reader = reader;
+        this.speed = speed;
+    }
+
+    @Override
+    public synchronized void start(Callback callback) {
+        if (thread != null) {
+            throw new IllegalStateException("Replay already started");
+        }
+        this.callback = callback;
+        thread = new Thread(this::runReplay, "scan-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        callback = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean startScan() {
+        return true;
+    }
+
+    @Override
+    public List<ScanObservation> getScanResults() {
+        return lastResults;
+    }
+
+    /** Numarul de scanari redate pana acum. */
+    public long getReplayedScans() {
+        return replayedScans;
+    }
+
+    /**
+     * Asteapta sfarsitul redarii (sfarsitul fisierului, eroare sau stop()).
+     *
+     * @return true daca redarea s-a terminat in timpul dat
+     */
+    public boolean awaitFinished(long timeoutMs) throws InterruptedException {
+        return finished.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Bucla thread-ului de redare: citeste cate un scan, asteapta momentul lui, il anunta. */
+    private void runReplay() {
+        try {
+            rowPending = reader.next();
+            long previousTimestamp = -1;
+            while (rowPending && !Thread.currentThread().isInterrupted()) {
+                long timestamp = reader.timestamp();
+                List<ScanObservation> scan = readScan(timestamp);
+                if (previousTimestamp >= 0) {
+                    long gap = Math.min(timestamp - previousTimestamp, MAX_GAP_MS);
+                    long sleepNanos = (long) (TimeUnit.MILLISECONDS.toNanos(gap) / speed);
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                previousTimestamp = timestamp;
+                lastResults = Collections.unmodifiableList(scan);
+                replayedScans++;
+                Callback current = callback;
+                if (current != null) {
+                    current.onResultsAvailable(true);
+                }
+            }
+        } catch (InterruptedException e) {
+            // stop(): redarea se opreste
+        } catch (IOException e) {
+            Log.e(TAG, "Replay failed after " + replayedScans + " scans", e);
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // nimic de facut la inchidere
+            }
+            finished.countDown();
+        }
+    }
+
+    /** Citeste toate randurile cu timestamp-ul dat (un scan); lasa in asteptare primul rand urmator. */
+    private List<ScanObservation> readScan(long timestamp) throws IOException {
+        List<ScanObservation> scan = new ArrayList<>();
+        while (rowPending && reader.timestamp() == timestamp) {
+            String ssid = reader.ssid();
+            scan.add(new ScanObservation(reader.bssid(), ssid == null ? "" : ssid,
+                    reader.signalStrength(), 0, 20, 0, ""));
+            rowPending = reader.next();
+        }
+        return scan;
+    }
+}
@@ -1,19 +1,17 @@
 package com.example.wifiinformationtool;
 
 import android.content.Context;
-import android.net.DhcpInfo;
-import android.net.wifi.WifiInfo;
-import android.net.wifi.WifiManager;
 import android.util.Log;
 
-import java.net.HttpURLConnection;
-import java.net.InetAddress;
-import java.net.URL;
+import java.util.Collections;
 
 /**
- * Clasa RouterInfo se ocupa cu obtinerea informatiilor despre un router dat prin IP.
+ * Clasa RouterInfo contine informatiile despre un router dat prin IP, completate de RouterProber.
  */
 public class RouterInfo {
+    // Termenul pentru getRouterInfo: accesibilitate + HTTP, fiecare cu timeout-ul lui de 300 ms
+    private static final long SINGLE_PROBE_TIMEOUT_MS = 1000;
+
     public String ip;                 // IP-ul routerului
     public boolean isReachable;       // Indica daca IP-ul este accesibil
     public boolean isCurrentGateway;  // Indica daca IP-ul este gateway-ul curent
@@ -22,6 +20,11 @@ public class RouterInfo {
     public int signalStrength;        // Nivelul semnalului Wi-Fi (RSSI)
     public int linkSpeed;             // Viteza de legatura Wi-Fi (Mbps)
     public String serverHeader;       // Headerul "Server" din raspuns HTTP
+    public int httpStatus = -1;       // Codul raspunsului HTTP; -1 daca nu s-a primit raspuns
+    public String authRealm;          // Realm-ul din WWW-Authenticate (adesea modelul routerului)
+    public String pageTitle;          // Titlul paginii de administrare
+    public String mac;                // Adresa MAC din tabela ARP, daca este cunoscuta
+    public boolean isRouter;          // Raspuns 200/401 sau indicii HTTP care contin "router"
 
     /**
      * Construieste un string cu toate informatiile despre router.
@@ -35,74 +38,31 @@ public class RouterInfo {
                 "\nBSSID: " + bssid +
                 "\nSignal: " + signalStrength + " dBm" +
                 "\nLink Speed: " + linkSpeed + " Mbps" +
-                "\nHTTP Server Header: " + serverHeader;
+                "\nHTTP Server Header: " + serverHeader +
+                (authRealm != null ? "\nHTTP Realm: " + authRealm : "") +
+                (pageTitle != null ? "\nPage Title: " + pageTitle : "");
     }
 
     /**
-     * Metoda principala care returneaza informatii despre routerul cu IP-ul dat.
+     * Returneaza informatii despre routerul cu IP-ul dat. Pentru mai multe adrese se foloseste
+     * direct RouterProber.probeAll, care citeste contextul Wi-Fi o singura data pe lot.
      * @param ip Adresa IP care se verifica
      * @param context Contextul aplicatiei pentru acces la servicii
      * @return String cu detalii despre router sau mesaj de eroare
      */
     public String getRouterInfo(String ip, Context context) {
-        RouterInfo info = new RouterInfo();
-        info.ip = ip;
-
-        // Verifica daca IP-ul este accesibil prin ping (timeout 300ms)
-        try {
-            InetAddress address = InetAddress.getByName(ip);
-            info.isReachable = address.isReachable(300);
-        } catch (Exception e) {
-            info.isReachable = false;
-        }
-
-        // Verifica daca IP-ul este gateway-ul curent configurat
-        try {
-            WifiManager wifiManager = (WifiManager) context.getApplicationContext()
-                    .getSystemService(Context.WIFI_SERVICE);
-            DhcpInfo dhcp = wifiManager.getDhcpInfo();
-            String gatewayIp = String.format("%d.%d.%d.%d",
-                    (dhcp.gateway & 0xff),
-                    (dhcp.gateway >> 8 & 0xff),
-                    (dhcp.gateway >> 16 & 0xff),
-                    (dhcp.gateway >> 24 & 0xff));
-            info.isCurrentGateway = ip.equals(gatewayIp);
-        } catch (Exception e) {
-            info.isCurrentGateway = false;
-        }
-
-        // Daca este gateway-ul curent, preia informatii Wi-Fi
-        if (info.isCurrentGateway) {
-            WifiManager wifiManager = (WifiManager) context.getApplicationContext()
-                    .getSystemService(Context.WIFI_SERVICE);
-            WifiInfo wifiInfo = wifiManager.getConnectionInfo();
-            info.ssid = wifiInfo.getSSID();
-            info.bssid = wifiInfo.getBSSID();
-            info.signalStrength = wifiInfo.getRssi();
-            info.linkSpeed = wifiInfo.getLinkSpeed();
-        }
-
-        // Incearca sa preia headerul HTTP "Server" de pe router
         try {
-            URL url = new URL("http://" + ip);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(300);
-            conn.setReadTimeout(300);
-            conn.setRequestMethod("GET");
-            int code = conn.getResponseCode();
-            info.serverHeader = conn.getHeaderField("Server");
-
+            RouterInfo info = RouterProber.getDefault()
+                    .probeAll(Collections.singletonList(ip), GatewayContext.resolve(context), SINGLE_PROBE_TIMEOUT_MS)
+                    .get(0);
             // Daca se primeste raspuns valid sau header contine "router", returneaza informatiile
-            if (code == 200 || code == 401 ||
-                    (info.serverHeader != null && info.serverHeader.toLowerCase().contains("router"))) {
+            if (info.isRouter) {
                 return info.toString();
             }
-        } catch (Exception e) {
-            // Nu s-a putut conecta la IP
-            Log.e("RouterScan", "Cannot connect to IP: " + ip);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        // Daca nu s-a gasit router sau nu s-a putut conecta
+        Log.e("RouterScan", "Cannot connect to IP: " + ip);
         return "Unable to connect to IP: " + ip;
     }
 }
@@ -0,0 +1,207 @@
+package com.example.wifiinformationtool;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Clasa RouterProber verifica un lot de adrese IP si intoarce cate un RouterInfo pentru fiecare.
+ *
+ * Fiecare adresa trece prin doua etape, in pipeline: accesibilitatea (un HostProbe asincron, cu
+ * cel mult maxInFlight verificari simultane) si, doar pentru adresele accesibile, etapa HTTP
+ * (headerul Server si codul raspunsului), pe un pool de httpConcurrency thread-uri. Etapa HTTP a
+ * unei adrese porneste imediat ce accesibilitatea ei este cunoscuta, in timp ce alte adrese sunt
+ * inca verificate. Fiecare etapa are timeout-ul ei (al probe-ului, respectiv al conexiunii HTTP),
+ * iar lotul are in plus un termen global.
+ *
+ * Contextul Wi-Fi (gateway, SSID, semnal) este primit o data pe lot, ca GatewayContext.
+ */
+public class RouterProber {
+    private static final String TAG = "RouterProber";
+    // Valorile pentru instanta implicita
+    private static final int DEFAULT_TIMEOUT_MS = 300;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    private static final int DEFAULT_HTTP_CONCURRENCY = 8;
+    private static final int HTTP_PORT = 80;
+    // Cat timp nu mai contactam un host neschimbat (acelasi IP si MAC) pentru amprenta HTTP
+    private static final long FINGERPRINT_TTL_MS = 10 * 60 * 1000;
+
+    /** Etapa HTTP: completeaza httpStatus si indiciile HTTP pentru o adresa accesibila. */
+    public interface HttpStage {
+        void fetch(RouterInfo info) throws IOException;
+    }
+
+    private static volatile RouterProber INSTANCE;
+
+    private final HostProbe reachability;
+    private final HttpStage http;
+    private final int maxInFlight;
+    private final ExecutorService httpExecutor;
+
+    /**
+     * @param reachability    verificarea de accesibilitate
+     * @param http            etapa HTTP
+     * @param maxInFlight     numarul maxim de verificari de accesibilitate simultane
+     * @param httpConcurrency numarul de cereri HTTP simultane
+     */
+    public RouterProber(HostProbe reachability, HttpStage http, int maxInFlight, int httpConcurrency) {
+        if (maxInFlight <= 0 || httpConcurrency <= 0) {
+            throw new IllegalArgumentException("maxInFlight and httpConcurrency must be positive");
+        }
+        this.reachability = reachability;
+        this.http = http;
+        this.maxInFlight = maxInFlight;
+        AtomicInteger counter = new AtomicInteger();
+        this.httpExecutor = Executors.newFixedThreadPool(httpConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "router-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returneaza instanta aplicatiei: conexiuni TCP neblocante pe porturile web (NioConnectProbe)
+     * si amprenta HTTP (HttpFingerprinter, cu cache), cu timeout-ul de 300 ms folosit si pana acum.
+     */
+    public static RouterProber getDefault() {
+        if (INSTANCE == null) {
+            synchronized (RouterProber.class) {
+                if (INSTANCE == null) {
+                    HostProbe probe;
+                    try {
+                        probe = new NioConnectProbe(DEFAULT_TIMEOUT_MS);
+                    } catch (IOException e) {
+                        Log.w(TAG, "Selector unavailable, falling back to isReachable", e);
+                        probe = BlockingHostProbe.reachability(DEFAULT_MAX_IN_FLIGHT, DEFAULT_TIMEOUT_MS);
+                    }
+                    INSTANCE = new RouterProber(probe,
+                            new HttpFingerprinter(HTTP_PORT, DEFAULT_TIMEOUT_MS, FINGERPRINT_TTL_MS),
+                            DEFAULT_MAX_IN_FLIGHT, DEFAULT_HTTP_CONCURRENCY);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Verifica toate adresele date si asteapta rezultatele. Trebuie apelata pe un thread de background.
+     *
+     * @param ips       adresele IPv4 (forma zecimala cu puncte); celelalte sunt raportate ca inaccesibile
+     * @param context   contextul Wi-Fi al lotului
+     * @param timeoutMs termenul pentru tot lotul (millis); adresele neterminate raman inaccesibile
+     * @return cate un RouterInfo pentru fiecare adresa, in ordinea data
+     */
+    public List<RouterInfo> probeAll(Collection<String> ips, GatewayContext context, long timeoutMs)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> targets = new ArrayList<>(ips);
+        int count = targets.size();
+        // Rezultatele terminate; un rezultat este publicat aici doar dupa ultima lui etapa
+        AtomicReferenceArray<RouterInfo> done = new AtomicReferenceArray<>(count);
+        CountDownLatch remaining = new CountDownLatch(count);
+        Semaphore slots = new Semaphore(maxInFlight);
+
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            RouterInfo info = newInfo(targets.get(i), context);
+            int address;
+            try {
+                address = Subnet.parseAddress(info.ip);
+            } catch (IllegalArgumentException e) {
+                complete(done, remaining, index, info);
+                continue;
+            }
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos <= 0 || !slots.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                break; // termenul lotului a expirat; restul adreselor raman neverificate
+            }
+            try {
+                reachability.probe(address, (probed, alive, rttNanos) -> {
+                    slots.release();
+                    info.isReachable = alive;
+                    if (!alive) {
+                        complete(done, remaining, index, info);
+                        return;
+                    }
+                    try {
+                        httpExecutor.execute(() -> {
+                            fetchHttp(info);
+                            complete(done, remaining, index, info);
+                        });
+                    } catch (RejectedExecutionException e) {
+                        complete(done, remaining, index, info);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Probe-ul a fost oprit: adresa ramane inaccesibila
+                slots.release();
+                complete(done, remaining, index, info);
+            }
+        }
+        remaining.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        List<RouterInfo> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RouterInfo info = done.get(i);
+            results.add(info != null ? info : newInfo(targets.get(i), context));
+        }
+        return results;
+    }
+
+    /** Opreste pool-ul HTTP; probe-ul de accesibilitate apartine apelantului. */
+    public void shutdown() {
+        httpExecutor.shutdown();
+    }
+
+    /** Etapa HTTP pentru o adresa accesibila; o eroare lasa campurile HTTP necompletate. */
+    private void fetchHttp(RouterInfo info) {
+        try {
+            http.fetch(info);
+        } catch (IOException | RuntimeException e) {
+            Log.d(TAG, "HTTP probe failed for " + info.ip + ": " + e);
+        }
+        info.isRouter = info.httpStatus == 200 || info.httpStatus == 401
+                || mentionsRouter(info.serverHeader) || mentionsRouter(info.authRealm) || mentionsRouter(info.pageTitle);
+    }
+
+    private static boolean mentionsRouter(String hint) {
+        return hint != null && hint.toLowerCase().contains("router");
+    }
+
+    /** Un RouterInfo cu datele din contextul lotului; datele Wi-Fi doar pentru gateway. */
+    private static RouterInfo newInfo(String ip, GatewayContext context) {
+        RouterInfo info = new RouterInfo();
+        info.ip = ip;
+        try {
+            int address = Subnet.parseAddress(ip);
+            info.isCurrentGateway = context.isGateway(address);
+            info.mac = context.getMac(address);
+        } catch (IllegalArgumentException e) {
+            info.isCurrentGateway = false;
+        }
+        if (info.isCurrentGateway) {
+            info.ssid = context.ssid;
+            info.bssid = context.bssid;
+            info.signalStrength = context.signalStrength;
+            info.linkSpeed = context.linkSpeed;
+        }
+        return info;
+    }
+
+    private static void complete(AtomicReferenceArray<RouterInfo> done, CountDownLatch remaining,
+                                 int index, RouterInfo info) {
+        done.set(index, info);
+        remaining.countDown();
+    }
+}
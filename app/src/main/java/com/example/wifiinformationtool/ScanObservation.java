@@ -0,0 +1,46 @@
+package com.example.wifiinformationtool;
+
+import java.util.Comparator;
+
+/**
+ * Observatia unui punct de acces intr-un scan, independenta de Android.
+ *
+ * Este tipul care circula prin bucla de scanare (ScanSource -> WifiScanEngine -> abonati), asa ca
+ * aceeasi bucla poate fi alimentata de WifiManager, de un generator sintetic sau de o inregistrare
+ * redata, si poate fi testata pe JVM.
+ */
+public final class ScanObservation {
+    /** Ordinea in care sunt publicate rezultatele: semnalul cel mai puternic primul. */
+    public static final Comparator<ScanObservation> BY_LEVEL_DESC =
+            (o1, o2) -> Integer.compare(o2.level, o1.level);
+
+    public final String bssid;          // BSSID-ul (MAC) punctului de acces
+    public final String ssid;           // SSID-ul retelei (gol pentru retele ascunse)
+    public final int level;             // Nivelul semnalului (dBm)
+    public final int frequency;         // Frecventa canalului primar (MHz); 0 daca nu se cunoaste
+    public final int channelWidth;      // Latimea canalului (MHz); 20 daca nu se cunoaste
+    public final int centerFrequency;   // Frecventa centrala a canalului larg (MHz); 0 daca nu se cunoaste
+    public final String capabilities;   // Stringul de capabilities (securitate)
+
+    /**
+     * Constructor pentru o observatie.
+     *
+     * @param bssid           BSSID-ul punctului de acces
+     * @param ssid            SSID-ul retelei
+     * @param level           nivelul semnalului (dBm)
+     * @param frequency       frecventa canalului primar (MHz)
+     * @param channelWidth    latimea canalului (MHz)
+     * @param centerFrequency frecventa centrala a canalului larg (MHz)
+     * @param capabilities    stringul de capabilities
+     */
+    public ScanObservation(String bssid, String ssid, int level, int frequency, int channelWidth,
+                           int centerFrequency, String capabilities) {
+        this.bssid = bssid;
+        this.ssid = ssid;
+        this.level = level;
+        this.frequency = frequency;
+        this.channelWidth = channelWidth;
+        this.centerFrequency = centerFrequency;
+        this.capabilities = capabilities;
+    }
+}
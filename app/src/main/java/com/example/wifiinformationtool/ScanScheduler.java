@@ -0,0 +1,170 @@
+package com.example.wifiinformationtool;
+
+import java.util.Arrays;
+
+/**
+ * Clasa ScanScheduler decide cand se cere urmatorul scan Wi‑Fi, tinand cont de limita impusa
+ * de Android pentru WifiManager.startScan() (4 cereri la 2 minute in prim-plan).
+ *
+ * Cererile sunt distantate astfel incat bugetul sa nu fie depasit; cand rezultatele nu se mai
+ * schimba, intervalul creste (backoff) pana la maximul profilului, iar la prima schimbare revine
+ * la intervalul de baza. Rezultatele pasive (scanari pornite de alte aplicatii sau de sistem)
+ * sunt tratate ca rezultate proaspete si amana urmatoarea cerere proprie.
+ *
+ * Nu depinde de Android: timpul este primit ca parametru (millis monotone), deci clasa poate
+ * fi testata pe JVM. Nu este thread-safe: este modificata doar de pe thread-ul WifiScanEngine,
+ * iar statisticile pot fi citite de pe orice thread.
+ */
+public class ScanScheduler {
+    // Limita Android pentru startScan() in prim-plan: 4 cereri intr-o fereastra de 2 minute
+    static final int THROTTLE_MAX_SCANS = 4;
+    static final long THROTTLE_WINDOW_MS = 2 * 60 * 1000L;
+
+    /** Profilurile de consum: intervalul de baza si intervalul maxim atins prin backoff. */
+    public enum Profile {
+        SURVEY(30_000L, 60_000L),        // prospetime maxima, folosind tot bugetul
+        MONITOR(30_000L, 4 * 60_000L),   // urmarire de durata, cu backoff cand nu se schimba nimic
+        ECO(2 * 60_000L, 15 * 60_000L);  // consum minim, se bazeaza mai ales pe rezultatele pasive
+
+        final long baseIntervalMs;
+        final long maxIntervalMs;
+
+        Profile(long baseIntervalMs, long maxIntervalMs) {
+            this.baseIntervalMs = baseIntervalMs;
+            this.maxIntervalMs = maxIntervalMs;
+        }
+    }
+
+    // Momentele ultimelor THROTTLE_MAX_SCANS cereri acceptate (buffer circular)
+    private final long[] requestTimes = new long[THROTTLE_MAX_SCANS];
+    private int requestCount;
+    private int nextRequestSlot;
+
+    private Profile profile;
+    private long intervalMs;
+    private long lastFreshResultsAt = Long.MIN_VALUE;
+    private long lastSignature;
+    private boolean hasSignature;
+
+    // Statistici; scrise doar de thread-ul motorului, citite de oriunde
+    private volatile long freshSnapshots;
+    private volatile long staleSnapshots;
+    private volatile long passiveSnapshots;
+    private volatile long rejectedRequests;
+
+    public ScanScheduler(Profile profile) {
+        setProfile(profile);
+    }
+
+    /** Schimba profilul; intervalul revine la intervalul de baza al noului profil. */
+    public void setProfile(Profile profile) {
+        this.profile = profile;
+        this.intervalMs = profile.baseIntervalMs;
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Cat trebuie asteptat (millis) pana la urmatoarea cerere de scan: intervalul curent de la
+     * ultimele rezultate proaspete, dar niciodata inainte ca bugetul de throttling sa permita.
+     */
+    public long nextScanDelay(long now) {
+        long delay = 0;
+        if (lastFreshResultsAt != Long.MIN_VALUE) {
+            delay = lastFreshResultsAt + intervalMs - now;
+        }
+        return Math.max(0, Math.max(delay, budgetDelay(now)));
+    }
+
+    /** Cat trebuie asteptat (millis) pana cand o cerere noua nu mai depaseste bugetul. */
+    long budgetDelay(long now) {
+        if (requestCount < THROTTLE_MAX_SCANS) {
+            return 0;
+        }
+        // Cea mai veche din ultimele THROTTLE_MAX_SCANS cereri trebuie sa iasa din fereastra
+        long oldest = requestTimes[nextRequestSlot];
+        return Math.max(0, oldest + THROTTLE_WINDOW_MS - now);
+    }
+
+    /**
+     * Inregistreaza o cerere de scan.
+     *
+     * @param now      momentul cererii (millis monotone)
+     * @param accepted rezultatul lui startScan(); false inseamna ca cererea a fost refuzata (throttled)
+     */
+    public void onScanRequested(long now, boolean accepted) {
+        if (!accepted) {
+            rejectedRequests++;
+            // Fereastra sistemului este plina (poate din cereri facute de alte componente):
+            // reincercam abia dupa un sfert de fereastra, cand se elibereaza cel mult un loc
+            long retryAt = now + THROTTLE_WINDOW_MS / THROTTLE_MAX_SCANS;
+            Arrays.fill(requestTimes, retryAt - THROTTLE_WINDOW_MS);
+            requestCount = THROTTLE_MAX_SCANS;
+            return;
+        }
+        requestTimes[nextRequestSlot] = now;
+        nextRequestSlot = (nextRequestSlot + 1) % THROTTLE_MAX_SCANS;
+        requestCount = Math.min(requestCount + 1, THROTTLE_MAX_SCANS);
+    }
+
+    /**
+     * Inregistreaza un set de rezultate publicat.
+     *
+     * @param now       momentul primirii (millis monotone)
+     * @param updated   true daca rezultatele provin dintr-un scan terminat (proaspete)
+     * @param passive   true daca scan-ul nu a fost cerut de noi (alta aplicatie sau sistemul)
+     * @param signature amprenta rezultatelor (vezi WifiScanEngine), pentru detectia schimbarilor
+     */
+    public void onResults(long now, boolean updated, boolean passive, long signature) {
+        if (!updated) {
+            staleSnapshots++;
+            return;
+        }
+        freshSnapshots++;
+        if (passive) {
+            passiveSnapshots++;
+        }
+        lastFreshResultsAt = now;
+        if (hasSignature && signature == lastSignature) {
+            // Nimic nou: dublam intervalul, pana la maximul profilului
+            intervalMs = Math.min(intervalMs * 2, profile.maxIntervalMs);
+        } else {
+            intervalMs = profile.baseIntervalMs;
+        }
+        lastSignature = signature;
+        hasSignature = true;
+    }
+
+    /** Intervalul curent dintre scanari (millis), dupa backoff. */
+    public long getCurrentIntervalMs() {
+        return intervalMs;
+    }
+
+    /** Numarul de snapshot-uri proaspete (inclusiv cele pasive). */
+    public long getFreshSnapshots() {
+        return freshSnapshots;
+    }
+
+    /** Numarul de snapshot-uri vechi (scan refuzat sau esuat). */
+    public long getStaleSnapshots() {
+        return staleSnapshots;
+    }
+
+    /** Numarul de snapshot-uri proaspete obtinute din scanari pornite de altcineva. */
+    public long getPassiveSnapshots() {
+        return passiveSnapshots;
+    }
+
+    /** Numarul de cereri startScan() refuzate de sistem. */
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    /** Proportia snapshot-urilor proaspete din total (0..1). */
+    public double getFreshShare() {
+        long total = freshSnapshots + staleSnapshots;
+        return total == 0 ? 0 : (double) freshSnapshots / total;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.wifiinformationtool;
+
+import java.util.List;
+
+/**
+ * Sursa de rezultate de scanare consumata de WifiScanEngine.
+ *
+ * Contractul urmeaza WifiManager: startScan() cere un scan, sursa anunta prin Callback cand exista
+ * rezultate (cerute sau nu), iar getScanResults() intoarce ultimul set de rezultate. Implementarile:
+ * WifiManagerScanSource (dispozitivul), SyntheticScanSource (generator pentru teste de incarcare)
+ * si ReplayScanSource (redarea unei sesiuni exportate).
+ */
+public interface ScanSource {
+
+    /** Anuntul ca sunt disponibile rezultate noi; poate fi apelat de pe orice thread. */
+    interface Callback {
+        /**
+         * @param resultsUpdated false daca scanul a esuat si rezultatele sunt cele vechi
+         */
+        void onResultsAvailable(boolean resultsUpdated);
+    }
+
+    /** Porneste sursa; rezultatele sunt anuntate prin callback pana la stop(). */
+    void start(Callback callback);
+
+    /** Opreste sursa; dupa revenire nu mai sunt anuntate rezultate. */
+    void stop();
+
+    /**
+     * Cere un scan nou.
+     *
+     * @return false daca cererea a fost refuzata (de exemplu throttling)
+     */
+    boolean startScan();
+
+    /**
+     * Ultimul set de rezultate, in ordinea sursei.
+     *
+     * @throws SecurityException daca lipseste permisiunea de locatie (doar pe dispozitiv)
+     */
+    List<ScanObservation> getScanResults();
+}
@@ -0,0 +1,28 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Proiectie Room pentru statisticile semnalului pe un interval de timp (bucket), calculate in SQL
+ * peste esantioanele brute si agregarile pe minut/ora ale unui SSID sau BSSID. Un rand pe bucket,
+ * doar campuri primitive.
+ *
+ * SQLite (minSdk 24) nu are sqrt, asa ca interogarea intoarce media patratelor, iar deviatia
+ * standard se obtine din ea cu getStdDev().
+ */
+public class SignalBucketStats {
+    // Dimensiuni uzuale de bucket (millis)
+    public static final long BUCKET_10_SECONDS = 10_000L;
+    public static final long BUCKET_1_MINUTE = 60_000L;
+    public static final long BUCKET_1_HOUR = 3_600_000L;
+
+    public long bucketStart;     // Inceputul bucket-ului (millis, multiplu de dimensiunea bucket-ului)
+    public int sampleCount;      // Numarul de esantioane din bucket
+    public int minRssi;          // Cel mai slab semnal (dBm)
+    public int maxRssi;          // Cel mai puternic semnal (dBm)
+    public double avgRssi;       // Media semnalului (dBm)
+    public double avgSquareRssi; // Media patratelor semnalului, pentru deviatia standard
+
+    /** Deviatia standard (a populatiei) a semnalului din bucket, in dB. */
+    public double getStdDev() {
+        return Math.sqrt(Math.max(0, avgSquareRssi - avgRssi * avgRssi));
+    }
+}
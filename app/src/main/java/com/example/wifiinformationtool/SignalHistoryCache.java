@@ -0,0 +1,194 @@
+package com.example.wifiinformationtool;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa SignalHistoryCache tine in memorie cele mai recente esantioane ale fiecarui punct de acces,
+ * in buffere circulare de tip primitiv (id, semnal, timestamp), fara obiecte WifiSignalEntity.
+ *
+ * Cache-ul este umplut la scriere (dupa ce SignalWriteQueue a facut commit), deci contine doar
+ * randuri care exista deja in baza de date. Un buffer contine toate esantioanele AP-ului scrise
+ * de la crearea lui, pana la capacitate; cand se umple, se suprascriu cele mai vechi.
+ * Astfel, pentru orice cursor, randurile din buffer sunt exact cele mai noi randuri din tabel,
+ * iar pentru ce este mai vechi se intoarce la WifiSignalDao.
+ *
+ * Numarul de puncte de acces urmarite este limitat; la depasire se elimina cel folosit cel mai
+ * demult (LRU). Cache-ul pe SSID nu exista: din cauza evictiei nu se poate garanta ca toate
+ * AP-urile unui SSID sunt in memorie, asa ca agregatele pe SSID raman in SQL.
+ */
+public class SignalHistoryCache {
+    // Valorile implicite pentru instanta aplicatiei (~128 * 256 * 16 octeti = 512 KB)
+    public static final int DEFAULT_MAX_ACCESS_POINTS = 128;
+    public static final int DEFAULT_SAMPLES_PER_ACCESS_POINT = 256;
+
+    /** Bufferul circular al unui punct de acces; randurile sunt in ordinea scrierii. */
+    private static final class Ring {
+        final int[] ids;
+        final int[] signals;
+        final long[] timestamps;
+        int apId;
+        int next;   // pozitia urmatoarei scrieri
+        int size;   // numarul de esantioane valide
+
+        Ring(int capacity) {
+            ids = new int[capacity];
+            signals = new int[capacity];
+            timestamps = new long[capacity];
+        }
+
+        /** Indexul in vectori al esantionului aflat la distanta age de cel mai nou (0 = cel mai nou). */
+        int indexOf(int age) {
+            int index = next - 1 - age;
+            return index < 0 ? index + ids.length : index;
+        }
+    }
+
+    private static volatile SignalHistoryCache INSTANCE;
+
+    private final int samplesPerAccessPoint;
+    // BSSID -> buffer, in ordinea accesului (LRU); protejat de monitorul obiectului
+    private final LinkedHashMap<String, Ring> rings;
+
+    // Statistici pentru reglaj
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor cu parametri configurabili.
+     *
+     * @param maxAccessPoints       numarul maxim de puncte de acces urmarite (LRU)
+     * @param samplesPerAccessPoint capacitatea bufferului fiecarui punct de acces
+     */
+    public SignalHistoryCache(int maxAccessPoints, int samplesPerAccessPoint) {
+        this.samplesPerAccessPoint = samplesPerAccessPoint;
+        this.rings = new LinkedHashMap<String, Ring>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Ring> eldest) {
+                return size() > maxAccessPoints;
+            }
+        };
+    }
+
+    /** Returneaza cache-ul implicit al aplicatiei (valorile DEFAULT_*). */
+    public static SignalHistoryCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (SignalHistoryCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SignalHistoryCache(DEFAULT_MAX_ACCESS_POINTS, DEFAULT_SAMPLES_PER_ACCESS_POINT);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Adauga esantioanele unui snapshot deja scris in baza de date.
+     *
+     * @param accessPoints punctele de acces ale snapshot-ului
+     * @param samples      esantioanele inserate (cu id-urile atribuite), in aceeasi ordine
+     */
+    public synchronized void record(List<AccessPointEntity> accessPoints, List<WifiSignalEntity> samples) {
+        for (int i = 0; i < samples.size(); i++) {
+            String bssid = accessPoints.get(i).bssid;
+            if (bssid == null) {
+                continue;
+            }
+            WifiSignalEntity sample = samples.get(i);
+            Ring ring = rings.get(bssid);
+            if (ring == null) {
+                ring = new Ring(samplesPerAccessPoint);
+                rings.put(bssid, ring);
+            } else if (ring.size > 0 && sample.timestamp < ring.timestamps[ring.indexOf(0)]) {
+                // Ceasul a sarit inapoi: ordinea scrierii nu mai coincide cu ordinea dupa timestamp
+                ring.size = 0;
+            }
+            ring.apId = sample.apId;
+            ring.ids[ring.next] = sample.id;
+            ring.signals[ring.next] = sample.signalStrength;
+            ring.timestamps[ring.next] = sample.timestamp;
+            ring.next = (ring.next + 1) % ring.ids.length;
+            ring.size = Math.min(ring.size + 1, ring.ids.length);
+        }
+    }
+
+    /**
+     * Citeste din memorie o pagina din istoricul unui BSSID, cu aceeasi semantica precum
+     * WifiSignalDao.getSignalPage: randurile din [from, cursor), descrescator dupa (timestamp, id).
+     * Randurile gasite se adauga in out (cel mult limit); restul paginii, daca exista, trebuie
+     * cerut de la DAO pornind de la ultimul rand adaugat.
+     *
+     * @return true daca s-a ajuns la inceputul intervalului (nu mai exista randuri mai vechi
+     *         de cerut de la DAO); false daca pagina poate continua in baza de date
+     */
+    public synchronized boolean readPage(String bssid, long from, long beforeTimestamp, int beforeId,
+                                         int limit, List<WifiSignalEntity> out) {
+        Ring ring = rings.get(bssid);
+        int added = 0;
+        boolean exhausted = false;
+        if (ring != null) {
+            for (int age = 0; age < ring.size && added < limit; age++) {
+                int index = ring.indexOf(age);
+                long timestamp = ring.timestamps[index];
+                if (timestamp > beforeTimestamp
+                        || (timestamp == beforeTimestamp && ring.ids[index] >= beforeId)) {
+                    continue;
+                }
+                if (timestamp < from) {
+                    exhausted = true;
+                    break;
+                }
+                WifiSignalEntity sample = new WifiSignalEntity(ring.apId, ring.signals[index], timestamp);
+                sample.id = ring.ids[index];
+                out.add(sample);
+                added++;
+            }
+        }
+        if (exhausted || added == limit) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return exhausted;
+    }
+
+    /**
+     * Elimina esantioanele mai vechi de :before, dupa ce au fost sterse din tabel de retentie.
+     * Buffer-ele ramase goale sunt scoase din cache.
+     */
+    public synchronized void evictOlderThan(long before) {
+        Iterator<Ring> iterator = rings.values().iterator();
+        while (iterator.hasNext()) {
+            Ring ring = iterator.next();
+            while (ring.size > 0 && ring.timestamps[ring.indexOf(ring.size - 1)] < before) {
+                ring.size--;
+            }
+            if (ring.size == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Numarul de citiri servite integral din memorie. */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** Numarul de citiri care au avut nevoie (si) de baza de date. */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** Proportia citirilor servite integral din memorie (0..1). */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /** Numarul de puncte de acces urmarite in prezent. */
+    public synchronized int getTrackedAccessPoints() {
+        return rings.size();
+    }
+}
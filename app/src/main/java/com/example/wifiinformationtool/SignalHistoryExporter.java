@@ -0,0 +1,206 @@
+package com.example.wifiinformationtool;
+
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Clasa SignalHistoryExporter exporta intregul istoric al semnalului intr-un fisier binar
+ * columnar si comprimat (formatul descris in SignalHistoryFormat).
+ *
+ * Tabelul este parcurs cu un cursor, rand cu rand, iar randurile sunt adunate in blocuri de
+ * cel mult BLOCK_ROWS in vectori primitivi refolositi. Memoria folosita nu depinde de numarul
+ * de randuri din tabel, ci doar de dimensiunea blocului si de numarul de puncte de acces.
+ */
+public class SignalHistoryExporter {
+    private static final String TAG = "SignalHistoryExporter";
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    /** Rezultatul unui export, folosit pentru a masura debitul si rata de compresie. */
+    public static final class Stats {
+        public final long rows;
+        public final int accessPoints;
+        // Dimensiunea echivalenta necomprimata a randurilor (id int + apId int + semnal int + timestamp long)
+        public final long rawBytes;
+        public final long compressedBytes;
+        public final long elapsedMs;
+
+        Stats(long rows, int accessPoints, long rawBytes, long compressedBytes, long elapsedMs) {
+            this.rows = rows;
+            this.accessPoints = accessPoints;
+            this.rawBytes = rawBytes;
+            this.compressedBytes = compressedBytes;
+            this.elapsedMs = elapsedMs;
+        }
+
+        /** Debitul exportului, in MB (necomprimati) pe secunda. */
+        public double getThroughputMbPerSecond() {
+            return elapsedMs == 0 ? 0 : rawBytes / 1_000_000.0 / (elapsedMs / 1000.0);
+        }
+
+        /** Rata de compresie: dimensiunea necomprimata impartita la dimensiunea fisierului. */
+        public double getCompressionRatio() {
+            return compressedBytes == 0 ? 0 : (double) rawBytes / compressedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return rows + " rows, " + accessPoints + " APs, " + compressedBytes + " bytes, "
+                    + String.format(Locale.US, "%.1f MB/s, ratio %.1fx",
+                    getThroughputMbPerSecond(), getCompressionRatio());
+        }
+    }
+
+    // Un rand de wifi_signal_table: id (4) + apId (4) + signalStrength (4) + timestamp (8)
+    private static final int RAW_ROW_BYTES = 20;
+
+    private final WifiSignalDao dao;
+    // Buffere refolosite pentru un bloc
+    private final long[] timestamps = new long[SignalHistoryFormat.BLOCK_ROWS];
+    private final int[] apRefs = new int[SignalHistoryFormat.BLOCK_ROWS];
+    private final byte[] signals = new byte[SignalHistoryFormat.BLOCK_ROWS];
+
+    public SignalHistoryExporter(WifiSignalDao dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Exporta tot tabelul wifi_signal_table in fluxul dat. Fluxul nu este inchis.
+     *
+     * @param target fluxul in care se scrie fisierul
+     * @return statisticile exportului
+     */
+    @WorkerThread
+    public Stats export(OutputStream target) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        CountingOutputStream counted = new CountingOutputStream(target);
+        counted.write(SignalHistoryFormat.MAGIC);
+        counted.write(SignalHistoryFormat.VERSION);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        long rows = 0;
+        // apId -> index in dictionar; creste doar cu numarul de puncte de acces
+        Map<Integer, Integer> dictionary = new HashMap<>();
+        try (Cursor cursor = dao.getAllSamplesCursor()) {
+            DeflaterOutputStream deflated = new DeflaterOutputStream(counted, deflater, IO_BUFFER_SIZE);
+            OutputStream out = new BufferedOutputStream(deflated, IO_BUFFER_SIZE);
+            int apIdColumn = cursor.getColumnIndexOrThrow("apId");
+            int signalColumn = cursor.getColumnIndexOrThrow("signalStrength");
+            int timestampColumn = cursor.getColumnIndexOrThrow("timestamp");
+            int bssidColumn = cursor.getColumnIndexOrThrow("bssid");
+            int ssidColumn = cursor.getColumnIndexOrThrow("ssid");
+
+            // Intrarile noi din dictionar pentru blocul curent, scrise in antetul blocului
+            BlockDictionary newEntries = new BlockDictionary();
+            long previousTimestamp = 0;
+            int count = 0;
+            while (cursor.moveToNext()) {
+                int apId = cursor.getInt(apIdColumn);
+                Integer ref = dictionary.get(apId);
+                if (ref == null) {
+                    ref = dictionary.size();
+                    dictionary.put(apId, ref);
+                    newEntries.add(cursor.getString(bssidColumn), cursor.getString(ssidColumn));
+                }
+                timestamps[count] = cursor.getLong(timestampColumn);
+                apRefs[count] = ref;
+                signals[count] = clampToByte(cursor.getInt(signalColumn));
+                count++;
+                if (count == SignalHistoryFormat.BLOCK_ROWS) {
+                    previousTimestamp = writeBlock(out, count, newEntries, previousTimestamp);
+                    rows += count;
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                writeBlock(out, count, newEntries, previousTimestamp);
+                rows += count;
+            }
+            SignalHistoryFormat.writeVarLong(out, 0); // sfarsitul fluxului
+            out.flush();
+            // finish() scrie restul datelor comprimate fara a inchide fluxul tinta
+            deflated.finish();
+        } finally {
+            deflater.end();
+        }
+
+        Stats stats = new Stats(rows, dictionary.size(), rows * RAW_ROW_BYTES, counted.count,
+                SystemClock.elapsedRealtime() - start);
+        Log.d(TAG, "Exported " + stats);
+        return stats;
+    }
+
+    /** Scrie un bloc columnar si returneaza ultimul timestamp, baza pentru delta din blocul urmator. */
+    private long writeBlock(OutputStream out, int count, BlockDictionary newEntries,
+                            long previousTimestamp) throws IOException {
+        SignalHistoryFormat.writeVarLong(out, count);
+        newEntries.writeTo(out);
+        for (int i = 0; i < count; i++) {
+            SignalHistoryFormat.writeVarLong(out, SignalHistoryFormat.zigzag(timestamps[i] - previousTimestamp));
+            previousTimestamp = timestamps[i];
+        }
+        for (int i = 0; i < count; i++) {
+            SignalHistoryFormat.writeVarLong(out, apRefs[i]);
+        }
+        out.write(signals, 0, count);
+        return previousTimestamp;
+    }
+
+    /** Limiteaza valoarea dBm la intervalul unui octet cu semn. */
+    private static byte clampToByte(int dbm) {
+        return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, dbm));
+    }
+
+    /** Intrarile de dictionar adaugate in blocul curent. */
+    private static final class BlockDictionary {
+        private final List<String> entries = new ArrayList<>();
+
+        void add(String bssid, String ssid) {
+            entries.add(bssid);
+            entries.add(ssid);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            SignalHistoryFormat.writeVarLong(out, entries.size() / 2);
+            for (String entry : entries) {
+                SignalHistoryFormat.writeString(out, entry);
+            }
+            entries.clear();
+        }
+    }
+
+    /** Numara octetii scrisi in fluxul tinta (dimensiunea fisierului). */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.wifiinformationtool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constante si codificari comune pentru formatul binar de export al istoricului semnalului (.wsh).
+ * Clasa nu depinde de Android, astfel incat poate fi folosita si de cititorul de pe JVM.
+ *
+ * Structura fisierului:
+ * <pre>
+ *   MAGIC (4 octeti "WSH1") | VERSION (1 octet) | flux comprimat Deflate cu blocuri:
+ *     rowCount (varint; 0 = sfarsitul fluxului)
+ *     newApCount (varint), apoi pentru fiecare AP nou: bssid (string), ssid (string)
+ *     coloana timestamp: rowCount x delta fata de randul anterior (zigzag varint)
+ *     coloana AP:        rowCount x index in dictionar (varint)
+ *     coloana semnal:    rowCount x dBm (int8)
+ * </pre>
+ * Stringurile sunt scrise ca lungime varint (0 = null, altfel lungime + 1) urmata de octetii UTF-8.
+ * Dictionarul de AP-uri (BSSID + SSID) creste incremental: fiecare bloc declara doar AP-urile noi.
+ */
+public final class SignalHistoryFormat {
+    static final byte[] MAGIC = {'W', 'S', 'H', '1'};
+    static final int VERSION = 1;
+    // Numarul maxim de randuri dintr-un bloc columnar
+    static final int BLOCK_ROWS = 4096;
+
+    private SignalHistoryFormat() {
+    }
+
+    /** Scrie un intreg fara semn in format varint (7 biti pe octet). */
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /** Citeste un intreg fara semn in format varint. */
+    static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /** Codificare zigzag: valorile mici negative devin numere mici pozitive. */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /** Inversul codificarii zigzag. */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Scrie un string nullable (lungime varint + UTF-8). */
+    static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    /** Citeste un string scris cu writeString. */
+    static String readString(InputStream in) throws IOException {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        readFully(in, bytes, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Citeste exact length octeti in buffer. */
+    static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(buffer, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Truncated block");
+            }
+            offset += read;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.wifiinformationtool;
+
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clasa SignalHistoryPager parcurge istoricul unui punct de acces pe un interval de timp,
+ * pagina cu pagina, de la cele mai noi esantioane spre cele mai vechi.
+ *
+ * Pozitia curenta este retinuta ca un cursor keyset (timestamp, id) al ultimului rand citit,
+ * deci pager-ul nu tine in memorie decat acest cursor, iar fiecare pagina costa la fel
+ * indiferent cat de adanc s-a ajuns in istoric.
+ *
+ * Daca primeste un SignalHistoryCache, pager-ul ia mai intai randurile recente din memorie
+ * si cere de la DAO doar restul paginii (randurile mai vechi decat cele din cache).
+ *
+ * Pe langa cursorul spre trecut, pager-ul retine si cel mai nou rand citit, astfel incat un
+ * grafic deschis poate cere doar randurile scrise intre timp (loadNewerRows), fara sa reia
+ * paginile deja incarcate.
+ */
+public class SignalHistoryPager {
+    private final WifiSignalDao dao;
+    private final SignalHistoryCache cache;
+    private final String bssid;
+    private final long from;
+    private final long to;
+    private final int pageSize;
+
+    private Integer apId;             // Id-ul AP-ului, rezolvat la prima pagina
+    private long cursorTimestamp;     // Timestamp-ul ultimului rand citit
+    private int cursorId;             // Id-ul ultimului rand citit
+    private boolean endReached;       // Nu mai exista randuri in interval
+    private boolean headKnown;        // Prima pagina a fost citita
+    private long headTimestamp;       // Timestamp-ul celui mai nou rand citit
+    private int headId;               // Id-ul celui mai nou rand citit
+
+    /**
+     * Constructor pentru un pager pe intervalul [from, to] al unui BSSID.
+     *
+     * @param dao      DAO-ul folosit pentru interogari
+     * @param bssid    BSSID-ul punctului de acces
+     * @param from     inceputul intervalului (millis, inclusiv)
+     * @param to       sfarsitul intervalului (millis, inclusiv)
+     * @param pageSize numarul maxim de randuri pe pagina
+     */
+    public SignalHistoryPager(WifiSignalDao dao, String bssid, long from, long to, int pageSize) {
+        this(dao, null, bssid, from, to, pageSize);
+    }
+
+    /**
+     * Constructor pentru un pager care citeste mai intai din cache-ul de esantioane recente.
+     *
+     * @param dao      DAO-ul folosit pentru randurile care nu sunt in cache
+     * @param cache    cache-ul de esantioane recente (poate fi null)
+     * @param bssid    BSSID-ul punctului de acces
+     * @param from     inceputul intervalului (millis, inclusiv)
+     * @param to       sfarsitul intervalului (millis, inclusiv)
+     * @param pageSize numarul maxim de randuri pe pagina
+     */
+    public SignalHistoryPager(WifiSignalDao dao, SignalHistoryCache cache, String bssid,
+                              long from, long to, int pageSize) {
+        this.dao = dao;
+        this.cache = cache;
+        this.bssid = bssid;
+        this.from = from;
+        this.to = to;
+        this.pageSize = pageSize;
+        this.cursorTimestamp = to;
+        this.cursorId = Integer.MAX_VALUE;
+        // Pana la primul rand citit, orice rand din interval este "mai nou"
+        this.headTimestamp = from;
+        this.headId = -1;
+    }
+
+    /**
+     * Incarca urmatoarea pagina (mai veche) si avanseaza cursorul.
+     * Trebuie apelata pe un thread de background.
+     *
+     * @return randurile paginii, sortate descrescator dupa (timestamp, id); goala la final
+     */
+    @WorkerThread
+    public synchronized List<WifiSignalEntity> loadNextPage() {
+        List<WifiSignalEntity> page = loadOlderRows();
+        if (!headKnown) {
+            headKnown = true;
+            if (!page.isEmpty()) {
+                headTimestamp = page.get(0).timestamp;
+                headId = page.get(0).id;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Incarca randurile scrise dupa cel mai nou rand citit (de exemplu dupa un flush al cozii de
+     * scriere) si muta pe ele capul pager-ului. Nu intoarce nimic inainte de prima pagina.
+     * Trebuie apelata pe un thread de background.
+     *
+     * @param limit numarul maxim de randuri
+     * @return randurile noi, sortate crescator dupa (timestamp, id); mai putine decat limit
+     *         daca nu mai sunt altele
+     */
+    @WorkerThread
+    public synchronized List<WifiSignalEntity> loadNewerRows(int limit) {
+        if (!headKnown) {
+            return Collections.emptyList();
+        }
+        if (apId == null) {
+            // AP-ul poate aparea in tabel dupa ce graficul a fost deschis
+            apId = dao.getAccessPointId(bssid);
+            if (apId == null) {
+                return Collections.emptyList();
+            }
+        }
+        List<WifiSignalEntity> newer = dao.getSignalsAfter(apId, headTimestamp, headId, limit);
+        if (!newer.isEmpty()) {
+            WifiSignalEntity last = newer.get(newer.size() - 1);
+            headTimestamp = last.timestamp;
+            headId = last.id;
+        }
+        return newer;
+    }
+
+    /**
+     * Muta cursorul spre trecut pe randul dat: urmatoarea pagina incepe strict inaintea lui.
+     * Folosita cand cel care afiseaza randurile renunta la cele mai vechi dintre ele.
+     */
+    public synchronized void restartOlderPagesBefore(long timestamp, int id) {
+        cursorTimestamp = timestamp;
+        cursorId = id;
+        endReached = false;
+    }
+
+    /** Pagina urmatoare spre trecut, de la cursor. */
+    private List<WifiSignalEntity> loadOlderRows() {
+        if (endReached) {
+            return Collections.emptyList();
+        }
+        List<WifiSignalEntity> page = new ArrayList<>();
+        if (cache != null) {
+            boolean exhausted = cache.readPage(bssid, from, cursorTimestamp, cursorId, pageSize, page);
+            advanceCursor(page);
+            if (exhausted) {
+                endReached = true;
+            }
+            if (exhausted || page.size() == pageSize) {
+                return page;
+            }
+        }
+        if (apId == null) {
+            apId = dao.getAccessPointId(bssid);
+            if (apId == null) {
+                endReached = true;
+                return page;
+            }
+        }
+        int remaining = pageSize - page.size();
+        List<WifiSignalEntity> older = dao.getSignalPage(apId, from, cursorTimestamp, cursorId, remaining);
+        if (older.size() < remaining) {
+            endReached = true;
+        }
+        advanceCursor(older);
+        page.addAll(older);
+        return page;
+    }
+
+    /** Muta cursorul pe ultimul rand (cel mai vechi) din lista data, daca exista. */
+    private void advanceCursor(List<WifiSignalEntity> rows) {
+        if (!rows.isEmpty()) {
+            WifiSignalEntity last = rows.get(rows.size() - 1);
+            cursorTimestamp = last.timestamp;
+            cursorId = last.id;
+        }
+    }
+
+    /** Returneaza sfarsitul intervalului parcurs (millis). */
+    public long getWindowEnd() {
+        return to;
+    }
+
+    /** Indica daca s-a ajuns la inceputul intervalului si nu mai sunt pagini de incarcat. */
+    public synchronized boolean isEndReached() {
+        return endReached;
+    }
+}
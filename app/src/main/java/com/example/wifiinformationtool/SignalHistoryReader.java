@@ -0,0 +1,142 @@
+package com.example.wifiinformationtool;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Cititor pentru fisierele de export produse de SignalHistoryExporter.
+ * Nu depinde de Android: poate fi copiat, impreuna cu SignalHistoryFormat, intr-un proiect JVM
+ * pentru analiza offline. Fisierul este citit bloc cu bloc, deci memoria folosita nu depinde
+ * de numarul de randuri.
+ *
+ * Utilizare:
+ * <pre>
+ *   try (SignalHistoryReader reader = new SignalHistoryReader(new FileInputStream(file))) {
+ *       while (reader.next()) {
+ *           process(reader.timestamp(), reader.bssid(), reader.ssid(), reader.signalStrength());
+ *       }
+ *   }
+ * </pre>
+ */
+public class SignalHistoryReader implements Closeable {
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    // Dictionarul de puncte de acces, in ordinea aparitiei
+    private final List<String> bssids = new ArrayList<>();
+    private final List<String> ssids = new ArrayList<>();
+    // Blocul curent
+    private final long[] timestamps = new long[SignalHistoryFormat.BLOCK_ROWS];
+    private final int[] apRefs = new int[SignalHistoryFormat.BLOCK_ROWS];
+    private final byte[] signals = new byte[SignalHistoryFormat.BLOCK_ROWS];
+    private int blockSize;
+    private int position = -1;
+    private long previousTimestamp;
+    private boolean endReached;
+
+    /**
+     * Deschide un fisier de export si verifica antetul.
+     *
+     * @param source fluxul fisierului; este inchis odata cu cititorul
+     * @throws IOException daca fluxul nu este un export valid
+     */
+    public SignalHistoryReader(InputStream source) throws IOException {
+        byte[] magic = new byte[SignalHistoryFormat.MAGIC.length];
+        SignalHistoryFormat.readFully(source, magic, magic.length);
+        if (!Arrays.equals(magic, SignalHistoryFormat.MAGIC)) {
+            source.close();
+            throw new IOException("Not a signal history export");
+        }
+        int version = source.read();
+        if (version != SignalHistoryFormat.VERSION) {
+            source.close();
+            throw new IOException("Unsupported export version " + version);
+        }
+        this.in = new BufferedInputStream(new InflaterInputStream(source), IO_BUFFER_SIZE);
+    }
+
+    /**
+     * Trece la randul urmator.
+     *
+     * @return false daca s-a ajuns la sfarsitul fisierului
+     */
+    public boolean next() throws IOException {
+        if (position + 1 < blockSize) {
+            position++;
+            return true;
+        }
+        if (endReached || !readBlock()) {
+            endReached = true;
+            return false;
+        }
+        position = 0;
+        return true;
+    }
+
+    /** Timestamp-ul (millis) randului curent. */
+    public long timestamp() {
+        return timestamps[position];
+    }
+
+    /** Semnalul (dBm) randului curent. */
+    public int signalStrength() {
+        return signals[position];
+    }
+
+    /** BSSID-ul punctului de acces al randului curent (null pentru istoricul dinainte de BSSID). */
+    public String bssid() {
+        return bssids.get(apRefs[position]);
+    }
+
+    /** SSID-ul punctului de acces al randului curent. */
+    public String ssid() {
+        return ssids.get(apRefs[position]);
+    }
+
+    /** Numarul de puncte de acces intalnite pana acum in fisier. */
+    public int getAccessPointCount() {
+        return bssids.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** Citeste blocul urmator; returneaza false la marcajul de sfarsit. */
+    private boolean readBlock() throws IOException {
+        int count = (int) SignalHistoryFormat.readVarLong(in);
+        if (count == 0) {
+            blockSize = 0;
+            return false;
+        }
+        if (count > SignalHistoryFormat.BLOCK_ROWS) {
+            throw new IOException("Block too large: " + count);
+        }
+        int newEntries = (int) SignalHistoryFormat.readVarLong(in);
+        for (int i = 0; i < newEntries; i++) {
+            bssids.add(SignalHistoryFormat.readString(in));
+            ssids.add(SignalHistoryFormat.readString(in));
+        }
+        for (int i = 0; i < count; i++) {
+            previousTimestamp += SignalHistoryFormat.unzigzag(SignalHistoryFormat.readVarLong(in));
+            timestamps[i] = previousTimestamp;
+        }
+        for (int i = 0; i < count; i++) {
+            int ref = (int) SignalHistoryFormat.readVarLong(in);
+            if (ref >= bssids.size()) {
+                throw new IOException("Unknown access point reference " + ref);
+            }
+            apRefs[i] = ref;
+        }
+        SignalHistoryFormat.readFully(in, signals, count);
+        blockSize = count;
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clasa SignalHistoryWatcher urmareste modificarile tabelului wifi_signal_table prin
+ * InvalidationTracker-ul Room si anunta graficele deschise doar cand datele chiar s-au schimbat.
+ *
+ * Invalidarile apropiate sunt comasate: ascultatorii primesc cel mult o notificare pe ciclu
+ * de scanare (MIN_REFRESH_INTERVAL_MS), pe thread-ul principal. In plus, fiecare invalidare
+ * incrementeaza o versiune, pe care cititorii o pot compara pentru a refolosi un rezultat
+ * deja incarcat in loc sa repete aceeasi interogare.
+ */
+public class SignalHistoryWatcher {
+    // Intarziere minima inainte de notificare, pentru a comasa invalidarile din aceeasi rafala
+    private static final long COALESCE_DELAY_MS = 500;
+    // Interval minim intre doua notificari (un ciclu de scanare)
+    private static final long MIN_REFRESH_INTERVAL_MS = 10000;
+
+    /** Ascultator notificat pe thread-ul principal dupa ce istoricul semnalului s-a schimbat. */
+    public interface Listener {
+        void onSignalHistoryChanged();
+    }
+
+    private static volatile SignalHistoryWatcher INSTANCE;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong version = new AtomicLong();
+    private final Runnable dispatchRunnable = this::dispatch;
+    // Starea notificarilor; accesata doar de pe thread-ul principal
+    private boolean dispatchPending;
+    private long lastDispatchUptime = -MIN_REFRESH_INTERVAL_MS;
+
+    private SignalHistoryWatcher(WifiSignalDatabase db) {
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("wifi_signal_table") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                version.incrementAndGet();
+                mainHandler.post(SignalHistoryWatcher.this::scheduleDispatch);
+            }
+        });
+    }
+
+    /**
+     * Returneaza instanta unica, legata de baza de date a aplicatiei.
+     *
+     * @param context contextul aplicatiei
+     * @return instanta SignalHistoryWatcher
+     */
+    public static SignalHistoryWatcher getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (SignalHistoryWatcher.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SignalHistoryWatcher(WifiSignalDatabase.getDatabase(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Returneaza versiunea curenta a tabelului; se schimba la fiecare modificare a lui wifi_signal_table.
+     * Un rezultat incarcat la versiunea v este inca valid cat timp getVersion() == v.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Inregistreaza un ascultator; apelurile repetate pentru acelasi ascultator nu au efect. */
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /** Elimina un ascultator inregistrat anterior. */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Programeaza o notificare, daca nu exista deja una in asteptare (thread principal). */
+    private void scheduleDispatch() {
+        if (dispatchPending || listeners.isEmpty()) {
+            return;
+        }
+        dispatchPending = true;
+        long now = SystemClock.uptimeMillis();
+        long delay = Math.max(COALESCE_DELAY_MS, lastDispatchUptime + MIN_REFRESH_INTERVAL_MS - now);
+        mainHandler.postDelayed(dispatchRunnable, delay);
+    }
+
+    /** Notifica toti ascultatorii (thread principal). */
+    private void dispatch() {
+        dispatchPending = false;
+        lastDispatchUptime = SystemClock.uptimeMillis();
+        for (Listener listener : listeners) {
+            listener.onSignalHistoryChanged();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.wifiinformationtool;
+
+import android.app.AlarmManager;
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Binder;
+import android.os.Build;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Serviciu foreground care inregistreaza istoricul semnalului independent de orice activitate,
+ * inclusiv cu ecranul stins, pentru capturi de lunga durata.
+ *
+ * Pipeline-ul este cel obisnuit: WifiScanEngine scaneaza (profilul MONITOR implicit), iar
+ * SignalWriteQueue scrie in loturi in WifiSignalDatabase. Serviciul adauga doar trezirea
+ * procesorului: o alarma ELAPSED_REALTIME_WAKEUP la momentul urmatoarei cereri, anuntat de motor
+ * (WifiScanEngine.ScheduleListener), urmata de un wakelock partial limitat (WAKELOCK_TIMEOUT_MS),
+ * eliberat imediat ce sosesc rezultatele sau motorul nu mai asteapta niciun scan.
+ * Intre scanari procesorul poate dormi.
+ *
+ * Pornirea, oprirea si statisticile (treziri, timp CPU, timp cu wakelock) sunt expuse prin
+ * LocalBinder; pornirea se face cu start(Context), oprirea si din notificare.
+ */
+public class SignalRecorderService extends Service {
+    private static final String TAG = "SignalRecorderService";
+    private static final String CHANNEL_ID = "signal_recorder";
+    private static final int NOTIFICATION_ID = 1001;
+    private static final String ACTION_STOP = "com.example.wifiinformationtool.action.STOP_RECORDING";
+    // Durata maxima a unei treziri: cerere de scan + rezultat + punere in coada
+    private static final long WAKELOCK_TIMEOUT_MS = 10_000;
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+
+    /** Statisticile unei sesiuni de inregistrare, la momentul cererii. */
+    public static final class RecorderStats {
+        public final long elapsedMs;          // Durata sesiunii
+        public final long freshSnapshots;     // Scanari proaspete (salvate in istoric)
+        public final long staleSnapshots;     // Scanari vechi (nesalvate)
+        public final long samplesRecorded;    // Esantioane trimise spre baza de date
+        public final long wakeups;            // Treziri provocate de alarma serviciului
+        public final long wakeLockHeldMs;     // Timpul total cu wakelock-ul tinut
+        public final long cpuTimeMs;          // Timpul CPU consumat de proces in sesiune
+
+        RecorderStats(long elapsedMs, long freshSnapshots, long staleSnapshots, long samplesRecorded,
+                      long wakeups, long wakeLockHeldMs, long cpuTimeMs) {
+            this.elapsedMs = elapsedMs;
+            this.freshSnapshots = freshSnapshots;
+            this.staleSnapshots = staleSnapshots;
+            this.samplesRecorded = samplesRecorded;
+            this.wakeups = wakeups;
+            this.wakeLockHeldMs = wakeLockHeldMs;
+            this.cpuTimeMs = cpuTimeMs;
+        }
+
+        /** Valoarea data, normalizata la o ora de inregistrare. */
+        public double perHour(long value) {
+            return elapsedMs == 0 ? 0 : value * (double) HOUR_MS / elapsedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.US,
+                    "%d fresh / %d stale scans, %d samples, %.1f wakeups/h, %.1f s CPU/h, %.1f s wakelock/h",
+                    freshSnapshots, staleSnapshots, samplesRecorded, perHour(wakeups),
+                    perHour(cpuTimeMs) / 1000.0, perHour(wakeLockHeldMs) / 1000.0);
+        }
+    }
+
+    /** Binder local pentru activitatile din aplicatie. */
+    public class LocalBinder extends Binder {
+        /** Porneste inregistrarea (serviciul trece in foreground). */
+        public void startRecording() {
+            // Serviciul devine "started", ca sa supravietuiasca dezlegarii activitatii
+            start(SignalRecorderService.this);
+            if (!startInForeground()) {
+                stopSelf();
+                return;
+            }
+            if (!recording) {
+                SignalRecorderService.this.startRecording();
+            }
+        }
+
+        /** Opreste inregistrarea si serviciul. */
+        public void stopRecording() {
+            SignalRecorderService.this.stopRecording();
+        }
+
+        public boolean isRecording() {
+            return recording;
+        }
+
+        /** Statisticile sesiunii curente (sau ale ultimei sesiuni, daca s-a oprit). */
+        public RecorderStats getStats() {
+            return SignalRecorderService.this.getStats();
+        }
+    }
+
+    private final IBinder binder = new LocalBinder();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AlarmManager.OnAlarmListener alarmListener = this::onAlarm;
+    private final WifiScanEngine.Listener scanListener = this::onScanSnapshot;
+    private final WifiScanEngine.ScheduleListener scheduleListener = this::onNextScanScheduled;
+    private WifiScanEngine scanEngine;
+    private AlarmManager alarmManager;
+    private PowerManager.WakeLock wakeLock;
+
+    // Starea sesiunii; scrisa pe thread-ul principal si pe thread-ul motorului
+    private volatile boolean recording;
+    private volatile long sessionStartElapsed;
+    private volatile long sessionEndElapsed;
+    private volatile long sessionStartCpuMs;
+    private volatile long sessionEndCpuMs;
+    private volatile long freshAtStart;
+    private volatile long staleAtStart;
+    private volatile long samplesRecorded;
+    private volatile long wakeups;
+    private volatile long wakeLockHeldMs;
+    private long wakeLockAcquiredAt;   // protejat de wakeLock
+
+    /**
+     * Porneste serviciul de inregistrare in foreground.
+     *
+     * @param context contextul apelantului
+     */
+    public static void start(Context context) {
+        ContextCompat.startForegroundService(context, new Intent(context, SignalRecorderService.class));
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        scanEngine = WifiScanEngine.getInstance(this);
+        alarmManager = (AlarmManager) getSystemService(Context.ALARM_SERVICE);
+        PowerManager powerManager = (PowerManager) getSystemService(Context.POWER_SERVICE);
+        wakeLock = powerManager.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "WifiInformationTool:recorder");
+        wakeLock.setReferenceCounted(false);
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        if (intent != null && ACTION_STOP.equals(intent.getAction())) {
+            stopRecording();
+            return START_NOT_STICKY;
+        }
+        if (!startInForeground()) {
+            // Repornire dupa oprirea procesului, cand aplicatia nu mai are voie sa porneasca
+            // un serviciu foreground (Android 12+): renuntam in loc sa cadem
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+        if (!recording) {
+            startRecording();
+        }
+        return START_STICKY;
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public void onDestroy() {
+        if (recording) {
+            stopRecording();
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Porneste sesiunea: motorul de scanare in profilul MONITOR si prima trezire. Profilul este
+     * tinut doar pe durata sesiunii; la oprire motorul revine la profilul ales de ecran.
+     */
+    private void startRecording() {
+        recording = true;
+        ScanScheduler scheduler = scanEngine.getScheduler();
+        sessionStartElapsed = SystemClock.elapsedRealtime();
+        sessionStartCpuMs = Process.getElapsedCpuTime();
+        freshAtStart = scheduler.getFreshSnapshots();
+        staleAtStart = scheduler.getStaleSnapshots();
+        samplesRecorded = 0;
+        wakeups = 0;
+        wakeLockHeldMs = 0;
+        scanEngine.holdProfile(ScanScheduler.Profile.MONITOR);
+        scanEngine.addListener(scanListener);
+        scanEngine.addScheduleListener(scheduleListener);
+        scanEngine.start();
+        Log.d(TAG, "Recording started");
+    }
+
+    /** Opreste sesiunea, scrie ce a ramas in coada si opreste serviciul. */
+    private void stopRecording() {
+        if (recording) {
+            recording = false;
+            alarmManager.cancel(alarmListener);
+            scanEngine.removeListener(scanListener);
+            scanEngine.removeScheduleListener(scheduleListener);
+            scanEngine.stop();
+            scanEngine.releaseProfile(ScanScheduler.Profile.MONITOR);
+            sessionEndElapsed = SystemClock.elapsedRealtime();
+            sessionEndCpuMs = Process.getElapsedCpuTime();
+            SignalWriteQueue.getInstance(this).flush();
+            releaseWakeLock();
+            Log.d(TAG, "Recording stopped: " + getStats());
+        }
+        stopForeground(true);
+        stopSelf();
+    }
+
+    /** Statisticile sesiunii curente sau ale ultimei sesiuni. */
+    RecorderStats getStats() {
+        ScanScheduler scheduler = scanEngine.getScheduler();
+        boolean active = recording;
+        long end = active ? SystemClock.elapsedRealtime() : sessionEndElapsed;
+        long cpuEnd = active ? Process.getElapsedCpuTime() : sessionEndCpuMs;
+        return new RecorderStats(end - sessionStartElapsed,
+                scheduler.getFreshSnapshots() - freshAtStart,
+                scheduler.getStaleSnapshots() - staleAtStart,
+                samplesRecorded, wakeups, wakeLockHeldMs, cpuEnd - sessionStartCpuMs);
+    }
+
+    /**
+     * Alarma a trezit procesorul: tinem un wakelock limitat si cerem scan-ul. Motorul raspunde cu
+     * momentul urmatorului pas (onNextScanScheduled), chiar daca bugetul nu permite inca un scan.
+     */
+    private void onAlarm() {
+        if (!recording) {
+            return;
+        }
+        wakeups++;
+        acquireWakeLock();
+        scanEngine.requestScanNow();
+    }
+
+    /**
+     * Rezultatele au sosit (thread-ul motorului): numaram esantioanele si eliberam wakelock-ul.
+     * Scrierea in baza de date ramane in seama cozii write-behind.
+     */
+    private void onScanSnapshot(WifiScanSnapshot snapshot) {
+        if (snapshot.resultsUpdated) {
+            samplesRecorded += snapshot.results.size();
+        }
+        mainHandler.post(this::releaseWakeLock);
+    }
+
+    /**
+     * Motorul a programat urmatorul pas (thread-ul motorului): mutam alarma la acelasi moment. Daca
+     * nu asteapta rezultatele unei cereri, trezirea curenta s-a terminat si eliberam wakelock-ul.
+     */
+    private void onNextScanScheduled(long delayMs, boolean waitingForResults) {
+        mainHandler.post(() -> {
+            if (recording) {
+                scheduleWakeup(delayMs);
+            }
+            if (!waitingForResults) {
+                releaseWakeLock();
+            }
+        });
+    }
+
+    /** Programeaza alarma peste delay millis, momentul calculat de motor pentru urmatoarea cerere. */
+    private void scheduleWakeup(long delay) {
+        // Lasam motorului cateva secunde sa ceara singur scan-ul daca procesorul e treaz
+        alarmManager.set(AlarmManager.ELAPSED_REALTIME_WAKEUP,
+                SystemClock.elapsedRealtime() + Math.max(delay, 1000),
+                TAG, alarmListener, mainHandler);
+    }
+
+    private void acquireWakeLock() {
+        synchronized (wakeLock) {
+            if (!wakeLock.isHeld()) {
+                wakeLockAcquiredAt = SystemClock.elapsedRealtime();
+            }
+            wakeLock.acquire(WAKELOCK_TIMEOUT_MS);
+        }
+    }
+
+    private void releaseWakeLock() {
+        synchronized (wakeLock) {
+            if (wakeLock.isHeld()) {
+                long held = SystemClock.elapsedRealtime() - wakeLockAcquiredAt;
+                wakeLockHeldMs += Math.min(held, WAKELOCK_TIMEOUT_MS);
+                wakeLock.release();
+            }
+        }
+    }
+
+    /**
+     * Trece serviciul in foreground, cu notificarea persistenta si actiunea de oprire.
+     *
+     * @return false daca sistemul nu permite acum un serviciu foreground
+     */
+    private boolean startInForeground() {
+        NotificationManager notificationManager =
+                (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            notificationManager.createNotificationChannel(new NotificationChannel(
+                    CHANNEL_ID, "Signal recording", NotificationManager.IMPORTANCE_LOW));
+        }
+        PendingIntent stopIntent = PendingIntent.getService(this, 0,
+                new Intent(this, SignalRecorderService.class).setAction(ACTION_STOP),
+                PendingIntent.FLAG_IMMUTABLE);
+        Notification notification = new NotificationCompat.Builder(this, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_wifi_search_white_24dp)
+                .setContentTitle("Recording Wi-Fi signal history")
+                .setContentText("Scanning in the background")
+                .setOngoing(true)
+                .addAction(0, "Stop", stopIntent)
+                .build();
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                startForeground(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_LOCATION);
+            } else {
+                startForeground(NOTIFICATION_ID, notification);
+            }
+            return true;
+        } catch (IllegalStateException | SecurityException e) {
+            // ForegroundServiceStartNotAllowedException (din fundal) este un IllegalStateException;
+            // SecurityException apare fara permisiunea de locatie pentru tipul LOCATION
+            Log.w(TAG, "Cannot start in foreground", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasa SignalRetentionManager aplica politica de retentie pe baza de date a semnalului Wi‑Fi:
+ * esantioanele brute mai vechi decat fereastra configurata sunt agregate pe minut si sterse,
+ * agregarile pe minut vechi sunt agregate pe ora si sterse, iar spatiul eliberat este
+ * recuperat prin incremental vacuum.
+ *
+ * Incremental vacuum elibereaza pagini doar daca baza de date este in modul auto_vacuum
+ * INCREMENTAL, pe care WifiSignalDatabase il seteaza la crearea bazei de date. O baza de date
+ * mai veche nu este convertita (ar cere un VACUUM complet, care rescrie tot fisierul); acolo
+ * paginile eliberate raman in fisier si sunt refolosite de scrierile urmatoare.
+ *
+ * Fiecare pas ruleaza pe executorul de scriere al bazei de date si prelucreaza cel mult
+ * MAX_ROWS_PER_RUN randuri, astfel incat o rulare sa nu blocheze scrierea unui scan.
+ */
+public class SignalRetentionManager {
+    private static final String TAG = "SignalRetention";
+
+    static final long MINUTE_MS = 60_000L;
+    static final long HOUR_MS = 60 * MINUTE_MS;
+    static final long DAY_MS = 24 * HOUR_MS;
+
+    // Valorile implicite ale ferestrelor de retentie
+    public static final long DEFAULT_RAW_RETENTION_MS = DAY_MS;
+    public static final long DEFAULT_MINUTE_RETENTION_MS = 7 * DAY_MS;
+    public static final long DEFAULT_HOUR_RETENTION_MS = 365 * DAY_MS;
+
+    // Numarul maxim de randuri prelucrate de un pas intr-o singura rulare
+    private static final int MAX_ROWS_PER_RUN = 5000;
+    // Numarul maxim de pagini eliberate de incremental vacuum intr-o singura rulare
+    private static final int VACUUM_PAGES_PER_RUN = 256;
+    // Intervalul dintre doua rulari ale job-ului
+    private static final long RUN_INTERVAL_MS = 15 * MINUTE_MS;
+
+    private static volatile SignalRetentionManager INSTANCE;
+
+    private final WifiSignalDatabase db;
+    private final long rawRetentionMs;
+    private final long minuteRetentionMs;
+    private final long hourRetentionMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> scheduledRun;
+
+    /**
+     * Constructor cu ferestre de retentie configurabile.
+     *
+     * @param db                baza de date pe care se aplica retentia
+     * @param rawRetentionMs    cat timp se pastreaza esantioanele brute (millis)
+     * @param minuteRetentionMs cat timp se pastreaza agregarile pe minut (millis)
+     * @param hourRetentionMs   cat timp se pastreaza agregarile pe ora (millis)
+     */
+    public SignalRetentionManager(WifiSignalDatabase db, long rawRetentionMs,
+                                  long minuteRetentionMs, long hourRetentionMs) {
+        this.db = db;
+        this.rawRetentionMs = rawRetentionMs;
+        this.minuteRetentionMs = minuteRetentionMs;
+        this.hourRetentionMs = hourRetentionMs;
+    }
+
+    /**
+     * Returneaza instanta implicita, cu ferestrele de retentie DEFAULT_*.
+     *
+     * @param context contextul aplicatiei
+     * @return instanta SignalRetentionManager
+     */
+    public static SignalRetentionManager getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (SignalRetentionManager.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SignalRetentionManager(
+                            WifiSignalDatabase.getDatabase(context),
+                            DEFAULT_RAW_RETENTION_MS,
+                            DEFAULT_MINUTE_RETENTION_MS,
+                            DEFAULT_HOUR_RETENTION_MS
+                    );
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /** Porneste rularea periodica a job-ului de retentie; apelurile repetate nu au efect. */
+    public synchronized void start() {
+        if (scheduledRun != null) {
+            return;
+        }
+        scheduledRun = scheduler.scheduleWithFixedDelay(
+                () -> runOnce(System.currentTimeMillis()),
+                0, RUN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Opreste rularea periodica; o rulare deja pornita se termina normal. */
+    public synchronized void stop() {
+        if (scheduledRun != null) {
+            scheduledRun.cancel(false);
+            scheduledRun = null;
+        }
+    }
+
+    /**
+     * Programeaza o rulare a tuturor pasilor de retentie pe executorul de scriere.
+     * Fiecare pas este un task separat, astfel incat scrierile de scan se pot intercala intre ei.
+     *
+     * @param now momentul de referinta pentru ferestrele de retentie (millis)
+     */
+    public void runOnce(long now) {
+        WifiSignalDatabase.databaseWriteExecutor.execute(() -> rollupRawSamples(now));
+        WifiSignalDatabase.databaseWriteExecutor.execute(() -> rollupMinuteBuckets(now));
+        WifiSignalDatabase.databaseWriteExecutor.execute(() -> pruneHourBuckets(now));
+        WifiSignalDatabase.databaseWriteExecutor.execute(this::incrementalVacuum);
+    }
+
+    /**
+     * Agrega pe minut si sterge esantioanele brute mai vechi decat fereastra de retentie,
+     * cel mult MAX_ROWS_PER_RUN randuri (rotunjit la granita de minut).
+     */
+    private void rollupRawSamples(long now) {
+        WifiSignalDao dao = db.wifiSignalDao();
+        long cutoff = floor(now - rawRetentionMs, MINUTE_MS);
+        Long oldest = dao.getOldestTimestamp();
+        if (oldest == null || oldest >= cutoff) {
+            return;
+        }
+        long boundary = boundedBoundary(dao.getTimestampAtOffset(cutoff, MAX_ROWS_PER_RUN),
+                oldest, cutoff, MINUTE_MS);
+        db.runInTransaction(() -> {
+            db.signalRollupDao().rollupRawIntoMinutes(boundary);
+            int deleted = dao.deleteOlderThan(boundary);
+            Log.d(TAG, "Rolled up " + deleted + " raw samples older than " + boundary);
+        });
+        SignalHistoryCache.getInstance().evictOlderThan(boundary);
+    }
+
+    /**
+     * Agrega pe ora si sterge agregarile pe minut mai vechi decat fereastra de retentie,
+     * cel mult MAX_ROWS_PER_RUN randuri (rotunjit la granita de ora).
+     */
+    private void rollupMinuteBuckets(long now) {
+        SignalRollupDao rollupDao = db.signalRollupDao();
+        long cutoff = floor(now - minuteRetentionMs, HOUR_MS);
+        Long oldest = rollupDao.getOldestMinuteBucket();
+        if (oldest == null || oldest >= cutoff) {
+            return;
+        }
+        long boundary = boundedBoundary(rollupDao.getMinuteBucketAtOffset(cutoff, MAX_ROWS_PER_RUN),
+                oldest, cutoff, HOUR_MS);
+        db.runInTransaction(() -> {
+            rollupDao.rollupMinutesIntoHours(boundary);
+            int deleted = rollupDao.deleteMinutesOlderThan(boundary);
+            Log.d(TAG, "Rolled up " + deleted + " minute buckets older than " + boundary);
+        });
+    }
+
+    /** Sterge cel mult MAX_ROWS_PER_RUN agregari pe ora mai vechi decat fereastra de retentie. */
+    private void pruneHourBuckets(long now) {
+        int deleted = db.signalRollupDao().deleteHoursOlderThan(now - hourRetentionMs, MAX_ROWS_PER_RUN);
+        if (deleted > 0) {
+            Log.d(TAG, "Pruned " + deleted + " hour buckets");
+        }
+    }
+
+    /**
+     * Elibereaza cel mult VACUUM_PAGES_PER_RUN pagini libere inapoi catre sistemul de fisiere.
+     * Fara auto_vacuum INCREMENTAL pragma nu face nimic.
+     */
+    private void incrementalVacuum() {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        // Pragma trebuie parcursa pana la capat pentru a elibera toate paginile cerute
+        try (Cursor cursor = sqlite.query("PRAGMA incremental_vacuum(" + VACUUM_PAGES_PER_RUN + ")")) {
+            while (cursor.moveToNext()) {
+                // nimic de citit
+            }
+        }
+    }
+
+    /**
+     * Calculeaza granita (exclusiva) pana la care se prelucreaza randuri in aceasta rulare.
+     * Daca exista mai mult de MAX_ROWS_PER_RUN randuri vechi, granita este valoarea randului de la
+     * acel offset, rotunjita la bucket; altfel este chiar cutoff-ul. Se garanteaza progresul cu cel
+     * putin un bucket, chiar daca un singur bucket contine mai multe randuri decat limita.
+     */
+    private static long boundedBoundary(Long valueAtOffset, long oldest, long cutoff, long bucketMs) {
+        if (valueAtOffset == null) {
+            return cutoff;
+        }
+        long boundary = floor(valueAtOffset, bucketMs);
+        long firstBucketEnd = floor(oldest, bucketMs) + bucketMs;
+        return Math.min(Math.max(boundary, firstBucketEnd), cutoff);
+    }
+
+    /** Rotunjeste in jos o valoare de timp la multiplu de bucketMs. */
+    private static long floor(long value, long bucketMs) {
+        return (value / bucketMs) * bucketMs;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * Interfata DAO pentru tabelele de agregare (rollup) pe minut si pe ora.
+ * Agregarile se calculeaza direct in SQL, fara a aduce esantioanele brute in Java, cate un rand
+ * pe punct de acces si bucket; agregatul unui SSID se obtine prin access_point.
+ */
+@Dao
+public interface SignalRollupDao {
+
+    /**
+     * Agrega pe minut toate esantioanele brute mai vechi de :before.
+     * Daca un minut a fost deja agregat partial, valorile noi se combina cu cele existente.
+     * @param before limita superioara (exclusiva) a timestamp-ului, aliniata la minut
+     */
+    @Query("INSERT OR REPLACE INTO wifi_signal_rollup_minute "
+            + "(apId, bucketStart, minRssi, maxRssi, avgRssi, sumSquareRssi, sampleCount) "
+            + "SELECT s.apId, s.bucketStart, "
+            + "MIN(s.minRssi, COALESCE(r.minRssi, s.minRssi)), "
+            + "MAX(s.maxRssi, COALESCE(r.maxRssi, s.maxRssi)), "
+            + "(s.sumRssi + COALESCE(r.avgRssi * r.sampleCount, 0)) / (s.cnt + COALESCE(r.sampleCount, 0)), "
+            + "s.sumSquareRssi + COALESCE(r.sumSquareRssi, 0), "
+            + "s.cnt + COALESCE(r.sampleCount, 0) "
+            + "FROM (SELECT apId, (timestamp / 60000) * 60000 AS bucketStart, "
+            + "MIN(signalStrength) AS minRssi, MAX(signalStrength) AS maxRssi, "
+            + "SUM(signalStrength) * 1.0 AS sumRssi, "
+            + "SUM(signalStrength * signalStrength) * 1.0 AS sumSquareRssi, COUNT(*) AS cnt "
+            + "FROM wifi_signal_table WHERE timestamp < :before GROUP BY 1, 2) s "
+            + "LEFT JOIN wifi_signal_rollup_minute r ON r.apId = s.apId AND r.bucketStart = s.bucketStart")
+    void rollupRawIntoMinutes(long before);
+
+    /**
+     * Agrega pe ora toate agregarile pe minut mai vechi de :before, combinand cu orele deja existente.
+     * @param before limita superioara (exclusiva) a bucketStart, aliniata la ora
+     */
+    @Query("INSERT OR REPLACE INTO wifi_signal_rollup_hour "
+            + "(apId, bucketStart, minRssi, maxRssi, avgRssi, sumSquareRssi, sampleCount) "
+            + "SELECT s.apId, s.bucketStart, "
+            + "MIN(s.minRssi, COALESCE(r.minRssi, s.minRssi)), "
+            + "MAX(s.maxRssi, COALESCE(r.maxRssi, s.maxRssi)), "
+            + "(s.sumRssi + COALESCE(r.avgRssi * r.sampleCount, 0)) / (s.cnt + COALESCE(r.sampleCount, 0)), "
+            + "s.sumSquareRssi + COALESCE(r.sumSquareRssi, 0), "
+            + "s.cnt + COALESCE(r.sampleCount, 0) "
+            + "FROM (SELECT apId, (bucketStart / 3600000) * 3600000 AS bucketStart, "
+            + "MIN(minRssi) AS minRssi, MAX(maxRssi) AS maxRssi, "
+            + "SUM(avgRssi * sampleCount) AS sumRssi, SUM(sumSquareRssi) AS sumSquareRssi, SUM(sampleCount) AS cnt "
+            + "FROM wifi_signal_rollup_minute WHERE bucketStart < :before GROUP BY 1, 2) s "
+            + "LEFT JOIN wifi_signal_rollup_hour r ON r.apId = s.apId AND r.bucketStart = s.bucketStart")
+    void rollupMinutesIntoHours(long before);
+
+    /**
+     * Returneaza bucketStart-ul aflat la pozitia :offset (in ordine crescatoare) printre
+     * agregarile pe minut mai vechi de :before, sau null daca sunt mai putine.
+     * Folosit pentru a limita cantitatea de munca dintr-o rulare.
+     */
+    @Query("SELECT bucketStart FROM wifi_signal_rollup_minute WHERE bucketStart < :before "
+            + "ORDER BY bucketStart LIMIT 1 OFFSET :offset")
+    Long getMinuteBucketAtOffset(long before, int offset);
+
+    /** Returneaza cel mai vechi bucketStart din agregarile pe minut, sau null daca tabelul e gol. */
+    @Query("SELECT MIN(bucketStart) FROM wifi_signal_rollup_minute")
+    Long getOldestMinuteBucket();
+
+    /** Sterge agregarile pe minut mai vechi de :before. */
+    @Query("DELETE FROM wifi_signal_rollup_minute WHERE bucketStart < :before")
+    int deleteMinutesOlderThan(long before);
+
+    /** Sterge cel mult :limit agregari pe ora mai vechi de :before. */
+    @Query("DELETE FROM wifi_signal_rollup_hour WHERE rowid IN "
+            + "(SELECT rowid FROM wifi_signal_rollup_hour WHERE bucketStart < :before LIMIT :limit)")
+    int deleteHoursOlderThan(long before, int limit);
+
+    /** Returneaza agregarile pe minut ale AP-urilor unui SSID din intervalul [from, to). */
+    @Query("SELECT r.* FROM access_point a JOIN wifi_signal_rollup_minute r ON r.apId = a.id "
+            + "WHERE a.ssid = :ssid AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "ORDER BY r.bucketStart, r.apId")
+    List<SignalRollupMinuteEntity> getMinuteRollups(String ssid, long from, long to);
+
+    /** Returneaza agregarile pe ora ale AP-urilor unui SSID din intervalul [from, to). */
+    @Query("SELECT r.* FROM access_point a JOIN wifi_signal_rollup_hour r ON r.apId = a.id "
+            + "WHERE a.ssid = :ssid AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "ORDER BY r.bucketStart, r.apId")
+    List<SignalRollupHourEntity> getHourRollups(String ssid, long from, long to);
+}
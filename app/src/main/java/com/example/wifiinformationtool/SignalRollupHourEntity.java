@@ -0,0 +1,38 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Entitate Room pentru agregarea pe ora a semnalului Wi‑Fi (min/max/medie/suma patratelor/numar
+ * esantioane per punct de acces). Se populeaza din wifi_signal_rollup_minute de catre SignalRetentionManager,
+ * inainte ca agregarile pe minut sa expire.
+ * Suma patratelor permite calculul deviatiei standard si dupa combinarea mai multor bucket-uri.
+ */
+@Entity(tableName = "wifi_signal_rollup_hour",
+        primaryKeys = {"apId", "bucketStart"},
+        indices = {@Index(value = {"bucketStart"})})
+public class SignalRollupHourEntity {
+
+    public int apId;             // Id-ul punctului de acces (access_point.id)
+    public long bucketStart;     // Inceputul orei agregate (millis)
+    public int minRssi;          // Semnalul minim din interval (dBm)
+    public int maxRssi;          // Semnalul maxim din interval (dBm)
+    public double avgRssi;       // Media semnalului din interval (dBm)
+    public double sumSquareRssi; // Suma patratelor semnalului din interval
+    public int sampleCount;      // Numarul de esantioane brute agregate in ora
+
+    /**
+     * Constructor pentru entitatea SignalRollupHourEntity.
+     */
+    public SignalRollupHourEntity(int apId, long bucketStart, int minRssi, int maxRssi,
+                                  double avgRssi, double sumSquareRssi, int sampleCount) {
+        this.apId = apId;
+        this.bucketStart = bucketStart;
+        this.minRssi = minRssi;
+        this.maxRssi = maxRssi;
+        this.avgRssi = avgRssi;
+        this.sumSquareRssi = sumSquareRssi;
+        this.sampleCount = sampleCount;
+    }
+}
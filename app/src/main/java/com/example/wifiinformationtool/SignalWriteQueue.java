@@ -0,0 +1,297 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clasa SignalWriteQueue este o coada write-behind, cu un singur thread de scriere, pusa in fata
+ * lui WifiSignalDao. Snapshot-urile de scanare sunt adunate in memorie si scrise impreuna,
+ * intr-o singura tranzactie, cand trece intervalul de flush sau cand se atinge pragul de esantioane.
+ *
+ * Coada este limitata: cand este plina, fie se renunta la cel mai vechi snapshot (DROP_OLDEST),
+ * fie producatorul este blocat pana se elibereaza loc (BLOCK). La shutdown, tot ce a ramas
+ * in coada este scris inainte ca thread-ul de scriere sa se opreasca.
+ */
+public class SignalWriteQueue {
+    private static final String TAG = "SignalWriteQueue";
+
+    // Valorile implicite pentru instanta aplicatiei
+    public static final int DEFAULT_CAPACITY_SCANS = 64;
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 5000;
+    public static final int DEFAULT_FLUSH_THRESHOLD_SAMPLES = 2000;
+
+    /** Ce se intampla cand coada este plina. */
+    public enum OverflowPolicy {
+        DROP_OLDEST,   // se elimina cel mai vechi snapshot din coada
+        BLOCK          // producatorul asteapta pana se elibereaza loc
+    }
+
+    /** Un snapshot de scanare care asteapta sa fie scris. */
+    private static final class PendingScan {
+        final List<AccessPointEntity> accessPoints;
+        final int[] signalStrengths;
+        final long timestamp;
+
+        PendingScan(List<AccessPointEntity> accessPoints, int[] signalStrengths, long timestamp) {
+            this.accessPoints = accessPoints;
+            this.signalStrengths = signalStrengths;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static volatile SignalWriteQueue INSTANCE;
+
+    private final WifiSignalDatabase db;
+    private final SignalHistoryCache cache;
+    private final int capacityScans;
+    private final long flushIntervalNanos;
+    private final int flushThresholdSamples;
+    private final OverflowPolicy overflowPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeWriter = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<PendingScan> pending = new ArrayDeque<>();
+    private final Thread writerThread;
+    // Starea cozii; protejata de lock
+    private int pendingSamples;
+    private boolean flushRequested;
+    private boolean shuttingDown;
+
+    // Statistici pentru reglaj
+    private volatile long droppedScans;
+    private volatile long flushCount;
+    private volatile long lastFlushLatencyNanos;
+    private volatile long totalFlushLatencyNanos;
+    private volatile int lastFlushSamples;
+
+    /**
+     * Constructor cu parametri configurabili. Porneste imediat thread-ul de scriere.
+     *
+     * @param db                    baza de date in care se scrie
+     * @param cache                 cache-ul de esantioane recente, umplut dupa fiecare scriere
+     * @param capacityScans         numarul maxim de snapshot-uri tinute in coada
+     * @param flushIntervalMs       intervalul maxim (millis) intre sosirea unui snapshot si scrierea lui
+     * @param flushThresholdSamples numarul de esantioane la care se face flush imediat
+     * @param overflowPolicy        comportamentul cand coada este plina
+     */
+    public SignalWriteQueue(WifiSignalDatabase db, SignalHistoryCache cache, int capacityScans,
+                            long flushIntervalMs, int flushThresholdSamples, OverflowPolicy overflowPolicy) {
+        this.db = db;
+        this.cache = cache;
+        this.capacityScans = capacityScans;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.flushThresholdSamples = flushThresholdSamples;
+        this.overflowPolicy = overflowPolicy;
+        this.writerThread = new Thread(this::runWriter, "signal-writer");
+        this.writerThread.start();
+    }
+
+    /**
+     * Returneaza coada implicita a aplicatiei (DROP_OLDEST, valorile DEFAULT_*).
+     *
+     * @param context contextul aplicatiei
+     * @return instanta SignalWriteQueue
+     */
+    public static SignalWriteQueue getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (SignalWriteQueue.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SignalWriteQueue(
+                            WifiSignalDatabase.getDatabase(context),
+                            SignalHistoryCache.getInstance(),
+                            DEFAULT_CAPACITY_SCANS,
+                            DEFAULT_FLUSH_INTERVAL_MS,
+                            DEFAULT_FLUSH_THRESHOLD_SAMPLES,
+                            OverflowPolicy.DROP_OLDEST
+                    );
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Adauga un snapshot de scanare in coada.
+     *
+     * @param accessPoints    punctele de acces vazute in scan
+     * @param signalStrengths semnalul (dBm) pentru fiecare punct de acces, in aceeasi ordine
+     * @param timestamp       momentul scanarii (millis)
+     * @return false daca snapshot-ul nu a fost acceptat (coada oprita sau thread intrerupt)
+     */
+    public boolean enqueue(List<AccessPointEntity> accessPoints, int[] signalStrengths, long timestamp) {
+        PendingScan scan = new PendingScan(accessPoints, signalStrengths, timestamp);
+        lock.lock();
+        try {
+            while (!shuttingDown && pending.size() >= capacityScans) {
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    PendingScan dropped = pending.pollFirst();
+                    pendingSamples -= dropped.signalStrengths.length;
+                    droppedScans++;
+                } else {
+                    notFull.await();
+                }
+            }
+            if (shuttingDown) {
+                return false;
+            }
+            pending.addLast(scan);
+            pendingSamples += signalStrengths.length;
+            if (pending.size() == 1 || pendingSamples >= flushThresholdSamples) {
+                wakeWriter.signal();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Cere scrierea imediata a tot ce este in coada, fara a astepta intervalul de flush. */
+    public void flush() {
+        lock.lock();
+        try {
+            flushRequested = true;
+            wakeWriter.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opreste coada: nu mai accepta snapshot-uri noi, scrie tot ce a ramas si opreste thread-ul.
+     *
+     * @param timeoutMs cat se asteapta (millis) terminarea scrierii; 0 pentru a nu astepta
+     * @return true daca thread-ul de scriere s-a oprit in timpul dat
+     */
+    public boolean shutdown(long timeoutMs) {
+        lock.lock();
+        try {
+            shuttingDown = true;
+            wakeWriter.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (timeoutMs > 0) {
+            try {
+                writerThread.join(timeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return !writerThread.isAlive();
+    }
+
+    /** Numarul de snapshot-uri care asteapta sa fie scrise. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Numarul de snapshot-uri eliminate din cauza cozii pline (DROP_OLDEST). */
+    public long getDroppedScans() {
+        return droppedScans;
+    }
+
+    /** Numarul de flush-uri (tranzactii) facute pana acum. */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /** Durata ultimului flush (millis). */
+    public double getLastFlushLatencyMs() {
+        return lastFlushLatencyNanos / 1_000_000.0;
+    }
+
+    /** Durata medie a unui flush (millis). */
+    public double getAverageFlushLatencyMs() {
+        long count = flushCount;
+        return count == 0 ? 0 : totalFlushLatencyNanos / 1_000_000.0 / count;
+    }
+
+    /** Numarul de esantioane scrise la ultimul flush. */
+    public int getLastFlushSamples() {
+        return lastFlushSamples;
+    }
+
+    /** Bucla thread-ului de scriere: asteapta date, le aduna, le scrie intr-o tranzactie. */
+    private void runWriter() {
+        while (true) {
+            List<PendingScan> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !shuttingDown) {
+                    wakeWriter.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return; // shutdown si nimic de scris
+                }
+                // Asteptam pana la intervalul de flush, pragul de esantioane, un flush cerut sau shutdown
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                long remaining;
+                while (!shuttingDown && !flushRequested && pendingSamples < flushThresholdSamples
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        wakeWriter.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        shuttingDown = true;
+                    }
+                }
+                flushRequested = false;
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                pendingSamples = 0;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            writeBatch(batch);
+        }
+    }
+
+    /** Scrie toate snapshot-urile adunate intr-o singura tranzactie si actualizeaza statisticile. */
+    private void writeBatch(List<PendingScan> batch) {
+        long start = System.nanoTime();
+        int samples = 0;
+        for (PendingScan scan : batch) {
+            samples += scan.signalStrengths.length;
+        }
+        try {
+            WifiSignalDao dao = db.wifiSignalDao();
+            List<List<WifiSignalEntity>> written = new ArrayList<>(batch.size());
+            db.runInTransaction(() -> {
+                for (PendingScan scan : batch) {
+                    written.add(dao.recordSnapshot(scan.accessPoints, scan.signalStrengths, scan.timestamp));
+                }
+            });
+            // Cache-ul primeste esantioanele doar dupa commit, deci contine numai randuri din tabel
+            for (int i = 0; i < batch.size(); i++) {
+                cache.record(batch.get(i).accessPoints, written.get(i));
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to write " + batch.size() + " scans", e);
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        lastFlushLatencyNanos = latency;
+        totalFlushLatencyNanos += latency;
+        lastFlushSamples = samples;
+        flushCount++;
+        Log.d(TAG, "Flushed " + batch.size() + " scans (" + samples + " samples) in "
+                + getLastFlushLatencyMs() + " ms, queue depth " + getQueueDepth());
+    }
+}
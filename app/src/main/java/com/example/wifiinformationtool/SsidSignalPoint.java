@@ -0,0 +1,12 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Proiectie Room pentru istoricul agregat al unui SSID: un punct pe scan, calculat in SQL
+ * din esantioanele tuturor punctelor de acces (BSSID) care difuzeaza acelasi SSID.
+ */
+public class SsidSignalPoint {
+    public long timestamp;       // Momentul scanarii (millis)
+    public double avgRssi;       // Media semnalului peste toate AP-urile SSID-ului (dBm)
+    public int maxRssi;          // Cel mai puternic AP al SSID-ului in acest scan (dBm)
+    public int apCount;          // Numarul de AP-uri care au raportat SSID-ul in acest scan
+}
@@ -0,0 +1,126 @@
+package com.example.wifiinformationtool;
+
+/**
+ * Un subnet IPv4 (adresa de retea si lungimea prefixului), cu adresele in ordinea octetilor de
+ * retea: 192.168.1.10 este 0xC0A8010A.
+ *
+ * DhcpInfo din Android tine adresele in ordine little-endian (primul octet in bitii de jos);
+ * fromDhcp() face conversia. Pe unele dispozitive DhcpInfo.netmask este 0, caz in care se
+ * presupune /24. Subnet-urile mai mari decat /MIN_PREFIX_LENGTH sunt restranse la blocul
+ * /MIN_PREFIX_LENGTH care contine adresa proprie, ca un sweep sa ramana de ordinul secundelor.
+ */
+public final class Subnet {
+    public static final int DEFAULT_PREFIX_LENGTH = 24;
+    public static final int MIN_PREFIX_LENGTH = 22;
+
+    public final int network;       // Adresa de retea
+    public final int prefixLength;  // Lungimea prefixului (0-32)
+
+    /**
+     * @param address      orice adresa din subnet
+     * @param prefixLength lungimea prefixului (0-32)
+     */
+    public Subnet(int address, int prefixLength) {
+        if (prefixLength < 0 || prefixLength > 32) {
+            throw new IllegalArgumentException("Invalid prefix length " + prefixLength);
+        }
+        this.prefixLength = prefixLength;
+        this.network = address & mask(prefixLength);
+    }
+
+    /**
+     * Subnet-ul interfetei Wi-Fi, din campurile ipAddress si netmask ale DhcpInfo.
+     *
+     * @param dhcpIpAddress adresa proprie, little-endian (DhcpInfo.ipAddress)
+     * @param dhcpNetmask   masca, little-endian (DhcpInfo.netmask); 0 daca nu se cunoaste
+     */
+    public static Subnet fromDhcp(int dhcpIpAddress, int dhcpNetmask) {
+        int address = Integer.reverseBytes(dhcpIpAddress);
+        int netmask = Integer.reverseBytes(dhcpNetmask);
+        int prefixLength = netmask == 0 ? DEFAULT_PREFIX_LENGTH : Integer.bitCount(netmask);
+        return new Subnet(address, Math.max(MIN_PREFIX_LENGTH, prefixLength));
+    }
+
+    /** Masca pentru o lungime de prefix data. */
+    static int mask(int prefixLength) {
+        return prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+    }
+
+    /** Numarul de adrese de host (fara adresa de retea si broadcast pentru prefixe sub /31). */
+    public int getHostCount() {
+        long size = 1L << (32 - prefixLength);
+        return (int) (prefixLength >= 31 ? size : size - 2);
+    }
+
+    /** Adresa host-ului cu indexul dat (0 .. getHostCount() - 1). */
+    public int getHostAddress(int index) {
+        return prefixLength >= 31 ? network + index : network + 1 + index;
+    }
+
+    /** Indica daca adresa data face parte din subnet. */
+    public boolean contains(int address) {
+        return (address & mask(prefixLength)) == network;
+    }
+
+    /** Adresa in forma zecimala cu puncte, fara String.format. */
+    public static String formatAddress(int address) {
+        return new StringBuilder(15)
+                .append(address >>> 24).append('.')
+                .append((address >>> 16) & 0xff).append('.')
+                .append((address >>> 8) & 0xff).append('.')
+                .append(address & 0xff)
+                .toString();
+    }
+
+    /** Parseaza o adresa IPv4 zecimala cu puncte; IllegalArgumentException daca nu este valida. */
+    public static int parseAddress(String text) {
+        int address = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 3) {
+                octet = octet * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                address = (address << 8) | checkOctet(octet, text);
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                throw new IllegalArgumentException("Invalid IPv4 address: " + text);
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            throw new IllegalArgumentException("Invalid IPv4 address: " + text);
+        }
+        return (address << 8) | checkOctet(octet, text);
+    }
+
+    private static int checkOctet(int octet, String text) {
+        if (octet > 255) {
+            throw new IllegalArgumentException("Invalid IPv4 address: " + text);
+        }
+        return octet;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Subnet)) {
+            return false;
+        }
+        Subnet other = (Subnet) o;
+        return network == other.network && prefixLength == other.prefixLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return network * 31 + prefixLength;
+    }
+
+    @Override
+    public String toString() {
+        return formatAddress(network) + "/" + prefixLength;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.wifiinformationtool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasa SubnetSweeper descopera host-urile active dintr-un subnet, verificand toate adresele
+ * cu un HostProbe, cu cel mult maxInFlight verificari simultane.
+ *
+ * Un thread dispecer porneste verificarile pe rand, cat timp exista loc (semafor); rezultatele
+ * sunt trimise ascultatorului pe masura ce sosesc, nu la final. Un sweep poate fi anulat oricand:
+ * nu mai porneste verificari noi, iar cele in curs sunt asteptate, dar rezultatele lor nu mai sunt
+ * raportate.
+ */
+public class SubnetSweeper {
+
+    /** Ascultator apelat de pe thread-urile probe-ului; cine afiseaza trece pe thread-ul principal. */
+    public interface Listener {
+        /** Un host a raspuns. */
+        void onHostFound(int address, long rttNanos);
+
+        /** S-au terminat probed din total verificari. */
+        void onProgress(int probed, int total);
+
+        /** Sweep-ul s-a terminat (toate verificarile gata sau anulat); apelat o singura data. */
+        void onSweepFinished(boolean cancelled);
+    }
+
+    /** Un sweep in curs: progres, anulare si asteptarea sfarsitului. */
+    public static final class Sweep {
+        private final Subnet subnet;
+        private final int[] addresses;  // Adresele verificate, in ordine; null pentru tot subnet-ul
+        private final int total;
+        private final AtomicInteger probed = new AtomicInteger();
+        private final AtomicInteger found = new AtomicInteger();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile boolean cancelled;
+        private volatile Thread dispatcher;
+
+        Sweep(Subnet subnet, int[] addresses) {
+            this.subnet = subnet;
+            this.addresses = addresses;
+            this.total = addresses != null ? addresses.length : subnet.getHostCount();
+        }
+
+        /** A i-a adresa de verificat. */
+        int addressAt(int i) {
+            return addresses != null ? addresses[i] : subnet.getHostAddress(i);
+        }
+
+        /** Anuleaza sweep-ul; verificarile in curs sunt lasate sa se termine. */
+        public void cancel() {
+            cancelled = true;
+            Thread thread = dispatcher;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        public Subnet getSubnet() {
+            return subnet;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isFinished() {
+            return finished.getCount() == 0;
+        }
+
+        /** Numarul de adrese verificate pana acum. */
+        public int getProbed() {
+            return probed.get();
+        }
+
+        /** Numarul total de adrese de verificat. */
+        public int getTotal() {
+            return total;
+        }
+
+        /** Numarul de host-uri active gasite pana acum. */
+        public int getFound() {
+            return found.get();
+        }
+
+        /**
+         * Asteapta sfarsitul sweep-ului.
+         *
+         * @return true daca s-a terminat in timpul dat
+         */
+        public boolean awaitFinished(long timeoutMs) throws InterruptedException {
+            return finished.await(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private final HostProbe probe;
+    private final int maxInFlight;
+
+    /**
+     * @param probe       verificarea folosita pentru fiecare adresa
+     * @param maxInFlight numarul maxim de verificari simultane
+     */
+    public SubnetSweeper(HostProbe probe, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.probe = probe;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Porneste un sweep peste toate adresele de host ale subnet-ului si revine imediat.
+     *
+     * @param subnet   subnet-ul verificat
+     * @param listener ascultatorul rezultatelor
+     * @return sweep-ul pornit, pentru progres si anulare
+     */
+    public Sweep start(Subnet subnet, Listener listener) {
+        return start(subnet, null, listener);
+    }
+
+    /**
+     * Porneste un sweep doar peste adresele date, verificate in ordinea lor (de exemplu planul
+     * SweepPlanner: host-urile cunoscute intai), si revine imediat.
+     *
+     * @param subnet    subnet-ul din care fac parte adresele
+     * @param addresses adresele verificate (ordinea octetilor de retea); null pentru tot subnet-ul
+     * @param listener  ascultatorul rezultatelor
+     * @return sweep-ul pornit, pentru progres si anulare
+     */
+    public Sweep start(Subnet subnet, int[] addresses, Listener listener) {
+        Sweep sweep = new Sweep(subnet, addresses);
+        Thread dispatcher = new Thread(() -> dispatch(sweep, listener), "subnet-sweep");
+        dispatcher.setDaemon(true);
+        sweep.dispatcher = dispatcher;
+        dispatcher.start();
+        return sweep;
+    }
+
+    /** Bucla dispecerului: porneste verificarile in limita semaforului, apoi asteapta ultimele. */
+    private void dispatch(Sweep sweep, Listener listener) {
+        Semaphore slots = new Semaphore(maxInFlight);
+        // Verificari pornite dar neterminate, plus 1 pentru dispecer cat timp mai porneste verificari
+        AtomicInteger outstanding = new AtomicInteger(1);
+        Runnable complete = () -> {
+            if (outstanding.decrementAndGet() == 0) {
+                listener.onSweepFinished(sweep.cancelled);
+                sweep.finished.countDown();
+            }
+        };
+        HostProbe.Callback callback = (address, alive, rttNanos) -> {
+            slots.release();
+            if (!sweep.cancelled) {
+                if (alive) {
+                    sweep.found.incrementAndGet();
+                    listener.onHostFound(address, rttNanos);
+                }
+                listener.onProgress(sweep.probed.incrementAndGet(), sweep.total);
+            }
+            complete.run();
+        };
+        try {
+            for (int i = 0; i < sweep.total && !sweep.cancelled; i++) {
+                slots.acquire();
+                if (sweep.cancelled) {
+                    slots.release();
+                    break;
+                }
+                outstanding.incrementAndGet();
+                try {
+                    probe.probe(sweep.addressAt(i), callback);
+                } catch (RuntimeException e) {
+                    // Probe-ul a refuzat verificarea (de exemplu pool oprit): oprim sweep-ul
+                    outstanding.decrementAndGet();
+                    sweep.cancelled = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            // cancel(): nu mai pornim verificari
+        }
+        complete.run();
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.wifiinformationtool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Clasa SweepPlanner decide ce adrese verifica un sweep, pe baza inventarului de dispozitive,
+ * si cum se actualizeaza inventarul dupa sweep. Nu acceseaza baza de date (vezi DeviceInventory).
+ *
+ * Dispozitivele cunoscute din subnet sunt verificate la fiecare sweep, primele (cele vazute cel
+ * mai recent intai), deci sunt reimprospatate repede. Restul subnet-ului (spatiul necunoscut) este
+ * verificat mai rar: la fiecare sweep doar o felie de 1/unknownStride din adrese, prin rotatie,
+ * astfel incat tot subnet-ul este acoperit o data la unknownStride sweep-uri. Primul sweep intr-un
+ * subnet fara dispozitive cunoscute verifica tot subnet-ul.
+ *
+ * Un dispozitiv care nu raspunde la expireAfterMisses sweep-uri complete consecutive este scos din
+ * inventar. Sweep-urile anulate nu numara ca ratari.
+ */
+public class SweepPlanner {
+    public static final int DEFAULT_UNKNOWN_STRIDE = 8;
+    public static final int DEFAULT_EXPIRE_AFTER_MISSES = 3;
+
+    // Cele vazute cel mai recent intai; la egalitate, cele cu mai putine ratari
+    private static final Comparator<DeviceEntity> BY_RECENCY = (a, b) -> {
+        int byLastSeen = Long.compare(b.lastSeen, a.lastSeen);
+        return byLastSeen != 0 ? byLastSeen : Integer.compare(a.missedSweeps, b.missedSweeps);
+    };
+
+    /** Adresele unui sweep: intai cele cunoscute, apoi felia din spatiul necunoscut. */
+    public static final class Plan {
+        public final Subnet subnet;
+        public final int[] known;        // Adresele dispozitivelor cunoscute, in ordinea verificarii
+        public final int[] unknown;      // Felia din spatiul necunoscut verificata la acest sweep
+        public final boolean cold;       // true daca se verifica tot subnet-ul (niciun dispozitiv cunoscut)
+        private final int[] sortedKnown; // Pentru cautare binara
+
+        Plan(Subnet subnet, int[] known, int[] unknown, boolean cold) {
+            this.subnet = subnet;
+            this.known = known;
+            this.unknown = unknown;
+            this.cold = cold;
+            this.sortedKnown = known.clone();
+            Arrays.sort(this.sortedKnown);
+        }
+
+        /** Toate adresele, in ordinea in care trebuie verificate. */
+        public int[] getAddresses() {
+            int[] addresses = Arrays.copyOf(known, known.length + unknown.length);
+            System.arraycopy(unknown, 0, addresses, known.length, unknown.length);
+            return addresses;
+        }
+
+        /** Numarul de verificari ale sweep-ului. */
+        public int getProbeCount() {
+            return known.length + unknown.length;
+        }
+
+        /** true daca adresa este a unui dispozitiv cunoscut (verificata la fiecare sweep). */
+        public boolean isKnown(int address) {
+            return Arrays.binarySearch(sortedKnown, address) >= 0;
+        }
+    }
+
+    /** Modificarile inventarului dupa un sweep. */
+    public static final class Outcome {
+        public final List<DeviceEntity> added = new ArrayList<>();      // Dispozitive noi
+        public final List<DeviceEntity> refreshed = new ArrayList<>();  // Cunoscute, au raspuns
+        public final List<DeviceEntity> missed = new ArrayList<>();     // Cunoscute, nu au raspuns
+        public final List<DeviceEntity> expired = new ArrayList<>();    // Scoase din inventar
+    }
+
+    private final int unknownStride;
+    private final int expireAfterMisses;
+
+    /**
+     * @param unknownStride     spatiul necunoscut este acoperit o data la atatea sweep-uri
+     * @param expireAfterMisses numarul de sweep-uri complete fara raspuns dupa care un dispozitiv este scos
+     */
+    public SweepPlanner(int unknownStride, int expireAfterMisses) {
+        if (unknownStride <= 0 || expireAfterMisses <= 0) {
+            throw new IllegalArgumentException("unknownStride and expireAfterMisses must be positive");
+        }
+        this.unknownStride = unknownStride;
+        this.expireAfterMisses = expireAfterMisses;
+    }
+
+    /**
+     * Planifica un sweep.
+     *
+     * @param subnet      subnet-ul curent
+     * @param devices     inventarul (poate contine si dispozitive din alte subnet-uri, ignorate)
+     * @param sweepNumber numarul de sweep-uri facute deja in acest subnet; alege felia necunoscuta
+     * @return planul sweep-ului
+     */
+    public Plan plan(Subnet subnet, List<DeviceEntity> devices, int sweepNumber) {
+        List<DeviceEntity> inSubnet = new ArrayList<>();
+        for (DeviceEntity device : devices) {
+            if (subnet.contains(device.lastIp)) {
+                inSubnet.add(device);
+            }
+        }
+        Collections.sort(inSubnet, BY_RECENCY);
+        Set<Integer> knownSet = new HashSet<>();
+        int[] known = new int[inSubnet.size()];
+        int knownCount = 0;
+        for (DeviceEntity device : inSubnet) {
+            if (knownSet.add(device.lastIp)) {
+                known[knownCount++] = device.lastIp;
+            }
+        }
+        known = Arrays.copyOf(known, knownCount);
+
+        boolean cold = knownCount == 0;
+        int stride = cold ? 1 : unknownStride;
+        int slice = Math.floorMod(sweepNumber, stride);
+        int hostCount = subnet.getHostCount();
+        int[] unknown = new int[(hostCount + stride - 1) / stride];
+        int unknownCount = 0;
+        for (int i = slice; i < hostCount; i += stride) {
+            int address = subnet.getHostAddress(i);
+            if (!knownSet.contains(address)) {
+                unknown[unknownCount++] = address;
+            }
+        }
+        return new Plan(subnet, known, Arrays.copyOf(unknown, unknownCount), cold);
+    }
+
+    /**
+     * Calculeaza modificarile inventarului dupa un sweep. Entitatile din devices sunt modificate
+     * pe loc (lastSeen, adrese, missedSweeps) si puse in listele Outcome.
+     *
+     * @param plan     planul sweep-ului
+     * @param devices  inventarul curent
+     * @param found    host-urile care au raspuns: adresa -> MAC (null daca MAC-ul nu este cunoscut)
+     * @param now      momentul sweep-ului (millis)
+     * @param complete false daca sweep-ul a fost anulat; atunci nu se numara ratari
+     * @return modificarile de scris in inventar
+     */
+    public Outcome reconcile(Plan plan, List<DeviceEntity> devices, Map<Integer, String> found,
+                             long now, boolean complete) {
+        Map<String, DeviceEntity> byMac = new HashMap<>();
+        Map<Integer, DeviceEntity> byIp = new HashMap<>();
+        List<DeviceEntity> probedDevices = new ArrayList<>();
+        for (DeviceEntity device : devices) {
+            if (device.mac != null) {
+                byMac.put(device.mac, device);
+            }
+            if (plan.isKnown(device.lastIp)) {
+                probedDevices.add(device);
+                // Daca doua dispozitive au aceeasi ultima adresa, il pastram pe cel vazut mai recent
+                DeviceEntity previous = byIp.get(device.lastIp);
+                if (previous == null || device.lastSeen > previous.lastSeen) {
+                    byIp.put(device.lastIp, device);
+                }
+            }
+        }
+
+        Outcome outcome = new Outcome();
+        Set<DeviceEntity> seen = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : found.entrySet()) {
+            int address = entry.getKey();
+            String mac = entry.getValue();
+            DeviceEntity device = mac != null ? byMac.get(mac) : null;
+            if (device == null) {
+                DeviceEntity atAddress = byIp.get(address);
+                // Alt MAC la aceeasi adresa inseamna alt dispozitiv
+                if (atAddress != null && (mac == null || atAddress.mac == null || atAddress.mac.equals(mac))) {
+                    device = atAddress;
+                    if (device.mac == null) {
+                        device.mac = mac;
+                    }
+                }
+            }
+            if (device == null || !seen.add(device)) {
+                if (device == null) {
+                    DeviceEntity added = new DeviceEntity(mac, address, now);
+                    outcome.added.add(added);
+                    if (mac != null) {
+                        byMac.put(mac, added);
+                    }
+                }
+                continue;
+            }
+            device.markSeen(address, now);
+            outcome.refreshed.add(device);
+        }
+
+        if (complete) {
+            for (DeviceEntity device : probedDevices) {
+                if (seen.contains(device)) {
+                    continue;
+                }
+                device.missedSweeps++;
+                if (device.missedSweeps >= expireAfterMisses) {
+                    outcome.expired.add(device);
+                } else {
+                    outcome.missed.add(device);
+                }
+            }
+        }
+        return outcome;
+    }
+}
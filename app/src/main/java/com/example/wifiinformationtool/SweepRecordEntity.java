@@ -0,0 +1,38 @@
+package com.example.wifiinformationtool;
+
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entitate Room pentru un sweep terminat: cate adrese au fost verificate si cate host-uri au
+ * raspuns. Numarul de sweep-uri dintr-un subnet alege felia de adrese necunoscute verificata
+ * la urmatorul sweep (vezi SweepPlanner).
+ */
+@Entity(tableName = "sweep",
+        indices = {@Index(value = {"subnet", "timestamp"})})
+public class SweepRecordEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    public int id;              // Cheia primara generata automat
+
+    public String subnet;       // Subnet-ul, de exemplu 192.168.1.0/24
+    public long timestamp;      // Sfarsitul sweep-ului (millis)
+    public int probed;          // Adrese verificate
+    public int found;           // Host-uri care au raspuns
+    public boolean complete;    // false daca sweep-ul a fost anulat
+
+    /** Constructor folosit de Room. */
+    public SweepRecordEntity() {
+    }
+
+    @Ignore
+    public SweepRecordEntity(String subnet, long timestamp, int probed, int found, boolean complete) {
+        this.subnet = subnet;
+        this.timestamp = timestamp;
+        this.probed = probed;
+        this.found = found;
+        this.complete = complete;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.wifiinformationtool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * ScanSource sintetic pentru teste de incarcare si demonstratii fara dispozitiv.
+ *
+ * Genereaza N puncte de acces raspandite pe canale de 2.4, 5 si 6 GHz. La fiecare scan, semnalul
+ * fiecarui AP face un pas aleator (random walk) de cel mult MAX_STEP_DB, limitat la
+ * [MIN_LEVEL, MAX_LEVEL], iar o fractiune churn din AP-uri dispare si este inlocuita cu AP-uri noi
+ * (BSSID-uri nefolosite inca). Cu aceeasi samanta, secventa de scanari este identica.
+ *
+ * Rezultatele sunt produse sincron in startScan(), iar callback-ul este apelat pe thread-ul apelantului.
+ */
+public class SyntheticScanSource implements ScanSource {
+    static final int MIN_LEVEL = -95;
+    static final int MAX_LEVEL = -30;
+    private static final int MAX_STEP_DB = 3;
+    // Canale primare folosite de generator: 2.4 GHz (1/6/11), 5 GHz (UNII-1/3), 6 GHz (PSC)
+    private static final int[] FREQUENCIES = {2412, 2437, 2462, 5180, 5200, 5745, 5785, 5975, 6055, 6135};
+    private static final String[] CAPABILITIES = {
+            "[WPA2-PSK-CCMP][RSN-PSK-CCMP][ESS]",
+            "[RSN-SAE-CCMP][ESS]",
+            "[WPA2-EAP-CCMP][RSN-EAP-CCMP][ESS]",
+            "[ESS]"
+    };
+
+    private final int accessPointCount;
+    private final double churn;
+    private final Random random;
+    // Starea fiecarui AP, in vectori primitivi; observatiile sunt create doar la scan
+    private final String[] bssids;
+    private final String[] ssids;
+    private final int[] levels;
+    private final int[] frequencies;
+    private final String[] capabilities;
+    private long nextBssid;
+    private volatile Callback callback;
+    private volatile List<ScanObservation> lastResults = Collections.emptyList();
+    private long scanCount;
+
+    /**
+     * @param accessPointCount numarul de puncte de acces vizibile la fiecare scan
+     * @param churn            fractiunea de AP-uri inlocuite la fiecare scan (0..1)
+     * @param seed             samanta generatorului, pentru secvente reproductibile
+     */
+    public SyntheticScanSource(int accessPointCount, double churn, long seed) {
+        if (accessPointCount < 0 || churn < 0 || churn > 1) {
+            throw new IllegalArgumentException("accessPointCount >= 0 and churn in [0, 1] required");
+        }
+        this.accessPointCount = accessPointCount;
+        this.churn = churn;
+        this.random = new Random(seed);
+        this.bssids = new String[accessPointCount];
+        this.ssids = new String[accessPointCount];
+        this.levels = new int[accessPointCount];
+        this.frequencies = new int[accessPointCount];
+        this.capabilities = new String[accessPointCount];
+        for (int i = 0; i < accessPointCount; i++) {
+            replace(i);
+        }
+    }
+
+    @Override
+    public void start(Callback callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public void stop() {
+        callback = null;
+    }
+
+    @Override
+    public boolean startScan() {
+        lastResults = nextScan();
+        Callback current = callback;
+        if (current != null) {
+            current.onResultsAvailable(true);
+        }
+        return true;
+    }
+
+    @Override
+    public List<ScanObservation> getScanResults() {
+        return lastResults;
+    }
+
+    /** Numarul de scanari generate pana acum. */
+    public synchronized long getScanCount() {
+        return scanCount;
+    }
+
+    /** Avanseaza simularea cu un scan si intoarce rezultatele lui (nesortate). */
+    synchronized List<ScanObservation> nextScan() {
+        int replaced = (int) Math.round(accessPointCount * churn);
+        for (int r = 0; r < replaced; r++) {
+            replace(random.nextInt(accessPointCount));
+        }
+        List<ScanObservation> results = new ArrayList<>(accessPointCount);
+        for (int i = 0; i < accessPointCount; i++) {
+            int level = levels[i] + random.nextInt(2 * MAX_STEP_DB + 1) - MAX_STEP_DB;
+            levels[i] = Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+            results.add(new ScanObservation(bssids[i], ssids[i], levels[i], frequencies[i], 20, 0,
+                    capabilities[i]));
+        }
+        scanCount++;
+        return results;
+    }
+
+    /** Inlocuieste AP-ul de pe pozitia i cu unul nou, cu BSSID nefolosit. */
+    private void replace(int i) {
+        long id = nextBssid++;
+        // Adrese administrate local (02:...), ca sa nu se confunde cu AP-uri reale
+        bssids[i] = String.format(Locale.US, "02:00:%02x:%02x:%02x:%02x",
+                (id >>> 24) & 0xff, (id >>> 16) & 0xff, (id >>> 8) & 0xff, id & 0xff);
+        // Cateva AP-uri pe SSID, ca in retelele mesh/enterprise
+        ssids[i] = (id % 17 == 0) ? "" : "synthetic-" + (id / 4);
+        levels[i] = MIN_LEVEL + random.nextInt(MAX_LEVEL - MIN_LEVEL + 1);
+        frequencies[i] = FREQUENCIES[random.nextInt(FREQUENCIES.length)];
+        capabilities[i] = CAPABILITIES[random.nextInt(CAPABILITIES.length)];
+    }
+}
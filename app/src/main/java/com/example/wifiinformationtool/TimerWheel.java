@@ -0,0 +1,151 @@
+package com.example.wifiinformationtool;
+
+import java.util.List;
+
+/**
+ * Roata de temporizare (hashed timer wheel) pentru multe timeout-uri scurte, folosita de
+ * NioConnectProbe pentru timeout-ul fiecarei conexiuni.
+ *
+ * Timpul este impartit in tick-uri de lungime fixa; fiecare timeout sta in lista slotului tick-ului
+ * in care expira (modulo numarul de sloturi). Programarea si anularea sunt O(1), iar la fiecare tick
+ * se parcurge un singur slot, indiferent cate timeout-uri sunt in asteptare. Un timeout expira cel
+ * mult un tick mai tarziu decat termenul cerut.
+ *
+ * Nu este thread-safe: se foloseste de pe un singur thread (bucla selectorului).
+ */
+final class TimerWheel<T> {
+
+    /** Un timeout programat; poate fi anulat cu cancel(). */
+    static final class Timeout<T> {
+        final T value;
+        private long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int slot = -1;      // -1 daca nu este (sau nu mai este) programat
+
+        private Timeout(T value) {
+            this.value = value;
+        }
+
+        /** true cat timp timeout-ul asteapta in roata (nu a expirat si nu a fost anulat). */
+        boolean isPending() {
+            return slot >= 0;
+        }
+    }
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final Timeout<T>[] heads;
+    private long processedTick;      // Ultimul tick deja expirat
+    private int size;
+
+    /**
+     * @param tickNanos  lungimea unui tick (nanosecunde)
+     * @param slots      numarul de sloturi; rotunjit la o putere a lui 2
+     * @param startNanos momentul de referinta (System.nanoTime())
+     */
+    TimerWheel(long tickNanos, int slots, long startNanos) {
+        if (tickNanos <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("tickNanos and slots must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.mask = capacity - 1;
+        this.heads = newSlots(capacity);
+    }
+
+    /** Tabloul de sloturi; tablourile generice nu pot fi create direct. */
+    @SuppressWarnings("unchecked")
+    private static <T> Timeout<T>[] newSlots(int capacity) {
+        return (Timeout<T>[]) new Timeout<?>[capacity];
+    }
+
+    /**
+     * Programeaza un timeout.
+     *
+     * @param value         valoarea intoarsa la expirare
+     * @param deadlineNanos termenul (System.nanoTime())
+     * @return timeout-ul, pentru anulare
+     */
+    Timeout<T> schedule(T value, long deadlineNanos) {
+        Timeout<T> timeout = new Timeout<>(value);
+        // Rotunjim in sus: timeout-ul nu expira niciodata inainte de termen
+        long tick = Math.max(processedTick + 1, Math.floorDiv(deadlineNanos - startNanos + tickNanos - 1, tickNanos));
+        timeout.deadlineTick = tick;
+        int slot = (int) (tick & mask);
+        timeout.slot = slot;
+        timeout.next = heads[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        heads[slot] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /** Anuleaza un timeout; fara efect daca a expirat sau a fost deja anulat. */
+    void cancel(Timeout<T> timeout) {
+        if (timeout.slot >= 0) {
+            unlink(timeout);
+        }
+    }
+
+    /**
+     * Expira toate timeout-urile cu termenul pana la momentul dat.
+     *
+     * @param nowNanos momentul curent (System.nanoTime())
+     * @param expired  lista in care se adauga valorile timeout-urilor expirate
+     * @return numarul de timeout-uri expirate
+     */
+    int expire(long nowNanos, List<T> expired) {
+        long targetTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        if (targetTick <= processedTick) {
+            return 0;
+        }
+        // Daca a trecut mai mult de o rotatie, fiecare slot este parcurs o singura data
+        long ticks = Math.min(targetTick - processedTick, mask + 1);
+        int count = 0;
+        for (long t = 1; t <= ticks; t++) {
+            Timeout<T> timeout = heads[(int) ((processedTick + t) & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    expired.add(timeout.value);
+                    count++;
+                }
+                timeout = next;
+            }
+        }
+        processedTick = targetTick;
+        return count;
+    }
+
+    /** Cat mai este (nanosecunde) pana la urmatorul tick, cand expire() poate gasi ceva nou. */
+    long nanosUntilNextTick(long nowNanos) {
+        long elapsed = nowNanos - startNanos;
+        return tickNanos - Math.floorMod(elapsed, tickNanos);
+    }
+
+    /** Numarul de timeout-uri in asteptare. */
+    int size() {
+        return size;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+        size--;
+    }
+}
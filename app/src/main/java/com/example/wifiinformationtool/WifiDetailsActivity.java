@@ -123,7 +123,7 @@ public class WifiDetailsActivity extends AppCompatActivity {
             String macAddress = currentConnection.getBSSID();
             int signalStrength = currentConnection.getRssi();
             int frequency = currentConnection.getFrequency();
-            int channel = frequencyToChannel(frequency);
+            int channel = ChannelAnalyzer.channel(frequency);
             String securityType = getWifiSecurity(ssid);
 
             // Setam text in TextView‑uri
@@ -133,22 +133,10 @@ public class WifiDetailsActivity extends AppCompatActivity {
             signalStrengthTextView.setText("Signal Strength: " + signalStrength + " dBm");
             securityTextView.setText("Security Type: " + securityType);
             frequencyTextView.setText("Frequency: " + frequency + " MHz");
-            channelTextView.setText("Channel: " + channel);
+            channelTextView.setText("Channel: " + channel + " (" + ChannelAnalyzer.bandLabel(frequency) + ")");
         }
     }
 
-    /**
-     * Conversie frecventa Wi‑Fi (MHz) in canal.
-     */
-    private int frequencyToChannel(int frequency) {
-        if (frequency >= 2412 && frequency <= 2484) {
-            return (frequency - 2412) / 5 + 1;
-        } else if (frequency >= 5170 && frequency <= 5825) {
-            return (frequency - 5170) / 5 + 34;
-        }
-        return -1; // canal necunoscut
-    }
-
     /**
      * Determina tipul de securitate al retelei Wi‑Fi dupa SSID.
      */
@@ -168,29 +156,13 @@ public class WifiDetailsActivity extends AppCompatActivity {
         // Cautam reteaua cu SSID-ul curent si extragem capabilitatile
         for (ScanResult scanResult : scanResults) {
             if (scanResult.SSID.equals(normalizedSSID)) {
-                return getSecurityType(scanResult.capabilities);
+                return WifiSecurity.of(scanResult.capabilities).toString();
             }
         }
 
         return "No Security (SSID not found)";
     }
 
-    /**
-     * Returneaza tipul de securitate din stringul capabilities.
-     */
-    private String getSecurityType(String capabilities) {
-        if (capabilities.contains("WPA3")) {
-            return "WPA3";
-        } else if (capabilities.contains("WPA2")) {
-            return "WPA2";
-        } else if (capabilities.contains("WEP")) {
-            return "WEP";
-        } else if (capabilities.contains("EAP")) {
-            return "EAP (Enterprise)";
-        }
-        return "No Security";
-    }
-
     /**
      * Afiseaza lista de dispozitive conectate (in acest moment goala).
      */
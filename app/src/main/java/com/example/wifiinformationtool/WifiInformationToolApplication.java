@@ -0,0 +1,18 @@
+package com.example.wifiinformationtool;
+
+import android.app.Application;
+
+/**
+ * Clasa Application a aplicatiei: porneste job-urile care trebuie sa ruleze cat timp procesul
+ * traieste, indiferent daca a fost pornit de o activitate sau de SignalRecorderService
+ * (de exemplu la repornirea serviciului de inregistrare dupa oprirea procesului).
+ */
+public class WifiInformationToolApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Job-ul de retentie (agregare si stergere a esantioanelor vechi) ruleaza la nivel de proces
+        SignalRetentionManager.getInstance(this).start();
+    }
+}
@@ -1,206 +1,625 @@
 package com.example.wifiinformationtool;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.github.mikephil.charting.charts.LineChart;
 import com.github.mikephil.charting.components.Description;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
- * Adapter custom pentru afisarea listei de retele Wi‑Fi.
+ * Adapter RecyclerView pentru afisarea listei de retele Wi‑Fi, cate un WifiScanRow pe rand.
  * Include posibilitatea de a extinde detalii si un grafic cu istoricul semnalului.
+ *
+ * Fiecare scan nou este aplicat incremental: diferenta fata de lista afisata se calculeaza cu
+ * DiffUtil pe un thread de background, iar pe UI thread se reface doar legarea randurilor
+ * schimbate. Id-urile sunt stabile (derivate din BSSID), iar starea extins/colapsat si graficele
+ * deschise sunt retinute pe BSSID, deci supravietuiesc reordonarii listei.
  */
-public class WifiListAdapter extends ArrayAdapter<String> {
+public class WifiListAdapter extends RecyclerView.Adapter<WifiListAdapter.WifiViewHolder> {
 
+    // Fereastra de timp pentru istoricul agregat pe SSID (ultima ora)
+    private static final long SSID_AGGREGATE_WINDOW_MS = 60 * 60 * 1000L;
+    // Fereastra de timp parcursa de graficul per BSSID (ultimele 7 zile)
+    private static final long BSSID_HISTORY_WINDOW_MS = 7 * 24 * 60 * 60 * 1000L;
+    // Numarul de esantioane incarcate la fiecare pagina
+    private static final int HISTORY_PAGE_SIZE = 200;
+    // Numarul maxim de puncte tinute in memorie pentru un grafic
+    private static final int MAX_CHART_POINTS = 2000;
+    // Payload pentru randurile la care s-a schimbat doar semnalul (fara rebind complet)
+    static final Object PAYLOAD_SIGNAL = new Object();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     // Executor pentru operatiuni in background (ex. incarcare istoric semnal)
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    // Executor separat pentru calculul diferentelor, ca sa nu astepte dupa incarcarea istoricului
+    private final ExecutorService diffExecutor = Executors.newSingleThreadExecutor();
 
     private Context context;                     // Contextul activity-ului
-    private List<String> wifiNames;              // Lista de SSID-uri
-    private List<Integer> wifiSignalImages;      // Lista de resurse imagine pentru semnal
-    private List<String> wifiSignalStrengths;    // Lista de valori semnal in dBm
-    private List<String> wifiSecurityTypes;      // Lista de tipuri de securitate CAPABILITIES
-    private List<String> wifiIpAddresses;        // Lista de frecvente (MHz)
-    private List<String> wifiMacAddresses;       // Lista de adrese MAC (BSSID)
-    private List<String> wifiIpBand;             // Lista de benzi (2.4/5 GHz)
-    private List<Boolean> expandedStates;        // Stare extins/colapsat pentru fiecare element
+    private List<WifiScanRow> rows = new ArrayList<>();  // Randurile afisate, din ultimul scan aplicat
+    // BSSID-urile randurilor extinse si ale celor care arata agregatul pe SSID
+    private final Set<String> expandedBssids = new HashSet<>();
+    private final Set<String> ssidAggregateBssids = new HashSet<>();
+    // Numarul ultimei liste trimise; un diff terminat pentru o lista mai veche este ignorat
+    private int submitGeneration;
+    // Pager-ul fiecarui BSSID extins si punctele deja incarcate pentru fiecare grafic
+    // (cheie: BSSID sau "ssid:" + SSID pentru agregat); accesate doar de pe UI thread
+    private final Map<String, SignalHistoryPager> historyPagers = new HashMap<>();
+    private final Map<String, List<Entry>> historyEntries = new HashMap<>();
+    // Versiunea tabelului la care a fost incarcat fiecare grafic
+    private final Map<String, Long> historyVersions = new HashMap<>();
+    // Graficele BSSID din care s-au eliminat cele mai noi puncte (derulate departe in trecut);
+    // nu mai primesc randurile noi pana cand randul este colapsat si extins din nou
+    private final Set<String> detachedCharts = new HashSet<>();
+    // BSSID-urile pentru care se incarca acum o pagina mai veche
+    private final Set<String> olderPageInFlight = new HashSet<>();
+    // Graficele deschise (randuri extinse), pe BSSID, reincarcate cand se schimba istoricul
+    private final Map<String, LineChart> openCharts = new HashMap<>();
+    private final SignalHistoryWatcher historyWatcher;
+    private final SignalHistoryWatcher.Listener historyListener = this::refreshOpenCharts;
+
+    /** ViewHolder cu referintele la view-urile unui rand, cautate o singura data. */
+    static class WifiViewHolder extends RecyclerView.ViewHolder {
+        final TextView wifiNameTextView;
+        final TextView wifiSignalStrengthValue;
+        final ImageView wifiSignalImageView;
+        final LinearLayout wifiDetailsLayout;
+        final TextView wifiSsidDetail;
+        final TextView wifiSecurityTypeDetail;
+        final TextView wifiMacAddressDetail;
+        final TextView wifiBand;
+        final LineChart signalStrengthChart;
+
+        WifiViewHolder(View itemView) {
+            super(itemView);
+            wifiNameTextView        = itemView.findViewById(R.id.wifiNameTextView);
+            wifiSignalStrengthValue = itemView.findViewById(R.id.wifiSignalStrengthValue);
+            wifiSignalImageView     = itemView.findViewById(R.id.wifiSignalImageView);
+            wifiDetailsLayout       = itemView.findViewById(R.id.wifiDetailsLayout);
+            wifiSsidDetail          = itemView.findViewById(R.id.wifiSsidDetail);
+            wifiSecurityTypeDetail  = itemView.findViewById(R.id.wifiSecurityTypeDetail);
+            wifiMacAddressDetail    = itemView.findViewById(R.id.wifiMacAddressDetail);
+            wifiBand                = itemView.findViewById(R.id.wifiBandDetail);
+            signalStrengthChart     = itemView.findViewById(R.id.signalStrengthChart);
+        }
+    }
+
+    /** Compara doua liste de randuri: acelasi BSSID este acelasi rand, iar semnalul nou este un payload. */
+    static final class RowDiffCallback extends DiffUtil.Callback {
+        private final List<WifiScanRow> oldRows;
+        private final List<WifiScanRow> newRows;
+
+        RowDiffCallback(List<WifiScanRow> oldRows, List<WifiScanRow> newRows) {
+            this.oldRows = oldRows;
+            this.newRows = newRows;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldRows.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newRows.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return Objects.equals(oldRows.get(oldPosition).bssid, newRows.get(newPosition).bssid);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return oldRows.get(oldPosition).equals(newRows.get(newPosition));
+        }
+
+        @Override
+        public Object getChangePayload(int oldPosition, int newPosition) {
+            // Daca s-a schimbat doar semnalul, actualizam doar valoarea si iconita
+            return oldRows.get(oldPosition).sameStaticFields(newRows.get(newPosition))
+                    ? PAYLOAD_SIGNAL : null;
+        }
+    }
 
     /**
-     * Constructor care primeste toate listele necesare pentru afisare.
+     * Constructor; lista porneste goala si este umpluta cu submitList la fiecare scan.
      */
-    public WifiListAdapter(Context context,
-                           List<String> wifiNames,
-                           List<Integer> wifiSignalImages,
-                           List<String> wifiSignalStrengths,
-                           List<String> wifiSecurityTypes,
-                           List<String> wifiIpAddresses,
-                           List<String> wifiMacAddresses,
-                           List<String> wifiIpBand) {
-        super(context, 0, wifiNames);
+    public WifiListAdapter(Context context) {
         this.context = context;
-        this.wifiNames = wifiNames;
-        this.wifiSignalImages = wifiSignalImages;
-        this.wifiSignalStrengths = wifiSignalStrengths;
-        this.wifiSecurityTypes = wifiSecurityTypes;
-        this.wifiIpAddresses = wifiIpAddresses;
-        this.wifiMacAddresses = wifiMacAddresses;
-        this.wifiIpBand = wifiIpBand;
-        // Initializam starea de extindere cu false pentru toate elementele
-        this.expandedStates = new ArrayList<>(Collections.nCopies(wifiNames.size(), false));
+        this.historyWatcher = SignalHistoryWatcher.getInstance(context);
+        setHasStableIds(true);
     }
 
     /**
-     * Interpreteaza stringul de capabilities intr-un tip de securitate prietenos.
+     * Elibereaza resursele adapterului: opreste notificarile de istoric si executorii.
+     * Trebuie apelata cand activity-ul este distrus.
      */
-    public static String interpretWifiSecurity(String securityCapabilities) {
-        Map<String, String> securityMap = new HashMap<>();
-        securityMap.put("WPA2-PSK", "WPA2");
-        securityMap.put("WPA3-PSK", "WPA3");
-        securityMap.put("WEP", "WEP");
-        securityMap.put("WPA2-Enterprise", "WPA2 Enterprise");
-        securityMap.put("WPA3-Enterprise", "WPA3 Enterprise");
-        securityMap.put("WPA-PSK", "WPA Personal (PSK)");
-        securityMap.put("EAP", "EAP Authentication (Enterprise)");
-
-        // Cautam prima potrivire in capabilities
-        for (Map.Entry<String, String> entry : securityMap.entrySet()) {
-            if (securityCapabilities.contains(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return "No security or unknown type";
+    public void release() {
+        historyWatcher.removeListener(historyListener);
+        openCharts.clear();
+        executorService.shutdown();
+        diffExecutor.shutdown();
+    }
+
+    /**
+     * Inlocuieste lista afisata cu randurile unui scan nou (UI thread).
+     * Diferenta fata de lista curenta se calculeaza in background; lista noua devine activa
+     * doar cand diferenta este aplicata, pe UI thread.
+     */
+    public void submitList(List<WifiScanRow> newRows) {
+        int generation = ++submitGeneration;
+        List<WifiScanRow> oldRows = this.rows;
+        diffExecutor.execute(() -> {
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new RowDiffCallback(oldRows, newRows), true);
+            mainHandler.post(() -> {
+                if (generation != submitGeneration) {
+                    return; // a sosit intre timp o lista mai noua
+                }
+                this.rows = newRows;
+                diff.dispatchUpdatesTo(this);
+            });
+        });
     }
 
     @Override
-    public View getView(final int position, View convertView, ViewGroup parent) {
-        // Inflam view-ul daca nu exista deja
-        if (convertView == null) {
-            convertView = LayoutInflater.from(context)
-                    .inflate(R.layout.wifi_item, parent, false);
-        }
-
-        // Legare componente UI
-        TextView wifiNameTextView         = convertView.findViewById(R.id.wifiNameTextView);
-        TextView wifiSignalStrengthValue  = convertView.findViewById(R.id.wifiSignalStrengthValue);
-        ImageView wifiSignalImageView     = convertView.findViewById(R.id.wifiSignalImageView);
-        LinearLayout wifiDetailsLayout    = convertView.findViewById(R.id.wifiDetailsLayout);
-        TextView wifiSsidDetail           = convertView.findViewById(R.id.wifiSsidDetail);
-        TextView wifiSecurityTypeDetail   = convertView.findViewById(R.id.wifiSecurityTypeDetail);
-        TextView wifiMacAddressDetail     = convertView.findViewById(R.id.wifiMacAddressDetail);
-        TextView wifiBand                 = convertView.findViewById(R.id.wifiBandDetail);
-        LineChart signalStrengthChart     = convertView.findViewById(R.id.signalStrengthChart);
-
-        // Prenume SSID si validare
-        String wifiName = wifiNames.get(position);
-        if (wifiName == null || wifiName.isEmpty()) {
-            wifiName = "<Hidden Network>";
-        }
-        wifiNameTextView.setText(wifiName);
+    public int getItemCount() {
+        return rows.size();
+    }
 
-        // Afisam semnalul in dBm
-        String signalStrength = wifiSignalStrengths.get(position);
-        wifiSignalStrengthValue.setText(signalStrength + " dBm");
-        int strengthValue = Integer.parseInt(signalStrength);
-        wifiSignalImageView.setImageResource(getWifiStrengthImage(strengthValue));
+    /** Id stabil: cei 48 de biti ai BSSID-ului, deci fara coliziuni intre AP-uri. */
+    @Override
+    public long getItemId(int position) {
+        return bssidToId(rows.get(position).bssid);
+    }
 
-        // Afisam detalii in layout-ul extins
-        wifiSsidDetail.setText("SSID: " + wifiNames.get(position));
-        wifiSecurityTypeDetail.setText("Security: " +
-                interpretWifiSecurity(wifiSecurityTypes.get(position)));
-        wifiMacAddressDetail.setText("MAC Address: " + wifiMacAddresses.get(position));
-        wifiBand.setText("Band: " + wifiIpBand.get(position));
+    /** Converteste un BSSID de forma aa:bb:cc:dd:ee:ff in numarul de 48 de biti corespunzator. */
+    static long bssidToId(String bssid) {
+        if (bssid == null) {
+            return RecyclerView.NO_ID;
+        }
+        long id = 0;
+        int digits = 0;
+        for (int i = 0; i < bssid.length(); i++) {
+            int value = Character.digit(bssid.charAt(i), 16);
+            if (value >= 0) {
+                id = (id << 4) | value;
+                digits++;
+            }
+        }
+        // Format neasteptat: folosim hash-ul, in afara intervalului de 48 de biti
+        return digits == 12 ? id : (1L << 48) | (bssid.hashCode() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public WifiViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        WifiViewHolder holder = new WifiViewHolder(LayoutInflater.from(context)
+                .inflate(R.layout.wifi_item, parent, false));
 
         // Setam click listener pentru toggling detalii si chart
-        convertView.setOnClickListener(v -> {
-            if ("<Hidden Network>".equals(wifiNames.get(position))) {
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            WifiScanRow row = rows.get(position);
+            if (row.hidden) {
                 Toast.makeText(context,
                         "Retea ascunsa. Nu se pot vedea detalii.",
                         Toast.LENGTH_SHORT).show();
             } else {
-                boolean isExpanded = expandedStates.get(position);
-                expandedStates.set(position, !isExpanded);
+                String bssid = row.bssid;
+                boolean isExpanded = expandedBssids.contains(bssid);
+                if (isExpanded) {
+                    expandedBssids.remove(bssid);
+                } else {
+                    expandedBssids.add(bssid);
+                }
                 // Aratam sau ascundem detaliile si graficul
-                wifiDetailsLayout.setVisibility(isExpanded ? View.GONE : View.VISIBLE);
-                signalStrengthChart.setVisibility(isExpanded ? View.GONE : View.VISIBLE);
-                // Daca s-a extins, incarcam datele in grafic
+                holder.wifiDetailsLayout.setVisibility(isExpanded ? View.GONE : View.VISIBLE);
+                holder.signalStrengthChart.setVisibility(isExpanded ? View.GONE : View.VISIBLE);
+                // Daca s-a extins, incarcam datele in grafic si il urmarim pentru actualizari
                 if (!isExpanded) {
-                    loadSignalHistoryChart(signalStrengthChart, wifiNames.get(position));
+                    trackOpenChart(bssid, holder.signalStrengthChart);
+                    loadSignalHistoryChart(holder.signalStrengthChart, position);
+                } else {
+                    openCharts.remove(bssid);
+                    discardHistory(bssid);
                 }
             }
         });
 
-        // Setam initial vizibilitatea in functie de stare
-        wifiDetailsLayout.setVisibility(expandedStates.get(position) ? View.VISIBLE : View.GONE);
-        signalStrengthChart.setVisibility(expandedStates.get(position) ? View.VISIBLE : View.GONE);
+        // Gesturile pe grafic: long press comuta intre BSSID si agregatul pe SSID,
+        // iar derularea/zoom-ul pana la marginea stanga incarca pagina urmatoare (mai veche)
+        holder.signalStrengthChart.setOnChartGestureListener(new HistoryChartGestureListener(holder));
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(WifiViewHolder holder, int position, List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_SIGNAL)) {
+            bindSignal(holder, rows.get(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(WifiViewHolder holder, int position) {
+        WifiScanRow row = rows.get(position);
+        holder.wifiNameTextView.setText(row.displayName);
+
+        // Afisam semnalul in dBm
+        bindSignal(holder, row);
+
+        // Afisam detalii in layout-ul extins
+        holder.wifiSsidDetail.setText("SSID: " + row.displayName);
+        holder.wifiSecurityTypeDetail.setText("Security: " + row.securityLabel);
+        holder.wifiMacAddressDetail.setText("MAC Address: " + row.bssid);
+        holder.wifiBand.setText("Band: " + row.band);
+
+        // Setam vizibilitatea in functie de stare
+        boolean expanded = expandedBssids.contains(row.bssid);
+        holder.wifiDetailsLayout.setVisibility(expanded ? View.VISIBLE : View.GONE);
+        holder.signalStrengthChart.setVisibility(expanded ? View.VISIBLE : View.GONE);
+        // View-ul poate fi refolosit de la alt rand: graficul urmarit trebuie sa corespunda BSSID-ului
+        openCharts.values().remove(holder.signalStrengthChart);
+        if (expanded) {
+            trackOpenChart(row.bssid, holder.signalStrengthChart);
+            loadSignalHistoryChart(holder.signalStrengthChart, position);
+        }
+    }
+
+    /** Leaga doar valoarea semnalului si iconita, singurele care se schimba de obicei intre scanari. */
+    private void bindSignal(WifiViewHolder holder, WifiScanRow row) {
+        holder.wifiSignalStrengthValue.setText(row.signalStrength + " dBm");
+        holder.wifiSignalImageView.setImageResource(row.signalIcon);
+    }
+
+    @Override
+    public void onViewRecycled(WifiViewHolder holder) {
+        openCharts.values().remove(holder.signalStrengthChart);
+    }
+
+    /**
+     * Marcheaza graficul unui rand ca deschis, pentru a fi reincarcat cand se schimba istoricul.
+     */
+    private void trackOpenChart(String bssid, LineChart chart) {
+        openCharts.put(bssid, chart);
+        historyWatcher.addListener(historyListener);
+    }
+
+    /**
+     * Apelata (comasat, cel mult o data pe ciclu de scanare) dupa ce wifi_signal_table s-a schimbat:
+     * actualizeaza doar graficele deschise. Graficele per BSSID primesc doar randurile noi; paginile
+     * mai vechi deja incarcate raman.
+     */
+    private void refreshOpenCharts() {
+        if (openCharts.isEmpty()) {
+            historyWatcher.removeListener(historyListener);
+            return;
+        }
+        Iterator<Map.Entry<String, LineChart>> iterator = openCharts.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, LineChart> open = iterator.next();
+            int position = positionOf(open.getKey());
+            if (position < 0) {
+                iterator.remove(); // AP-ul nu mai apare in ultimul scan
+            } else {
+                loadSignalHistoryChart(open.getValue(), position);
+            }
+        }
+    }
+
+    /** Pozitia randului cu BSSID-ul dat in lista afisata, sau -1. */
+    private int positionOf(String bssid) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (Objects.equals(rows.get(i).bssid, bssid)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Cheia sub care se retin punctele graficului unui rand, in functie de modul BSSID/SSID. */
+    private String chartKey(int position) {
+        WifiScanRow row = rows.get(position);
+        return ssidAggregateBssids.contains(row.bssid) ? "ssid:" + row.ssid : row.bssid;
+    }
 
-        return convertView;
+    /**
+     * Renunta la pager-ul si la punctele incarcate pentru un BSSID (randul a fost colapsat);
+     * o incarcare in curs pentru vechiul pager este ignorata la sosire.
+     */
+    private void discardHistory(String bssid) {
+        historyPagers.remove(bssid);
+        historyEntries.remove(bssid);
+        historyVersions.remove(bssid);
+        detachedCharts.remove(bssid);
+        olderPageInFlight.remove(bssid);
     }
 
     /**
      * Incarca istoricul semnalului din baza de date si actualizeaza LineChart.
+     * Implicit se afiseaza istoricul BSSID-ului randului atins, paginat din cel mai recent
+     * esantion spre trecut; optional, media pe minut a SSID-ului (calculata in SQL peste toate
+     * AP-urile care difuzeaza acel SSID).
+     * Pager-ul unui BSSID este creat doar la prima legare a graficului; dupa aceea se refolosesc
+     * punctele incarcate si se cer doar randurile noi, daca tabelul s-a schimbat.
      */
-    private void loadSignalHistoryChart(LineChart chart, String ssid) {
-        executorService.execute(() -> {
-            // Preluam lista de entitati din DB
-            List<WifiSignalEntity> history = WifiSignalDatabase.getDatabase(context)
-                    .wifiSignalDao()
-                    .getSignalHistory(ssid);
+    private void loadSignalHistoryChart(LineChart chart, int position) {
+        String key = chartKey(position);
+        boolean ssidAggregate = ssidAggregateBssids.contains(rows.get(position).bssid);
+        long version = historyWatcher.getVersion();
 
-            // Pregatim punctele pentru grafic
-            List<Entry> entries = new ArrayList<>();
-            for (int i = 0; i < history.size(); i++) {
-                entries.add(new Entry(i, history.get(i).signalStrength));
+        if (!ssidAggregate) {
+            List<Entry> loaded = historyEntries.get(key);
+            if (historyPagers.containsKey(key) && loaded != null) {
+                showChartEntries(chart, loaded, false);
+                loadNewerHistoryRows(chart, key);
+                return;
             }
+            // Prima legare: pornim un pager nou pe fereastra care se termina acum
+            long now = System.currentTimeMillis();
+            historyPagers.put(key, new SignalHistoryPager(
+                    WifiSignalDatabase.getDatabase(context).wifiSignalDao(),
+                    SignalHistoryCache.getInstance(),
+                    key, now - BSSID_HISTORY_WINDOW_MS, now, HISTORY_PAGE_SIZE));
+            historyEntries.put(key, new ArrayList<>());
+            historyVersions.put(key, version);
+            loadOlderHistoryPage(chart, key);
+            return;
+        }
 
-            // Construim dataset-ul si linia de date
-            LineDataSet dataSet = new LineDataSet(entries, "Signal Strength (dBm)");
-            dataSet.setColor(ContextCompat.getColor(context, R.color.purple_500));
-            dataSet.setValueTextColor(ContextCompat.getColor(context, R.color.black));
-            LineData lineData = new LineData(dataSet);
+        List<Entry> cached = historyEntries.get(key);
+        Long cachedVersion = historyVersions.get(key);
+        if (cached != null && cachedVersion != null && cachedVersion == version) {
+            showChartEntries(chart, cached, true);
+            return;
+        }
+        historyVersions.put(key, version);
 
-            // Actualizam graficul pe UI thread
+        String ssid = rows.get(position).ssid;
+        executorService.execute(() -> {
+            // Media pe minut calculata in SQL: cel mult 60 de randuri, oricate scanari ar fi in fereastra
+            long now = System.currentTimeMillis();
+            List<SignalBucketStats> buckets = WifiSignalDatabase.getDatabase(context)
+                    .wifiSignalDao()
+                    .getSsidSignalBuckets(ssid, now - SSID_AGGREGATE_WINDOW_MS, now + 1,
+                            SignalBucketStats.BUCKET_1_MINUTE);
+
+            // Pregatim punctele pentru grafic (X in secunde relativ la acum, ca la graficul per BSSID)
+            List<Entry> entries = new ArrayList<>(buckets.size());
+            for (SignalBucketStats bucket : buckets) {
+                entries.add(new Entry((bucket.bucketStart - now) / 1000f, (float) bucket.avgRssi));
+            }
             chart.post(() -> {
-                chart.setData(lineData);
-                Description description = new Description();
-                description.setText("Signal Strength Over Time");
-                chart.setDescription(description);
-                chart.invalidate();
+                historyEntries.put(key, entries);
+                showChartEntries(chart, entries, true);
             });
         });
     }
 
     /**
-     * Returneaza resursa imaginii potrivita pentru valoarea semnalului.
+     * Aduce randurile scrise dupa cel mai nou punct al graficului unui BSSID si le adauga la
+     * dreapta. Nu face nicio interogare daca tabelul nu s-a schimbat de la ultima incarcare.
      */
-    private int getWifiStrengthImage(int signalStrength) {
-        if (signalStrength > -50) {
-            return R.drawable.wifi_high_strength;
-        } else if (signalStrength > -70) {
-            return R.drawable.wifi_medium_strength;
-        } else if (signalStrength > -90) {
-            return R.drawable.wifi_low_strength;
-        } else {
-            return R.drawable.wifi_no_strength;
+    private void loadNewerHistoryRows(LineChart chart, String bssid) {
+        SignalHistoryPager pager = historyPagers.get(bssid);
+        Long loadedVersion = historyVersions.get(bssid);
+        long version = historyWatcher.getVersion();
+        if (pager == null || detachedCharts.contains(bssid)
+                || (loadedVersion != null && loadedVersion == version)) {
+            return;
+        }
+        historyVersions.put(bssid, version);
+        long windowEnd = pager.getWindowEnd();
+        executorService.execute(() -> {
+            List<WifiSignalEntity> samples = new ArrayList<>();
+            List<WifiSignalEntity> batch;
+            do {
+                batch = pager.loadNewerRows(HISTORY_PAGE_SIZE);
+                samples.addAll(batch);
+            } while (batch.size() == HISTORY_PAGE_SIZE && samples.size() < MAX_CHART_POINTS);
+            if (samples.isEmpty()) {
+                return;
+            }
+            List<Entry> newer = new ArrayList<>(samples.size());
+            for (WifiSignalEntity sample : samples) {
+                newer.add(toEntry(sample, windowEnd));
+            }
+            chart.post(() -> appendNewerEntries(chart, bssid, pager, newer));
+        });
+    }
+
+    /**
+     * Adauga punctele noi la punctele incarcate in acel moment (UI thread). Daca se depaseste
+     * MAX_CHART_POINTS, se renunta la cele mai vechi, iar pager-ul reia paginile spre trecut de la
+     * cel mai vechi punct pastrat.
+     */
+    private void appendNewerEntries(LineChart chart, String bssid, SignalHistoryPager pager, List<Entry> newer) {
+        List<Entry> current = historyEntries.get(bssid);
+        if (historyPagers.get(bssid) != pager || current == null) {
+            return; // randul a fost colapsat intre timp
+        }
+        List<Entry> merged = new ArrayList<>(current.size() + newer.size());
+        merged.addAll(current);
+        merged.addAll(newer);
+        // Cat timp o pagina veche este in drum, nu taiem inceputul: ea se lipeste de el
+        if (merged.size() > MAX_CHART_POINTS && !olderPageInFlight.contains(bssid)) {
+            merged = new ArrayList<>(merged.subList(merged.size() - MAX_CHART_POINTS, merged.size()));
+            WifiSignalEntity oldest = (WifiSignalEntity) merged.get(0).getData();
+            pager.restartOlderPagesBefore(oldest.timestamp, oldest.id);
+        }
+        historyEntries.put(bssid, merged);
+        if (openCharts.get(bssid) == chart) {
+            showChartEntries(chart, merged, false);
+        }
+    }
+
+    /**
+     * Incarca pagina urmatoare (mai veche) din istoricul unui BSSID si o adauga la stanga graficului.
+     * Axa X este in secunde relativ la sfarsitul ferestrei (valori negative = trecut).
+     * Pentru fiecare BSSID se incarca cel mult o pagina o data; pagina este lipita, pe UI thread, de
+     * punctele incarcate in acel moment (care pot fi intre timp completate cu randuri noi).
+     * Daca se depaseste MAX_CHART_POINTS, se renunta la cele mai noi puncte, astfel incat
+     * memoria ocupata de grafic ramane limitata oricat de departe se deruleaza.
+     */
+    private void loadOlderHistoryPage(LineChart chart, String bssid) {
+        SignalHistoryPager pager = historyPagers.get(bssid);
+        if (pager == null || pager.isEndReached() || !olderPageInFlight.add(bssid)) {
+            return;
+        }
+        long windowEnd = pager.getWindowEnd();
+        executorService.execute(() -> {
+            List<WifiSignalEntity> page = pager.loadNextPage();
+            // Pagina vine descrescator; graficul cere punctele crescator dupa X
+            List<Entry> older = new ArrayList<>(page.size());
+            for (int i = page.size() - 1; i >= 0; i--) {
+                older.add(toEntry(page.get(i), windowEnd));
+            }
+            chart.post(() -> prependOlderEntries(chart, bssid, pager, older));
+        });
+    }
+
+    /** Lipeste o pagina veche la stanga punctelor incarcate in acel moment (UI thread). */
+    private void prependOlderEntries(LineChart chart, String bssid, SignalHistoryPager pager, List<Entry> older) {
+        List<Entry> current = historyEntries.get(bssid);
+        if (historyPagers.get(bssid) != pager || current == null) {
+            return; // randul a fost colapsat intre timp; indicatorul a fost sters odata cu pager-ul
+        }
+        olderPageInFlight.remove(bssid);
+        if (older.isEmpty() && !current.isEmpty()) {
+            return;
+        }
+        List<Entry> merged = new ArrayList<>(older.size() + current.size());
+        merged.addAll(older);
+        merged.addAll(current);
+        if (merged.size() > MAX_CHART_POINTS) {
+            merged = new ArrayList<>(merged.subList(0, MAX_CHART_POINTS));
+            // Cele mai noi puncte lipsesc acum: randurile noi nu se mai pot lipi la dreapta
+            detachedCharts.add(bssid);
+        }
+        historyEntries.put(bssid, merged);
+        if (openCharts.get(bssid) == chart) {
+            showChartEntries(chart, merged, false);
+        }
+    }
+
+    /** Punctul graficului pentru un esantion; esantionul ramane atasat, ca si cursor. */
+    private static Entry toEntry(WifiSignalEntity sample, long windowEnd) {
+        return new Entry((sample.timestamp - windowEnd) / 1000f, sample.signalStrength, sample);
+    }
+
+    /**
+     * Construieste dataset-ul din punctele date si actualizeaza graficul (UI thread).
+     */
+    private void showChartEntries(LineChart chart, List<Entry> entries, boolean ssidAggregate) {
+        // Construim dataset-ul si linia de date
+        LineDataSet dataSet = new LineDataSet(new ArrayList<>(entries),
+                ssidAggregate ? "SSID Average Signal (dBm)" : "Signal Strength (dBm)");
+        dataSet.setColor(ContextCompat.getColor(context, R.color.purple_500));
+        dataSet.setValueTextColor(ContextCompat.getColor(context, R.color.black));
+        LineData lineData = new LineData(dataSet);
+
+        chart.setData(lineData);
+        Description description = new Description();
+        description.setText(ssidAggregate ? "SSID Signal Over Time (s)" : "Signal Strength Over Time (s)");
+        chart.setDescription(description);
+        chart.invalidate();
+    }
+
+    /**
+     * Listener de gesturi pentru graficul unui rand: comuta modul BSSID/SSID la long press si
+     * cere pagina urmatoare de istoric cand utilizatorul a derulat sau a micsorat pana la
+     * cel mai vechi punct incarcat.
+     */
+    private class HistoryChartGestureListener implements OnChartGestureListener {
+        private final WifiViewHolder holder;
+        private final LineChart chart;
+
+        HistoryChartGestureListener(WifiViewHolder holder) {
+            this.holder = holder;
+            this.chart = holder.signalStrengthChart;
+        }
+
+        @Override
+        public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION
+                    || ssidAggregateBssids.contains(rows.get(position).bssid)
+                    || chart.getData() == null) {
+                return;
+            }
+            if (chart.getLowestVisibleX() <= chart.getData().getXMin()) {
+                loadOlderHistoryPage(chart, rows.get(position).bssid);
+            }
+        }
+
+        @Override
+        public void onChartLongPressed(MotionEvent me) {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            String bssid = rows.get(position).bssid;
+            if (!ssidAggregateBssids.remove(bssid)) {
+                ssidAggregateBssids.add(bssid);
+            }
+            chart.fitScreen();
+            loadSignalHistoryChart(chart, position);
+        }
+
+        @Override
+        public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        }
+
+        @Override
+        public void onChartDoubleTapped(MotionEvent me) {
+        }
+
+        @Override
+        public void onChartSingleTapped(MotionEvent me) {
+        }
+
+        @Override
+        public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+        }
+
+        @Override
+        public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+        }
+
+        @Override
+        public void onChartTranslate(MotionEvent me, float dX, float dY) {
         }
     }
 }
@@ -0,0 +1,95 @@
+package com.example.wifiinformationtool;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ScanSource pentru dispozitiv: cererile merg la WifiManager.startScan(), iar rezultatele sunt
+ * anuntate la primirea broadcast-ului SCAN_RESULTS_AVAILABLE_ACTION, pe handler-ul dat.
+ */
+public class WifiManagerScanSource implements ScanSource {
+    private final Context appContext;
+    private final WifiManager wifiManager;
+    private final Handler handler;
+    private Callback callback;
+    private final BroadcastReceiver scanReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            Callback current = callback;
+            if (current != null) {
+                current.onResultsAvailable(intent.getBooleanExtra(WifiManager.EXTRA_RESULTS_UPDATED, false));
+            }
+        }
+    };
+
+    /**
+     * @param context orice context; se retine doar contextul aplicatiei
+     * @param handler handler-ul pe care sunt primite broadcast-urile
+     */
+    public WifiManagerScanSource(Context context, Handler handler) {
+        this.appContext = context.getApplicationContext();
+        this.wifiManager = (WifiManager) appContext.getSystemService(Context.WIFI_SERVICE);
+        this.handler = handler;
+    }
+
+    /** Indica daca dispozitivul are Wi-Fi (WifiManager disponibil). */
+    public boolean isAvailable() {
+        return wifiManager != null;
+    }
+
+    @Override
+    public void start(Callback callback) {
+        this.callback = callback;
+        IntentFilter filter = new IntentFilter(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION);
+        appContext.registerReceiver(scanReceiver, filter, null, handler);
+    }
+
+    @Override
+    public void stop() {
+        callback = null;
+        appContext.unregisterReceiver(scanReceiver);
+    }
+
+    @Override
+    public boolean startScan() {
+        return wifiManager.startScan();
+    }
+
+    @Override
+    public List<ScanObservation> getScanResults() {
+        List<ScanResult> results = wifiManager.getScanResults();
+        List<ScanObservation> observations = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            ScanResult result = results.get(i);
+            observations.add(new ScanObservation(result.BSSID, result.SSID, result.level,
+                    result.frequency, channelWidthMhz(result.channelWidth), result.centerFreq0,
+                    result.capabilities));
+        }
+        return observations;
+    }
+
+    /** Conversie din constantele ScanResult.CHANNEL_WIDTH_* in MHz. */
+    private static int channelWidthMhz(int channelWidth) {
+        switch (channelWidth) {
+            case ScanResult.CHANNEL_WIDTH_40MHZ:
+                return 40;
+            case ScanResult.CHANNEL_WIDTH_80MHZ:
+                return 80;
+            case ScanResult.CHANNEL_WIDTH_160MHZ:
+            case ScanResult.CHANNEL_WIDTH_80MHZ_PLUS_MHZ:
+                return 160;
+            case ScanResult.CHANNEL_WIDTH_320MHZ:
+                return 320;
+            default:
+                return 20;
+        }
+    }
+}
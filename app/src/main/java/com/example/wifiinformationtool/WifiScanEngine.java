@@ -0,0 +1,371 @@
+package com.example.wifiinformationtool;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Clasa WifiScanEngine ruleaza scanarea Wi-Fi pe un thread de background propriu (HandlerThread).
+ *
+ * Scanarile vin dintr-un ScanSource (implicit WifiManagerScanSource). Rezultatele nu sunt citite
+ * imediat dupa startScan(), ci cand sursa anunta ca sunt disponibile (pe dispozitiv, la broadcast-ul
+ * SCAN_RESULTS_AVAILABLE_ACTION, inclusiv pentru scanari pornite de alte aplicatii). Momentul
+ * fiecarei cereri este ales de ScanScheduler, dupa bugetul de throttling si profilul de consum.
+ * Fiecare rezultat este sortat pe thread-ul motorului si publicat abonatilor ca WifiScanSnapshot imutabil; in istoric se salveaza doar rezultatele proaspete.
+ * Abonatii sunt notificati pe thread-ul motorului; cei care afiseaza trebuie sa treaca singuri
+ * pe thread-ul principal, doar pentru randare.
+ */
+public class WifiScanEngine {
+    private static final String TAG = "WifiScanEngine";
+    // Granularitatea (dB) la care o schimbare de semnal conteaza pentru backoff
+    private static final int SIGNATURE_RSSI_STEP = 5;
+    // Dupa cat timp o cerere acceptata fara rezultat nu mai este asteptata (scan esuat fara broadcast)
+    private static final long SCAN_PENDING_TIMEOUT_MS = 15_000;
+
+    /** Abonat la rezultatele scanarii; apelat pe thread-ul motorului. */
+    public interface Listener {
+        void onScanSnapshot(WifiScanSnapshot snapshot);
+    }
+
+    /** Abonat la programarea urmatoarei cereri de scan; apelat pe thread-ul motorului. */
+    public interface ScheduleListener {
+        /**
+         * @param delayMs           peste cat timp (millis) motorul face urmatorul pas: o cerere de scan
+         *                          sau, daca asteapta rezultate, expirarea cererii in asteptare
+         * @param waitingForResults true daca motorul asteapta rezultatul unei cereri proprii
+         */
+        void onNextScanScheduled(long delayMs, boolean waitingForResults);
+    }
+
+    private static volatile WifiScanEngine INSTANCE;
+
+    private final Context appContext;
+    private final Handler handler;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<ScheduleListener> scheduleListeners = new CopyOnWriteArrayList<>();
+    private final Runnable scanRunnable = this::requestScan;
+    // Sursa poate anunta de pe alt thread; trecem pe thread-ul motorului
+    private final ScanSource.Callback sourceCallback;
+    private final ScanScheduler scheduler = new ScanScheduler(ScanScheduler.Profile.SURVEY);
+    // Starea motorului; accesata doar de pe thread-ul motorului
+    private boolean running;
+    private boolean scanPending;
+    private long scanRequestedAt;   // momentul cererii in asteptare (elapsedRealtime)
+    private int clients;
+    // Profilul ales cu setProfile() si profilurile tinute de clienti (holdProfile), numarate pe profil
+    private ScanScheduler.Profile baseProfile = ScanScheduler.Profile.SURVEY;
+    private final int[] profileHolds = new int[ScanScheduler.Profile.values().length];
+    private ScanSource source;
+    private volatile WifiScanSnapshot lastSnapshot;
+
+    private WifiScanEngine(Context context) {
+        this(context, null);
+        WifiManagerScanSource wifiSource = new WifiManagerScanSource(appContext, handler);
+        this.source = wifiSource.isAvailable() ? wifiSource : null;
+    }
+
+    /**
+     * Motor separat de instanta aplicatiei, cu sursa data; folosit de testele instrumentate.
+     *
+     * @param context orice context; se retine doar contextul aplicatiei
+     * @param source  sursa scanarilor
+     */
+    WifiScanEngine(Context context, ScanSource source) {
+        this.appContext = context.getApplicationContext();
+        HandlerThread thread = new HandlerThread("wifi-scan", Process.THREAD_PRIORITY_BACKGROUND);
+        thread.start();
+        this.handler = new Handler(thread.getLooper());
+        this.sourceCallback = updated -> handler.post(() -> onResultsAvailable(updated));
+        this.source = source;
+    }
+
+    /**
+     * Returneaza motorul de scanare al aplicatiei.
+     *
+     * @param context orice context; se retine doar contextul aplicatiei
+     * @return instanta WifiScanEngine
+     */
+    public static WifiScanEngine getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (WifiScanEngine.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new WifiScanEngine(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Porneste scanarea periodica. Apelantul trebuie sa fi verificat permisiunea de locatie.
+     * Motorul poate fi folosit simultan de mai multi clienti (ecranul si serviciul de inregistrare):
+     * fiecare start() trebuie urmat de un stop(), iar scanarea se opreste dupa ultimul stop().
+     */
+    public void start() {
+        handler.post(() -> {
+            clients++;
+            if (running || source == null) {
+                return;
+            }
+            running = true;
+            source.start(sourceCallback);
+            requestScan();
+        });
+    }
+
+    /** Renunta la scanare pentru un client; dupa ultimul client opreste sursa. */
+    public void stop() {
+        handler.post(() -> {
+            if (clients > 0) {
+                clients--;
+            }
+            if (clients > 0 || !running) {
+                return;
+            }
+            running = false;
+            scanPending = false;
+            handler.removeCallbacks(scanRunnable);
+            source.stop();
+        });
+    }
+
+    /**
+     * Inlocuieste sursa scanarilor (de exemplu cu SyntheticScanSource sau ReplayScanSource).
+     * Daca motorul ruleaza, vechea sursa este oprita si cea noua pornita imediat.
+     */
+    public void setScanSource(ScanSource newSource) {
+        handler.post(() -> {
+            if (running) {
+                source.stop();
+                scanPending = false;
+                newSource.start(sourceCallback);
+            }
+            source = newSource;
+            if (running) {
+                requestScan();
+            }
+        });
+    }
+
+    /** Inregistreaza un abonat; apelurile repetate pentru acelasi abonat nu au efect. */
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /** Elimina un abonat inregistrat anterior. */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Inregistreaza un abonat la programarea cererilor. Momentul urmatoarei cereri este calculat
+     * pe thread-ul motorului, singurul care are voie sa citeasca ScanScheduler.
+     */
+    public void addScheduleListener(ScheduleListener listener) {
+        scheduleListeners.addIfAbsent(listener);
+    }
+
+    /** Elimina un abonat la programarea cererilor. */
+    public void removeScheduleListener(ScheduleListener listener) {
+        scheduleListeners.remove(listener);
+    }
+
+    /**
+     * Cere un scan acum, daca bugetul si profilul permit si nu se asteapta deja rezultatul unei
+     * cereri. Folosit de SignalRecorderService dupa ce a trezit procesorul, cand temporizatorul
+     * motorului ar fi fost amanat de somnul dispozitivului.
+     */
+    public void requestScanNow() {
+        handler.post(this::requestScan);
+    }
+
+    /**
+     * Schimba profilul de consum implicit; urmatoarea cerere este reprogramata dupa noul profil.
+     * Cat timp un client tine un profil (holdProfile), acela are prioritate.
+     */
+    public void setProfile(ScanScheduler.Profile profile) {
+        handler.post(() -> {
+            baseProfile = profile;
+            applyProfile();
+        });
+    }
+
+    /**
+     * Cere un profil pentru un client (de exemplu MONITOR pentru SignalRecorderService), pana la
+     * releaseProfile() cu acelasi profil. Ca la start()/stop(), cererile sunt numarate: la ultima
+     * eliberare motorul revine la profilul implicit, nu la un profil fix. Daca mai multi clienti
+     * tin profiluri diferite, castiga cel mai proaspat (ordinea din ScanScheduler.Profile).
+     */
+    public void holdProfile(ScanScheduler.Profile profile) {
+        handler.post(() -> {
+            profileHolds[profile.ordinal()]++;
+            applyProfile();
+        });
+    }
+
+    /** Elibereaza un profil cerut anterior cu holdProfile(). */
+    public void releaseProfile(ScanScheduler.Profile profile) {
+        handler.post(() -> {
+            if (profileHolds[profile.ordinal()] > 0) {
+                profileHolds[profile.ordinal()]--;
+            }
+            applyProfile();
+        });
+    }
+
+    /**
+     * Planificatorul motorului, doar pentru statistici (proaspete/vechi, cereri refuzate), care pot
+     * fi citite de pe orice thread. Restul starii lui apartine thread-ului motorului.
+     */
+    public ScanScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** Ultimul snapshot publicat, sau null daca motorul nu a publicat inca nimic. */
+    public WifiScanSnapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /** Sursa a anuntat rezultate (thread-ul motorului). */
+    private void onResultsAvailable(boolean updated) {
+        if (!running) {
+            return;
+        }
+        // Un anunt fara cerere proprie in asteptare vine dintr-un scan pornit de altcineva; o cerere
+        // mai veche de SCAN_PENDING_TIMEOUT_MS s-a pierdut, iar anuntul nu ii mai apartine
+        boolean passive = !isScanPending(SystemClock.elapsedRealtime());
+        scanPending = false;
+        publishResults(updated, passive);
+        scheduleNextScan();
+    }
+
+    /** Aplica profilul tinut de clienti sau, daca nu exista, pe cel implicit (thread-ul motorului). */
+    private void applyProfile() {
+        ScanScheduler.Profile profile = baseProfile;
+        for (ScanScheduler.Profile held : ScanScheduler.Profile.values()) {
+            if (profileHolds[held.ordinal()] > 0) {
+                profile = held;
+                break;
+            }
+        }
+        if (scheduler.getProfile() != profile) {
+            scheduler.setProfile(profile);
+            scheduleNextScan();
+        }
+    }
+
+    /** Exista o cerere proprie acceptata, mai noua decat SCAN_PENDING_TIMEOUT_MS (thread-ul motorului). */
+    private boolean isScanPending(long now) {
+        return scanPending && now - scanRequestedAt < SCAN_PENDING_TIMEOUT_MS;
+    }
+
+    /**
+     * Programeaza urmatoarea cerere de scan (thread-ul motorului). Cat timp o cerere proprie asteapta
+     * rezultatul, nu se cere alt scan: urmatorul pas este anuntul sursei (onResultsAvailable) sau
+     * expirarea cererii dupa SCAN_PENDING_TIMEOUT_MS. Altfel decide planificatorul.
+     */
+    private void scheduleNextScan() {
+        if (!running) {
+            return;
+        }
+        handler.removeCallbacks(scanRunnable);
+        long now = SystemClock.elapsedRealtime();
+        boolean pending = isScanPending(now);
+        long delay = pending ? scanRequestedAt + SCAN_PENDING_TIMEOUT_MS - now : scheduler.nextScanDelay(now);
+        handler.postDelayed(scanRunnable, delay);
+        for (ScheduleListener listener : scheduleListeners) {
+            listener.onNextScanScheduled(delay, pending);
+        }
+    }
+
+    /** Cere un scan nou daca planificatorul permite, apoi programeaza urmatoarea cerere (thread-ul motorului). */
+    private void requestScan() {
+        if (!running) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        if (scanPending && !isScanPending(now)) {
+            // Sursa nu a anuntat nimic pentru cererea anterioara: o consideram pierduta
+            Log.d(TAG, "Scan request timed out without results");
+            scanPending = false;
+        }
+        if (!scanPending && scheduler.nextScanDelay(now) == 0) {
+            boolean accepted = source.startScan();
+            scheduler.onScanRequested(now, accepted);
+            if (accepted) {
+                scanPending = true;
+                scanRequestedAt = now;
+            } else {
+                // Cererea a fost refuzata (throttling): nu vine niciun broadcast, publicam rezultatele vechi
+                Log.d(TAG, "Scan request rejected, publishing last known results");
+                publishResults(false, false);
+            }
+        }
+        scheduleNextScan();
+    }
+
+    /**
+     * Citeste, sorteaza si publica rezultatele curente (thread-ul motorului).
+     * Doar rezultatele proaspete sunt salvate in istoric; cele vechi ar duplica esantioane deja salvate.
+     */
+    private void publishResults(boolean resultsUpdated, boolean passive) {
+        if (!running) {
+            return;
+        }
+        List<ScanObservation> results;
+        try {
+            results = new ArrayList<>(source.getScanResults());
+        } catch (SecurityException e) {
+            Log.w(TAG, "Missing location permission for scan results", e);
+            return;
+        }
+        // Sortam retelele descrescator dupa puterea semnalului (level)
+        Collections.sort(results, ScanObservation.BY_LEVEL_DESC);
+        WifiScanSnapshot snapshot = new WifiScanSnapshot(System.currentTimeMillis(), results, resultsUpdated);
+        lastSnapshot = snapshot;
+        scheduler.onResults(SystemClock.elapsedRealtime(), resultsUpdated, passive, signatureOf(results));
+        if (resultsUpdated && !results.isEmpty()) {
+            saveWifiSignalStrength(snapshot);
+        }
+        for (Listener listener : listeners) {
+            listener.onScanSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Amprenta unui set de rezultate, independenta de ordine: BSSID-urile si semnalul rotunjit la
+     * SIGNATURE_RSSI_STEP dB. Fluctuatiile mici de semnal nu schimba amprenta.
+     */
+    private static long signatureOf(List<ScanObservation> results) {
+        long signature = results.size();
+        for (int i = 0; i < results.size(); i++) {
+            ScanObservation result = results.get(i);
+            long h = (result.bssid == null ? 0 : result.bssid.hashCode()) * 0x9E3779B97F4A7C15L
+                    + Math.floorDiv(result.level, SIGNATURE_RSSI_STEP);
+            signature += h ^ (h >>> 29);
+        }
+        return signature;
+    }
+
+    /**
+     * Pune snapshot-ul in coada write-behind, care il scrie in istoric impreuna cu alte snapshot-uri.
+     */
+    private void saveWifiSignalStrength(WifiScanSnapshot snapshot) {
+        List<AccessPointEntity> accessPoints = new ArrayList<>(snapshot.results.size());
+        int[] signalStrengths = new int[snapshot.results.size()];
+        for (int i = 0; i < snapshot.results.size(); i++) {
+            ScanObservation observation = snapshot.results.get(i);
+            accessPoints.add(new AccessPointEntity(observation));
+            signalStrengths[i] = observation.level;
+        }
+        SignalWriteQueue.getInstance(appContext).enqueue(accessPoints, signalStrengths, snapshot.timestamp);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.wifiinformationtool;
+
+import java.util.Objects;
+
+/**
+ * Randul imutabil afisat in lista de retele Wi‑Fi pentru un punct de acces dintr-un scan.
+ * Campurile derivate (SSID curatat, banda, canal, eticheta de securitate) sunt calculate
+ * o singura data de WifiScanRowFactory si refolosite intre scanari pentru acelasi BSSID.
+ */
+public final class WifiScanRow {
+    public final String bssid;          // Adresa MAC a punctului de acces
+    public final String ssid;           // SSID-ul original (poate fi gol pentru retele ascunse)
+    public final String displayName;    // SSID-ul curatat de caractere neafisabile, sau "<Hidden Network>"
+    public final boolean hidden;        // Retea ascunsa (fara SSID)
+    public final int signalStrength;    // Nivelul semnalului (dBm)
+    public final int signalIcon;        // Resursa imaginii corespunzatoare semnalului
+    public final int frequency;         // Frecventa (MHz)
+    public final int channel;           // Canalul primar, sau -1 daca nu este cunoscut
+    public final String band;           // Eticheta benzii (2.4/5/6 GHz)
+    public final String capabilities;   // Stringul capabilities brut
+    public final String securityLabel;  // Tipul de securitate, prietenos
+
+    WifiScanRow(String bssid, String ssid, String displayName, boolean hidden, int signalStrength,
+                int signalIcon, int frequency, int channel, String band, String capabilities,
+                String securityLabel) {
+        this.bssid = bssid;
+        this.ssid = ssid;
+        this.displayName = displayName;
+        this.hidden = hidden;
+        this.signalStrength = signalStrength;
+        this.signalIcon = signalIcon;
+        this.frequency = frequency;
+        this.channel = channel;
+        this.band = band;
+        this.capabilities = capabilities;
+        this.securityLabel = securityLabel;
+    }
+
+    /** Indica daca cele doua randuri difera doar prin semnal (si iconita derivata din el). */
+    boolean sameStaticFields(WifiScanRow other) {
+        return frequency == other.frequency
+                && Objects.equals(bssid, other.bssid)
+                && Objects.equals(displayName, other.displayName)
+                && Objects.equals(securityLabel, other.securityLabel)
+                && Objects.equals(band, other.band);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WifiScanRow)) {
+            return false;
+        }
+        WifiScanRow other = (WifiScanRow) o;
+        return signalStrength == other.signalStrength
+                && Objects.equals(ssid, other.ssid)
+                && Objects.equals(capabilities, other.capabilities)
+                && sameStaticFields(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bssid, ssid, signalStrength, frequency, capabilities);
+    }
+}
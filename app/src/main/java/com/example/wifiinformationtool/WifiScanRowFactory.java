@@ -0,0 +1,124 @@
+package com.example.wifiinformationtool;
+
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Construieste randurile WifiScanRow pentru un scan, o singura data, pe thread-ul de scanare.
+ *
+ * Campurile care nu depind de semnal (SSID curatat, banda, canal, eticheta de securitate) sunt
+ * retinute pe BSSID si refolosite la scanarile urmatoare, cat timp SSID-ul, frecventa si
+ * capabilities raman aceleasi. Cache-ul este limitat (LRU) la MAX_CACHED_ACCESS_POINTS.
+ * Nu este thread-safe: trebuie folosit de pe un singur thread (cel care primeste scanarile).
+ */
+public class WifiScanRowFactory {
+    private static final int MAX_CACHED_ACCESS_POINTS = 512;
+    private static final String HIDDEN_NETWORK = "<Hidden Network>";
+
+    /** Campurile derivate ale unui AP, impreuna cu valorile brute din care au fost calculate. */
+    private static final class StaticFields {
+        final String ssid;
+        final int frequency;
+        final String capabilities;
+        final String displayName;
+        final boolean hidden;
+        final int channel;
+        final String band;
+        final String securityLabel;
+
+        StaticFields(String ssid, int frequency, String capabilities) {
+            this.ssid = ssid;
+            this.frequency = frequency;
+            this.capabilities = capabilities;
+            this.hidden = ssid == null || ssid.isEmpty();
+            this.displayName = hidden ? HIDDEN_NETWORK : sanitizeSsid(ssid);
+            this.channel = ChannelAnalyzer.channel(frequency);
+            this.band = ChannelAnalyzer.bandLabel(frequency);
+            this.securityLabel = WifiSecurity.of(capabilities).getLabel();
+        }
+
+        boolean matches(ScanObservation result) {
+            return frequency == result.frequency
+                    && Objects.equals(ssid, result.ssid)
+                    && Objects.equals(capabilities, result.capabilities);
+        }
+    }
+
+    private final LinkedHashMap<String, StaticFields> cache =
+            new LinkedHashMap<String, StaticFields>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StaticFields> eldest) {
+                    return size() > MAX_CACHED_ACCESS_POINTS;
+                }
+            };
+
+    /**
+     * Construieste randurile pentru rezultatele unui scan, in aceeasi ordine.
+     *
+     * @param results rezultatele scanarii (de obicei deja sortate dupa semnal)
+     * @return lista de randuri, cate unul pentru fiecare rezultat
+     */
+    @WorkerThread
+    public List<WifiScanRow> buildRows(List<ScanObservation> results) {
+        List<WifiScanRow> rows = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            ScanObservation result = results.get(i);
+            StaticFields fields = cache.get(result.bssid);
+            if (fields == null || !fields.matches(result)) {
+                fields = new StaticFields(result.ssid, result.frequency, result.capabilities);
+                cache.put(result.bssid, fields);
+            }
+            rows.add(new WifiScanRow(result.bssid, fields.ssid, fields.displayName,
+                    fields.hidden, result.level, signalIcon(result.level),
+                    fields.frequency, fields.channel, fields.band, fields.capabilities,
+                    fields.securityLabel));
+        }
+        return rows;
+    }
+
+    /**
+     * Elimina caracterele din afara intervalului ASCII afisabil (0x20-0x7E), fara expresii regulate.
+     * Daca SSID-ul este deja curat, se returneaza acelasi obiect, fara alocare.
+     */
+    static String sanitizeSsid(String ssid) {
+        int length = ssid.length();
+        int firstBad = 0;
+        while (firstBad < length && isPrintableAscii(ssid.charAt(firstBad))) {
+            firstBad++;
+        }
+        if (firstBad == length) {
+            return ssid;
+        }
+        StringBuilder clean = new StringBuilder(length - 1);
+        clean.append(ssid, 0, firstBad);
+        for (int i = firstBad + 1; i < length; i++) {
+            char c = ssid.charAt(i);
+            if (isPrintableAscii(c)) {
+                clean.append(c);
+            }
+        }
+        return clean.toString();
+    }
+
+    private static boolean isPrintableAscii(char c) {
+        return c >= 0x20 && c <= 0x7E;
+    }
+
+    /** Returneaza resursa imaginii pe baza nivelului semnalului. */
+    static int signalIcon(int signalStrength) {
+        if (signalStrength > -50) {
+            return R.drawable.wifi_high_strength;
+        } else if (signalStrength > -70) {
+            return R.drawable.wifi_medium_strength;
+        } else if (signalStrength > -90) {
+            return R.drawable.wifi_low_strength;
+        } else {
+            return R.drawable.wifi_no_strength;
+        }
+    }
+}
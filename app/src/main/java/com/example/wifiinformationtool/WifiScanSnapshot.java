@@ -0,0 +1,20 @@
+package com.example.wifiinformationtool;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rezultatul imutabil al unei scanari Wi-Fi, publicat de WifiScanEngine catre abonati.
+ * Lista este deja sortata descrescator dupa nivelul semnalului si nu poate fi modificata.
+ */
+public final class WifiScanSnapshot {
+    public final long timestamp;            // Momentul in care au fost citite rezultatele (millis)
+    public final List<ScanObservation> results;  // Retelele gasite, cea mai puternica prima
+    public final boolean resultsUpdated;    // false daca sunt rezultatele vechi (scan esuat sau throttled)
+
+    WifiScanSnapshot(long timestamp, List<ScanObservation> results, boolean resultsUpdated) {
+        this.timestamp = timestamp;
+        this.results = Collections.unmodifiableList(results);
+        this.resultsUpdated = resultsUpdated;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.wifiinformationtool;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clasa WifiSecurity este rezultatul structurat al interpretarii stringului capabilities dintr-un
+ * rezultat de scanare (de exemplu "[WPA2-PSK-CCMP][RSN-PSK+SAE-CCMP][ESS][MFPC][WPS]").
+ *
+ * Stringul este parcurs o singura data, grup cu grup ([...]), fara substring-uri: primul camp al
+ * grupului este protocolul (WPA, WPA2/RSN, WEP, WPS, MFPC/MFPR, OWE_TRANSITION), urmatoarele sunt
+ * metodele de autentificare (PSK, SAE, EAP, OWE, EAP_SUITE_B_192, cu variantele FT/... si /SHA256)
+ * si cifrurile, ignorate. Eticheta afisata este calculata o singura data, la parsare.
+ *
+ * Rezultatele sunt memorate pe stringul capabilities (sunt putine valori distincte intr-un mediu),
+ * deci of() pentru un string deja vazut nu aloca nimic: doar hash-ul si compararea caracterelor.
+ * Instantele sunt imutabile si pot fi folosite de pe orice thread.
+ */
+public final class WifiSecurity {
+    // Protocoale
+    public static final int PROTOCOL_WEP = 1;
+    public static final int PROTOCOL_WPA = 1 << 1;
+    public static final int PROTOCOL_RSN = 1 << 2;   // WPA2 si WPA3 (elementul RSN)
+    // Metode de autentificare (key management)
+    public static final int AUTH_PSK = 1;
+    public static final int AUTH_SAE = 1 << 1;
+    public static final int AUTH_EAP = 1 << 2;
+    public static final int AUTH_EAP_SUITE_B = 1 << 3;
+    public static final int AUTH_OWE = 1 << 4;
+
+    // Numarul maxim de stringuri distincte memorate; peste limita se parseaza fara memorare
+    private static final int MAX_CACHED = 1024;
+    private static final ConcurrentHashMap<String, WifiSecurity> CACHE = new ConcurrentHashMap<>();
+    private static final WifiSecurity OPEN = parse("");
+
+    public final int protocols;         // Combinatie de PROTOCOL_*
+    public final int authentication;    // Combinatie de AUTH_*
+    public final boolean pmfCapable;    // Protected Management Frames suportat (MFPC)
+    public final boolean pmfRequired;   // Protected Management Frames obligatoriu (MFPR)
+    public final boolean wps;           // Wi-Fi Protected Setup activ
+    public final boolean oweTransition; // Retea deschisa pereche a unei retele OWE
+    private final String label;
+
+    private WifiSecurity(int protocols, int authentication, boolean pmfCapable, boolean pmfRequired,
+                         boolean wps, boolean oweTransition) {
+        this.protocols = protocols;
+        this.authentication = authentication;
+        this.pmfCapable = pmfCapable;
+        this.pmfRequired = pmfRequired;
+        this.wps = wps;
+        this.oweTransition = oweTransition;
+        this.label = buildLabel();
+    }
+
+    /**
+     * Interpretarea memorata a unui string capabilities.
+     *
+     * @param capabilities stringul din ScanResult.capabilities (poate fi null)
+     * @return rezultatul structurat; pentru un string deja vazut, aceeasi instanta
+     */
+    public static WifiSecurity of(String capabilities) {
+        if (capabilities == null || capabilities.isEmpty()) {
+            return OPEN;
+        }
+        WifiSecurity cached = CACHE.get(capabilities);
+        if (cached != null) {
+            return cached;
+        }
+        WifiSecurity parsed = parse(capabilities);
+        if (CACHE.size() < MAX_CACHED) {
+            WifiSecurity previous = CACHE.putIfAbsent(capabilities, parsed);
+            return previous != null ? previous : parsed;
+        }
+        return parsed;
+    }
+
+    /** Parseaza stringul intr-o singura trecere, fara memorare. */
+    static WifiSecurity parse(String capabilities) {
+        int protocols = 0;
+        int authentication = 0;
+        boolean pmfCapable = false;
+        boolean pmfRequired = false;
+        boolean wps = false;
+        boolean oweTransition = false;
+        int length = capabilities.length();
+        int i = 0;
+        while (i < length) {
+            // Un grup este [...]; textul din afara parantezelor este ignorat
+            if (capabilities.charAt(i) != '[') {
+                i++;
+                continue;
+            }
+            int groupStart = i + 1;
+            int groupEnd = capabilities.indexOf(']', groupStart);
+            if (groupEnd < 0) {
+                groupEnd = length;
+            }
+            int protocolEnd = fieldEnd(capabilities, groupStart, groupEnd);
+            int protocol = 0;
+            if (isToken(capabilities, groupStart, protocolEnd, "WPA")) {
+                protocol = PROTOCOL_WPA;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "WPA2")
+                    || isToken(capabilities, groupStart, protocolEnd, "RSN")) {
+                protocol = PROTOCOL_RSN;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "WPA3")) {
+                // Nu apare in formatul Android, dar unele ROM-uri il scriu; implica SAE daca lipseste metoda
+                protocol = PROTOCOL_RSN;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "WEP")) {
+                protocols |= PROTOCOL_WEP;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "WPS")) {
+                wps = true;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "MFPC")) {
+                pmfCapable = true;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "MFPR")) {
+                pmfRequired = true;
+            } else if (isToken(capabilities, groupStart, protocolEnd, "OWE_TRANSITION")) {
+                oweTransition = true;
+            }
+            if (protocol != 0) {
+                protocols |= protocol;
+                int groupAuth = 0;
+                // Campurile de dupa protocol: metode separate prin '+', apoi cifruri; ambele separate prin '-'
+                int field = protocolEnd + 1;
+                while (field < groupEnd) {
+                    int end = fieldEnd(capabilities, field, groupEnd);
+                    groupAuth |= authenticationOf(capabilities, field, end);
+                    field = end + 1;
+                }
+                if (groupAuth == 0 && isToken(capabilities, groupStart, protocolEnd, "WPA3")) {
+                    groupAuth = AUTH_SAE;
+                }
+                authentication |= groupAuth;
+            }
+            i = groupEnd + 1;
+        }
+        return new WifiSecurity(protocols, authentication, pmfCapable, pmfRequired, wps, oweTransition);
+    }
+
+    /** Sfarsitul campului care incepe la start: primul '-' sau '+' ori sfarsitul grupului. */
+    private static int fieldEnd(String s, int start, int groupEnd) {
+        for (int i = start; i < groupEnd; i++) {
+            char c = s.charAt(i);
+            if (c == '-' || c == '+') {
+                return i;
+            }
+        }
+        return groupEnd;
+    }
+
+    /** Metoda de autentificare a unui camp (0 pentru cifruri si campuri necunoscute). */
+    private static int authenticationOf(String s, int start, int end) {
+        // Prefixul FT/ (fast transition) nu schimba metoda
+        if (end - start > 3 && s.startsWith("FT/", start)) {
+            start += 3;
+        }
+        if (startsWithToken(s, start, end, "PSK")) {
+            return AUTH_PSK;
+        } else if (startsWithToken(s, start, end, "SAE")) {
+            return AUTH_SAE;   // SAE si SAE_EXT_KEY
+        } else if (startsWithToken(s, start, end, "EAP_SUITE_B")) {
+            return AUTH_EAP_SUITE_B;
+        } else if (startsWithToken(s, start, end, "EAP") || startsWithToken(s, start, end, "IEEE8021X")) {
+            return AUTH_EAP;   // EAP, EAP/SHA1, EAP/SHA256
+        } else if (startsWithToken(s, start, end, "OWE")) {
+            return AUTH_OWE;
+        } else if (isToken(s, start, end, "Enterprise")) {
+            return AUTH_EAP;   // formatul vechi "WPA2-Enterprise"
+        }
+        return 0;
+    }
+
+    private static boolean isToken(String s, int start, int end, String token) {
+        return end - start == token.length() && s.startsWith(token, start);
+    }
+
+    private static boolean startsWithToken(String s, int start, int end, String token) {
+        return end - start >= token.length() && s.startsWith(token, start);
+    }
+
+    /** Generatia WPA: 3 pentru SAE/Suite B, 2 pentru RSN, 1 pentru WPA, 0 altfel. */
+    public int getWpaGeneration() {
+        if ((authentication & (AUTH_SAE | AUTH_EAP_SUITE_B)) != 0) {
+            return 3;
+        } else if ((protocols & PROTOCOL_RSN) != 0 && (authentication & (AUTH_PSK | AUTH_EAP)) != 0) {
+            return 2;
+        } else if ((protocols & PROTOCOL_WPA) != 0) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /** Mod de tranzitie: WPA2/WPA3 (PSK + SAE) sau retea deschisa pereche OWE. */
+    public boolean isTransitionMode() {
+        return ((authentication & AUTH_PSK) != 0 && (authentication & AUTH_SAE) != 0) || oweTransition;
+    }
+
+    /** Indica daca reteaua este deschisa (fara criptare si fara OWE). */
+    public boolean isOpen() {
+        return protocols == 0 && authentication == 0;
+    }
+
+    /** Eticheta prietenoasa, de exemplu "WPA2/WPA3 Personal" sau "WPA2 Enterprise". */
+    public String getLabel() {
+        return label;
+    }
+
+    /** Eticheta urmata de optiuni (PMF, WPS), pentru ecranul de detalii. */
+    @Override
+    public String toString() {
+        if (pmfRequired) {
+            return wps ? label + ", PMF required, WPS" : label + ", PMF required";
+        } else if (pmfCapable) {
+            return wps ? label + ", PMF, WPS" : label + ", PMF";
+        }
+        return wps ? label + ", WPS" : label;
+    }
+
+    private String buildLabel() {
+        boolean wpa = (protocols & PROTOCOL_WPA) != 0;
+        boolean rsn = (protocols & PROTOCOL_RSN) != 0;
+        if ((authentication & AUTH_EAP_SUITE_B) != 0) {
+            return "WPA3 Enterprise 192-bit";
+        } else if ((authentication & AUTH_SAE) != 0) {
+            return (authentication & AUTH_PSK) != 0 ? "WPA2/WPA3 Personal" : "WPA3 Personal";
+        } else if ((authentication & AUTH_EAP) != 0) {
+            if (rsn && pmfRequired) {
+                return "WPA3 Enterprise";
+            }
+            return wpa && rsn ? "WPA/WPA2 Enterprise" : rsn ? "WPA2 Enterprise" : "WPA Enterprise";
+        } else if ((authentication & AUTH_PSK) != 0) {
+            return wpa && rsn ? "WPA/WPA2 Personal" : rsn ? "WPA2 Personal" : "WPA Personal";
+        } else if ((authentication & AUTH_OWE) != 0) {
+            return "Enhanced Open (OWE)";
+        } else if ((protocols & PROTOCOL_WEP) != 0) {
+            return "WEP";
+        } else if (wpa || rsn) {
+            return "WPA (unknown method)";
+        }
+        return "Open (no security)";
+    }
+}
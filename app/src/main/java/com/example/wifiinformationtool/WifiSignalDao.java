@@ -1,13 +1,18 @@
 package com.example.wifiinformationtool;
 
+import android.database.Cursor;
+
 import androidx.room.Dao;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Interfata DAO pentru operatii pe entitatea WifiSignalEntity in baza de date Room.
+ * Interfata DAO pentru operatii pe entitatile WifiSignalEntity si AccessPointEntity in baza de date Room.
  */
 @Dao
 public interface WifiSignalDao {
@@ -20,11 +25,230 @@ public interface WifiSignalDao {
     void insert(WifiSignalEntity signal);
 
     /**
-     * Returneaza istoricul ultimelor 50 inregistrari de semnal pentru SSID‑ul specificat,
-     * sortate descrescator dupa timestamp.
-     * @param ssid SSID‑ul retelei pentru care se interogheaza istoricul semnalului
+     * Insereaza toate inregistrarile unui snapshot de scanare intr-o singura tranzactie,
+     * astfel incat un scan intreg costa un singur commit (si un singur fsync), nu unul pe rand.
+     * @param signals lista de semnale care apartin aceluiasi scan
+     * @return id-urile randurilor inserate, in aceeasi ordine
+     */
+    @Insert
+    long[] insertAll(List<WifiSignalEntity> signals);
+
+    /**
+     * Insereaza un punct de acces nou; daca BSSID-ul exista deja, insertul este ignorat.
+     * @param accessPoint atributele statice ale punctului de acces
+     * @return id-ul randului nou sau -1 daca BSSID-ul exista deja
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertAccessPoint(AccessPointEntity accessPoint);
+
+    /**
+     * Returneaza id-ul punctului de acces cu BSSID-ul dat, sau null daca nu exista.
+     */
+    @Query("SELECT id FROM access_point WHERE bssid = :bssid")
+    Integer getAccessPointId(String bssid);
+
+    /**
+     * Actualizeaza atributele statice ale unui punct de acces, doar daca s-au schimbat
+     * (de ex. SSID redenumit sau securitate modificata), pentru a evita scrieri inutile.
+     */
+    @Query("UPDATE access_point SET ssid = :ssid, frequency = :frequency, band = :band, "
+            + "capabilities = :capabilities WHERE id = :id AND (ssid IS NOT :ssid "
+            + "OR frequency != :frequency OR band IS NOT :band OR capabilities IS NOT :capabilities)")
+    void updateAccessPointIfChanged(int id, String ssid, int frequency, String band, String capabilities);
+
+    /**
+     * Inregistreaza un snapshot de scanare intr-o singura tranzactie: face upsert pentru fiecare
+     * punct de acces in access_point si adauga cate un esantion (apId, semnal, timestamp).
+     * @param accessPoints punctele de acces vazute in scan
+     * @param signalStrengths nivelul semnalului (dBm) pentru fiecare punct de acces, in aceeasi ordine
+     * @param timestamp momentul scanarii (millis)
+     * @return esantioanele inserate, cu id-urile atribuite, in ordinea punctelor de acces
+     */
+    @Transaction
+    default List<WifiSignalEntity> recordSnapshot(List<AccessPointEntity> accessPoints, int[] signalStrengths, long timestamp) {
+        List<WifiSignalEntity> samples = new ArrayList<>(accessPoints.size());
+        for (int i = 0; i < accessPoints.size(); i++) {
+            AccessPointEntity ap = accessPoints.get(i);
+            Integer apId = getAccessPointId(ap.bssid);
+            if (apId == null) {
+                apId = (int) insertAccessPoint(ap);
+            } else {
+                updateAccessPointIfChanged(apId, ap.ssid, ap.frequency, ap.band, ap.capabilities);
+            }
+            samples.add(new WifiSignalEntity(apId, signalStrengths[i], timestamp));
+        }
+        long[] ids = insertAll(samples);
+        for (int i = 0; i < ids.length; i++) {
+            samples.get(i).id = (int) ids[i];
+        }
+        return samples;
+    }
+
+    /**
+     * Returneaza istoricul ultimelor 50 inregistrari de semnal pentru punctul de acces cu BSSID‑ul
+     * specificat, sortate descrescator dupa timestamp. Interogarea se rezolva integral din indexul
+     * (apId, timestamp, id, signalStrength), citind doar randurile acelui AP.
+     * @param bssid BSSID‑ul (MAC) punctului de acces
+     * @return lista de obiecte WifiSignalEntity
+     */
+    @Query("SELECT * FROM wifi_signal_table "
+            + "WHERE apId = (SELECT id FROM access_point WHERE bssid = :bssid) "
+            + "ORDER BY timestamp DESC LIMIT 50")
+    List<WifiSignalEntity> getSignalHistoryForBssid(String bssid);
+
+    /**
+     * Returneaza o pagina din istoricul unui punct de acces in intervalul [from, beforeTimestamp],
+     * strict inaintea cursorului (beforeTimestamp, beforeId), sortata descrescator dupa (timestamp, id).
+     * Paginarea este de tip keyset: fiecare pagina porneste direct din pozitia cursorului in index,
+     * deci costul unei pagini nu depinde de cat de adanc s-a ajuns in istoric (fara OFFSET).
+     * Prima pagina se cere cu beforeTimestamp = sfarsitul intervalului si beforeId = Integer.MAX_VALUE.
+     * @param apId id-ul punctului de acces
+     * @param from limita inferioara (inclusiva) a timestamp-ului
+     * @param beforeTimestamp timestamp-ul cursorului (ultimul rand din pagina anterioara)
+     * @param beforeId id-ul cursorului (ultimul rand din pagina anterioara)
+     * @param limit dimensiunea maxima a paginii
+     * @return lista de obiecte WifiSignalEntity
+     */
+    @Query("SELECT * FROM wifi_signal_table WHERE apId = :apId "
+            + "AND timestamp >= :from AND timestamp <= :beforeTimestamp "
+            + "AND (timestamp < :beforeTimestamp OR id < :beforeId) "
+            + "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<WifiSignalEntity> getSignalPage(int apId, long from, long beforeTimestamp, int beforeId, int limit);
+
+    /**
+     * Returneaza randurile unui punct de acces scrise strict dupa cursorul (afterTimestamp, afterId),
+     * sortate crescator dupa (timestamp, id). Folosita pentru a aduce in graficul deschis doar
+     * esantioanele noi; interogarea porneste din indexul (apId, timestamp, id, signalStrength).
+     * @param apId id-ul punctului de acces
+     * @param afterTimestamp timestamp-ul celui mai nou rand deja citit
+     * @param afterId id-ul celui mai nou rand deja citit
+     * @param limit numarul maxim de randuri
      * @return lista de obiecte WifiSignalEntity
      */
-    @Query("SELECT * FROM wifi_signal_table WHERE ssid = :ssid ORDER BY timestamp DESC LIMIT 50")
-    List<WifiSignalEntity> getSignalHistory(String ssid);
+    @Query("SELECT * FROM wifi_signal_table WHERE apId = :apId "
+            + "AND (timestamp > :afterTimestamp OR (timestamp = :afterTimestamp AND id > :afterId)) "
+            + "ORDER BY timestamp, id LIMIT :limit")
+    List<WifiSignalEntity> getSignalsAfter(int apId, long afterTimestamp, int afterId, int limit);
+
+    /**
+     * Returneaza istoricul agregat al unui SSID incepand cu :since, cate un punct pe scan
+     * (media si maximul semnalului peste toate AP-urile SSID-ului), calculat direct in SQL.
+     * Sortat descrescator dupa timestamp, cel mult 50 de puncte.
+     * @param ssid SSID‑ul retelei
+     * @param since limita inferioara a timestamp-ului (millis)
+     * @return lista de puncte SsidSignalPoint
+     */
+    @Query("SELECT w.timestamp AS timestamp, AVG(w.signalStrength) AS avgRssi, "
+            + "MAX(w.signalStrength) AS maxRssi, COUNT(*) AS apCount "
+            + "FROM access_point a JOIN wifi_signal_table w ON w.apId = a.id "
+            + "WHERE a.ssid = :ssid AND w.timestamp >= :since "
+            + "GROUP BY w.timestamp ORDER BY w.timestamp DESC LIMIT 50")
+    List<SsidSignalPoint> getSsidAggregateHistory(String ssid, long since);
+
+    /**
+     * Returneaza statisticile semnalului unui SSID (peste toate AP-urile lui) pe bucket-uri de
+     * :bucketMs in intervalul [from, to), calculate integral in SQL. Rezultatul are cel mult
+     * (to - from) / bucketMs randuri, oricat de multe esantioane ar contine intervalul.
+     *
+     * Esantioanele brute se pastreaza doar in fereastra de retentie (o zi implicit); partea mai
+     * veche a intervalului vine din agregarile pe minut (bucketMs >= 1 minut) si pe ora
+     * (bucketMs >= 1 ora). Tabelele nu se suprapun: SignalRetentionManager muta un minut sau o ora
+     * in agregare si sterge sursa in aceeasi tranzactie. Cu bucket-uri mai mici decat o agregare,
+     * datele disponibile doar la acea rezolutie nu apar in rezultat. bucketMs ar trebui sa fie un
+     * multiplu al rezolutiei agregarilor folosite (un bucket agregat este atribuit dupa inceputul lui).
+     * @param ssid SSID‑ul retelei
+     * @param from inceputul intervalului (millis, inclusiv)
+     * @param to sfarsitul intervalului (millis, exclusiv)
+     * @param bucketMs dimensiunea bucket-ului (millis), de ex. SignalBucketStats.BUCKET_1_MINUTE
+     * @return un rand pe bucket, sortat crescator dupa bucketStart
+     */
+    @Query("SELECT (t / :bucketMs) * :bucketMs AS bucketStart, SUM(cnt) AS sampleCount, "
+            + "MIN(minRssi) AS minRssi, MAX(maxRssi) AS maxRssi, "
+            + "SUM(sumRssi) / SUM(cnt) AS avgRssi, SUM(sumSquareRssi) / SUM(cnt) AS avgSquareRssi "
+            + "FROM (SELECT (w.timestamp / :bucketMs) * :bucketMs AS t, COUNT(*) AS cnt, "
+            + "MIN(w.signalStrength) AS minRssi, MAX(w.signalStrength) AS maxRssi, "
+            + "SUM(w.signalStrength) * 1.0 AS sumRssi, "
+            + "SUM(w.signalStrength * w.signalStrength) * 1.0 AS sumSquareRssi "
+            + "FROM access_point a JOIN wifi_signal_table w ON w.apId = a.id "
+            + "WHERE a.ssid = :ssid AND w.timestamp >= :from AND w.timestamp < :to GROUP BY 1 "
+            + "UNION ALL "
+            + "SELECT m.bucketStart, m.sampleCount, m.minRssi, m.maxRssi, "
+            + "m.avgRssi * m.sampleCount, m.sumSquareRssi "
+            + "FROM access_point a JOIN wifi_signal_rollup_minute m ON m.apId = a.id "
+            + "WHERE :bucketMs >= 60000 AND a.ssid = :ssid "
+            + "AND m.bucketStart >= :from AND m.bucketStart < :to "
+            + "UNION ALL "
+            + "SELECT h.bucketStart, h.sampleCount, h.minRssi, h.maxRssi, "
+            + "h.avgRssi * h.sampleCount, h.sumSquareRssi "
+            + "FROM access_point a JOIN wifi_signal_rollup_hour h ON h.apId = a.id "
+            + "WHERE :bucketMs >= 3600000 AND a.ssid = :ssid "
+            + "AND h.bucketStart >= :from AND h.bucketStart < :to) "
+            + "GROUP BY 1 ORDER BY 1")
+    List<SignalBucketStats> getSsidSignalBuckets(String ssid, long from, long to, long bucketMs);
+
+    /**
+     * Returneaza statisticile semnalului unui punct de acces pe bucket-uri de :bucketMs
+     * in intervalul [from, to), calculate in SQL. Partea recenta vine din indexul
+     * (apId, timestamp, ...) al esantioanelor brute, restul din agregarile pe minut si pe ora,
+     * dupa aceleasi reguli ca getSsidSignalBuckets.
+     * @param bssid BSSID‑ul (MAC) punctului de acces
+     * @param from inceputul intervalului (millis, inclusiv)
+     * @param to sfarsitul intervalului (millis, exclusiv)
+     * @param bucketMs dimensiunea bucket-ului (millis)
+     * @return un rand pe bucket, sortat crescator dupa bucketStart
+     */
+    @Query("SELECT (t / :bucketMs) * :bucketMs AS bucketStart, SUM(cnt) AS sampleCount, "
+            + "MIN(minRssi) AS minRssi, MAX(maxRssi) AS maxRssi, "
+            + "SUM(sumRssi) / SUM(cnt) AS avgRssi, SUM(sumSquareRssi) / SUM(cnt) AS avgSquareRssi "
+            + "FROM (SELECT (timestamp / :bucketMs) * :bucketMs AS t, COUNT(*) AS cnt, "
+            + "MIN(signalStrength) AS minRssi, MAX(signalStrength) AS maxRssi, "
+            + "SUM(signalStrength) * 1.0 AS sumRssi, "
+            + "SUM(signalStrength * signalStrength) * 1.0 AS sumSquareRssi "
+            + "FROM wifi_signal_table "
+            + "WHERE apId = (SELECT id FROM access_point WHERE bssid = :bssid) "
+            + "AND timestamp >= :from AND timestamp < :to GROUP BY 1 "
+            + "UNION ALL "
+            + "SELECT bucketStart, sampleCount, minRssi, maxRssi, avgRssi * sampleCount, sumSquareRssi "
+            + "FROM wifi_signal_rollup_minute "
+            + "WHERE :bucketMs >= 60000 AND apId = (SELECT id FROM access_point WHERE bssid = :bssid) "
+            + "AND bucketStart >= :from AND bucketStart < :to "
+            + "UNION ALL "
+            + "SELECT bucketStart, sampleCount, minRssi, maxRssi, avgRssi * sampleCount, sumSquareRssi "
+            + "FROM wifi_signal_rollup_hour "
+            + "WHERE :bucketMs >= 3600000 AND apId = (SELECT id FROM access_point WHERE bssid = :bssid) "
+            + "AND bucketStart >= :from AND bucketStart < :to) "
+            + "GROUP BY 1 ORDER BY 1")
+    List<SignalBucketStats> getBssidSignalBuckets(String bssid, long from, long to, long bucketMs);
+
+    /**
+     * Returneaza timestamp-ul aflat la pozitia :offset (in ordine crescatoare) printre
+     * inregistrarile mai vechi de :before, sau null daca sunt mai putine.
+     * Folosit de SignalRetentionManager pentru a limita munca facuta intr-o rulare.
+     */
+    @Query("SELECT timestamp FROM wifi_signal_table WHERE timestamp < :before "
+            + "ORDER BY timestamp LIMIT 1 OFFSET :offset")
+    Long getTimestampAtOffset(long before, int offset);
+
+    /** Returneaza cel mai vechi timestamp din tabel, sau null daca tabelul e gol. */
+    @Query("SELECT MIN(timestamp) FROM wifi_signal_table")
+    Long getOldestTimestamp();
+
+    /**
+     * Sterge esantioanele brute mai vechi de :before.
+     * @return numarul de randuri sterse
+     */
+    @Query("DELETE FROM wifi_signal_table WHERE timestamp < :before")
+    int deleteOlderThan(long before);
+
+    /**
+     * Returneaza un cursor peste toate esantioanele, in ordine crescatoare dupa (timestamp, id),
+     * impreuna cu BSSID-ul si SSID-ul punctului de acces. Folosit de SignalHistoryExporter pentru
+     * a parcurge tabelul rand cu rand, fara a incarca rezultatul in memorie.
+     * Coloane: apId, signalStrength, timestamp, bssid, ssid. Cursorul trebuie inchis de apelant.
+     */
+    @Query("SELECT w.apId AS apId, w.signalStrength AS signalStrength, w.timestamp AS timestamp, "
+            + "a.bssid AS bssid, a.ssid AS ssid "
+            + "FROM wifi_signal_table w JOIN access_point a ON a.id = w.apId "
+            + "ORDER BY w.timestamp, w.id")
+    Cursor getAllSamplesCursor();
 }
@@ -2,19 +2,178 @@ package com.example.wifiinformationtool;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Baza de date Room pentru stocarea istoricului semnalului Wi‑Fi.
- * Entitatile gestionate: WifiSignalEntity.
+ * Entitatile gestionate: AccessPointEntity, WifiSignalEntity, SignalRollupMinuteEntity, SignalRollupHourEntity.
  */
-@Database(entities = {WifiSignalEntity.class}, version = 1, exportSchema = false)
+@Database(entities = {
+        AccessPointEntity.class,
+        WifiSignalEntity.class,
+        SignalRollupMinuteEntity.class,
+        SignalRollupHourEntity.class
+}, version = 6, exportSchema = true)
 public abstract class WifiSignalDatabase extends RoomDatabase {
     // Instanta singleton a bazei de date
     private static volatile WifiSignalDatabase INSTANCE;
 
+    /**
+     * Executor unic (un singur thread, de lunga durata) pentru scrierile de intretinere
+     * (retentie, vacuum). Snapshot-urile de scanare trec prin SignalWriteQueue.
+     */
+    public static final ExecutorService databaseWriteExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Migrarea 1 -> 2: adauga indexul compus (ssid, timestamp, signalStrength) pe wifi_signal_table.
+     * Datele existente raman neatinse.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_wifi_signal_table_ssid_timestamp_signalStrength` "
+                    + "ON `wifi_signal_table` (`ssid`, `timestamp`, `signalStrength`)");
+        }
+    };
+
+    /**
+     * Migrarea 2 -> 3: adauga indexul pe timestamp si tabelele de agregare pe minut si pe ora
+     * folosite de politica de retentie.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_wifi_signal_table_timestamp` "
+                    + "ON `wifi_signal_table` (`timestamp`)");
+            for (String table : new String[] {"wifi_signal_rollup_minute", "wifi_signal_rollup_hour"}) {
+                database.execSQL("CREATE TABLE IF NOT EXISTS `" + table + "` (`ssid` TEXT NOT NULL, "
+                        + "`bucketStart` INTEGER NOT NULL, `minRssi` INTEGER NOT NULL, "
+                        + "`maxRssi` INTEGER NOT NULL, `avgRssi` REAL NOT NULL, "
+                        + "`sampleCount` INTEGER NOT NULL, PRIMARY KEY(`ssid`, `bucketStart`))");
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_bucketStart` "
+                        + "ON `" + table + "` (`bucketStart`)");
+            }
+        }
+    };
+
+    /**
+     * Migrarea 3 -> 4: normalizeaza schema. Atributele statice ale punctelor de acces se muta in
+     * tabelul access_point, iar wifi_signal_table pastreaza doar (apId, signalStrength, timestamp).
+     * Datele vechi nu au BSSID, asa ca pentru fiecare SSID existent se creeaza un AP "legacy"
+     * (bssid NULL) caruia i se atribuie esantioanele istorice.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `access_point` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`bssid` TEXT, `ssid` TEXT, `frequency` INTEGER NOT NULL, `band` TEXT, `capabilities` TEXT)");
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_access_point_bssid` ON `access_point` (`bssid`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_access_point_ssid` ON `access_point` (`ssid`)");
+            database.execSQL("INSERT INTO access_point (bssid, ssid, frequency) "
+                    + "SELECT DISTINCT NULL, ssid, 0 FROM wifi_signal_table");
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS `wifi_signal_table_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`apId` INTEGER NOT NULL, `signalStrength` INTEGER NOT NULL, `timestamp` INTEGER NOT NULL)");
+            database.execSQL("INSERT INTO wifi_signal_table_new (id, apId, signalStrength, timestamp) "
+                    + "SELECT w.id, a.id, w.signalStrength, w.timestamp FROM wifi_signal_table w "
+                    + "JOIN access_point a ON a.bssid IS NULL AND a.ssid IS w.ssid");
+            database.execSQL("DROP TABLE wifi_signal_table");
+            database.execSQL("ALTER TABLE wifi_signal_table_new RENAME TO wifi_signal_table");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_wifi_signal_table_apId_timestamp_signalStrength` "
+                    + "ON `wifi_signal_table` (`apId`, `timestamp`, `signalStrength`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_wifi_signal_table_timestamp` "
+                    + "ON `wifi_signal_table` (`timestamp`)");
+        }
+    };
+
+    /**
+     * Migrarea 4 -> 5: inlocuieste indexul (apId, timestamp, signalStrength) cu
+     * (apId, timestamp, id, signalStrength), care pastreaza ordinea (timestamp, id) ceruta de
+     * paginarea keyset si ramane acoperitor pentru interogarile de istoric.
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS `index_wifi_signal_table_apId_timestamp_signalStrength`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_wifi_signal_table_apId_timestamp_id_signalStrength` "
+                    + "ON `wifi_signal_table` (`apId`, `timestamp`, `id`, `signalStrength`)");
+        }
+    };
+
+    /**
+     * Migrarea 5 -> 6: agregarile pe minut si pe ora trec de la cheia (ssid, bucketStart) la
+     * (apId, bucketStart), ca istoricul unui BSSID sa poata fi servit si dupa ce esantioanele brute
+     * au expirat, si primesc suma patratelor semnalului pentru deviatia standard. Agregarile
+     * existente nu au BSSID: sunt atribuite AP-ului "legacy" (bssid NULL) al SSID-ului lor, creat
+     * daca lipseste, iar suma patratelor lor este n * medie^2 (deviatie standard 0), pentru ca
+     * dispersia nu a fost pastrata.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Agregarile pentru SSID NULL au fost scrise cu ssid = ''
+            database.execSQL("INSERT INTO access_point (bssid, ssid, frequency) "
+                    + "SELECT NULL, r.ssid, 0 FROM (SELECT ssid FROM wifi_signal_rollup_minute "
+                    + "UNION SELECT ssid FROM wifi_signal_rollup_hour) r "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM access_point a "
+                    + "WHERE a.bssid IS NULL AND COALESCE(a.ssid, '') = r.ssid)");
+            for (String table : new String[] {"wifi_signal_rollup_minute", "wifi_signal_rollup_hour"}) {
+                database.execSQL("CREATE TABLE IF NOT EXISTS `" + table + "_new` (`apId` INTEGER NOT NULL, "
+                        + "`bucketStart` INTEGER NOT NULL, `minRssi` INTEGER NOT NULL, "
+                        + "`maxRssi` INTEGER NOT NULL, `avgRssi` REAL NOT NULL, `sumSquareRssi` REAL NOT NULL, "
+                        + "`sampleCount` INTEGER NOT NULL, PRIMARY KEY(`apId`, `bucketStart`))");
+                database.execSQL("INSERT INTO " + table + "_new "
+                        + "(apId, bucketStart, minRssi, maxRssi, avgRssi, sumSquareRssi, sampleCount) "
+                        + "SELECT (SELECT MIN(a.id) FROM access_point a "
+                        + "WHERE a.bssid IS NULL AND COALESCE(a.ssid, '') = r.ssid), "
+                        + "r.bucketStart, r.minRssi, r.maxRssi, r.avgRssi, "
+                        + "r.avgRssi * r.avgRssi * r.sampleCount, r.sampleCount FROM " + table + " r");
+                database.execSQL("DROP TABLE " + table);
+                database.execSQL("ALTER TABLE " + table + "_new RENAME TO " + table);
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_bucketStart` "
+                        + "ON `" + table + "` (`bucketStart`)");
+            }
+        }
+    };
+
+    /**
+     * Trece bazele de date noi in modul auto_vacuum INCREMENTAL, de care are nevoie
+     * SignalRetentionManager. Modul se schimba doar printr-un VACUUM, care nu poate rula in
+     * tranzactia din onCreate; il facem in onOpen, cand tabelele sunt inca goale si VACUUM-ul
+     * rescrie doar cateva pagini. Bazele de date create fara acest callback raman in modul lor:
+     * un VACUUM complet pe ele ar rescrie tot fisierul.
+     */
+    static final class IncrementalVacuumCallback extends RoomDatabase.Callback {
+        private boolean created;
+
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            created = true;
+        }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            if (created) {
+                created = false;
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+            }
+        }
+    }
+
+    // Toate migrarile, in ordine; folosite atat la construirea bazei de date cat si in teste
+    static final Migration[] ALL_MIGRATIONS = {
+            MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6
+    };
+
     /**
      * Returneaza instanta singleton a bazei de date.
      * Daca nu exista, o construieste folosind Room.databaseBuilder.
@@ -32,6 +191,10 @@ public abstract class WifiSignalDatabase extends RoomDatabase {
                                     WifiSignalDatabase.class,
                                     "wifi_signal_db"
                             )
+                            .addMigrations(ALL_MIGRATIONS)
+                            .addCallback(new IncrementalVacuumCallback())
+                            // WAL explicit: cititorii (graficele) nu blocheaza scrierile si invers
+                            .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
                             .build();
                 }
             }
@@ -45,4 +208,11 @@ public abstract class WifiSignalDatabase extends RoomDatabase {
      * @return WifiSignalDao pentru insert si interogari istoricului
      */
     public abstract WifiSignalDao wifiSignalDao();
+
+    /**
+     * Metoda abstracta care furnizeaza DAO-ul pentru tabelele de agregare pe minut si pe ora.
+     *
+     * @return SignalRollupDao pentru agregari si stergeri de retentie
+     */
+    public abstract SignalRollupDao signalRollupDao();
 }
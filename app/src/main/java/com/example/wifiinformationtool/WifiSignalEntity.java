@@ -1,30 +1,41 @@
 package com.example.wifiinformationtool;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * Entitate Room pentru stocarea nivelului de semnal Wi‑Fi cu timestamp.
+ * Fiecare esantion refera punctul de acces din tabelul access_point prin apId, astfel incat
+ * un rand contine doar trei valori numerice in loc de SSID-ul repetat.
+ * Indexul compus (apId, timestamp, id, signalStrength) acopera complet interogarile de istoric per AP:
+ * cautarea, ordonarea dupa (timestamp, id) si paginarea keyset se fac direct din index,
+ * fara acces la tabel si fara sortare.
+ * Indexul pe timestamp este folosit de politica de retentie pentru a gasi rapid esantioanele vechi.
  */
-@Entity(tableName = "wifi_signal_table")
+@Entity(tableName = "wifi_signal_table",
+        indices = {
+                @Index(value = {"apId", "timestamp", "id", "signalStrength"}),
+                @Index(value = {"timestamp"})
+        })
 public class WifiSignalEntity {
 
     @PrimaryKey(autoGenerate = true)
     public int id;               // Cheia primara generata automat
 
-    public String ssid;          // SSID-ul retelei Wi‑Fi
+    public int apId;             // Id-ul punctului de acces (access_point.id)
     public int signalStrength;   // Nivelul semnalului in dBm
     public long timestamp;       // Timpul inregistrarii semnalului (millis)
 
     /**
      * Constructor pentru entitatea WifiSignalEntity.
      *
-     * @param ssid            SSID-ul retelei
+     * @param apId            Id-ul punctului de acces
      * @param signalStrength  Nivelul semnalului (dBm)
      * @param timestamp       Timpul inregistrarii (millis)
      */
-    public WifiSignalEntity(String ssid, int signalStrength, long timestamp) {
-        this.ssid = ssid;
+    public WifiSignalEntity(int apId, int signalStrength, long timestamp) {
+        this.apId = apId;
         this.signalStrength = signalStrength;
         this.timestamp = timestamp;
     }
@@ -0,0 +1,138 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Teste locale (JVM) pentru ArpTableReader si ArpTableWatcher, plus un benchmark al parserului.
+ */
+public class ArpTableReaderTest {
+    private static final String HEADER =
+            "IP address       HW type     Flags       HW address            Mask     Device\n";
+
+    @Test
+    public void parsesProcNetArpAndSkipsMalformedLines() {
+        String table = HEADER
+                + "192.168.1.1      0x1         0x2         a4:2b:b0:c1:d2:e3     *        wlan0\n"
+                + "192.168.1.23     0x1         0x0         00:00:00:00:00:00     *        wlan0\n"
+                + "10.0.0.7         0x1         0x6         DE:AD:BE:EF:00:01     *        rmnet_data0\n"
+                + "192.168.1.300    0x1         0x2         a4:2b:b0:c1:d2:e3     *        wlan0\n"
+                + "192.168.1.4      0x1         0x2         a4:2b:b0:c1:d2        *        wlan0\n"
+                + "garbage\n"
+                + "\n"
+                + "192.168.1.9      0x1         0x2         01:02:03:04:05:06     *        wlan0";
+        byte[] data = table.getBytes(StandardCharsets.US_ASCII);
+        List<ArpEntry> entries = new ArrayList<>();
+        assertEquals(4, new ArpTableReader().parse(data, data.length, entries));
+
+        ArpEntry gateway = entries.get(0);
+        assertEquals("192.168.1.1", Subnet.formatAddress(gateway.address));
+        assertEquals("a4:2b:b0:c1:d2:e3", gateway.getMacString());
+        assertTrue(gateway.isComplete());
+        assertFalse(gateway.isPermanent());
+        assertEquals("wlan0", gateway.device);
+
+        assertFalse(entries.get(1).isComplete()); // vecin care nu a raspuns la ARP
+        ArpEntry staticEntry = entries.get(2);
+        assertEquals(0xDEADBEEF0001L, staticEntry.mac);
+        assertTrue(staticEntry.isPermanent());
+        assertEquals("rmnet_data0", staticEntry.device);
+        // Ultimul rand, fara '\n' la sfarsit; numele interfetei este refolosit
+        assertEquals("192.168.1.9", Subnet.formatAddress(entries.get(3).address));
+        assertTrue(gateway.device == entries.get(3).device);
+    }
+
+    @Test
+    public void watcherEmitsOnlyDifferences() throws IOException {
+        File file = File.createTempFile("arp", ".txt");
+        file.deleteOnExit();
+        List<List<ArpEntry>> events = new ArrayList<>();
+        ArpTableWatcher watcher = new ArpTableWatcher(new ArpTableReader(file), 1000, (added, changed, removed) -> {
+            events.add(added);
+            events.add(changed);
+            events.add(removed);
+        });
+
+        write(file, HEADER
+                + "192.168.1.1      0x1         0x2         a4:2b:b0:c1:d2:e3     *        wlan0\n"
+                + "192.168.1.23     0x1         0x0         00:00:00:00:00:00     *        wlan0\n");
+        assertTrue(watcher.poll());
+        assertEquals(2, events.get(0).size());
+        // Tabela neschimbata: nimic de anuntat
+        assertFalse(watcher.poll());
+        // Ordinea randurilor schimbata, continut identic: nimic de anuntat
+        write(file, HEADER
+                + "192.168.1.23     0x1         0x0         00:00:00:00:00:00     *        wlan0\n"
+                + "192.168.1.1      0x1         0x2         a4:2b:b0:c1:d2:e3     *        wlan0\n");
+        assertFalse(watcher.poll());
+        // .23 a raspuns (changed), .1 a disparut (removed), .40 este nou (added)
+        events.clear();
+        write(file, HEADER
+                + "192.168.1.23     0x1         0x2         11:22:33:44:55:66     *        wlan0\n"
+                + "192.168.1.40     0x1         0x2         66:55:44:33:22:11     *        wlan0\n");
+        assertTrue(watcher.poll());
+        assertEquals("192.168.1.40", Subnet.formatAddress(events.get(0).get(0).address));
+        assertEquals(1, events.get(0).size());
+        assertEquals("11:22:33:44:55:66", events.get(1).get(0).getMacString());
+        assertEquals(1, events.get(1).size());
+        assertEquals("192.168.1.1", Subnet.formatAddress(events.get(2).get(0).address));
+        assertEquals(1, events.get(2).size());
+    }
+
+    @Test
+    public void parserBenchmarkOnLargeTables() {
+        int rows = 4096;
+        StringBuilder table = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            table.append(String.format(Locale.US, "10.%d.%d.%-3d      0x1         0x%x         %s     *        %s\n",
+                    (i >> 16) & 0xFF, (i >> 8) & 0xFF, i & 0xFF, i % 7 == 0 ? 0 : 2,
+                    ArpEntry.formatMac(0x02_0000_000000L + i * 0x9E3779B1L & 0xFFFFFFFFFFFFL),
+                    i % 3 == 0 ? "eth0" : "wlan0"));
+        }
+        byte[] data = table.toString().getBytes(StandardCharsets.US_ASCII);
+        ArpTableReader reader = new ArpTableReader();
+        List<ArpEntry> entries = new ArrayList<>(rows);
+        // Incalzire
+        for (int i = 0; i < 200; i++) {
+            entries.clear();
+            assertEquals(rows, reader.parse(data, data.length, entries));
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean measurable = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = measurable
+                ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) : 0;
+        int iterations = 500;
+        for (int i = 0; i < iterations; i++) {
+            entries.clear();
+            reader.parse(data, data.length, entries);
+        }
+        long allocated = measurable
+                ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) - allocatedBefore : 0;
+        long parsedRows = (long) rows * iterations;
+        assertEquals(rows, entries.size());
+        if (measurable) {
+            // Doar ArpEntry-ul fiecarui rand; fara String-uri sau potriviri regex pe rand
+            assertTrue("allocated " + allocated / parsedRows + " bytes/row", allocated / parsedRows <= 48);
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Teste locale (JVM) pentru ChannelAnalyzer: maparea frecventa -> banda/canal, ocuparea ponderata
+ * si recomandarea, plus un benchmark pentru 500 de AP-uri.
+ */
+public class ChannelAnalyzerTest {
+
+    @Test
+    public void mapsFrequenciesToBandAndChannel() {
+        assertEquals(1, ChannelAnalyzer.channel(2412));
+        assertEquals(13, ChannelAnalyzer.channel(2472));
+        assertEquals(14, ChannelAnalyzer.channel(2484));
+        assertEquals(36, ChannelAnalyzer.channel(5180));
+        assertEquals(149, ChannelAnalyzer.channel(5745));
+        assertEquals(177, ChannelAnalyzer.channel(5885));
+        assertEquals(1, ChannelAnalyzer.channel(5955));
+        assertEquals(2, ChannelAnalyzer.channel(5935));
+        assertEquals(233, ChannelAnalyzer.channel(7115));
+        assertEquals(-1, ChannelAnalyzer.channel(900));
+        assertEquals("2.4 GHz", ChannelAnalyzer.bandLabel(2484));
+        assertEquals("5 GHz", ChannelAnalyzer.bandLabel(5885));
+        assertEquals("6 GHz", ChannelAnalyzer.bandLabel(6135));
+        assertEquals("Other Frequency", ChannelAnalyzer.bandLabel(0));
+        for (int ch = 1; ch <= 233; ch += 4) {
+            int frequency = ChannelAnalyzer.channelFrequency(ChannelAnalyzer.BAND_6_GHZ, ch);
+            assertEquals(ch, ChannelAnalyzer.channel(frequency));
+        }
+    }
+
+    @Test
+    public void overlappingTwoPointFourGhzChannelsGetPartialWeight() {
+        ChannelAnalyzer analyzer = new ChannelAnalyzer();
+        // Un AP de 20 MHz pe canalul 6, la -50 dBm (1e-5 mW)
+        analyzer.analyze(Arrays.asList(ap(2437, 20, 0, -50)));
+        double full = analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 6);
+        assertEquals(1e-5, full, 1e-12);
+        assertEquals(0.75 * full, analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 5), 1e-12);
+        assertEquals(0.5 * full, analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 8), 1e-12);
+        assertEquals(0.25 * full, analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 3), 1e-12);
+        assertEquals(0, analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 2), 0);
+        assertEquals(0, analyzer.getOccupancy(ChannelAnalyzer.BAND_2_4_GHZ, 10), 0);
+        assertEquals(7, analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 6)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 3)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 4)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 5)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 7)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 8)
+                + analyzer.getAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ, 9));
+    }
+
+    @Test
+    public void wideChannelsOccupyEverySubChannelAndSteerTheRecommendation() {
+        ChannelAnalyzer analyzer = new ChannelAnalyzer();
+        List<ScanObservation> scan = new ArrayList<>();
+        // 80 MHz pe 36-48 (centru 5210), 160 MHz pe 100-128 (centru 5570), 20 MHz pe 149
+        scan.add(ap(5180, 80, 5210, -40));
+        scan.add(ap(5500, 160, 5570, -60));
+        scan.add(ap(5745, 20, 0, -70));
+        // In 2.4 GHz: 1 si 11 ocupate, 6 liber
+        scan.add(ap(2412, 20, 0, -50));
+        scan.add(ap(2462, 20, 0, -50));
+        analyzer.analyze(scan);
+
+        for (int ch = 36; ch <= 48; ch += 4) {
+            assertEquals(1e-4, analyzer.getOccupancy(ChannelAnalyzer.BAND_5_GHZ, ch), 1e-12);
+        }
+        assertEquals(0, analyzer.getOccupancy(ChannelAnalyzer.BAND_5_GHZ, 52), 0);
+        for (int ch = 100; ch <= 128; ch += 4) {
+            assertEquals(1, analyzer.getAccessPointCount(ChannelAnalyzer.BAND_5_GHZ, ch));
+        }
+        assertEquals(0, analyzer.getAccessPointCount(ChannelAnalyzer.BAND_5_GHZ, 132));
+        assertEquals(5, analyzer.getBandAccessPointCount(ChannelAnalyzer.BAND_5_GHZ)
+                + analyzer.getBandAccessPointCount(ChannelAnalyzer.BAND_2_4_GHZ));
+        // 52-64 sunt libere dar DFS; 153 este liber si fara DFS
+        assertEquals(153, analyzer.recommendChannel(ChannelAnalyzer.BAND_5_GHZ));
+        assertEquals(6, analyzer.recommendChannel(ChannelAnalyzer.BAND_2_4_GHZ));
+        assertEquals(1, analyzer.recommendChannel(ChannelAnalyzer.BAND_6_GHZ));
+    }
+
+    @Test
+    public void analyzesFiveHundredAccessPointsWellUnderOneMillisecond() {
+        SyntheticScanSource source = new SyntheticScanSource(500, 0, 3);
+        List<ScanObservation> scan = source.nextScan();
+        ChannelAnalyzer analyzer = new ChannelAnalyzer();
+        for (int i = 0; i < 5_000; i++) {
+            analyzer.analyze(scan); // incalzire JIT
+        }
+        int runs = 2_000;
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            analyzer.analyze(scan);
+            analyzer.recommendChannel(ChannelAnalyzer.BAND_2_4_GHZ);
+            analyzer.recommendChannel(ChannelAnalyzer.BAND_5_GHZ);
+            analyzer.recommendChannel(ChannelAnalyzer.BAND_6_GHZ);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double medianUs = nanos[runs / 2] / 1000.0;
+        double p99Us = nanos[runs * 99 / 100] / 1000.0;
+        // Bugetul este 1 ms pe un telefon mediu; pe JVM cerem o marja de 10x
+        assertTrue("median " + medianUs + " us, p99 " + p99Us + " us", medianUs < 100);
+    }
+
+    private static ScanObservation ap(int frequency, int width, int center, int level) {
+        return new ScanObservation("02:00:00:00:00:01", "test", level, frequency, width, center, "[ESS]");
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste locale (JVM) pentru HttpFingerprinter, contra unui server HTTP minimal pornit pe loopback.
+ */
+public class HttpFingerprinterTest {
+    private static final String HOST = "127.0.0.1";
+
+    private TinyHttpServer server;
+
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void headIsEnoughWhenHeadersIdentifyTheDevice() throws Exception {
+        server = new TinyHttpServer((method, range) -> "HTTP/1.1 401 Unauthorized\r\n"
+                + "Server: GoAhead-Webs\r\n"
+                + "WWW-Authenticate: Basic realm=\"TP-LINK Wireless N Router WR841N\"\r\n"
+                + "Content-Length: 0\r\n\r\n");
+        HttpFingerprinter fingerprinter = new HttpFingerprinter(server.getPort(), 1_000, 60_000);
+        HttpFingerprint fingerprint = fingerprinter.fingerprint(HOST, "aa:bb:cc:dd:ee:ff");
+
+        assertEquals(401, fingerprint.status);
+        assertEquals("GoAhead-Webs", fingerprint.server);
+        assertEquals("TP-LINK Wireless N Router WR841N", fingerprint.realm);
+        assertNull(fingerprint.title);
+        assertEquals(Collections.singletonList("HEAD"), server.methods());
+        assertEquals(1, fingerprinter.getRequestCount());
+        // Conexiunea este inchisa de client dupa raspuns
+        assertTrue(server.awaitClosedConnections(1));
+    }
+
+    @Test
+    public void fallsBackToRangedGetOnTheSameKeepAliveConnection() throws Exception {
+        StringBuilder page = new StringBuilder("<html><head>\n  <title>\n   Archer  C6\n  </title></head><body>");
+        while (page.length() < 3 * HttpFingerprinter.MAX_BODY_BYTES) {
+            page.append("<p>filler</p>");
+        }
+        String body = page.toString();
+        server = new TinyHttpServer((method, range) -> method.equals("HEAD")
+                ? "HTTP/1.1 405 Method Not Allowed\r\nContent-Length: 0\r\n\r\n"
+                : "HTTP/1.1 206 Partial Content\r\n"
+                + "Content-Type: text/html\r\n"
+                + "Content-Range: bytes 0-" + (HttpFingerprinter.MAX_BODY_BYTES - 1) + "/" + body.length() + "\r\n"
+                + "Content-Length: " + HttpFingerprinter.MAX_BODY_BYTES + "\r\n\r\n"
+                + body.substring(0, HttpFingerprinter.MAX_BODY_BYTES));
+        HttpFingerprinter fingerprinter = new HttpFingerprinter(server.getPort(), 1_000, 60_000);
+        HttpFingerprint fingerprint = fingerprinter.fingerprint(HOST, null);
+
+        assertEquals(200, fingerprint.status);
+        assertEquals("Archer C6", fingerprint.title);
+        assertEquals(2, server.methods().size());
+        assertEquals("GET", server.methods().get(1));
+        assertEquals("bytes=0-" + (HttpFingerprinter.MAX_BODY_BYTES - 1), server.lastRange());
+        assertEquals(1, server.connections());
+    }
+
+    @Test
+    public void reconnectsForGetWhenServerClosesAfterHead() throws Exception {
+        server = new TinyHttpServer((method, range) -> method.equals("HEAD")
+                ? null // inchide conexiunea fara raspuns
+                : "HTTP/1.0 200 OK\r\nServer: lighttpd\r\n\r\n<title>Modem</title>");
+        HttpFingerprint fingerprint = new HttpFingerprinter(server.getPort(), 1_000, 60_000).fingerprint(HOST, null);
+
+        assertEquals(200, fingerprint.status);
+        assertEquals("lighttpd", fingerprint.server);
+        assertEquals("Modem", fingerprint.title);
+        assertEquals(2, server.connections());
+    }
+
+    @Test
+    public void cachesByIpAndMacUntilTheTtlExpires() throws Exception {
+        server = new TinyHttpServer((method, range) -> "HTTP/1.1 200 OK\r\nServer: uhttpd\r\nContent-Length: 0\r\n\r\n");
+        AtomicLong now = new AtomicLong();
+        HttpFingerprinter fingerprinter = new HttpFingerprinter(server.getPort(), 1_000, 60_000, now::get);
+
+        HttpFingerprint first = fingerprinter.fingerprint(HOST, "aa:bb:cc:dd:ee:ff");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertSame(first, fingerprinter.fingerprint(HOST, "aa:bb:cc:dd:ee:ff"));
+        assertEquals(1, fingerprinter.getRequestCount());
+        assertEquals(1, fingerprinter.getCacheHits());
+        // Alt dispozitiv la acelasi IP: verificat din nou
+        fingerprinter.fingerprint(HOST, "11:22:33:44:55:66");
+        assertEquals(2, fingerprinter.getRequestCount());
+        // Termenul a expirat
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        fingerprinter.fingerprint(HOST, "aa:bb:cc:dd:ee:ff");
+        assertEquals(3, fingerprinter.getRequestCount());
+    }
+
+    @Test
+    public void hostsWithoutHttpAreCachedBriefly() throws Exception {
+        int port;
+        try (ServerSocket unused = new ServerSocket(0, 1, InetAddress.getByName(HOST))) {
+            port = unused.getLocalPort();
+        }
+        AtomicLong now = new AtomicLong();
+        HttpFingerprinter fingerprinter = new HttpFingerprinter(port, 500, 600_000, now::get);
+        assertFalse(fingerprinter.fingerprint(HOST, null).isHttp());
+        assertFalse(fingerprinter.fingerprint(HOST, null).isHttp());
+        assertEquals(1, fingerprinter.getCacheHits());
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        fingerprinter.fingerprint(HOST, null);
+        assertEquals(1, fingerprinter.getCacheHits());
+    }
+
+    @Test
+    public void fillsRouterInfoAsARouterProberStage() throws Exception {
+        server = new TinyHttpServer((method, range) -> "HTTP/1.1 401 Unauthorized\r\n"
+                + "WWW-Authenticate: Digest realm=\"Home Router\", nonce=\"abc\"\r\nContent-Length: 0\r\n\r\n");
+        HostProbe alwaysAlive = (address, callback) -> callback.onProbeResult(address, true, 0);
+        RouterProber prober = new RouterProber(alwaysAlive,
+                new HttpFingerprinter(server.getPort(), 1_000, 60_000), 4, 2);
+        RouterInfo info = prober.probeAll(Collections.singletonList(HOST), GatewayContext.NONE, 5_000).get(0);
+        prober.shutdown();
+
+        assertEquals(401, info.httpStatus);
+        assertEquals("Home Router", info.authRealm);
+        assertTrue(info.isRouter);
+    }
+
+    @Test
+    public void extractsRealmAndTitleHints() {
+        assertEquals("NETGEAR R7000", HttpFingerprinter.extractRealm("Basic realm=\"NETGEAR R7000\""));
+        assertEquals("router", HttpFingerprinter.extractRealm("Digest realm=router, qop=auth"));
+        assertNull(HttpFingerprinter.extractRealm("Bearer"));
+        assertEquals("Login", HttpFingerprinter.extractTitle("<TITLE id=t>Login</TITLE>".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Truncated", HttpFingerprinter.extractTitle("<title>Truncated".getBytes(StandardCharsets.UTF_8)));
+        assertNull(HttpFingerprinter.extractTitle("<title> </title>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Server HTTP minimal: un thread pe conexiune, raspunsuri date de un Handler, cu keep-alive. */
+    private static final class TinyHttpServer implements AutoCloseable {
+        interface Handler {
+            /** Raspunsul complet (status, headere, corp) sau null pentru a inchide conexiunea. */
+            String respond(String method, String range);
+        }
+
+        private final ServerSocket serverSocket;
+        private final Handler handler;
+        private final List<String> methods = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger closedConnections = new AtomicInteger();
+        private volatile String lastRange;
+
+        TinyHttpServer(Handler handler) throws IOException {
+            this.handler = handler;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getByName(HOST));
+            Thread acceptor = new Thread(this::acceptLoop, "tiny-http");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        List<String> methods() {
+            synchronized (methods) {
+                return new ArrayList<>(methods);
+            }
+        }
+
+        String lastRange() {
+            return lastRange;
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        boolean awaitClosedConnections(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (closedConnections.get() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return closedConnections.get() >= count;
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread worker = new Thread(() -> serve(socket), "tiny-http-conn");
+                    worker.setDaemon(true);
+                    worker.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = s.getOutputStream();
+                String requestLine;
+                while ((requestLine = in.readLine()) != null) {
+                    String method = requestLine.substring(0, requestLine.indexOf(' '));
+                    String range = null;
+                    String line;
+                    while ((line = in.readLine()) != null && !line.isEmpty()) {
+                        if (line.regionMatches(true, 0, "Range:", 0, 6)) {
+                            range = line.substring(6).trim();
+                        }
+                    }
+                    methods.add(method);
+                    lastRange = range;
+                    String response = handler.respond(method, range);
+                    if (response == null) {
+                        return;
+                    }
+                    out.write(response.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    if (response.startsWith("HTTP/1.0")) {
+                        return;
+                    }
+                }
+            } catch (IOException ignored) {
+                // clientul a inchis conexiunea
+            } finally {
+                closedConnections.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste locale (JVM) pentru NioConnectProbe si TimerWheel, cu listener-i pe adrese loopback.
+ */
+public class NioConnectProbeTest {
+
+    @Test
+    public void timerWheelNeverExpiresEarlyAndAtMostOneTickLate() {
+        long tick = 10;
+        TimerWheel<Integer> wheel = new TimerWheel<>(tick, 8, 0);
+        // Termene si peste o rotatie (8 tick-uri = 80)
+        int[] deadlines = {5, 10, 11, 39, 80, 95, 230};
+        List<TimerWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int deadline : deadlines) {
+            timeouts.add(wheel.schedule(deadline, deadline));
+        }
+        TimerWheel.Timeout<Integer> cancelled = wheel.schedule(-1, 50);
+        wheel.cancel(cancelled);
+        assertFalse(cancelled.isPending());
+        assertEquals(deadlines.length, wheel.size());
+
+        List<Integer> expired = new ArrayList<>();
+        for (long now = 0; now <= 300; now++) {
+            int before = expired.size();
+            wheel.expire(now, expired);
+            for (int i = before; i < expired.size(); i++) {
+                int deadline = expired.get(i);
+                assertTrue("expired " + deadline + " early at " + now, now >= deadline);
+                assertTrue("expired " + deadline + " late at " + now, now < deadline + tick);
+            }
+        }
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+        for (TimerWheel.Timeout<Integer> timeout : timeouts) {
+            assertFalse(timeout.isPending());
+        }
+
+        // Un salt peste mai multe rotatii expira totul deodata
+        wheel.schedule(1, 400);
+        wheel.schedule(2, 900);
+        expired.clear();
+        assertEquals(2, wheel.expire(5_000, expired));
+    }
+
+    @Test
+    public void refusedAndResetConnectionsCountAsAnswers() {
+        assertTrue(NioConnectProbe.isAnswer(new ConnectException("Connection refused")));
+        // Forma din libcore (Android)
+        assertTrue(NioConnectProbe.isAnswer(new ConnectException(
+                "failed to connect to /192.168.1.7 (port 80): connect failed: ECONNREFUSED (Connection refused)")));
+        assertTrue(NioConnectProbe.isAnswer(new IOException("Connection reset by peer")));
+        assertFalse(NioConnectProbe.isAnswer(new NoRouteToHostException("No route to host")));
+        assertFalse(NioConnectProbe.isAnswer(new ConnectException("Network is unreachable")));
+    }
+
+    @Test
+    public void sweepsASlash22OnLoopbackFromOneThread() throws Exception {
+        // Pe Linux tot 127.0.0.0/8 este loopback: fiecare adresa raspunde (accept sau RST)
+        Subnet subnet = new Subnet(Subnet.parseAddress("127.0.4.0"), 22);
+        List<ServerSocket> servers = new ArrayList<>();
+        int port;
+        try (ServerSocket first = new ServerSocket(0, 50, InetAddress.getByName("127.0.4.1"))) {
+            port = first.getLocalPort();
+        }
+        NioConnectProbe probe = new NioConnectProbe(new int[] {port}, 1_000);
+        try {
+            for (String host : new String[] {"127.0.4.1", "127.0.5.77", "127.0.7.254"}) {
+                servers.add(new ServerSocket(port, 1_024, InetAddress.getByName(host)));
+            }
+            int threadsBefore = Thread.activeCount();
+            AtomicInteger maxThreads = new AtomicInteger();
+            AtomicInteger alive = new AtomicInteger();
+            CountDownLatch finished = new CountDownLatch(1);
+            long start = System.nanoTime();
+            // Toate adresele /22 in zbor simultan
+            new SubnetSweeper(probe, subnet.getHostCount()).start(subnet, new SubnetSweeper.Listener() {
+                @Override
+                public void onHostFound(int address, long rttNanos) {
+                    alive.incrementAndGet();
+                }
+
+                @Override
+                public void onProgress(int probed, int total) {
+                    maxThreads.accumulateAndGet(Thread.activeCount(), Math::max);
+                }
+
+                @Override
+                public void onSweepFinished(boolean cancelled) {
+                    finished.countDown();
+                }
+            });
+            assertTrue(finished.await(20, TimeUnit.SECONDS));
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(subnet.getHostCount(), alive.get());
+            // Doar dispecerul sweep-ului in plus; probe-ul nu creeaza thread-uri pe verificare
+            assertTrue("threads " + threadsBefore + " -> " + maxThreads.get(), maxThreads.get() <= threadsBefore + 1);
+            assertTrue("sweep took " + elapsedMs + " ms", elapsedMs < 5_000);
+        } finally {
+            probe.shutdown();
+            for (ServerSocket server : servers) {
+                server.close();
+            }
+        }
+    }
+
+    @Test
+    public void silentHostsTimeOutAndShutdownReportsEveryProbe() throws Exception {
+        // Un listener cu coada de accept plina ignora SYN-urile noi: host "tacut" pe loopback
+        InetAddress silentHost = InetAddress.getByName("127.0.9.1");
+        List<Socket> fillers = new ArrayList<>();
+        try (ServerSocket silent = new ServerSocket(0, 1, silentHost)) {
+            int port = silent.getLocalPort();
+            for (int i = 0; i < 8; i++) {
+                Socket filler = new Socket();
+                fillers.add(filler);
+                try {
+                    filler.connect(new InetSocketAddress(silentHost, port), 100);
+                } catch (SocketTimeoutException full) {
+                    break; // coada este plina
+                }
+            }
+            NioConnectProbe probe = new NioConnectProbe(new int[] {port}, 200);
+            int count = 16;
+            CountDownLatch done = new CountDownLatch(count);
+            AtomicInteger alive = new AtomicInteger();
+            AtomicInteger calls = new AtomicInteger();
+            List<Long> rtts = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                probe.probe(Subnet.parseAddress("127.0.9.1"), (address, isAlive, rttNanos) -> {
+                    calls.incrementAndGet();
+                    if (isAlive) {
+                        alive.incrementAndGet();
+                    }
+                    synchronized (rtts) {
+                        rtts.add(rttNanos);
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(0, alive.get());
+            for (long rtt : rtts) {
+                assertTrue("timed out early: " + rtt, rtt >= TimeUnit.MILLISECONDS.toNanos(200));
+            }
+            assertTrue("timeouts took " + elapsedMs + " ms", elapsedMs < 1_000);
+
+            // Verificarile in curs la oprire sunt raportate ca inactive, o singura data
+            CountDownLatch pending = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                probe.probe(Subnet.parseAddress("127.0.9.1"), (address, isAlive, rttNanos) -> {
+                    calls.incrementAndGet();
+                    pending.countDown();
+                });
+            }
+            probe.shutdown();
+            assertTrue(pending.await(5, TimeUnit.SECONDS));
+            Thread.sleep(300);
+            assertEquals(2 * count, calls.get());
+            try {
+                probe.probe(Subnet.parseAddress("127.0.9.1"), (address, isAlive, rttNanos) -> { });
+                throw new AssertionError("probe() after shutdown must fail");
+            } catch (IllegalStateException expected) {
+                // asteptat
+            }
+        } finally {
+            for (Socket filler : fillers) {
+                filler.close();
+            }
+        }
+    }
+}
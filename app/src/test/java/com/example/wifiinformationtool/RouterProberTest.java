@@ -0,0 +1,121 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste locale (JVM) pentru RouterProber, cu etape simulate (accesibilitate si HTTP cu intarzieri fixe).
+ */
+public class RouterProberTest {
+    private static final int REACH_DELAY_MS = 40;
+    private static final int HTTP_DELAY_MS = 60;
+
+    private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(1);
+
+    /** Accesibilitate asincrona: raspunde dupa REACH_DELAY_MS; adresele cu ultimul octet impar sunt inactive. */
+    private final HostProbe delayedProbe = (address, callback) -> timer.schedule(
+            () -> callback.onProbeResult(address, (address & 1) == 0, 0), REACH_DELAY_MS, TimeUnit.MILLISECONDS);
+
+    /** Etapa HTTP blocanta: .1 este router (401), restul raspund 404. */
+    private static final RouterProber.HttpStage DELAYED_HTTP = info -> {
+        try {
+            Thread.sleep(HTTP_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean gateway = info.ip.endsWith(".1");
+        info.httpStatus = gateway ? 401 : 404;
+        info.serverHeader = gateway ? "uhttpd" : "nginx";
+    };
+
+    @Test
+    public void fillsStructuredResultsWithTheBatchContext() throws Exception {
+        GatewayContext context = new GatewayContext(Subnet.parseAddress("192.168.1.2"),
+                "\"home\"", "aa:bb:cc:dd:ee:ff", -48, 433);
+        RouterProber prober = new RouterProber(delayedProbe, DELAYED_HTTP, 8, 4);
+        List<RouterInfo> results = prober.probeAll(
+                Arrays.asList("192.168.1.2", "192.168.1.3", "not-an-ip", "192.168.1.10"), context, 5_000);
+        prober.shutdown();
+
+        assertEquals(4, results.size());
+        RouterInfo gateway = results.get(0);
+        assertEquals("192.168.1.2", gateway.ip);
+        assertTrue(gateway.isReachable);
+        assertTrue(gateway.isCurrentGateway);
+        assertEquals("\"home\"", gateway.ssid);
+        assertEquals(-48, gateway.signalStrength);
+        assertEquals(404, gateway.httpStatus);
+        assertFalse(gateway.isRouter);
+
+        RouterInfo silent = results.get(1);
+        assertFalse(silent.isReachable);
+        assertFalse(silent.isCurrentGateway);
+        assertNull(silent.ssid);
+        assertEquals(-1, silent.httpStatus); // fara etapa HTTP pentru adresele inaccesibile
+
+        assertFalse(results.get(2).isReachable);
+        assertEquals("not-an-ip", results.get(2).ip);
+        assertTrue(results.get(3).isReachable);
+    }
+
+    @Test
+    public void throughputScalesWithConcurrency() throws Exception {
+        List<String> ips = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            ips.add("10.0." + (i / 128) + "." + (2 * (i % 128))); // toate accesibile (ultimul octet par)
+        }
+        long narrow = timeBatch(ips, 8, 4);
+        long wide = timeBatch(ips, 64, 32);
+        // Secvential ar fi 256 * 100 ms = 25.6 s; la 32 cereri HTTP simultane limita este ~0.5 s
+        assertTrue("wide batch took " + wide + " ms", wide < 2_000);
+        assertTrue("narrow " + narrow + " ms vs wide " + wide + " ms", wide * 4 < narrow);
+    }
+
+    @Test
+    public void batchDeadlineReturnsPartialResults() throws Exception {
+        RouterProber.HttpStage slowForOne = info -> {
+            try {
+                Thread.sleep(info.ip.equals("10.0.0.4") ? 3_000 : 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            info.httpStatus = 200;
+        };
+        RouterProber prober = new RouterProber(delayedProbe, slowForOne, 8, 4);
+        long start = System.nanoTime();
+        List<RouterInfo> results = prober.probeAll(Arrays.asList("10.0.0.2", "10.0.0.4", "10.0.0.6"),
+                GatewayContext.NONE, 500);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        prober.shutdown();
+
+        assertTrue("batch took " + elapsedMs + " ms", elapsedMs < 1_500);
+        assertTrue(results.get(0).isRouter);
+        assertFalse(results.get(1).isRouter);
+        assertFalse(results.get(1).isReachable); // neterminat la termen
+        assertTrue(results.get(2).isRouter);
+    }
+
+    private long timeBatch(List<String> ips, int maxInFlight, int httpConcurrency) throws Exception {
+        RouterProber prober = new RouterProber(delayedProbe, DELAYED_HTTP, maxInFlight, httpConcurrency);
+        long start = System.nanoTime();
+        List<RouterInfo> results = prober.probeAll(ips, GatewayContext.NONE, 60_000);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        prober.shutdown();
+        for (RouterInfo info : results) {
+            assertTrue(info.ip, info.isReachable);
+            assertEquals(404, info.httpStatus);
+        }
+        return elapsedMs;
+    }
+}
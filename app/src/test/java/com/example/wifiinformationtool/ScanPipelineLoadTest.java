@@ -0,0 +1,111 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test de incarcare local (JVM): scanari sintetice de 500 AP-uri la 10 Hz, cu latentele p50/p99/max
+ * pe scan raportate in mesajele asertiunilor. Ceasul este simulat, deci testul masoara doar costul
+ * pipeline-ului.
+ *
+ * Ruleaza codul real pentru: SyntheticScanSource, sortarea cu ScanObservation.BY_LEVEL_DESC,
+ * SignalHistoryCache.record si SignalHistoryCache.readPage.
+ *
+ * Nu ruleaza WifiScanEngine (thread-ul lui, ScanScheduler si publicarea catre ascultatori au nevoie
+ * de Android; vezi WifiScanEngineTest), SignalWriteQueue si nici Room: pasii 1 si 2 de mai jos
+ * reproduc in test ce fac WifiScanEngine.publishResults si WifiSignalDao.recordSnapshot (un HashMap
+ * in locul tabelului access_point, id-uri crescatoare in locul celor atribuite de SQLite). Costul
+ * scrierii in SQLite este masurat de SnapshotInsertBenchmarkTest.
+ */
+public class ScanPipelineLoadTest {
+    private static final int ACCESS_POINTS = 500;
+    private static final long SCAN_PERIOD_MS = 100;   // 10 Hz
+    private static final int WARMUP_SCANS = 300;
+    private static final int MEASURED_SCANS = 3000;   // 5 minute simulate
+    private static final int QUERIES_PER_SCAN = 10;
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    public void fiveHundredAccessPointsAtTenHertzStayWithinTheScanPeriod() {
+        SyntheticScanSource source = new SyntheticScanSource(ACCESS_POINTS, 0.01, 42);
+        SignalHistoryCache cache = new SignalHistoryCache(4 * ACCESS_POINTS, 256);
+        Map<String, Integer> apIds = new HashMap<>();
+        Random random = new Random(1);
+        int[] nextSampleId = {1};
+        long[] latencies = new long[MEASURED_SCANS];
+
+        long start = 0;
+        for (int scan = 0; scan < WARMUP_SCANS + MEASURED_SCANS; scan++) {
+            if (scan == WARMUP_SCANS) {
+                start = System.nanoTime();
+            }
+            long timestamp = 1_000_000L + scan * SCAN_PERIOD_MS;
+            long t0 = System.nanoTime();
+
+            // 1. Sursa + sortare, ca in WifiScanEngine.publishResults
+            source.startScan();
+            List<ScanObservation> results = new ArrayList<>(source.getScanResults());
+            Collections.sort(results, ScanObservation.BY_LEVEL_DESC);
+
+            // 2. Persistenta: AP-uri rezolvate la apId, esantioane cu id-uri crescatoare, apoi cache
+            List<AccessPointEntity> accessPoints = new ArrayList<>(results.size());
+            List<WifiSignalEntity> samples = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                ScanObservation observation = results.get(i);
+                Integer apId = apIds.get(observation.bssid);
+                if (apId == null) {
+                    apId = apIds.size() + 1;
+                    apIds.put(observation.bssid, apId);
+                }
+                accessPoints.add(new AccessPointEntity(observation.bssid, observation.ssid,
+                        observation.frequency, "", observation.capabilities));
+                WifiSignalEntity sample = new WifiSignalEntity(apId, observation.level, timestamp);
+                sample.id = nextSampleId[0]++;
+                samples.add(sample);
+            }
+            cache.record(accessPoints, samples);
+
+            // 3. Interogari de istoric pentru AP-uri din scanul curent
+            List<WifiSignalEntity> page = new ArrayList<>(PAGE_SIZE);
+            for (int q = 0; q < QUERIES_PER_SCAN; q++) {
+                String bssid = results.get(random.nextInt(results.size())).bssid;
+                page.clear();
+                cache.readPage(bssid, timestamp - 60_000, timestamp + 1, Integer.MAX_VALUE, PAGE_SIZE, page);
+                assertFalse(page.isEmpty());
+                assertEquals(timestamp, page.get(0).timestamp);
+            }
+
+            if (scan >= WARMUP_SCANS) {
+                latencies[scan - WARMUP_SCANS] = System.nanoTime() - t0;
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        double scansPerSecond = MEASURED_SCANS / elapsedSeconds;
+        String report = String.format(Locale.US, "%.0f scans/s, latency p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                scansPerSecond, percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+
+        // La 10 Hz fiecare scan are la dispozitie o perioada intreaga
+        assertTrue(report, percentileMs(latencies, 0.99) < SCAN_PERIOD_MS);
+        assertTrue(report, scansPerSecond > 1000.0 / SCAN_PERIOD_MS);
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[index] / 1e6;
+    }
+}
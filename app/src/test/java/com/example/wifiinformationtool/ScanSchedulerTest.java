@@ -0,0 +1,67 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Teste locale (JVM) pentru ScanScheduler: bugetul de throttling, backoff si statistici.
+ */
+public class ScanSchedulerTest {
+
+    @Test
+    public void neverExceedsFourRequestsInTwoMinutes() {
+        ScanScheduler scheduler = new ScanScheduler(ScanScheduler.Profile.SURVEY);
+        long now = 0;
+        long[] accepted = new long[40];
+        for (int i = 0; i < accepted.length; i++) {
+            now += scheduler.nextScanDelay(now);
+            scheduler.onScanRequested(now, true);
+            accepted[i] = now;
+            // Fiecare scan aduce rezultate diferite, deci fara backoff
+            scheduler.onResults(now + 3_000, true, false, i);
+            now += 3_000;
+        }
+        for (int i = ScanScheduler.THROTTLE_MAX_SCANS; i < accepted.length; i++) {
+            assertTrue(accepted[i] - accepted[i - ScanScheduler.THROTTLE_MAX_SCANS]
+                    >= ScanScheduler.THROTTLE_WINDOW_MS);
+        }
+    }
+
+    @Test
+    public void backsOffWhenNothingChangesAndResetsOnChange() {
+        ScanScheduler scheduler = new ScanScheduler(ScanScheduler.Profile.MONITOR);
+        scheduler.onResults(0, true, false, 42);
+        assertEquals(30_000L, scheduler.getCurrentIntervalMs());
+        scheduler.onResults(30_000, true, false, 42);
+        assertEquals(60_000L, scheduler.getCurrentIntervalMs());
+        for (int i = 0; i < 10; i++) {
+            scheduler.onResults(100_000 + i, true, false, 42);
+        }
+        assertEquals(4 * 60_000L, scheduler.getCurrentIntervalMs());
+        scheduler.onResults(200_000, true, false, 7);
+        assertEquals(30_000L, scheduler.getCurrentIntervalMs());
+    }
+
+    @Test
+    public void passiveResultsPostponeTheNextRequest() {
+        ScanScheduler scheduler = new ScanScheduler(ScanScheduler.Profile.ECO);
+        assertEquals(0, scheduler.nextScanDelay(0));
+        scheduler.onResults(10_000, true, true, 1);
+        assertEquals(2 * 60_000L, scheduler.nextScanDelay(10_000));
+        assertEquals(1, scheduler.getPassiveSnapshots());
+    }
+
+    @Test
+    public void rejectedRequestWaitsAQuarterWindowAndCountsStale() {
+        ScanScheduler scheduler = new ScanScheduler(ScanScheduler.Profile.SURVEY);
+        scheduler.onScanRequested(1_000, false);
+        scheduler.onResults(1_000, false, false, 0);
+        assertEquals(ScanScheduler.THROTTLE_WINDOW_MS / ScanScheduler.THROTTLE_MAX_SCANS,
+                scheduler.nextScanDelay(1_000));
+        scheduler.onResults(40_000, true, false, 5);
+        assertEquals(1, scheduler.getRejectedRequests());
+        assertEquals(0.5, scheduler.getFreshShare(), 0.0001);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Teste locale (JVM) pentru sursele de scanare sintetica si de redare.
+ */
+public class ScanSourceTest {
+
+    @Test
+    public void syntheticScansAreReproducibleAndBounded() {
+        SyntheticScanSource first = new SyntheticScanSource(200, 0.05, 7);
+        SyntheticScanSource second = new SyntheticScanSource(200, 0.05, 7);
+        for (int scan = 0; scan < 50; scan++) {
+            List<ScanObservation> a = first.nextScan();
+            List<ScanObservation> b = second.nextScan();
+            assertEquals(200, a.size());
+            for (int i = 0; i < a.size(); i++) {
+                assertEquals(a.get(i).bssid, b.get(i).bssid);
+                assertEquals(a.get(i).level, b.get(i).level);
+                assertTrue(a.get(i).level >= SyntheticScanSource.MIN_LEVEL);
+                assertTrue(a.get(i).level <= SyntheticScanSource.MAX_LEVEL);
+            }
+        }
+    }
+
+    @Test
+    public void syntheticChurnReplacesAccessPoints() {
+        SyntheticScanSource stable = new SyntheticScanSource(100, 0, 1);
+        Set<String> initial = bssidsOf(stable.nextScan());
+        assertEquals(initial, bssidsOf(stable.nextScan()));
+
+        SyntheticScanSource churning = new SyntheticScanSource(100, 0.1, 1);
+        Set<String> before = bssidsOf(churning.nextScan());
+        Set<String> after = bssidsOf(churning.nextScan());
+        after.removeAll(before);
+        // Pana la 10 pozitii inlocuite (aceeasi pozitie poate fi aleasa de doua ori)
+        assertTrue(after.size() > 0 && after.size() <= 10);
+    }
+
+    @Test
+    public void replayGroupsRowsIntoScansAndHonoursSpeed() throws Exception {
+        // 5 scanari la 200 ms distanta, cate 3 AP-uri; la 100x dureaza ~8 ms
+        long[] timestamps = new long[15];
+        String[] bssids = new String[15];
+        int[] signals = new int[15];
+        for (int i = 0; i < 15; i++) {
+            timestamps[i] = 1_000_000 + (i / 3) * 200L;
+            bssids[i] = "02:00:00:00:00:0" + (i % 3);
+            signals[i] = -40 - i;
+        }
+        ReplayScanSource replay = new ReplayScanSource(
+                new SignalHistoryReader(new ByteArrayInputStream(encode(timestamps, bssids, signals))), 100);
+        List<List<ScanObservation>> scans = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        replay.start(updated -> scans.add(replay.getScanResults()));
+        assertTrue(replay.awaitFinished(5_000));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(5, scans.size());
+        assertEquals(5, replay.getReplayedScans());
+        for (int s = 0; s < scans.size(); s++) {
+            assertEquals(3, scans.get(s).size());
+            assertEquals(-40 - s * 3, scans.get(s).get(0).level);
+        }
+        // 800 ms inregistrati / 100 = 8 ms; limita larga pentru masini incarcate
+        assertTrue("replay took " + elapsedMs + " ms", elapsedMs >= 7 && elapsedMs < 500);
+    }
+
+    @Test
+    public void replayRejectsSpeedsOutsideRange() throws Exception {
+        byte[] empty = encode(new long[0], new String[0], new int[0]);
+        for (double speed : new double[] {0.5, 101, Double.NaN}) {
+            try {
+                new ReplayScanSource(new SignalHistoryReader(new ByteArrayInputStream(empty)), speed);
+                fail("speed " + speed + " accepted");
+            } catch (IllegalArgumentException expected) {
+                // corect
+            }
+        }
+        ReplayScanSource replay = new ReplayScanSource(new SignalHistoryReader(new ByteArrayInputStream(empty)), 1);
+        replay.start(updated -> fail("empty recording produced a scan"));
+        assertTrue(replay.awaitFinished(1_000));
+        assertFalse(replay.getReplayedScans() > 0);
+    }
+
+    private static Set<String> bssidsOf(List<ScanObservation> scan) {
+        Set<String> bssids = new HashSet<>();
+        for (ScanObservation observation : scan) {
+            bssids.add(observation.bssid);
+        }
+        return bssids;
+    }
+
+    /** Scrie randurile intr-un export cu un singur bloc, in formatul SignalHistoryFormat. */
+    private static byte[] encode(long[] timestamps, String[] bssids, int[] signals) throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(SignalHistoryFormat.MAGIC);
+        file.write(SignalHistoryFormat.VERSION);
+        DeflaterOutputStream out = new DeflaterOutputStream(file);
+        if (timestamps.length > 0) {
+            List<String> dictionary = new ArrayList<>();
+            int[] refs = new int[bssids.length];
+            for (int i = 0; i < bssids.length; i++) {
+                int ref = dictionary.indexOf(bssids[i]);
+                if (ref < 0) {
+                    ref = dictionary.size();
+                    dictionary.add(bssids[i]);
+                }
+                refs[i] = ref;
+            }
+            SignalHistoryFormat.writeVarLong(out, timestamps.length);
+            SignalHistoryFormat.writeVarLong(out, dictionary.size());
+            for (String bssid : dictionary) {
+                SignalHistoryFormat.writeString(out, bssid);
+                SignalHistoryFormat.writeString(out, "ssid-" + bssid);
+            }
+            long previous = 0;
+            for (long timestamp : timestamps) {
+                SignalHistoryFormat.writeVarLong(out, SignalHistoryFormat.zigzag(timestamp - previous));
+                previous = timestamp;
+            }
+            for (int ref : refs) {
+                SignalHistoryFormat.writeVarLong(out, ref);
+            }
+            for (int signal : signals) {
+                out.write(signal);
+            }
+        }
+        SignalHistoryFormat.writeVarLong(out, 0);
+        out.finish();
+        return file.toByteArray();
+    }
+}
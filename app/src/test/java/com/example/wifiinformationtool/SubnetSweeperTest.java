@@ -0,0 +1,182 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste locale (JVM) pentru Subnet si SubnetSweeper, pe o retea simulata si pe loopback.
+ */
+public class SubnetSweeperTest {
+
+    @Test
+    public void derivesSubnetFromDhcpInfo() {
+        // DhcpInfo tine adresele little-endian: 192.168.1.23 -> 0x1701A8C0
+        Subnet subnet = Subnet.fromDhcp(0x1701A8C0, 0x00FFFFFF);
+        assertEquals("192.168.1.0/24", subnet.toString());
+        assertEquals(254, subnet.getHostCount());
+        assertEquals(Subnet.parseAddress("192.168.1.1"), subnet.getHostAddress(0));
+        assertEquals(Subnet.parseAddress("192.168.1.254"), subnet.getHostAddress(253));
+        assertTrue(subnet.contains(Subnet.parseAddress("192.168.1.200")));
+        assertFalse(subnet.contains(Subnet.parseAddress("192.168.2.1")));
+        // Masca lipsa -> /24; subnet prea mare -> /22 in jurul adresei proprii
+        assertEquals("192.168.1.0/24", Subnet.fromDhcp(0x1701A8C0, 0).toString());
+        assertEquals("10.0.4.0/22", Subnet.fromDhcp(Integer.reverseBytes(Subnet.parseAddress("10.0.5.9")),
+                Integer.reverseBytes(0xFFFF0000)).toString());
+        assertEquals("255.255.255.255", Subnet.formatAddress(-1));
+    }
+
+    @Test
+    public void sweepsAStandInNetworkWithBoundedConcurrencyAndStreamsResults() throws Exception {
+        Subnet subnet = new Subnet(Subnet.parseAddress("10.1.2.0"), 24);
+        Set<Integer> live = new HashSet<>();
+        for (int i = 0; i < subnet.getHostCount(); i += 7) {
+            live.add(subnet.getHostAddress(i));
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        // Host activ: raspunde in 5 ms; host inactiv: timeout de 50 ms
+        BlockingHostProbe probe = new BlockingHostProbe(64, address -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(live.contains(address) ? 5 : 50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return live.contains(address);
+        });
+        RecordingListener listener = new RecordingListener();
+        long start = System.nanoTime();
+        SubnetSweeper.Sweep sweep = new SubnetSweeper(probe, 32).start(subnet, listener);
+        assertTrue(sweep.awaitFinished(10_000));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        probe.shutdown();
+
+        assertEquals(live, listener.found);
+        assertEquals(live.size(), sweep.getFound());
+        assertEquals(subnet.getHostCount(), listener.lastProbed.get());
+        assertTrue("first host reported after the sweep finished", listener.foundBeforeFinish.get());
+        assertTrue("max in flight " + maxInFlight.get(), maxInFlight.get() <= 32);
+        assertEquals(1, listener.finishedCalls.get());
+        assertFalse(listener.cancelled.get());
+        // 254 adrese, 32 simultan, <= 50 ms fiecare: ~400 ms; secvential ar fi ~11 s
+        assertTrue("sweep took " + elapsedMs + " ms", elapsedMs < 3_000);
+    }
+
+    @Test
+    public void cancelStopsDispatchingAndFinishesOnce() throws Exception {
+        Subnet subnet = new Subnet(Subnet.parseAddress("10.9.0.0"), 22);
+        BlockingHostProbe probe = new BlockingHostProbe(8, address -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        RecordingListener listener = new RecordingListener();
+        SubnetSweeper.Sweep sweep = new SubnetSweeper(probe, 8).start(subnet, listener);
+        Thread.sleep(100);
+        sweep.cancel();
+        assertTrue(sweep.awaitFinished(5_000));
+        int probedAtFinish = sweep.getProbed();
+        Thread.sleep(100);
+        probe.shutdown();
+
+        assertTrue(listener.cancelled.get());
+        assertEquals(1, listener.finishedCalls.get());
+        assertTrue(probedAtFinish < subnet.getHostCount());
+        assertEquals(probedAtFinish, sweep.getProbed());
+    }
+
+    @Test
+    public void findsListenersOnLoopbackAddresses() throws Exception {
+        // Pe Linux tot 127.0.0.0/8 este loopback: cateva adrese cu un listener pe acelasi port
+        Subnet subnet = new Subnet(Subnet.parseAddress("127.0.0.0"), 27);
+        List<ServerSocket> servers = new ArrayList<>();
+        Set<Integer> live = new HashSet<>();
+        int port;
+        try (ServerSocket first = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.3"))) {
+            port = first.getLocalPort();
+        }
+        try {
+            for (String host : new String[] {"127.0.0.3", "127.0.0.9", "127.0.0.17", "127.0.0.30"}) {
+                servers.add(new ServerSocket(port, 50, InetAddress.getByName(host)));
+                live.add(Subnet.parseAddress(host));
+            }
+            int listenerPort = port;
+            BlockingHostProbe probe = new BlockingHostProbe(16, address -> {
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress(InetAddress.getByName(Subnet.formatAddress(address)),
+                            listenerPort), 200);
+                    return true;
+                } catch (ConnectException refused) {
+                    return false; // pe loopback orice adresa refuza; doar listener-ii conteaza
+                }
+            });
+            RecordingListener listener = new RecordingListener();
+            SubnetSweeper.Sweep sweep = new SubnetSweeper(probe, 16).start(subnet, listener);
+            assertTrue(sweep.awaitFinished(10_000));
+            probe.shutdown();
+            assertEquals(live, listener.found);
+        } finally {
+            for (ServerSocket server : servers) {
+                closeQuietly(server);
+            }
+        }
+    }
+
+    private static void closeQuietly(ServerSocket server) {
+        try {
+            server.close();
+        } catch (IOException ignored) {
+            // nimic de facut
+        }
+    }
+
+    /** Ascultator care retine tot ce primeste. */
+    private static final class RecordingListener implements SubnetSweeper.Listener {
+        final Set<Integer> found = new ConcurrentSkipListSet<>();
+        final AtomicInteger lastProbed = new AtomicInteger();
+        final AtomicInteger finishedCalls = new AtomicInteger();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicBoolean foundBeforeFinish = new AtomicBoolean();
+
+        @Override
+        public void onHostFound(int address, long rttNanos) {
+            found.add(address);
+            if (finishedCalls.get() == 0) {
+                foundBeforeFinish.set(true);
+            }
+        }
+
+        @Override
+        public void onProgress(int probed, int total) {
+            lastProbed.accumulateAndGet(probed, Math::max);
+        }
+
+        @Override
+        public void onSweepFinished(boolean wasCancelled) {
+            finishedCalls.incrementAndGet();
+            cancelled.set(wasCancelled);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Teste locale (JVM) pentru SweepPlanner: planul sweep-urilor incrementale si actualizarea
+ * inventarului (fara baza de date; DeviceEntity sunt tinute intr-o lista).
+ */
+public class SweepPlannerTest {
+    private static final Subnet SUBNET = new Subnet(Subnet.parseAddress("192.168.1.0"), 24);
+    private static final int STRIDE = 8;
+
+    private final SweepPlanner planner = new SweepPlanner(STRIDE, 3);
+
+    private static int host(int lastOctet) {
+        return Subnet.parseAddress("192.168.1." + lastOctet);
+    }
+
+    private static String mac(int lastOctet) {
+        return String.format("02:00:00:00:00:%02x", lastOctet);
+    }
+
+    /** Aplica rezultatul pe inventarul din memorie, ca DeviceDao.recordSweep. */
+    private static void apply(List<DeviceEntity> inventory, SweepPlanner.Outcome outcome) {
+        inventory.addAll(outcome.added);
+        inventory.removeAll(outcome.expired);
+    }
+
+    /** Host-urile active care au fost verificate de plan, cu MAC-ul lor. */
+    private static Map<Integer, String> sweep(SweepPlanner.Plan plan, Map<Integer, String> live) {
+        Map<Integer, String> found = new HashMap<>();
+        for (int address : plan.getAddresses()) {
+            if (live.containsKey(address)) {
+                found.put(address, live.get(address));
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void repeatSweepsOfASlash24CostAFractionOfAColdSweep() {
+        Map<Integer, String> live = new HashMap<>();
+        for (int octet = 1; octet <= 250; octet += 25) {
+            live.put(host(octet), mac(octet));
+        }
+        List<DeviceEntity> inventory = new ArrayList<>();
+
+        SweepPlanner.Plan cold = planner.plan(SUBNET, inventory, 0);
+        assertTrue(cold.cold);
+        assertEquals(254, cold.getProbeCount());
+        SweepPlanner.Outcome first = planner.reconcile(cold, inventory, sweep(cold, live), 1000, true);
+        assertEquals(10, first.added.size());
+        apply(inventory, first);
+
+        int totalProbes = 0;
+        for (int sweepNumber = 1; sweepNumber <= STRIDE; sweepNumber++) {
+            SweepPlanner.Plan plan = planner.plan(SUBNET, inventory, sweepNumber);
+            assertFalse(plan.cold);
+            assertEquals(10, plan.known.length);
+            // 10 host-uri cunoscute + o felie de 1/8 din cele 244 de adrese ramase
+            assertTrue("probes: " + plan.getProbeCount(), plan.getProbeCount() <= 10 + 254 / STRIDE + 1);
+            totalProbes += plan.getProbeCount();
+            SweepPlanner.Outcome outcome = planner.reconcile(plan, inventory, sweep(plan, live), 1000 + sweepNumber, true);
+            assertEquals(10, outcome.refreshed.size());
+            assertTrue(outcome.added.isEmpty());
+            assertTrue(outcome.expired.isEmpty());
+            apply(inventory, outcome);
+        }
+        // In medie, un sweep repetat costa mai putin de o cincime dintr-un sweep rece
+        assertTrue("average probes: " + totalProbes / STRIDE, totalProbes / STRIDE < 254 / 5);
+    }
+
+    @Test
+    public void knownHostsComeFirstMostRecentlySeenFirst() {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        inventory.add(new DeviceEntity(mac(10), host(10), 100));
+        inventory.add(new DeviceEntity(mac(20), host(20), 300));
+        inventory.add(new DeviceEntity(mac(30), host(30), 200));
+        // Dispozitiv din alt subnet: ignorat
+        inventory.add(new DeviceEntity(mac(40), Subnet.parseAddress("10.0.0.40"), 400));
+
+        SweepPlanner.Plan plan = planner.plan(SUBNET, inventory, 0);
+        int[] addresses = plan.getAddresses();
+        assertEquals(host(20), addresses[0]);
+        assertEquals(host(30), addresses[1]);
+        assertEquals(host(10), addresses[2]);
+        assertEquals(3, plan.known.length);
+        for (int address : plan.unknown) {
+            assertFalse(plan.isKnown(address));
+            assertTrue(SUBNET.contains(address));
+        }
+    }
+
+    @Test
+    public void unknownSlicesCoverTheWholeSubnetEveryStrideSweeps() {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        inventory.add(new DeviceEntity(mac(1), host(1), 100));
+        Set<Integer> covered = new HashSet<>();
+        for (int sweepNumber = 5; sweepNumber < 5 + STRIDE; sweepNumber++) {
+            SweepPlanner.Plan plan = planner.plan(SUBNET, inventory, sweepNumber);
+            for (int address : plan.getAddresses()) {
+                covered.add(address);
+            }
+        }
+        assertEquals(254, covered.size());
+    }
+
+    @Test
+    public void expiresDevicesAfterMissedCompleteSweepsOnly() {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        DeviceEntity gone = new DeviceEntity(mac(7), host(7), 100);
+        inventory.add(gone);
+        Map<Integer, String> nobody = Collections.emptyMap();
+
+        SweepPlanner.Outcome outcome = planner.reconcile(planner.plan(SUBNET, inventory, 1), inventory, nobody, 200, true);
+        assertEquals(1, outcome.missed.size());
+        assertEquals(1, gone.missedSweeps);
+        // Sweep anulat: nu se numara
+        outcome = planner.reconcile(planner.plan(SUBNET, inventory, 2), inventory, nobody, 300, false);
+        assertTrue(outcome.missed.isEmpty());
+        assertEquals(1, gone.missedSweeps);
+        outcome = planner.reconcile(planner.plan(SUBNET, inventory, 3), inventory, nobody, 400, true);
+        assertEquals(2, gone.missedSweeps);
+        assertTrue(outcome.expired.isEmpty());
+        outcome = planner.reconcile(planner.plan(SUBNET, inventory, 4), inventory, nobody, 500, true);
+        assertEquals(Collections.singletonList(gone), outcome.expired);
+        apply(inventory, outcome);
+        assertTrue(inventory.isEmpty());
+    }
+
+    @Test
+    public void answeringResetsMissesAndTracksAddressChangesByMac() {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        DeviceEntity phone = new DeviceEntity(mac(5), host(5), 100);
+        phone.missedSweeps = 2;
+        inventory.add(phone);
+
+        // Telefonul a primit alta adresa prin DHCP si apare in felia necunoscuta
+        Map<Integer, String> found = new HashMap<>();
+        found.put(host(77), mac(5));
+        SweepPlanner.Outcome outcome = planner.reconcile(planner.plan(SUBNET, inventory, 0), inventory, found, 900, true);
+        assertEquals(Collections.singletonList(phone), outcome.refreshed);
+        assertTrue(outcome.added.isEmpty());
+        assertEquals(host(77), phone.lastIp);
+        assertEquals("192.168.1.77,192.168.1.5", phone.ips);
+        assertEquals(0, phone.missedSweeps);
+        assertEquals(900, phone.lastSeen);
+        assertEquals(100, phone.firstSeen);
+    }
+
+    @Test
+    public void matchesByAddressWhenTheMacIsUnknown() {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        DeviceEntity printer = new DeviceEntity(null, host(9), 100);
+        inventory.add(printer);
+
+        // Fara MAC (tabela ARP indisponibila): aceeasi adresa, acelasi dispozitiv
+        Map<Integer, String> found = new HashMap<>();
+        found.put(host(9), null);
+        SweepPlanner.Outcome outcome = planner.reconcile(planner.plan(SUBNET, inventory, 0), inventory, found, 200, true);
+        assertEquals(Collections.singletonList(printer), outcome.refreshed);
+        assertNull(printer.mac);
+
+        // MAC-ul devine cunoscut: este retinut
+        found.put(host(9), mac(9));
+        outcome = planner.reconcile(planner.plan(SUBNET, inventory, 1), inventory, found, 300, true);
+        assertSame(printer, outcome.refreshed.get(0));
+        assertEquals(mac(9), printer.mac);
+
+        // Alt MAC la aceeasi adresa: dispozitiv nou, iar cel vechi nu a raspuns
+        found.put(host(9), mac(99));
+        outcome = planner.reconcile(planner.plan(SUBNET, inventory, 2), inventory, found, 400, true);
+        assertEquals(1, outcome.added.size());
+        assertEquals(mac(99), outcome.added.get(0).mac);
+        assertEquals(Collections.singletonList(printer), outcome.missed);
+    }
+
+    @Test
+    public void sweeperProbesOnlyThePlannedAddressesInOrder() throws Exception {
+        List<DeviceEntity> inventory = new ArrayList<>();
+        inventory.add(new DeviceEntity(mac(3), host(3), 100));
+        inventory.add(new DeviceEntity(mac(4), host(4), 200));
+        SweepPlanner.Plan plan = planner.plan(SUBNET, inventory, 2);
+
+        List<Integer> probed = Collections.synchronizedList(new ArrayList<>());
+        BlockingHostProbe probe = new BlockingHostProbe(1, address -> {
+            probed.add(address);
+            return address == host(3) || address == host(4);
+        });
+        Set<Integer> found = Collections.synchronizedSet(new HashSet<>());
+        SubnetSweeper.Sweep sweep = new SubnetSweeper(probe, 1).start(SUBNET, plan.getAddresses(),
+                new SubnetSweeper.Listener() {
+                    @Override
+                    public void onHostFound(int address, long rttNanos) {
+                        found.add(address);
+                    }
+
+                    @Override
+                    public void onProgress(int done, int total) {
+                    }
+
+                    @Override
+                    public void onSweepFinished(boolean cancelled) {
+                    }
+                });
+        assertTrue(sweep.awaitFinished(5000));
+        probe.shutdown();
+
+        assertEquals(plan.getProbeCount(), sweep.getTotal());
+        assertEquals(plan.getProbeCount(), probed.size());
+        assertEquals(host(4), (int) probed.get(0));
+        assertEquals(host(3), (int) probed.get(1));
+        assertEquals(new HashSet<>(Arrays.asList(host(3), host(4))), found);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Teste locale (JVM) pentru diferenta dintre doua scanari (WifiListAdapter.RowDiffCallback):
+ * cate randuri sunt legate din nou la o actualizare, fata de reconstruirea intregii liste.
+ */
+public class WifiListAdapterDiffTest {
+    private static final int ACCESS_POINTS = 200;
+
+    /** Numara notificarile pe care adapterul le-ar primi de la DiffUtil. */
+    private static final class CountingCallback implements ListUpdateCallback {
+        int inserted;
+        int removed;
+        int moved;
+        int signalOnly;     // randuri legate doar partial (PAYLOAD_SIGNAL)
+        int fullRebinds;    // randuri legate complet
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            if (payload == null) {
+                fullRebinds += count;
+            } else {
+                assertSame(WifiListAdapter.PAYLOAD_SIGNAL, payload);
+                signalOnly += count;
+            }
+        }
+
+        /** Randurile legate din nou: cele schimbate si cele inserate. */
+        int rowsBound() {
+            return inserted + signalOnly + fullRebinds;
+        }
+    }
+
+    private static ScanObservation observation(String bssid, String ssid, int level) {
+        return new ScanObservation(bssid, ssid, level, 2437, 20, 2437, "[WPA2-PSK-CCMP][ESS]");
+    }
+
+    /** Un scan dens, sortat descrescator dupa semnal, cu nivelurile distantate din 2 in 2 dB. */
+    private static List<ScanObservation> denseScan() {
+        List<ScanObservation> results = new ArrayList<>(ACCESS_POINTS);
+        for (int i = 0; i < ACCESS_POINTS; i++) {
+            results.add(observation(String.format("ee:ee:ee:ee:%02x:%02x", i / 256, i % 256), "floor-" + (i % 20), -20 - 2 * i));
+        }
+        return results;
+    }
+
+    private static CountingCallback diff(List<WifiScanRow> oldRows, List<WifiScanRow> newRows) {
+        CountingCallback counts = new CountingCallback();
+        DiffUtil.calculateDiff(new WifiListAdapter.RowDiffCallback(oldRows, newRows), true).dispatchUpdatesTo(counts);
+        return counts;
+    }
+
+    @Test
+    public void aTypicalScanRebindsOnlyTheRowsThatChanged() {
+        WifiScanRowFactory factory = new WifiScanRowFactory();
+        List<ScanObservation> scan = denseScan();
+        List<WifiScanRow> oldRows = factory.buildRows(scan);
+
+        // Scanul urmator: 10 AP-uri cu semnalul schimbat cu 1 dB (fara reordonare),
+        // doua AP-uri disparute si doua noi
+        List<ScanObservation> next = new ArrayList<>(scan);
+        for (int i = 5; i < ACCESS_POINTS; i += 20) {
+            ScanObservation previous = next.get(i);
+            next.set(i, observation(previous.bssid, previous.ssid, previous.level + 1));
+        }
+        next.set(50, observation("ee:ee:ee:ee:ff:01", "guest", next.get(50).level));
+        next.set(150, observation("ee:ee:ee:ee:ff:02", "guest", next.get(150).level));
+        CountingCallback counts = diff(oldRows, factory.buildRows(next));
+
+        assertEquals(10, counts.signalOnly);
+        assertEquals(0, counts.fullRebinds);
+        assertEquals(2, counts.inserted);
+        assertEquals(2, counts.removed);
+        assertEquals(0, counts.moved);
+        // Inainte fiecare scan crea un adapter nou: toate cele 200 de randuri erau inflate si legate
+        assertEquals(12, counts.rowsBound());
+    }
+
+    @Test
+    public void anUnchangedScanRebindsNothing() {
+        WifiScanRowFactory factory = new WifiScanRowFactory();
+        CountingCallback counts = diff(factory.buildRows(denseScan()), factory.buildRows(denseScan()));
+        assertEquals(0, counts.rowsBound());
+        assertEquals(0, counts.removed);
+    }
+
+    @Test
+    public void aRenamedNetworkIsFullyRebound() {
+        WifiScanRowFactory factory = new WifiScanRowFactory();
+        List<ScanObservation> scan = denseScan();
+        List<WifiScanRow> oldRows = factory.buildRows(scan);
+        List<ScanObservation> next = new ArrayList<>(scan);
+        next.set(3, observation(scan.get(3).bssid, "renamed", scan.get(3).level));
+        CountingCallback counts = diff(oldRows, factory.buildRows(next));
+        assertEquals(1, counts.fullRebinds);
+        assertEquals(0, counts.signalOnly);
+    }
+}
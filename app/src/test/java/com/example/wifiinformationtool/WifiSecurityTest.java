@@ -0,0 +1,103 @@
+package com.example.wifiinformationtool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Teste locale (JVM) pentru WifiSecurity: formatele de capabilities vazute pe Android,
+ * memorarea pe string si un microbenchmark care verifica ca of() nu aloca pentru stringuri cunoscute.
+ */
+public class WifiSecurityTest {
+
+    @Test
+    public void parsesPersonalNetworks() {
+        WifiSecurity wpa2 = WifiSecurity.parse("[WPA2-PSK-CCMP][RSN-PSK-CCMP][ESS]");
+        assertEquals("WPA2 Personal", wpa2.getLabel());
+        assertEquals(2, wpa2.getWpaGeneration());
+        assertFalse(wpa2.isTransitionMode());
+
+        WifiSecurity mixed = WifiSecurity.parse("[WPA-PSK-TKIP+CCMP][WPA2-PSK-TKIP+CCMP][ESS][WPS]");
+        assertEquals("WPA/WPA2 Personal", mixed.getLabel());
+        assertTrue(mixed.wps);
+
+        WifiSecurity transition = WifiSecurity.parse("[RSN-PSK+SAE-CCMP][ESS][MFPC]");
+        assertEquals("WPA2/WPA3 Personal", transition.getLabel());
+        assertEquals(3, transition.getWpaGeneration());
+        assertTrue(transition.isTransitionMode());
+        assertTrue(transition.pmfCapable);
+        assertEquals("WPA2/WPA3 Personal, PMF", transition.toString());
+
+        WifiSecurity wpa3 = WifiSecurity.parse("[RSN-SAE+SAE_EXT_KEY-GCMP-256][ESS][MFPR][MFPC]");
+        assertEquals("WPA3 Personal", wpa3.getLabel());
+        assertTrue(wpa3.pmfRequired);
+
+        // WPA-PSK nu trebuie confundat cu WPA2-PSK, indiferent de ordine
+        assertEquals("WPA Personal", WifiSecurity.parse("[WPA-PSK-TKIP][ESS]").getLabel());
+        assertEquals("WPA2 Personal", WifiSecurity.parse("[RSN-FT/PSK+PSK-SHA256-CCMP][ESS]").getLabel());
+    }
+
+    @Test
+    public void parsesEnterpriseOpenAndLegacyNetworks() {
+        assertEquals("WPA2 Enterprise", WifiSecurity.parse("[WPA2-EAP/SHA1-CCMP][RSN-EAP/SHA1-CCMP][ESS]").getLabel());
+        assertEquals("WPA3 Enterprise",
+                WifiSecurity.parse("[RSN-EAP/SHA256-CCMP][ESS][MFPR][MFPC]").getLabel());
+        assertEquals("WPA3 Enterprise 192-bit",
+                WifiSecurity.parse("[RSN-EAP_SUITE_B_192-GCMP-256][ESS][MFPR][MFPC]").getLabel());
+        assertEquals("Enhanced Open (OWE)", WifiSecurity.parse("[RSN-OWE-CCMP][ESS][MFPR][MFPC]").getLabel());
+        assertTrue(WifiSecurity.parse("[ESS][OWE_TRANSITION]").isTransitionMode());
+        assertEquals("WEP", WifiSecurity.parse("[WEP][ESS]").getLabel());
+        WifiSecurity open = WifiSecurity.parse("[ESS]");
+        assertTrue(open.isOpen());
+        assertEquals("Open (no security)", open.getLabel());
+        assertTrue(WifiSecurity.of(null).isOpen());
+        // Stringuri trunchiate sau fara paranteze nu arunca exceptii
+        assertEquals("WPA2 Personal", WifiSecurity.parse("[RSN-PSK-CCMP").getLabel());
+        assertTrue(WifiSecurity.parse("garbage").isOpen());
+    }
+
+    @Test
+    public void memoizedLookupsReturnTheSameInstanceWithoutAllocating() {
+        String[] capabilities = {
+                "[WPA2-PSK-CCMP][RSN-PSK-CCMP][ESS]",
+                "[RSN-PSK+SAE-CCMP][ESS][MFPC]",
+                "[WPA2-EAP/SHA1-CCMP][RSN-EAP/SHA1-CCMP][ESS]",
+                "[ESS]",
+                "[WPA-PSK-TKIP+CCMP][WPA2-PSK-TKIP+CCMP][ESS][WPS]"
+        };
+        // Copii noi ale stringurilor, ca in fiecare scan real
+        String[] copies = new String[capabilities.length];
+        for (int i = 0; i < capabilities.length; i++) {
+            copies[i] = new String(capabilities[i].toCharArray());
+            assertSame(WifiSecurity.of(capabilities[i]), WifiSecurity.of(copies[i]));
+        }
+
+        int iterations = 2_000_000;
+        for (int i = 0; i < iterations; i++) {
+            WifiSecurity.of(copies[i % copies.length]); // incalzire JIT
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean measurable = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = measurable
+                ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) : 0;
+        int labels = 0;
+        for (int i = 0; i < iterations; i++) {
+            labels += WifiSecurity.of(copies[i % copies.length]).getLabel().length();
+        }
+        long allocated = measurable
+                ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) - allocatedBefore : 0;
+        assertTrue(labels > 0);
+        if (measurable) {
+            // Doar zgomotul masuratorii, nu un obiect per apel
+            assertTrue("allocated " + allocated + " bytes", allocated < 4096);
+        }
+    }
+}
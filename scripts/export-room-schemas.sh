@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+#
+# Regenereaza app/schemas/<baza de date>/<N>.json cu procesorul de adnotari Room, pentru fiecare
+# versiune a schemei. Pentru versiunea N se foloseste ultimul commit in care baza de date declara
+# `version = N`: commit-ul este scos intr-un worktree temporar, exportSchema este fortat pe true,
+# room.schemaLocation indica un director temporar si se compileaza modulul app. JSON-ul produs
+# este copiat in app/schemas din copia de lucru curenta.
+#
+# Necesita Android SDK (local.properties sau ANDROID_HOME) si acces la depozitele Gradle.
+#
+# Utilizare: scripts/export-room-schemas.sh [WifiSignalDatabase|DeviceInventoryDatabase ...]
+
+set -euo pipefail
+
+ROOT=$(git rev-parse --show-toplevel)
+PACKAGE=com.example.wifiinformationtool
+SOURCES=app/src/main/java/com/example/wifiinformationtool
+WORK=$(mktemp -d)
+trap 'git -C "$ROOT" worktree prune; rm -rf "$WORK"' EXIT
+
+if [ $# -eq 0 ]; then
+    set -- WifiSignalDatabase DeviceInventoryDatabase
+fi
+
+# Versiunea declarata de baza de date la un commit (gol daca fisierul nu exista inca)
+version_at() {
+    git -C "$ROOT" show "$1:$SOURCES/$2.java" 2>/dev/null \
+        | sed -n 's/.*version *= *\([0-9][0-9]*\).*/\1/p' | head -n 1
+}
+
+export_version() {
+    local database=$1 version=$2 commit=$3
+    local tree="$WORK/tree-$database-$version" out="$WORK/out-$database-$version"
+
+    echo "$database v$version <- $(git -C "$ROOT" log -1 --format='%h %s' "$commit")"
+    git -C "$ROOT" worktree add --detach --quiet "$tree" "$commit"
+    if [ -f "$ROOT/local.properties" ]; then
+        cp "$ROOT/local.properties" "$tree/"
+    fi
+    sed -i 's/exportSchema *= *false/exportSchema = true/' "$tree/$SOURCES/$database.java"
+    cat >> "$tree/app/build.gradle" <<GRADLE
+
+android.defaultConfig.javaCompileOptions.annotationProcessorOptions.arguments += ["room.schemaLocation": "$out".toString()]
+GRADLE
+
+    (cd "$tree" && ./gradlew --quiet :app:compileDebugJavaWithJavac)
+
+    mkdir -p "$ROOT/app/schemas/$PACKAGE.$database"
+    cp "$out/$PACKAGE.$database/$version.json" "$ROOT/app/schemas/$PACKAGE.$database/$version.json"
+    git -C "$ROOT" worktree remove --force "$tree"
+}
+
+for database in "$@"; do
+    declare -A last_commit=()
+    # Commit-urile de la cel mai vechi la cel mai nou: ultimul vazut pentru o versiune castiga
+    for commit in $(git -C "$ROOT" rev-list --reverse HEAD); do
+        version=$(version_at "$commit" "$database")
+        if [ -n "$version" ]; then
+            last_commit[$version]=$commit
+        fi
+    done
+    if [ ${#last_commit[@]} -eq 0 ]; then
+        echo "$database: nu exista in istoric" >&2
+        exit 1
+    fi
+    for version in $(printf '%s\n' "${!last_commit[@]}" | sort -n); do
+        export_version "$database" "$version" "${last_commit[$version]}"
+    done
+    unset last_commit
+done